@@ -0,0 +1,88 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.orchestrator.engine.ResolvableValue;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+
+/**
+ * Measures an array transform over a large list, whose items are bound on the {@link
+ * VariableScope} of the instance. Run with the gc profiler: the transform should only allocate its
+ * result list. Transforms evaluating a Groovy expression per item are measured on the calling
+ * thread and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class ArrayTransformBenchmark {
+
+  private static final int ITEMS = 100_000;
+
+  private ResolvableValue transform;
+  private ResolvableValue expressionTransform;
+  private ResolvableValue parallelExpressionTransform;
+  private ProcessInstance processInstance;
+
+  @Setup
+  public void setUp() {
+    List<Object> orders = new ArrayList<>(ITEMS);
+    for (int i = 0; i < ITEMS; i++) {
+      orders.add(Map.of("id", "order-" + i));
+    }
+    Map<String, Object> definition = new LinkedHashMap<>();
+    definition.put(DefaultInputValueResolver.TYPE_FIELD, "arrayTransformer");
+    definition.put("source", "{{fetch.output.orders}}");
+    definition.put("item", "{{item.id}}");
+    transform = new DefaultInputValueResolver().resolve(definition);
+    definition.put("item", "[[{{item.id}}.toUpperCase()]]");
+    expressionTransform = new DefaultInputValueResolver().resolve(definition);
+    definition.put("parallel", true);
+    parallelExpressionTransform = new DefaultInputValueResolver().resolve(definition);
+
+    VariableContainerImpl variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable("fetch", Variable.Type.OUTPUT, Map.of("orders", orders));
+    processInstance = new ProcessInstance();
+    processInstance.setVariableContainer(variableContainer);
+  }
+
+  @Benchmark
+  public Object arrayTransform() {
+    return transform.evaluate(processInstance);
+  }
+
+  @Benchmark
+  public Object expressionTransform() {
+    return expressionTransform.evaluate(processInstance);
+  }
+
+  @Benchmark
+  public Object parallelExpressionTransform() {
+    return parallelExpressionTransform.evaluate(processInstance);
+  }
+}
@@ -0,0 +1,182 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.resource.client.base.ResourceConfigProvider;
+import com.upo.resource.client.base.models.ResourceConfig;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.impl.RedisTemplateFactoryImpl;
+import com.upo.resource.redis.models.HostPort;
+import com.upo.resource.redis.models.RedisServerConfig;
+import com.upo.resource.redis.models.RedisTemplateResourceConfig;
+import com.upo.resource.redis.models.StreamEntry;
+
+/**
+ * Compares delivering lifecycle events through the list transport (RPUSH, BLMOVE, LREM) with the
+ * stream transport (XADD, XREADGROUP, XACK), producing a batch of events and consuming all of them
+ * per invocation, so the score is the round trip cost of one event. Needs a running Redis server,
+ * reached through the REDIS_HOST and REDIS_PORT variables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class EventTransportBenchmark {
+
+  private static final int EVENTS = 1_000;
+  private static final int BATCH_SIZE = 32;
+  private static final String RESOURCE_TYPE = "EVENT_TRANSPORT_BENCHMARK";
+  private static final String QUEUE = "events/{0}";
+  private static final String PROCESSING = QUEUE + "/processing/worker-1";
+  private static final String STREAM = "stream/{0}";
+  private static final String GROUP = "workers";
+  private static final String CONSUMER = "worker-1";
+
+  @Param({"list", "stream"})
+  public String transport;
+
+  private RedisTemplateFactoryImpl redisTemplateFactory;
+  private RedisTemplate redisTemplate;
+  private String[] events;
+
+  @Setup
+  public void setUp() {
+    Map<String, ResourceConfig> configs = new HashMap<>();
+    RedisServerConfig serverConfig = createServerConfig();
+    configs.put(serverConfig.getId(), serverConfig);
+    RedisTemplateResourceConfig templateConfig = createTemplateConfig();
+    configs.put(templateConfig.getId(), templateConfig);
+    redisTemplateFactory = new RedisTemplateFactoryImpl(new MapResourceConfigProvider(configs));
+    redisTemplate = redisTemplateFactory.getRedisTemplate(() -> RESOURCE_TYPE, "1");
+    redisTemplate.deleteMany(List.of(QUEUE, PROCESSING, STREAM));
+    redisTemplate.createStreamGroup(STREAM, GROUP);
+
+    events = new String[EVENTS];
+    for (int i = 0; i < EVENTS; i++) {
+      events[i] = "{\"type\":\"execute_from_task\",\"processInstanceId\":\"instance-" + i + "\"}";
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    redisTemplate.deleteMany(List.of(QUEUE, PROCESSING, STREAM));
+    redisTemplateFactory.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS)
+  public int deliver() {
+    return switch (transport) {
+      case "list" -> deliverThroughList();
+      case "stream" -> deliverThroughStream();
+      default -> throw new IllegalArgumentException("unknown transport: " + transport);
+    };
+  }
+
+  private int deliverThroughList() {
+    for (String event : events) {
+      redisTemplate.addToList(QUEUE, event);
+    }
+    int received = 0;
+    while (received < EVENTS) {
+      Optional<String> value = redisTemplate.moveFromList(QUEUE, PROCESSING, 1);
+      if (value.isEmpty()) {
+        throw new IllegalStateException("list transport lost events: " + received);
+      }
+      redisTemplate.removeFromList(PROCESSING, value.get());
+      received++;
+    }
+    return received;
+  }
+
+  private int deliverThroughStream() {
+    for (String event : events) {
+      redisTemplate.addToStream(STREAM, Collections.singletonMap("event", event), EVENTS * 2);
+    }
+    int received = 0;
+    while (received < EVENTS) {
+      List<StreamEntry> entries =
+          redisTemplate.readFromStreamGroup(STREAM, GROUP, CONSUMER, BATCH_SIZE, 1000);
+      if (entries.isEmpty()) {
+        throw new IllegalStateException("stream transport lost events: " + received);
+      }
+      String[] ids = new String[entries.size()];
+      for (int i = 0; i < entries.size(); i++) {
+        ids[i] = entries.get(i).id();
+      }
+      redisTemplate.acknowledgeStreamEntries(STREAM, GROUP, ids);
+      received += ids.length;
+    }
+    return received;
+  }
+
+  private static RedisServerConfig createServerConfig() {
+    HostPort hostPort = new HostPort();
+    hostPort.setHost(
+        Optional.ofNullable(System.getenv("REDIS_HOST"))
+            .filter(s -> !s.isEmpty())
+            .orElse("localhost"));
+    hostPort.setPort(
+        Optional.ofNullable(System.getenv("REDIS_PORT"))
+            .filter(s -> !s.isEmpty())
+            .map(Integer::parseInt)
+            .orElse(6379));
+    RedisServerConfig serverConfig = new RedisServerConfig();
+    serverConfig.setId("REDIS_SERVER/REDIS_SERVER/redis-1");
+    serverConfig.setResourceCategory("REDIS_SERVER");
+    serverConfig.setResourceType("REDIS_SERVER");
+    serverConfig.setHostPorts(Collections.singletonList(hostPort));
+    serverConfig.setSsl(false);
+    serverConfig.setClientType(RedisServerConfig.ClientType.STANDALONE);
+    return serverConfig;
+  }
+
+  private static RedisTemplateResourceConfig createTemplateConfig() {
+    RedisTemplateResourceConfig templateConfig = new RedisTemplateResourceConfig();
+    templateConfig.setId("REDIS_SERVER/" + RESOURCE_TYPE + "/1");
+    templateConfig.setResourceCategory("REDIS_SERVER");
+    templateConfig.setResourceType(RESOURCE_TYPE);
+    templateConfig.setPrefix("BENCHMARK");
+    templateConfig.setResourceIdSuffix("redis-1");
+    templateConfig.setPartitionKey("1");
+    return templateConfig;
+  }
+
+  private record MapResourceConfigProvider(Map<String, ResourceConfig> configs)
+      implements ResourceConfigProvider {
+
+    @Override
+    public <T extends ResourceConfig> T getConfig(String id, Class<T> clz) {
+      return clz.cast(configs.get(id));
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.orchestrator.engine.ResolvableValue;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.impl.value.CompiledExpression;
+import com.upo.orchestrator.engine.impl.value.ExpressionResolvableValue;
+import com.upo.orchestrator.engine.impl.value.GroovyScriptCompiler;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.utilities.json.path.JsonPath;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+
+/**
+ * Measures evaluation of an expression through {@link ExpressionResolvableValue}, which interprets
+ * simple expressions, against running it as a compiled Groovy script, both with pooled script
+ * instances and with the previous approach of creating a script instance and a binding map on
+ * every evaluation. Run with the gc profiler, configured for the jmh task, to compare allocation
+ * per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class ExpressionEvaluationBenchmark {
+
+  private ResolvableValue expression;
+  private CompiledExpression groovyExpression;
+  private Class<? extends Script> scriptClass;
+  private JsonPath amountPath;
+  private JsonPath taxPath;
+  private ProcessInstance processInstance;
+
+  @Setup
+  public void setUp() {
+    expression =
+        new ExpressionResolvableValue("{{order.output.amount}} * (1 + {{order.output.tax}})");
+    scriptClass = new GroovyShell().parse("var1 * (1 + var2)").getClass();
+    amountPath = JsonPath.create("order.output.amount");
+    taxPath = JsonPath.create("order.output.tax");
+    groovyExpression =
+        GroovyScriptCompiler.compileScript(
+            "var1 * (1 + var2)", Map.of("var1", amountPath, "var2", taxPath));
+
+    VariableContainerImpl variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable(
+        "order", Variable.Type.OUTPUT, Map.of("amount", 250, "tax", 0.2d));
+    processInstance = new ProcessInstance();
+    processInstance.setVariableContainer(variableContainer);
+  }
+
+  @Benchmark
+  public Object scriptPerEvaluation() {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("var1", processInstance.getVariableContainer().readVariable(amountPath));
+    variables.put("var2", processInstance.getVariableContainer().readVariable(taxPath));
+    Script script = InvokerHelper.createScript(scriptClass, new Binding(variables));
+    return script.run();
+  }
+
+  @Benchmark
+  public Object groovyExpression() {
+    return groovyExpression.evaluate(processInstance.getVariableContainer());
+  }
+
+  @Benchmark
+  public Object compiledExpression() {
+    return expression.evaluate(processInstance);
+  }
+}
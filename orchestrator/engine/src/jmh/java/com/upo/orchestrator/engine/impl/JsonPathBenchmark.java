@@ -0,0 +1,69 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.utilities.json.path.JsonPath;
+
+/**
+ * Measures creating and reading paths. Run with the gc profiler: creating an interned path and
+ * reading a {@code task.type.field} variable should not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class JsonPathBenchmark {
+
+  private JsonPath variablePath;
+  private JsonPath fanOutPath;
+  private VariableContainerImpl variableContainer;
+
+  @Setup
+  public void setUp() {
+    variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable(
+        "fetch",
+        Variable.Type.OUTPUT,
+        Map.of("status", "ok", "orders", List.of(Map.of("id", 1), Map.of("id", 2))));
+    variablePath = JsonPath.create("fetch.output.status");
+    fanOutPath = JsonPath.create("fetch.output.orders.sku");
+  }
+
+  @Benchmark
+  public Object createPath() {
+    return JsonPath.create("fetch.output.status");
+  }
+
+  @Benchmark
+  public Object readVariable() {
+    return variableContainer.readVariable(variablePath);
+  }
+
+  @Benchmark
+  public Object readEmptyFanOut() {
+    return variableContainer.readVariable(fanOutPath);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.orchestrator.engine.ProcessFlowStatus;
+import com.upo.orchestrator.engine.Signal;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.models.ProcessVariable;
+import com.upo.resource.redis.impl.JsonRedisCodec;
+import com.upo.resource.redis.impl.JsonbRedisCodec;
+
+/**
+ * Compares encoding and decoding instances, variables and events as JSON text with the binary JSONB
+ * format of {@link JsonbRedisCodec}. The size of the encoded value of each format is printed on
+ * setup; run with the gc profiler to compare allocations as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class RedisCodecBenchmark {
+
+  @Param({"instance", "variable", "event"})
+  public String payload;
+
+  @Param({"json", "jsonb"})
+  public String format;
+
+  private Codec codec;
+  private Object value;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    switch (payload) {
+      case "instance" -> {
+        value = createInstance();
+        codec = createCodec(ProcessInstance.class);
+      }
+      case "variable" -> {
+        value = createVariable();
+        codec = createCodec(ProcessVariable.class);
+      }
+      case "event" -> {
+        value = createEvent();
+        codec = createCodec(LifecycleEvent.class);
+      }
+      default -> throw new IllegalArgumentException("unknown payload: " + payload);
+    }
+    encoded = codec.encode(value);
+    System.out.println(payload + " encoded as " + format + ": " + encoded.length + " bytes");
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return codec.encode(value);
+  }
+
+  @Benchmark
+  public Object decode() {
+    return codec.decode(encoded);
+  }
+
+  private <T> Codec createCodec(Class<T> clz) {
+    if ("jsonb".equals(format)) {
+      JsonbRedisCodec<T, String> jsonb = JsonbRedisCodec.forStringKey(clz, _ -> null);
+     //noinspection unchecked
+      return new Codec(obj -> jsonb.toBytes((T) obj), jsonb::fromBytes);
+    }
+    JsonRedisCodec<T, String> json = JsonRedisCodec.forStringKey(clz, _ -> null);
+   //noinspection unchecked
+    return new Codec(
+        obj -> json.toString((T) obj).getBytes(StandardCharsets.UTF_8),
+        bytes -> json.fromString(new String(bytes, StandardCharsets.UTF_8)));
+  }
+
+  private static ProcessInstance createInstance() {
+    ProcessInstance processInstance = new ProcessInstance();
+    processInstance.setId("01JD7WQ8B1ZK3V6T0X5Y2M4N8P");
+    processInstance.setProcessId("order-fulfilment");
+    processInstance.setProcessSnapshotId("01JD7WPZ4E9R2Q1H6F3K8T0B5C");
+    processInstance.setProcessVersion("12");
+    processInstance.setProcessEnvId("01JD7WQ8B1ZK3V6T0X5Y2M4N8P");
+    processInstance.setExecutionStrategy("DISTRIBUTED");
+    processInstance.setStatus(ProcessFlowStatus.WAIT);
+    processInstance.setVersion(42L);
+    processInstance.setStartTime(1_732_000_000_000L);
+    processInstance.setCurrTaskId("awaitPayment");
+    processInstance.setPrevTaskId("reserveStock");
+    processInstance.setTaskCount(17L);
+    processInstance.setCurrentTaskStartTime(1_732_000_004_000L);
+    processInstance.setCurrentTaskInvocationTime(1_732_000_004_100L);
+    return processInstance;
+  }
+
+  private static ProcessVariable createVariable() {
+    List<Object> lines = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      lines.add(Map.of("sku", "sku-" + i, "quantity", i + 1, "price", 9.99 * (i + 1)));
+    }
+    ProcessVariable processVariable = new ProcessVariable();
+    processVariable.setId("01JD7WQ8B1ZK3V6T0X5Y2M4N8P/01JD7WQ8B1ZK3V6T0X5Y2M4N8P/fetch/output");
+    processVariable.setProcessInstanceId("01JD7WQ8B1ZK3V6T0X5Y2M4N8P");
+    processVariable.setTaskId("fetch");
+    processVariable.setType(Variable.Type.OUTPUT);
+    processVariable.setPayload(Map.of("orderId", "order-1", "status", "open", "lines", lines));
+    return processVariable;
+  }
+
+  private static LifecycleEvent createEvent() {
+    LifecycleEvent.SignalProcess event = new LifecycleEvent.SignalProcess();
+    event.setProcessInstanceId("01JD7WQ8B1ZK3V6T0X5Y2M4N8P");
+    event.setSignal(Signal.Resume.with(Map.of("paymentId", "payment-1", "approved", true)));
+    return event;
+  }
+
+  private record Codec(Function<Object, byte[]> encoder, Function<byte[], Object> decoder) {
+
+    byte[] encode(Object value) {
+      return encoder.apply(value);
+    }
+
+    Object decode(byte[] bytes) {
+      return decoder.apply(bytes);
+    }
+  }
+}
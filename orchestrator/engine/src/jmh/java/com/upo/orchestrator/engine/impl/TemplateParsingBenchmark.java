@@ -0,0 +1,116 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.orchestrator.engine.ResolvableValue;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.impl.value.CompositeResolvableValue;
+import com.upo.orchestrator.engine.impl.value.StaticResolvableValue;
+import com.upo.orchestrator.engine.impl.value.ValueParser;
+import com.upo.orchestrator.engine.impl.value.VariableResolvableValue;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+
+/**
+ * Measures parsing and evaluation of a large HTTP-body-style template through {@link
+ * ValueParser}, against the previous parser, which searched for the next variable reference and
+ * the next expression with two regex matchers on every step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class TemplateParsingBenchmark {
+
+  private static final Pattern VAR_PATTERN = Pattern.compile("\\{\\{([^}]+)}}");
+  private static final Pattern EXPR_PATTERN = Pattern.compile("\\[\\[(.+?)]]");
+
+  @Param({"10", "200"})
+  private int fields;
+
+  private String template;
+  private ResolvableValue compiledTemplate;
+  private ProcessInstance processInstance;
+
+  @Setup
+  public void setUp() {
+    StringBuilder body = new StringBuilder("{\"request\": {\"items\": [");
+    for (int i = 0; i < fields; i++) {
+      body.append(i > 0 ? ", " : "")
+          .append("{\"sku\": \"{{order.output.sku}}\", \"position\": ")
+          .append(i)
+          .append(", \"note\": \"static text that is copied as is\"}");
+    }
+    template = body.append("]}}").toString();
+    compiledTemplate = new CompositeResolvableValue(ValueParser.parse(template));
+
+    VariableContainerImpl variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable("order", Variable.Type.OUTPUT, Map.of("sku", "SKU-1"));
+    processInstance = new ProcessInstance();
+    processInstance.setVariableContainer(variableContainer);
+  }
+
+  @Benchmark
+  public Object regexParse() {
+    List<ResolvableValue> parts = new ArrayList<>();
+    Matcher varMatcher = VAR_PATTERN.matcher(template);
+    Matcher exprMatcher = EXPR_PATTERN.matcher(template);
+    int currentPos = 0;
+    while (currentPos < template.length()) {
+      boolean foundVar = varMatcher.find(currentPos);
+      boolean foundExpr = exprMatcher.find(currentPos);
+      if (!foundVar && !foundExpr) {
+        parts.add(new StaticResolvableValue(template.substring(currentPos)));
+        break;
+      }
+      int varStart = foundVar ? varMatcher.start() : template.length();
+      int exprStart = foundExpr ? exprMatcher.start() : template.length();
+      if (varStart < exprStart) {
+        if (currentPos < varStart) {
+          parts.add(new StaticResolvableValue(template.substring(currentPos, varStart)));
+        }
+        parts.add(new VariableResolvableValue(varMatcher.group(1)));
+        currentPos = varMatcher.end();
+      } else {
+       // the template has no expressions
+        throw new IllegalStateException("unexpected expression at: " + exprStart);
+      }
+    }
+    return parts;
+  }
+
+  @Benchmark
+  public Object singlePassParse() {
+    return ValueParser.parse(template);
+  }
+
+  @Benchmark
+  public Object evaluate() {
+    return compiledTemplate.evaluate(processInstance);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.models.ProcessEnv;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.InputValueResolver;
+import com.upo.utilities.filter.api.AndFilter;
+import com.upo.utilities.filter.api.EqualsFilter;
+import com.upo.utilities.filter.api.Filter;
+import com.upo.utilities.filter.api.GreaterThanFilter;
+import com.upo.utilities.filter.impl.FilterEvaluator;
+
+/**
+ * Measures the cost of evaluating a transition predicate when the evaluator is rebuilt for every
+ * evaluation, as transitions used to do, against evaluating an evaluator compiled once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview"})
+public class TransitionEvaluationBenchmark {
+
+  private InputValueResolver inputValueResolver;
+  private Filter filter;
+  private FilterEvaluator<ProcessInstance> compiledEvaluator;
+  private ProcessInstance processInstance;
+
+  @Setup
+  public void setUp() {
+    inputValueResolver = new DefaultInputValueResolver();
+    filter =
+        new AndFilter(
+            List.of(
+                new EqualsFilter("{{order.output.status}}", "APPROVED"),
+                new GreaterThanFilter("{{order.output.amount}}", "{{limits.input.threshold}}")));
+    compiledEvaluator = ProcessFilterEvaluatorFactory.createEvaluator(filter, inputValueResolver);
+
+    VariableContainerImpl variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable(
+        "order", Variable.Type.OUTPUT, Map.of("status", "APPROVED", "amount", 250));
+    variableContainer.restoreVariable("limits", Variable.Type.INPUT, Map.of("threshold", 100));
+    ProcessEnv processEnv = new ProcessEnv();
+    processEnv.setProcessServices(new ProcessServicesImpl());
+    processInstance = new ProcessInstance();
+    processInstance.setId("instance");
+    processInstance.setProcessEnv(processEnv);
+    processInstance.setVariableContainer(variableContainer);
+  }
+
+  @Benchmark
+  public boolean rebuildPerEvaluation() {
+    return ProcessFilterEvaluatorFactory.createEvaluator(filter, inputValueResolver)
+        .evaluate(processInstance);
+  }
+
+  @Benchmark
+  public boolean compiledOnce() {
+    return compiledEvaluator.evaluate(processInstance);
+  }
+}
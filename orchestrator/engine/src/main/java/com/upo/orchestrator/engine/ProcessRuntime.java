@@ -59,4 +59,10 @@ public interface ProcessRuntime {
 
   /** Returns the core runtime services */
   ProcessServices getCoreServices();
+
+  /**
+   * Called once the process snapshot is replaced and no instance will run on this runtime anymore,
+   * releasing resources such as compiled expressions held for it.
+   */
+  default void retire() {}
 }
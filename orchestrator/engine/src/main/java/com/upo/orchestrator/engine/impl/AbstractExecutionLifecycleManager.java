@@ -7,7 +7,10 @@
 */
 package com.upo.orchestrator.engine.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import com.upo.orchestrator.engine.ProcessOutcome;
 import com.upo.orchestrator.engine.ProcessOutcomeSink;
@@ -15,6 +18,7 @@ import com.upo.orchestrator.engine.Signal;
 import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.services.ExecutionLifecycleManager;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
 import com.upo.orchestrator.engine.services.ProcessInstanceStore;
 import com.upo.orchestrator.engine.services.ProcessServices;
 import com.upo.orchestrator.engine.services.VariableStore;
@@ -22,9 +26,16 @@ import com.upo.orchestrator.engine.services.VariableStore;
 /**
  * Abstract implementation of ExecutionLifecycleManager that converts lifecycle operations into
  * events for processing. Subclasses need to implement the event handling logic.
+ *
+ * <p>Events raised within {@link #publishBatched(Supplier)} are buffered per thread and handed to
+ * {@link #handleEvents(List)} in one call, letting subclasses publish them in bulk. Events raised
+ * before the action fails are published too; a failure to publish them is added as suppressed to
+ * the failure of the action.
  */
 public abstract class AbstractExecutionLifecycleManager implements ExecutionLifecycleManager {
 
+  private final ScopedValue<List<LifecycleEvent>> pendingEvents = ScopedValue.newInstance();
+
   /**
    * Handles lifecycle events. Subclasses must implement this to process different event types.
    *
@@ -33,6 +44,55 @@ public abstract class AbstractExecutionLifecycleManager implements ExecutionLife
    */
   protected abstract void handleEvent(LifecycleEvent lifecycleEvent);
 
+  /**
+   * Handles events buffered by {@link #publishBatched(Supplier)}, in the order they were raised.
+   * Subclasses can override this to publish the events with fewer round trips.
+   *
+   * @param lifecycleEvents The events to be handled
+   */
+  protected void handleEvents(List<LifecycleEvent> lifecycleEvents) {
+    for (LifecycleEvent lifecycleEvent : lifecycleEvents) {
+      handleEvent(lifecycleEvent);
+    }
+  }
+
+  @Override
+  public <T> T publishBatched(Supplier<T> action) {
+    if (pendingEvents.isBound()) {
+     // already batching on this thread, events flush with the outermost batch
+      return action.get();
+    }
+    List<LifecycleEvent> events = new ArrayList<>();
+    T result;
+    try {
+      result = ScopedValue.getWhere(pendingEvents, events, action);
+    } catch (Throwable th) {
+     // events raised before the failure are still published, without hiding the failure
+      try {
+        flush(events);
+      } catch (Throwable flushFailure) {
+        th.addSuppressed(flushFailure);
+      }
+      throw th;
+    }
+    flush(events);
+    return result;
+  }
+
+  private void flush(List<LifecycleEvent> events) {
+    if (!events.isEmpty()) {
+      handleEvents(events);
+    }
+  }
+
+  private void publish(LifecycleEvent lifecycleEvent) {
+    if (pendingEvents.isBound()) {
+      pendingEvents.get().add(lifecycleEvent);
+    } else {
+      handleEvent(lifecycleEvent);
+    }
+  }
+
   @Override
   public void startProcess(String processDefinitionId, Object payload) {
     Objects.requireNonNull(processDefinitionId, "Process definition ID cannot be null");
@@ -40,7 +100,7 @@ public abstract class AbstractExecutionLifecycleManager implements ExecutionLife
     LifecycleEvent.StartProcess startProcess = new LifecycleEvent.StartProcess();
     startProcess.setProcessDefinitionId(processDefinitionId);
     startProcess.setPayload(payload);
-    handleEvent(startProcess);
+    publish(startProcess);
   }
 
   @Override
@@ -50,7 +110,7 @@ public abstract class AbstractExecutionLifecycleManager implements ExecutionLife
     LifecycleEvent.StartExistingInstance startInstance = new LifecycleEvent.StartExistingInstance();
     startInstance.setInstanceId(instanceId);
     startInstance.setPayload(payload);
-    handleEvent(startInstance);
+    publish(startInstance);
   }
 
   @Override
@@ -69,7 +129,7 @@ public abstract class AbstractExecutionLifecycleManager implements ExecutionLife
     LifecycleEvent.SignalProcess signalProcess = new LifecycleEvent.SignalProcess();
     signalProcess.setProcessInstanceId(targetInstanceId);
     signalProcess.setSignal(signal);
-    handleEvent(signalProcess);
+    publish(signalProcess);
   }
 
   @Override
@@ -80,7 +140,7 @@ public abstract class AbstractExecutionLifecycleManager implements ExecutionLife
     LifecycleEvent.ExecuteFromTask executeFromTask = new LifecycleEvent.ExecuteFromTask();
     executeFromTask.setProcessInstanceId(processInstanceId);
     executeFromTask.setTaskId(taskId);
-    handleEvent(executeFromTask);
+    publish(executeFromTask);
   }
 
   @Override
@@ -103,5 +163,9 @@ public abstract class AbstractExecutionLifecycleManager implements ExecutionLife
     ProcessInstanceStore processInstanceStore =
         processServices.getService(ProcessInstanceStore.class);
     processInstanceStore.deleteById(processInstance.getId());
+
+   // descendants may still be running, the env is deleted once the last of them releases it
+    ProcessEnvStore processEnvStore = processServices.getService(ProcessEnvStore.class);
+    processEnvStore.release(processInstance.getProcessEnvId(), processInstance.getId());
   }
 }
@@ -0,0 +1,514 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.upo.orchestrator.api.domain.TransitionType;
+import com.upo.orchestrator.engine.ResolvableValue;
+import com.upo.orchestrator.engine.Transition;
+import com.upo.orchestrator.engine.impl.value.StaticResolvableValue;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.InputValueResolver;
+import com.upo.orchestrator.engine.utils.VariableUtils;
+import com.upo.utilities.filter.api.EqualsFilter;
+import com.upo.utilities.filter.api.Filter;
+import com.upo.utilities.filter.api.InFilter;
+import com.upo.utilities.filter.api.RangeFilter;
+import com.upo.utilities.filter.impl.ComparableValue;
+import com.upo.utilities.filter.impl.FilterEvaluator;
+
+/**
+ * Transitions of a task with CONDITIONAL transitions compiled into decision tables.
+ *
+ * <p>Consecutive CONDITIONAL transitions whose predicates are EQUALS or IN filters on the same
+ * field with constant values are compiled into a hash table from value to transition; consecutive
+ * RANGE filters on the same field with constant bounds are compiled into an interval table, looked
+ * up by binary search when the intervals do not overlap. A table resolves its field once per
+ * evaluation, instead of once per transition. All other CONDITIONAL transitions are evaluated one
+ * by one, and the first matching transition in definition order always wins.
+ *
+ * <p>Field values a table can't compare exactly like the filter would, such as floating point
+ * numbers against hash keys, fall back to evaluating the table's predicates one by one.
+ */
+public final class CompiledTransitions extends AbstractList<Transition> implements RandomAccess {
+
+  /** Minimum number of consecutive compatible transitions worth a table. */
+  private static final int MIN_TABLE_TRANSITIONS = 3;
+
+  private final List<Transition> transitions;
+  private final List<Segment> conditionalSegments;
+
+  private CompiledTransitions(List<Transition> transitions, List<Segment> conditionalSegments) {
+    this.transitions = transitions;
+    this.conditionalSegments = conditionalSegments;
+  }
+
+  /**
+   * Compiles transitions of a task, building decision tables where its CONDITIONAL transitions
+   * allow it.
+   *
+   * @param definitions transition definitions, in definition order
+   * @param transitions runtime transitions, one for each definition at the same position
+   * @param inputValueResolver resolver used to build field and value expressions
+   * @return the transitions, as {@link CompiledTransitions} if any table was built
+   */
+  public static List<Transition> compile(
+      List<com.upo.orchestrator.api.domain.Transition> definitions,
+      List<Transition> transitions,
+      InputValueResolver inputValueResolver) {
+    List<Segment> segments = new ArrayList<>();
+    List<Transition> pending = new ArrayList<>();
+    List<Condition> pendingConditions = new ArrayList<>();
+    boolean hasTable = false;
+    for (int i = 0; i < transitions.size(); i++) {
+      Transition transition = transitions.get(i);
+      if (transition.getType() != TransitionType.CONDITIONAL) {
+        continue;
+      }
+      Condition condition =
+          definitions.get(i).getPredicate().map(CompiledTransitions::toCondition).orElse(null);
+      if (pendingConditions.isEmpty()
+          || condition == null
+          || !condition.isCompatible(pendingConditions.getFirst())) {
+        hasTable |= flush(segments, pending, pendingConditions, inputValueResolver);
+      }
+      pending.add(transition);
+      pendingConditions.add(condition);
+    }
+    hasTable |= flush(segments, pending, pendingConditions, inputValueResolver);
+    if (!hasTable) {
+      return List.copyOf(transitions);
+    }
+    return new CompiledTransitions(List.copyOf(transitions), List.copyOf(segments));
+  }
+
+  /**
+   * Finds the first CONDITIONAL transition, in definition order, whose predicate matches.
+   *
+   * @param processInstance instance to evaluate predicates against
+   * @param transitions transitions to search, possibly {@link CompiledTransitions}
+   * @return the first matching CONDITIONAL transition, or null if none matches
+   */
+  public static Transition findFirstConditionalMatch(
+      ProcessInstance processInstance, List<Transition> transitions) {
+    if (transitions instanceof CompiledTransitions compiledTransitions) {
+      return compiledTransitions.findFirstConditionalMatch(processInstance);
+    }
+    for (Transition transition : transitions) {
+      if (transition.getType() == TransitionType.CONDITIONAL
+          && matches(processInstance, transition)) {
+        return transition;
+      }
+    }
+    return null;
+  }
+
+  public Transition findFirstConditionalMatch(ProcessInstance processInstance) {
+    for (Segment segment : conditionalSegments) {
+      Transition match = segment.findFirstMatch(processInstance);
+      if (match != null) {
+        return match;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public Transition get(int index) {
+    return transitions.get(index);
+  }
+
+  @Override
+  public int size() {
+    return transitions.size();
+  }
+
+  private static boolean flush(
+      List<Segment> segments,
+      List<Transition> pending,
+      List<Condition> pendingConditions,
+      InputValueResolver inputValueResolver) {
+    if (pending.isEmpty()) {
+      return false;
+    }
+    List<Transition> group = List.copyOf(pending);
+    Condition condition = pendingConditions.getFirst();
+    Segment table =
+        condition != null && group.size() >= MIN_TABLE_TRANSITIONS
+            ? condition.createTable(group, pendingConditions, inputValueResolver)
+            : null;
+    pending.clear();
+    pendingConditions.clear();
+    if (table != null) {
+      segments.add(table);
+      return true;
+    }
+    if (!segments.isEmpty() && segments.getLast() instanceof LinearSegment(var previous)) {
+      List<Transition> merged = new ArrayList<>(previous);
+      merged.addAll(group);
+      segments.set(segments.size() - 1, new LinearSegment(List.copyOf(merged)));
+    } else {
+      segments.add(new LinearSegment(group));
+    }
+    return false;
+  }
+
+  private static boolean matches(ProcessInstance processInstance, Transition transition) {
+    Optional<FilterEvaluator<ProcessInstance>> predicate = transition.getPredicate();
+    return predicate.isEmpty() || predicate.get().evaluate(processInstance);
+  }
+
+  private static Transition findFirstMatch(
+      ProcessInstance processInstance, List<Transition> transitions) {
+    for (Transition transition : transitions) {
+      if (matches(processInstance, transition)) {
+        return transition;
+      }
+    }
+    return null;
+  }
+
+  /** Analyzes a predicate into a condition on one field, null if it can't be tabled. */
+  private static Condition toCondition(Filter filter) {
+    return switch (filter) {
+      case EqualsFilter equalsFilter -> {
+        Object key = toKey(equalsFilter.getValue());
+        yield key != null ? new KeyCondition(equalsFilter.getField(), List.of(key)) : null;
+      }
+      case InFilter inFilter -> {
+        if (inFilter.getValues() == null) {
+          yield null;
+        }
+        List<Object> keys = new ArrayList<>();
+        for (Object value : inFilter.getValues()) {
+          Object key = toKey(value);
+          if (key == null) {
+            yield null;
+          }
+          keys.add(key);
+        }
+        yield new KeyCondition(inFilter.getField(), keys);
+      }
+      case RangeFilter rangeFilter -> {
+        Object from = rangeFilter.getFrom();
+        Object to = rangeFilter.getTo();
+        boolean numeric = isNumber(from) || isNumber(to);
+        if (!isBound(from, numeric) || !isBound(to, numeric)) {
+          yield null;
+        }
+        Interval interval =
+            new Interval(from, to, rangeFilter.isFromInclusive(), rangeFilter.isToInclusive());
+        yield new RangeCondition(rangeFilter.getField(), numeric, interval);
+      }
+      default -> null;
+    };
+  }
+
+  /**
+   * Hash key of a constant value, null if its equality is not plain value equality. Integral
+   * numbers of all widths compare equal by value, so they share long keys.
+   */
+  private static Object toKey(Object value) {
+    return switch (value) {
+      case String string -> isTemplate(string) ? null : string;
+      case Boolean bool -> bool;
+      case Byte number -> number.longValue();
+      case Short number -> number.longValue();
+      case Integer number -> number.longValue();
+      case Long number -> number;
+      case null, default -> null;
+    };
+  }
+
+  private static boolean isBound(Object bound, boolean numeric) {
+    if (bound == null) {
+      return true;
+    }
+    return numeric ? isNumber(bound) : bound instanceof String string && !isTemplate(string);
+  }
+
+  private static boolean isNumber(Object value) {
+    return value instanceof Byte
+        || value instanceof Short
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Float
+        || value instanceof Double
+        || value instanceof BigInteger
+        || value instanceof BigDecimal;
+  }
+
+  private static boolean isTemplate(String value) {
+    return value.contains("{{") || value.contains("[[");
+  }
+
+  /**
+   * Values of a field, evaluated once, null when the field can't be evaluated to a list of
+   * values, in which case the caller falls back to evaluating the predicates.
+   */
+  private static Collection<?> resolveFieldValues(
+      ProcessInstance processInstance, ResolvableValue field) {
+    VariableUtils.loadMissingReferencedVariables(processInstance, field.getVariableDependencies());
+    Object value = field.evaluate(processInstance);
+    return switch (value) {
+      case null -> null;
+      case Collection<?> collection -> collection;
+      case Object[] array -> Arrays.asList(array);
+      default -> value.getClass().isArray() ? null : List.of(value);
+    };
+  }
+
+  private static ResolvableValue resolveField(
+      String field, InputValueResolver inputValueResolver) {
+    ResolvableValue resolvableValue = inputValueResolver.resolve(field);
+    return resolvableValue instanceof StaticResolvableValue ? null : resolvableValue;
+  }
+
+  private sealed interface Condition permits KeyCondition, RangeCondition {
+
+    boolean isCompatible(Condition other);
+
+    /**
+     * Builds a table for transitions whose conditions, at the same positions, are all compatible
+     * with this one; null if the field can't be resolved per instance.
+     */
+    Segment createTable(
+        List<Transition> transitions,
+        List<Condition> conditions,
+        InputValueResolver inputValueResolver);
+  }
+
+  private record KeyCondition(String field, List<Object> keys) implements Condition {
+
+    @Override
+    public boolean isCompatible(Condition other) {
+      return other instanceof KeyCondition(var otherField, _) && field.equals(otherField);
+    }
+
+    @Override
+    public Segment createTable(
+        List<Transition> transitions,
+        List<Condition> conditions,
+        InputValueResolver inputValueResolver) {
+      ResolvableValue resolvableField = resolveField(field, inputValueResolver);
+      return resolvableField != null
+          ? new KeyTable(resolvableField, transitions, conditions)
+          : null;
+    }
+  }
+
+  private record RangeCondition(String field, boolean numeric, Interval interval)
+      implements Condition {
+
+    @Override
+    public boolean isCompatible(Condition other) {
+      return other instanceof RangeCondition(var otherField, var otherNumeric, _)
+          && field.equals(otherField)
+          && numeric == otherNumeric;
+    }
+
+    @Override
+    public Segment createTable(
+        List<Transition> transitions,
+        List<Condition> conditions,
+        InputValueResolver inputValueResolver) {
+      ResolvableValue resolvableField = resolveField(field, inputValueResolver);
+      return resolvableField != null
+          ? new RangeTable(resolvableField, numeric, transitions, conditions)
+          : null;
+    }
+  }
+
+  private sealed interface Segment permits LinearSegment, KeyTable, RangeTable {
+
+    Transition findFirstMatch(ProcessInstance processInstance);
+  }
+
+  private record LinearSegment(List<Transition> transitions) implements Segment {
+
+    @Override
+    public Transition findFirstMatch(ProcessInstance processInstance) {
+      return CompiledTransitions.findFirstMatch(processInstance, transitions);
+    }
+  }
+
+  /** Hash dispatch for EQUALS and IN predicates on one field. */
+  private static final class KeyTable implements Segment {
+
+    private final ResolvableValue field;
+    private final List<Transition> transitions;
+    private final Map<Object, Integer> positionsByKey = new HashMap<>();
+
+    private KeyTable(
+        ResolvableValue field, List<Transition> transitions, List<Condition> conditions) {
+      this.field = field;
+      this.transitions = transitions;
+      for (int i = 0; i < conditions.size(); i++) {
+        for (Object key : ((KeyCondition) conditions.get(i)).keys()) {
+          positionsByKey.putIfAbsent(key, i);
+        }
+      }
+    }
+
+    @Override
+    public Transition findFirstMatch(ProcessInstance processInstance) {
+      Collection<?> values = resolveFieldValues(processInstance, field);
+      if (values == null) {
+        return CompiledTransitions.findFirstMatch(processInstance, transitions);
+      }
+      int position = Integer.MAX_VALUE;
+      for (Object value : values) {
+        if (value == null) {
+          continue;
+        }
+        Object key = toKey(value);
+        if (key == null) {
+          return CompiledTransitions.findFirstMatch(processInstance, transitions);
+        }
+        position = Math.min(position, positionsByKey.getOrDefault(key, Integer.MAX_VALUE));
+      }
+      return position == Integer.MAX_VALUE ? null : transitions.get(position);
+    }
+  }
+
+  /** Interval lookup for RANGE predicates on one field. */
+  private static final class RangeTable implements Segment {
+
+    private final ResolvableValue field;
+    private final boolean numeric;
+    private final List<Transition> transitions;
+    private final List<Interval> intervals = new ArrayList<>();
+    // intervals sorted by lower bound, only when they do not overlap
+    private final Interval[] sortedIntervals;
+
+    private RangeTable(
+        ResolvableValue field,
+        boolean numeric,
+        List<Transition> transitions,
+        List<Condition> conditions) {
+      this.field = field;
+      this.numeric = numeric;
+      this.transitions = transitions;
+      for (int i = 0; i < conditions.size(); i++) {
+        intervals.add(((RangeCondition) conditions.get(i)).interval().at(i));
+      }
+      this.sortedIntervals = sortIfDisjoint(intervals, numeric);
+    }
+
+    private static Interval[] sortIfDisjoint(List<Interval> intervals, boolean numeric) {
+      Interval[] sorted = intervals.toArray(new Interval[0]);
+      Comparator<Object> bounds = (left, right) -> compare(left, right, numeric);
+      Arrays.sort(sorted, Comparator.comparing(Interval::from, Comparator.nullsFirst(bounds)));
+      for (int i = 1; i < sorted.length; i++) {
+        Interval previous = sorted[i - 1];
+        Interval current = sorted[i];
+        // lower bounds strictly increase and every interval ends before the next one starts
+        if (current.from() == null
+            || (previous.from() != null && compare(previous.from(), current.from(), numeric) >= 0)
+            || !previous.endsBefore(current, numeric)) {
+          return null;
+        }
+      }
+      return sorted;
+    }
+
+    @Override
+    public Transition findFirstMatch(ProcessInstance processInstance) {
+      Collection<?> values = resolveFieldValues(processInstance, field);
+      if (values == null) {
+        return CompiledTransitions.findFirstMatch(processInstance, transitions);
+      }
+      int position = Integer.MAX_VALUE;
+      for (Object value : values) {
+        if (value == null) {
+          continue;
+        }
+        if (numeric ? !isNumber(value) : !(value instanceof String)) {
+          return CompiledTransitions.findFirstMatch(processInstance, transitions);
+        }
+        position = Math.min(position, findPosition(value));
+      }
+      return position == Integer.MAX_VALUE ? null : transitions.get(position);
+    }
+
+    private int findPosition(Object value) {
+      if (sortedIntervals == null) {
+        for (int i = 0; i < intervals.size(); i++) {
+          if (intervals.get(i).contains(value, numeric)) {
+            return i;
+          }
+        }
+        return Integer.MAX_VALUE;
+      }
+      // last interval starting at or below the value, the one before it may end at the value
+      int low = 0;
+      int high = sortedIntervals.length - 1;
+      int candidate = -1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        Object from = sortedIntervals[mid].from();
+        if (from == null || compare(value, from, numeric) >= 0) {
+          candidate = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      for (int i = candidate; i >= 0 && i >= candidate - 1; i--) {
+        if (sortedIntervals[i].contains(value, numeric)) {
+          return sortedIntervals[i].position();
+        }
+      }
+      return Integer.MAX_VALUE;
+    }
+  }
+
+  private record Interval(
+      Object from, Object to, boolean fromInclusive, boolean toInclusive, int position) {
+
+    private Interval(Object from, Object to, boolean fromInclusive, boolean toInclusive) {
+      this(from, to, fromInclusive, toInclusive, -1);
+    }
+
+    private Interval at(int position) {
+      return new Interval(from, to, fromInclusive, toInclusive, position);
+    }
+
+    private boolean contains(Object value, boolean numeric) {
+      if (from != null) {
+        int compareFrom = compare(value, from, numeric);
+        if (fromInclusive ? compareFrom < 0 : compareFrom <= 0) {
+          return false;
+        }
+      }
+      if (to != null) {
+        int compareTo = compare(value, to, numeric);
+        return toInclusive ? compareTo <= 0 : compareTo < 0;
+      }
+      return true;
+    }
+
+    /** Whether this interval ends before the next one, which starts after this one starts. */
+    private boolean endsBefore(Interval next, boolean numeric) {
+      if (to == null || next.from == null) {
+        return false;
+      }
+      int compared = compare(to, next.from, numeric);
+      return compared < 0 || (compared == 0 && !(toInclusive && next.fromInclusive));
+    }
+  }
+
+  private static int compare(Object left, Object right, boolean numeric) {
+    return numeric
+        ? ComparableValue.NumberComparable.compare((Number) left, (Number) right)
+        : ((String) left).compareTo((String) right);
+  }
+}
@@ -8,6 +8,7 @@
 package com.upo.orchestrator.engine.impl;
 
 import com.upo.orchestrator.engine.services.InputValueResolver;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -17,7 +18,10 @@ import jakarta.inject.Singleton;
 @Singleton
 public class CoreRuntimeServicesImpl extends ProcessServicesImpl {
   @Inject
-  public CoreRuntimeServicesImpl(DefaultInputValueResolver inputValueResolver) {
+  public CoreRuntimeServicesImpl(
+      DefaultInputValueResolver inputValueResolver,
+      MailboxProcessInstanceCache processInstanceCache) {
     registerService(InputValueResolver.class, inputValueResolver);
+    registerService(ProcessInstanceCache.class, processInstanceCache);
   }
 }
@@ -0,0 +1,177 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.LifecycleEventHandler;
+
+/**
+ * LifecycleEventHandler decorator that runs events of one process instance one at a time.
+ *
+ * <p>Every event is routed by {@link LifecycleEvent#getPartitionKey()} into a mailbox. The first
+ * thread finding a mailbox idle drains it, handling queued events in arrival order, including
+ * events added by other threads meanwhile; those threads wait until their own event has been
+ * handled, so callers still observe completion and failures of the events they submitted. Two
+ * signals for the same instance therefore never race on the instance's status check when saving.
+ *
+ * <p>Events raised for the same instance by the draining thread itself are queued and handled by
+ * it once the current event returns. Events raised by a draining thread for an instance whose
+ * mailbox another thread drains are queued without waiting as well: the scheduler may run events
+ * on the submitting thread when its queues are full, and two draining threads waiting on each
+ * other's mailbox would never resume.
+ *
+ * <p>Consecutive events drained from one mailbox share a single load of their instance: an instance
+ * left waiting by one event is held by the drain, through {@link MailboxProcessInstanceCache}, and
+ * handed to the next event instead of being read back from the store. Every event still saves its
+ * own checkpoint.
+ */
+public class MailboxLifecycleEventHandler implements LifecycleEventHandler {
+
+  /** Mailbox drain running on the current thread. */
+  private static final ScopedValue<Drain> CURRENT_DRAIN = ScopedValue.newInstance();
+
+  private final LifecycleEventHandler delegate;
+  private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+  public MailboxLifecycleEventHandler(LifecycleEventHandler delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void handle(LifecycleEvent lifecycleEvent) {
+    String key = lifecycleEvent.getPartitionKey();
+    QueuedEvent queuedEvent = new QueuedEvent(lifecycleEvent, new CompletableFuture<>());
+    Thread current = Thread.currentThread();
+    Mailbox mailbox;
+    Thread drainer;
+    while (true) {
+      mailbox = mailboxes.computeIfAbsent(key, _ -> new Mailbox());
+      synchronized (mailbox) {
+        if (mailbox.retired) {
+         // drained and removed concurrently, retry with a fresh mailbox
+          continue;
+        }
+        mailbox.events.add(queuedEvent);
+        if (mailbox.drainer == null) {
+          mailbox.drainer = current;
+        }
+        drainer = mailbox.drainer;
+      }
+      break;
+    }
+    if (drainer == current) {
+      if (!mailbox.draining) {
+        drain(key, mailbox);
+      } else {
+        return;
+      }
+    } else if (getCurrentDrain() != null) {
+      return;
+    }
+    await(queuedEvent.completion());
+  }
+
+  /** Number of instances with queued or running events. */
+  public int getActiveMailboxes() {
+    return mailboxes.size();
+  }
+
+  /**
+   * Returns the drain of the mailbox the current thread is draining.
+   *
+   * @return drain of the mailbox, null outside of a drain
+   */
+  static Drain getCurrentDrain() {
+    return CURRENT_DRAIN.isBound() ? CURRENT_DRAIN.get() : null;
+  }
+
+  /**
+   * Returns the drain of the mailbox of the given key, if the current thread is draining it.
+   *
+   * @param key partition key of the mailbox
+   * @return drain of the mailbox, null if the current thread doesn't drain it
+   */
+  static Drain getCurrentDrain(String key) {
+    Drain drain = getCurrentDrain();
+    return drain != null && drain.key.equals(key) ? drain : null;
+  }
+
+  private void drain(String key, Mailbox mailbox) {
+    ScopedValue.runWhere(CURRENT_DRAIN, new Drain(key), () -> drainEvents(key, mailbox));
+  }
+
+  private void drainEvents(String key, Mailbox mailbox) {
+    mailbox.draining = true;
+    while (true) {
+      QueuedEvent next;
+      synchronized (mailbox) {
+        next = mailbox.events.poll();
+        if (next == null) {
+          mailbox.drainer = null;
+          mailbox.draining = false;
+          mailbox.retired = true;
+          mailboxes.remove(key, mailbox);
+          return;
+        }
+      }
+      try {
+        delegate.handle(next.event());
+        next.completion().complete(null);
+      } catch (Throwable th) {
+        next.completion().completeExceptionally(th);
+      }
+    }
+  }
+
+  private static void await(CompletableFuture<Void> completion) {
+    try {
+      completion.join();
+    } catch (CompletionException eX) {
+      Throwable cause = eX.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw eX;
+    }
+  }
+
+  private record QueuedEvent(LifecycleEvent event, CompletableFuture<Void> completion) {}
+
+  /** State kept while a thread drains a mailbox, only accessed by that thread. */
+  static final class Drain {
+    private final String key;
+    ProcessInstance instance;
+
+    private Drain(String key) {
+      this.key = key;
+    }
+
+    String getKey() {
+      return key;
+    }
+  }
+
+  private static final class Mailbox {
+    private final Deque<QueuedEvent> events = new ArrayDeque<>();
+    private Thread drainer;
+    private boolean retired;
+   // only accessed by the drainer thread
+    private boolean draining;
+  }
+}
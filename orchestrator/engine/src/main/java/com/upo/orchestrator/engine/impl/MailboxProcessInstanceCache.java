@@ -0,0 +1,98 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * ProcessInstanceCache holding an instance only while the {@link MailboxLifecycleEventHandler}
+ * mailbox of that instance is drained by the current thread, so that a burst of events for one
+ * instance loads it once. Events of a mailbox are handled one at a time by its draining thread,
+ * which is the only one seeing the held instance, and the instance is dropped once the mailbox runs
+ * empty.
+ *
+ * <p>Instances are held only while draining their own mailbox. Instances created by events routed
+ * by another key, like the process definition of a StartProcess event, are never held.
+ *
+ * <p>Instances are also written through to a {@link ProcessInstanceCacheImpl}, which keeps them
+ * across drains, and read back from it only while draining their own mailbox; an instance taken
+ * or put outside of its mailbox is dropped from it instead. Mailboxes of an instance are only
+ * drained by the worker owning its partition, and distributed consumers invalidate this cache
+ * whenever partitions move, so instances are never served by a worker that doesn't own them.
+ */
+@Singleton
+public class MailboxProcessInstanceCache implements ProcessInstanceCache {
+
+  private final ProcessInstanceCacheImpl instanceCache;
+
+  public MailboxProcessInstanceCache() {
+    this(new ProcessInstanceCacheImpl(0));
+  }
+
+  @Inject
+  public MailboxProcessInstanceCache(ProcessInstanceCacheImpl instanceCache) {
+    this.instanceCache = instanceCache;
+  }
+
+  @Override
+  public Optional<ProcessInstance> take(String processInstanceId) {
+    MailboxLifecycleEventHandler.Drain drain =
+        MailboxLifecycleEventHandler.getCurrentDrain(processInstanceId);
+    if (drain == null) {
+     // the instance is about to change elsewhere, so a cached copy would go stale
+      instanceCache.invalidate(processInstanceId);
+      return Optional.empty();
+    }
+    ProcessInstance processInstance = drain.instance;
+    if (processInstance == null) {
+      return instanceCache.take(processInstanceId);
+    }
+    drain.instance = null;
+    instanceCache.invalidate(processInstanceId);
+    return Optional.of(processInstance);
+  }
+
+  @Override
+  public void put(ProcessInstance processInstance) {
+    MailboxLifecycleEventHandler.Drain drain =
+        MailboxLifecycleEventHandler.getCurrentDrain(processInstance.getId());
+    if (drain == null) {
+      instanceCache.invalidate(processInstance.getId());
+      return;
+    }
+    drain.instance = processInstance;
+    instanceCache.put(processInstance);
+  }
+
+  @Override
+  public void invalidate(String processInstanceId) {
+    MailboxLifecycleEventHandler.Drain drain =
+        MailboxLifecycleEventHandler.getCurrentDrain(processInstanceId);
+    if (drain != null) {
+      drain.instance = null;
+    }
+    instanceCache.invalidate(processInstanceId);
+  }
+
+  /** Of the instances held by drains, only the one of the current thread can match. */
+  @Override
+  public void invalidateIf(Predicate<String> processInstanceIdFilter) {
+    MailboxLifecycleEventHandler.Drain drain = MailboxLifecycleEventHandler.getCurrentDrain();
+    if (drain != null && processInstanceIdFilter.test(drain.getKey())) {
+      drain.instance = null;
+    }
+    instanceCache.invalidateIf(processInstanceIdFilter);
+  }
+}
@@ -0,0 +1,165 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.upo.orchestrator.api.domain.ProcessDefinition;
+import com.upo.orchestrator.api.domain.TaskDefinition;
+import com.upo.orchestrator.engine.ProcessRuntime;
+import com.upo.orchestrator.engine.TaskRuntime;
+import com.upo.orchestrator.engine.impl.rt.AbstractTaskRuntime;
+import com.upo.orchestrator.engine.services.InputValueResolver;
+import com.upo.orchestrator.engine.services.TaskRuntimeFactory;
+
+/**
+ * Execution plan of a process definition, compiled once when the process runtime is created.
+ *
+ * <p>Every task runtime is built upfront and indexed by a dense integer id. Inputs, skip
+ * conditions, dependencies and transitions are resolved during compilation, with transitions
+ * pointing directly at the next task runtime and carrying precompiled predicates. Errors in the
+ * definition, such as transitions to unknown tasks or invalid filters, therefore surface when the
+ * process is deployed rather than while an instance executes.
+ */
+public final class ProcessExecutionPlan {
+
+  private final String processId;
+  private final TaskRuntime[] taskRuntimes;
+  private final Map<String, Integer> taskIndexes;
+  private final int startTaskIndex;
+
+  private ProcessExecutionPlan(
+      String processId,
+      TaskRuntime[] taskRuntimes,
+      Map<String, Integer> taskIndexes,
+      int startTaskIndex) {
+    this.processId = processId;
+    this.taskRuntimes = taskRuntimes;
+    this.taskIndexes = taskIndexes;
+    this.startTaskIndex = startTaskIndex;
+  }
+
+  /**
+   * Compiles the process definition into an execution plan.
+   *
+   * @param processRuntime The process runtime owning the plan
+   * @param processDefinition The definition to compile
+   * @param taskRuntimeFactory Factory creating the runtime of every task
+   * @param inputValueResolver Resolver used to compile inputs and predicates
+   * @return compiled plan
+   * @throws IllegalArgumentException if the definition is invalid
+   */
+  public static ProcessExecutionPlan compile(
+      ProcessRuntime processRuntime,
+      ProcessDefinition processDefinition,
+      TaskRuntimeFactory taskRuntimeFactory,
+      InputValueResolver inputValueResolver) {
+    String processId = processDefinition.getId();
+    Map<String, TaskDefinition> taskDefinitions = processDefinition.getTaskDefinitions();
+    if (taskDefinitions == null || taskDefinitions.isEmpty()) {
+      throw new IllegalArgumentException("no tasks defined in process: " + processId);
+    }
+    TaskDefinition[] definitions = new TaskDefinition[taskDefinitions.size()];
+    TaskRuntime[] taskRuntimes = new TaskRuntime[taskDefinitions.size()];
+    Map<String, Integer> taskIndexes = new HashMap<>();
+   // first pass creates all runtimes, so transitions can point at them in the second pass
+    int index = 0;
+    for (Map.Entry<String, TaskDefinition> entry : taskDefinitions.entrySet()) {
+      definitions[index] = entry.getValue();
+      taskRuntimes[index] = createTaskRuntime(processRuntime, entry.getValue(), taskRuntimeFactory);
+      taskIndexes.put(entry.getKey(), index);
+      index++;
+    }
+    Integer startTaskIndex = taskIndexes.get(processDefinition.getStartTaskId());
+    if (startTaskIndex == null) {
+      throw new IllegalArgumentException(
+          "start task: "
+              + processDefinition.getStartTaskId()
+              + " not found in process: "
+              + processId);
+    }
+    ProcessExecutionPlan plan =
+        new ProcessExecutionPlan(processId, taskRuntimes, Map.copyOf(taskIndexes), startTaskIndex);
+    for (int i = 0; i < taskRuntimes.length; i++) {
+      plan.configure(taskRuntimes[i], definitions[i], inputValueResolver);
+    }
+    return plan;
+  }
+
+  public int size() {
+    return taskRuntimes.length;
+  }
+
+  public TaskRuntime getStartTaskRuntime() {
+    return taskRuntimes[startTaskIndex];
+  }
+
+  public TaskRuntime getTaskRuntime(int taskIndex) {
+    return taskRuntimes[taskIndex];
+  }
+
+  /**
+   * Returns the dense id of a task.
+   *
+   * @param taskId id of the task in the process definition
+   * @return index of the task in this plan
+   * @throws IllegalArgumentException if the process has no such task
+   */
+  public int getTaskIndex(String taskId) {
+    Integer taskIndex = taskIndexes.get(taskId);
+    if (taskIndex == null) {
+      throw new IllegalArgumentException(
+          "no task found for taskId: " + taskId + ", in process: " + processId);
+    }
+    return taskIndex;
+  }
+
+  /** Returns the dense ids of all tasks by task id */
+  public Map<String, Integer> getTaskIndexes() {
+    return taskIndexes;
+  }
+
+  public TaskRuntime getTaskRuntime(String taskId) {
+    return taskRuntimes[getTaskIndex(taskId)];
+  }
+
+  private static TaskRuntime createTaskRuntime(
+      ProcessRuntime processRuntime,
+      TaskDefinition taskDefinition,
+      TaskRuntimeFactory taskRuntimeFactory) {
+    TaskRuntime taskRuntime = taskRuntimeFactory.create(processRuntime, taskDefinition);
+    if (taskRuntime == null) {
+      throw new IllegalArgumentException(
+          "unsupported task: "
+              + taskDefinition.getId()
+              + " with operator: "
+              + taskDefinition.getOperator());
+    }
+    return taskRuntime;
+  }
+
+  private void configure(
+      TaskRuntime taskRuntime,
+      TaskDefinition taskDefinition,
+      InputValueResolver inputValueResolver) {
+    if (!(taskRuntime instanceof AbstractTaskRuntime abstractTaskRuntime)) {
+      return;
+    }
+    try {
+      abstractTaskRuntime.setInputs(taskDefinition.getInput());
+      abstractTaskRuntime.setSkipCondition(taskDefinition.getSkipPredicate().orElse(null));
+      abstractTaskRuntime.setOutgoingTransitions(
+          StaticTransitionResolver.create(
+              taskDefinition, this::getTaskRuntime, inputValueResolver));
+    } catch (RuntimeException eX) {
+      throw new IllegalArgumentException(
+          "failed to compile task: " + taskDefinition.getId() + ", in process: " + processId, eX);
+    }
+  }
+}
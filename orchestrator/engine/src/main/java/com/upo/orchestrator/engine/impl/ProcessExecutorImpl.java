@@ -14,6 +14,8 @@ import com.upo.orchestrator.engine.*;
 import com.upo.orchestrator.engine.models.ProcessEnv;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.services.EnvironmentProvider;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
 import com.upo.orchestrator.engine.services.ProcessInstanceStore;
 import com.upo.orchestrator.engine.services.ProcessServices;
 import com.upo.orchestrator.engine.utils.ProcessUtils;
@@ -68,8 +70,14 @@ public class ProcessExecutorImpl implements ProcessExecutor {
 
   @Override
   public void signal(String processInstanceId, Signal signal) {
-    ProcessInstanceStore instanceStore = processServices.getService(ProcessInstanceStore.class);
-    ProcessInstance processInstance = lookupProcessInstance(processInstanceId, instanceStore);
+    ProcessInstance processInstance =
+        takeCachedInstance(processInstanceId)
+            .orElseGet(
+                () -> {
+                  ProcessInstanceStore instanceStore =
+                      processServices.getService(ProcessInstanceStore.class);
+                  return lookupProcessInstance(processInstanceId, instanceStore);
+                });
     executeTaskSequence(
         processInstance,
         processInstance.getCurrTaskId(),
@@ -84,15 +92,46 @@ public class ProcessExecutorImpl implements ProcessExecutor {
         (task) -> task.execute(processInstance));
   }
 
+  /**
+   * Takes the instance from the worker-local cache, if one is registered. Only instances left in
+   * WAIT state are cached, matching what {@link #lookupProcessInstance} would load.
+   */
+  private Optional<ProcessInstance> takeCachedInstance(String processInstanceId) {
+    ProcessInstanceCache instanceCache = processServices.getService(ProcessInstanceCache.class);
+    if (instanceCache == null) {
+      return Optional.empty();
+    }
+    return instanceCache
+        .take(processInstanceId)
+        .filter(instance -> instance.getStatus() == ProcessFlowStatus.WAIT);
+  }
+
+  /**
+   * Caches an instance that stopped in WAIT state so the signal resuming it skips reloading. The
+   * instance was saved before stopping, so the cached copy matches the store. Transient state not
+   * restored by a reload is cleared.
+   */
+  private void cacheIfWaiting(ProcessInstance processInstance) {
+    ProcessInstanceCache instanceCache = processServices.getService(ProcessInstanceCache.class);
+    if (instanceCache == null) {
+      return;
+    }
+    if (processInstance.getStatus() != ProcessFlowStatus.WAIT) {
+      instanceCache.invalidate(processInstance.getId());
+      return;
+    }
+    processInstance.setInput(null);
+    processInstance.setSink(null);
+    instanceCache.put(processInstance);
+  }
+
   private ProcessInstance findProcessInstance(String instanceId) {
     ProcessInstanceStore instanceStore = processServices.getService(ProcessInstanceStore.class);
     ProcessInstance processInstance =
         instanceStore
             .findById(instanceId)
             .orElseThrow(() -> new IllegalStateException("failed to create process instance"));
-    ProcessEnv processEnv = processInstance.getProcessEnv();
-    processEnv.setProcessServices(getServices());
-    processInstance.setVariableContainer(createVariableContainer(processEnv));
+    restoreProcessEnv(processInstance);
     return processInstance;
   }
 
@@ -103,12 +142,7 @@ public class ProcessExecutorImpl implements ProcessExecutor {
     return processInstance
         .map(
             instance -> {
-              ProcessEnv processEnv = instance.getProcessEnv();
-              if (processEnv == null) {
-                throw new IllegalStateException("ProcessEnv is null, but it shouldn't be!");
-              }
-              processEnv.setProcessServices(processServices);
-              instance.setVariableContainer(createVariableContainer(processEnv));
+              restoreProcessEnv(instance);
               return instance;
             })
         .orElseThrow(
@@ -116,9 +150,29 @@ public class ProcessExecutorImpl implements ProcessExecutor {
                 new IllegalStateException("process no longer in expected state to send a signal"));
   }
 
+  /**
+   * Restores the environment of a loaded instance over the one read from the {@link
+   * ProcessEnvStore}, which caches it for the other instances sharing it, and creates the variable
+   * container of the instance.
+   */
+  private void restoreProcessEnv(ProcessInstance processInstance) {
+    ProcessEnvStore processEnvStore = processServices.getService(ProcessEnvStore.class);
+    ProcessEnv sharedEnv =
+        processEnvStore
+            .findById(processInstance.getProcessEnvId())
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "process env not found for instance: " + processInstance.getId()));
+    ProcessEnv processEnv = new ProcessEnv(sharedEnv, processServices);
+    processInstance.setProcessEnv(processEnv);
+    processInstance.setVariableContainer(createInstanceVariableContainer(processEnv));
+  }
+
   /**
    * Executes tasks in sequence based on their transitions. Manages the flow of execution from one
-   * task to the next, following the transition paths returned by each task.
+   * task to the next, following the transition paths returned by each task. An instance left
+   * waiting is cached for the signal resuming it; an instance whose execution failed never is.
    *
    * @param processInstance current process instance
    * @param taskId initial task to execute
@@ -131,7 +185,7 @@ public class ProcessExecutorImpl implements ProcessExecutor {
     TaskRuntime taskRuntime = processRuntime.getOrCreateTaskRuntime(taskId);
     TaskRuntime.Next nextTransitions = initiator.apply(taskRuntime);
 
-    Queue<TaskRuntime> taskRuntimes = new LinkedList<>();
+    Queue<TaskRuntime> taskRuntimes = new ArrayDeque<>();
     addNextTransitionsToQueue(nextTransitions, taskRuntimes);
 
     while (!taskRuntimes.isEmpty()) {
@@ -139,6 +193,7 @@ public class ProcessExecutorImpl implements ProcessExecutor {
       nextTransitions = task.execute(processInstance);
       addNextTransitionsToQueue(nextTransitions, taskRuntimes);
     }
+    cacheIfWaiting(processInstance);
   }
 
   /**
@@ -177,9 +232,15 @@ public class ProcessExecutorImpl implements ProcessExecutor {
     processInstance.setProcessVersion(details.getSnapshotVersion());
     processInstance.setExecutionStrategy(strategy.name());
 
-    ProcessEnv processEnv = createProcessEnv();
+    ProcessEnv sharedEnv = createProcessEnv(processInstance.getId());
+    ProcessEnvStore processEnvStore = processServices.getService(ProcessEnvStore.class);
+    if (!processEnvStore.save(sharedEnv)) {
+      return null;
+    }
+    ProcessEnv processEnv = new ProcessEnv(sharedEnv, processServices);
+    processInstance.setProcessEnvId(processEnv.getId());
     processInstance.setProcessEnv(processEnv);
-    processInstance.setVariableContainer(createVariableContainer(processEnv));
+    processInstance.setVariableContainer(createInstanceVariableContainer(processEnv));
     ProcessInstanceStore instanceStore = processServices.getService(ProcessInstanceStore.class);
     if (!instanceStore.save(processInstance)) {
       return null;
@@ -203,10 +264,12 @@ public class ProcessExecutorImpl implements ProcessExecutor {
     childInstance.setProcessVersion(processDetails.getSnapshotVersion());
 
     childInstance.setExecutionStrategy(parentInstance.getExecutionStrategy());
-    ProcessEnv childProcessEnv = parentInstance.getProcessEnv().copy();
-    childInstance.setProcessEnv(childProcessEnv);
+   // children share the environment of their root instead of saving a copy of it
+    ProcessEnv processEnv = new ProcessEnv(parentInstance.getProcessEnv());
+    childInstance.setProcessEnvId(parentInstance.getProcessEnvId());
+    childInstance.setProcessEnv(processEnv);
 
-    childInstance.setVariableContainer(createVariableContainer(childProcessEnv));
+    childInstance.setVariableContainer(createVariableContainer(processEnv));
 
     return childInstance;
   }
@@ -226,13 +289,32 @@ public class ProcessExecutorImpl implements ProcessExecutor {
   }
 
   /**
-   * Creates process environment with required configuration. Initializes environment variables,
-   * request context, and services.
+   * Creates the variable container of an instance of this executor's process, with task indexes
+   * seeded from its execution plan.
+   *
+   * @param processEnv process environment containing initial variables
+   * @return initialized Variables instance with process environment data
+   */
+  private VariableContainer createInstanceVariableContainer(ProcessEnv processEnv) {
+    if (!(processRuntime instanceof ProcessRuntimeImpl runtime)) {
+      return createVariableContainer(processEnv);
+    }
+    VariableContainerImpl variables =
+        new VariableContainerImpl(runtime.getExecutionPlan().getTaskIndexes());
+    variables.addProcessEnvVariables(processEnv);
+    return variables;
+  }
+
+  /**
+   * Creates process environment with required configuration. Initializes environment variables and
+   * request context; services are set on the environments of the instances sharing it.
    *
+   * @param id identifier of the environment, the id of its root instance
    * @return configured process environment
    */
-  private ProcessEnv createProcessEnv() {
+  private ProcessEnv createProcessEnv(String id) {
     ProcessEnv processEnv = new ProcessEnv();
+    processEnv.setId(id);
     Map<String, Object> envVariables =
         processServices.getService(EnvironmentProvider.class).lookupEnvVariables();
     processEnv.setEnv(envVariables);
@@ -241,7 +323,6 @@ public class ProcessExecutorImpl implements ProcessExecutor {
       processEnv.setContext(requestContext.toMap());
     }
     processEnv.setSession(new HashMap<>());
-    processEnv.setProcessServices(processServices);
     return processEnv;
   }
 }
@@ -21,6 +21,10 @@ import com.upo.utilities.filter.impl.FilterEvaluator;
 /**
  * Factory for creating process-specific filter evaluators. Manages creation and caching of
  * evaluators for process filters.
+ *
+ * <p>Building an evaluator rewrites the filter, builds the evaluator tree and parses every
+ * referenced value, so evaluators are meant to be created once per filter definition and reused
+ * for every evaluation.
  */
 public class ProcessFilterEvaluatorFactory {
 
@@ -36,8 +40,12 @@ public class ProcessFilterEvaluatorFactory {
     ProcessFilterEvaluationContext context = new ProcessFilterEvaluationContext(inputValueResolver);
     FilterEvaluator<ProcessInstance> evaluator =
         FilterBuilderRegistry.getInstance().buildEvaluator(filter, context);
+   // every field and value is resolved while building, so the dependencies are final here
+    Set<Pair<String, Variable.Type>> dependencies = Set.copyOf(context.getVariableDependencies());
+    if (dependencies.isEmpty()) {
+      return evaluator;
+    }
     return instance -> {
-      Set<Pair<String, Variable.Type>> dependencies = context.getVariableDependencies();
       VariableUtils.loadMissingReferencedVariables(instance, dependencies);
       return evaluator.evaluate(instance);
     };
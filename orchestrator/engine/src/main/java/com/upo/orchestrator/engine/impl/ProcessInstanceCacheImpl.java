@@ -0,0 +1,85 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Bounded LRU implementation of ProcessInstanceCache. The least recently used instance is evicted
+ * once the cache holds PROCESS_INSTANCE_CACHE_SIZE instances; a size of 0 disables caching.
+ *
+ * <p>It doesn't check who owns an instance, so it is used behind {@link
+ * MailboxProcessInstanceCache}, which only reads and writes it while the instance's own mailbox is
+ * drained.
+ */
+@Singleton
+public class ProcessInstanceCacheImpl implements ProcessInstanceCache {
+
+  private static final int DEFAULT_MAX_SIZE = 10_000;
+
+  private final int maxSize;
+  private final LinkedHashMap<String, ProcessInstance> instances;
+
+  public ProcessInstanceCacheImpl() {
+    this(getMaxSizeFromEnv());
+  }
+
+  public ProcessInstanceCacheImpl(int maxSize) {
+    this.maxSize = maxSize;
+    this.instances =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, ProcessInstance> eldest) {
+            return size() > ProcessInstanceCacheImpl.this.maxSize;
+          }
+        };
+  }
+
+  @Override
+  public synchronized Optional<ProcessInstance> take(String processInstanceId) {
+    return Optional.ofNullable(instances.remove(processInstanceId));
+  }
+
+  @Override
+  public synchronized void put(ProcessInstance processInstance) {
+    if (maxSize <= 0) {
+      return;
+    }
+    instances.put(processInstance.getId(), processInstance);
+  }
+
+  @Override
+  public synchronized void invalidate(String processInstanceId) {
+    instances.remove(processInstanceId);
+  }
+
+  @Override
+  public synchronized void invalidateIf(Predicate<String> processInstanceIdFilter) {
+    instances.keySet().removeIf(processInstanceIdFilter);
+  }
+
+  public synchronized int size() {
+    return instances.size();
+  }
+
+  private static int getMaxSizeFromEnv() {
+    return Optional.ofNullable(System.getenv("PROCESS_INSTANCE_CACHE_SIZE"))
+        .filter(s -> !s.isEmpty())
+        .map(Integer::parseInt)
+        .filter(p -> p >= 0)
+        .orElse(DEFAULT_MAX_SIZE);
+  }
+}
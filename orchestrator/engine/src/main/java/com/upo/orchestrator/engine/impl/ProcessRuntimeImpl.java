@@ -9,25 +9,39 @@ package com.upo.orchestrator.engine.impl;
 
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.upo.orchestrator.api.domain.ProcessDefinition;
-import com.upo.orchestrator.api.domain.TaskDefinition;
 import com.upo.orchestrator.engine.*;
+import com.upo.orchestrator.engine.impl.value.ExpressionTypeContext;
+import com.upo.orchestrator.engine.impl.value.GroovyScriptCompiler;
+import com.upo.orchestrator.engine.impl.value.GroovyScriptCompiler.CompilationMode;
+import com.upo.orchestrator.engine.services.InputValueResolver;
 import com.upo.orchestrator.engine.services.ProcessServiceRegistry;
 import com.upo.orchestrator.engine.services.ProcessServices;
+import com.upo.orchestrator.engine.services.TaskRuntimeFactory;
 import com.upo.utilities.filter.api.Filter;
 import com.upo.utilities.filter.impl.FilterBuilderRegistry;
 import com.upo.utilities.filter.impl.FilterEvaluator;
 
+/**
+ * Runtime of a deployed process definition. The definition is compiled into a {@link
+ * ProcessExecutionPlan} when the runtime is created, so an invalid definition fails deployment.
+ * Expressions compiled for the plan are owned by the process snapshot and released on {@link
+ * #retire()}. In static compilation mode, expressions that can't be typed from the task schemas are
+ * logged when the runtime is created.
+ */
 public class ProcessRuntimeImpl implements ProcessRuntime {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProcessRuntimeImpl.class);
+
   private final ProcessDetails processDetails;
   private final ProcessDefinition processDefinition;
   private final FilterEvaluator<Map<String, Object>> processPredicate;
-  private final ConcurrentHashMap<String, TaskRuntime> taskRuntimes;
   private final ProcessServiceRegistry processServiceRegistry;
+  private final ProcessExecutionPlan executionPlan;
 
   public ProcessRuntimeImpl(
       ProcessDetails processDetails,
@@ -37,7 +51,19 @@ public class ProcessRuntimeImpl implements ProcessRuntime {
     this.processDefinition = processDefinition;
     this.processPredicate = createProcessPredicate(processDefinition);
     this.processServiceRegistry = processServiceRegistry;
-    this.taskRuntimes = new ConcurrentHashMap<>();
+    ExpressionTypeContext typeContext =
+        GroovyScriptCompiler.getCompilationMode() == CompilationMode.STATIC
+            ? ExpressionTypeContext.forProcess(processDefinition)
+            : null;
+    this.executionPlan =
+        GroovyScriptCompiler.compileFor(
+            getSnapshotId(), typeContext, () -> compileExecutionPlan(processDefinition));
+    if (typeContext != null && !typeContext.getDynamicExpressions().isEmpty()) {
+      LOGGER.warn(
+          "expressions of process: {} compiled dynamically: {}",
+          processDefinition.getId(),
+          typeContext.getDynamicExpressions());
+    }
   }
 
   @Override
@@ -57,22 +83,11 @@ public class ProcessRuntimeImpl implements ProcessRuntime {
 
   @Override
   public TaskRuntime getOrCreateTaskRuntime(String taskId) {
-    return taskRuntimes.computeIfAbsent(
-        taskId,
-        new Function<String, TaskRuntime>() {
-          @Override
-          public TaskRuntime apply(String taskId) {
-            TaskDefinition taskDefinition = processDefinition.getTaskDefinitions().get(taskId);
-            if (taskDefinition == null) {
-              throw new IllegalArgumentException(
-                  "no task found for taskId: "
-                      + taskId
-                      + ", in process: "
-                      + processDefinition.getId());
-            }
-            return null;
-          }
-        });
+    return executionPlan.getTaskRuntime(taskId);
+  }
+
+  public ProcessExecutionPlan getExecutionPlan() {
+    return executionPlan;
   }
 
   @Override
@@ -86,6 +101,31 @@ public class ProcessRuntimeImpl implements ProcessRuntime {
     return processServiceRegistry.getCoreServices();
   }
 
+  @Override
+  public void retire() {
+    String snapshotId = getSnapshotId();
+    if (snapshotId != null) {
+      GroovyScriptCompiler.release(snapshotId);
+    }
+  }
+
+  private String getSnapshotId() {
+    return processDetails != null ? processDetails.getSnapshotId() : null;
+  }
+
+  private ProcessExecutionPlan compileExecutionPlan(ProcessDefinition processDefinition) {
+    ProcessServices coreServices = getCoreServices();
+    TaskRuntimeFactory taskRuntimeFactory = coreServices.getService(TaskRuntimeFactory.class);
+    if (taskRuntimeFactory == null) {
+      throw new IllegalStateException("no TaskRuntimeFactory registered with core services");
+    }
+    return ProcessExecutionPlan.compile(
+        this,
+        processDefinition,
+        taskRuntimeFactory,
+        coreServices.getService(InputValueResolver.class));
+  }
+
   private FilterEvaluator<Map<String, Object>> createProcessPredicate(
       ProcessDefinition processDefinition) {
     Optional<Filter> predicate = processDefinition.getPredicate();
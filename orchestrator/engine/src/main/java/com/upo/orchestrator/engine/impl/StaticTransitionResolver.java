@@ -8,8 +8,10 @@
 package com.upo.orchestrator.engine.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import com.upo.orchestrator.api.domain.TaskDefinition;
 import com.upo.orchestrator.api.domain.TransitionType;
@@ -42,38 +44,72 @@ public class StaticTransitionResolver implements TransitionResolver {
 
   public static StaticTransitionResolver create(
       TaskDefinition definition, ProcessRuntime processRuntime) {
-    List<Transition> transitions = new ArrayList<>();
-    for (com.upo.orchestrator.api.domain.Transition nextTransition :
-        definition.getNextTransitions()) {
-      Transition transition = createTransition(processRuntime, nextTransition);
-      transitions.add(transition);
+    return create(
+        definition,
+        processRuntime::getOrCreateTaskRuntime,
+        processRuntime.getCoreServices().getService(InputValueResolver.class));
+  }
+
+  /**
+   * Creates a resolver with transitions compiled upfront: next task runtimes are looked up and
+   * predicates are built once, instead of on every resolution. CONDITIONAL transitions are compiled
+   * into decision tables where possible, see {@link CompiledTransitions}.
+   *
+   * @param definition task whose transitions are resolved
+   * @param taskRuntimeLookup lookup of task runtimes by task id
+   * @param inputValueResolver resolver used to build transition predicates
+   * @return resolver returning the compiled transitions
+   */
+  public static StaticTransitionResolver create(
+      TaskDefinition definition,
+      Function<String, TaskRuntime> taskRuntimeLookup,
+      InputValueResolver inputValueResolver) {
+    List<com.upo.orchestrator.api.domain.Transition> nextTransitions =
+        definition.getNextTransitions();
+    if (nextTransitions == null || nextTransitions.isEmpty()) {
+      return new StaticTransitionResolver(Collections.emptyList());
+    }
+    List<Transition> transitions = new ArrayList<>(nextTransitions.size());
+    for (com.upo.orchestrator.api.domain.Transition nextTransition : nextTransitions) {
+      transitions.add(createTransition(taskRuntimeLookup, inputValueResolver, nextTransition));
     }
-    return new StaticTransitionResolver(transitions);
+    return new StaticTransitionResolver(
+        CompiledTransitions.compile(nextTransitions, transitions, inputValueResolver));
   }
 
   private static Transition createTransition(
-      ProcessRuntime processRuntime, com.upo.orchestrator.api.domain.Transition transitionDef) {
-    return new Transition() {
-      @Override
-      public TransitionType getType() {
-        return transitionDef.getType();
-      }
-
-      @Override
-      public TaskRuntime getNextTaskRuntime() {
-        return processRuntime.getOrCreateTaskRuntime(transitionDef.getNextTaskId());
-      }
-
-      @Override
-      public Optional<FilterEvaluator<ProcessInstance>> getPredicate() {
-        InputValueResolver inputValueResolver =
-            processRuntime.getCoreServices().getService(InputValueResolver.class);
-        return transitionDef
+      Function<String, TaskRuntime> taskRuntimeLookup,
+      InputValueResolver inputValueResolver,
+      com.upo.orchestrator.api.domain.Transition transitionDef) {
+    TaskRuntime nextTaskRuntime = taskRuntimeLookup.apply(transitionDef.getNextTaskId());
+    Optional<FilterEvaluator<ProcessInstance>> predicate =
+        transitionDef
             .getPredicate()
             .map(
                 filter ->
                     ProcessFilterEvaluatorFactory.createEvaluator(filter, inputValueResolver));
-      }
-    };
+    return new CompiledTransition(transitionDef.getType(), nextTaskRuntime, predicate);
+  }
+
+  private record CompiledTransition(
+      TransitionType type,
+      TaskRuntime nextTaskRuntime,
+      Optional<FilterEvaluator<ProcessInstance>> predicate)
+      implements Transition {
+
+    @Override
+    public TransitionType getType() {
+      return type;
+    }
+
+    @Override
+    public TaskRuntime getNextTaskRuntime() {
+      return nextTaskRuntime;
+    }
+
+    @Override
+    public Optional<FilterEvaluator<ProcessInstance>> getPredicate() {
+      return predicate;
+    }
   }
 }
@@ -21,18 +21,46 @@ import com.upo.utilities.ds.IOUtils;
 import com.upo.utilities.ds.Pair;
 import com.upo.utilities.json.path.JsonPath;
 
+/**
+ * Variable container backed by a flat slot array. Task ids are interned to dense indexes, seeded
+ * from the execution plan of the process when available, and every task owns one slot per {@link
+ * Variable.Type}, so reading or writing a variable costs one lookup of the task id and no
+ * allocation. New and transient variables are tracked in bitsets over the slots.
+ *
+ * <p>Variables are read by path through a map view built on first use, whose entries are the
+ * process environment components and, per task, a map of the variables by type key.
+ */
 public class VariableContainerImpl implements VariableContainer {
 
   private static final Set<String> RESERVED_KEYS = Set.of("env", "ctx", "session");
+  private static final Variable.Type[] TYPES = Variable.Type.values();
+  private static final int INITIAL_TASK_CAPACITY = 8;
 
-  private final Map<String, Map<String, Object>> variables;
-  private final Map<Pair<String, Variable.Type>, Object> trasients;
-  private final Map<Pair<String, Variable.Type>, Object> newVariables;
+  private final Map<String, Integer> taskIndexes;
+  private Map<String, Integer> addedTaskIndexes;
+  private String[] taskIds;
+  private Object[] slots;
+  private final BitSet newSlots = new BitSet();
+  private final BitSet transientSlots = new BitSet();
+  private final Map<String, Object> processEnvVariables = new HashMap<>();
+  private Map<String, Object> variablesView;
+  private TaskVariablesView[] taskViews;
 
   public VariableContainerImpl() {
-    this.variables = new HashMap<>();
-    this.trasients = new HashMap<>();
-    this.newVariables = new HashMap<>();
+    this(Map.of());
+  }
+
+  /**
+   * Creates a container whose task indexes are seeded from an execution plan. Tasks missing from
+   * the given indexes, such as those of other processes, are interned on first use.
+   *
+   * @param taskIndexes dense indexes of the tasks, starting at 0
+   */
+  public VariableContainerImpl(Map<String, Integer> taskIndexes) {
+    this.taskIndexes = taskIndexes;
+    int taskCapacity = Math.max(taskIndexes.size(), INITIAL_TASK_CAPACITY);
+    this.taskIds = new String[taskCapacity];
+    this.slots = new Object[taskCapacity * TYPES.length];
   }
 
   /**
@@ -49,50 +77,49 @@ public class VariableContainerImpl implements VariableContainer {
    */
   public void addProcessEnvVariables(ProcessEnv processEnv) {
     if (processEnv.getEnv() != null) {
-      this.variables.put("env", processEnv.getEnv());
+      this.processEnvVariables.put("env", processEnv.getEnv());
     }
     if (processEnv.getContext() != null) {
-      this.variables.put("ctx", processEnv.getEnv());
+      this.processEnvVariables.put("ctx", processEnv.getEnv());
     }
     if (processEnv.getSession() != null) {
-      this.variables.put("session", processEnv.getEnv());
+      this.processEnvVariables.put("session", processEnv.getEnv());
     }
   }
 
   @Override
   public void addNewVariable(String taskId, Variable.Type type, Object payload) {
-    payload = restoreVariableInternal(taskId, type, payload);
+    int slot = slotOf(internTask(taskId), type);
+    setSlot(slot, type, payload);
     if (type != Variable.Type.TRANSIENT) {
-      newVariables.put(Pair.of(taskId, type), payload);
+      newSlots.set(slot);
     } else {
-      trasients.put(Pair.of(taskId, type), payload);
+      transientSlots.set(slot);
     }
   }
 
   @Override
   public void restoreVariable(String taskId, Variable.Type type, Object payload) {
-    restoreVariableInternal(taskId, type, payload);
+    setSlot(slotOf(internTask(taskId), type), type, payload);
   }
 
   @Override
   public List<ProcessVariable> getNewVariables() {
-    List<ProcessVariable> toResolve = findVariablesToResolve();
-    ensureResolved(toResolve);
-    return newVariables.entrySet().stream()
-        .map(
-            entry -> {
-              ProcessVariable variable = new ProcessVariable();
-              variable.setTaskId(entry.getKey().getFirstElement());
-              variable.setType(entry.getKey().getSecondElement());
-              variable.setPayload(entry.getValue());
-              return variable;
-            })
-        .toList();
+    ensureResolved(findSlotsToResolve());
+    List<ProcessVariable> result = new ArrayList<>(newSlots.cardinality());
+    for (int slot = newSlots.nextSetBit(0); slot >= 0; slot = newSlots.nextSetBit(slot + 1)) {
+      ProcessVariable variable = new ProcessVariable();
+      variable.setTaskId(taskIds[slot / TYPES.length]);
+      variable.setType(TYPES[slot % TYPES.length]);
+      variable.setPayload(slots[slot]);
+      result.add(variable);
+    }
+    return result;
   }
 
   @Override
   public void clearNewVariables() {
-    newVariables.clear();
+    newSlots.clear();
   }
 
   @Override
@@ -117,65 +144,51 @@ public class VariableContainerImpl implements VariableContainer {
         return null;
       }
     }
-    return jsonPath.read(variables);
+    if (variablesView == null) {
+      variablesView = new VariablesView();
+    }
+    return jsonPath.read(variablesView);
   }
 
   @Override
   public void closeTransientVariables() {
-    for (Map.Entry<Pair<String, Variable.Type>, Object> entry : trasients.entrySet()) {
-      Object value = entry.getValue();
-      if (value instanceof Closeable closeable) {
+    for (int slot = transientSlots.nextSetBit(0);
+        slot >= 0;
+        slot = transientSlots.nextSetBit(slot + 1)) {
+      if (slots[slot] instanceof Closeable closeable) {
         IOUtils.closeQuietly(closeable);
       }
-      Map<String, Object> payload = variables.get(entry.getKey().getFirstElement());
-      if (payload != null) {
-        payload.remove(entry.getKey().getSecondElement().getKey());
-      }
+      slots[slot] = null;
     }
-    trasients.clear();
+    transientSlots.clear();
   }
 
-  private Object restoreVariableInternal(String taskId, Variable.Type type, Object payload) {
-    Map<String, Object> typeAndPayload = variables.computeIfAbsent(taskId, t -> new HashMap<>());
+  private void setSlot(int slot, Variable.Type type, Object payload) {
     if (payload instanceof Future<?> future) {
       if (future.isDone()) {
-        payload = waitForVariable(taskId, type, future);
+        payload = waitForVariable(taskIds[slot / TYPES.length], type, future);
       }
     }
-    typeAndPayload.put(type.getKey(), payload);
-    return payload;
+    slots[slot] = payload;
   }
 
-  private void ensureResolved(List<ProcessVariable> toResolve) {
-    if (toResolve == null || toResolve.isEmpty()) {
-      return;
-    }
-    for (ProcessVariable variable : toResolve) {
-      ensureResolved(variable.getTaskId(), variable.getType(), variable.getPayload());
+  private void ensureResolved(int[] toResolve) {
+    for (int slot : toResolve) {
+      String taskId = taskIds[slot / TYPES.length];
+      ensureResolved(taskId, TYPES[slot % TYPES.length], slots[slot]);
     }
   }
 
-  private List<ProcessVariable> findVariablesToResolve() {
-    List<ProcessVariable> toResolve = new ArrayList<>();
-    for (Map.Entry<Pair<String, Variable.Type>, Object> entry : newVariables.entrySet()) {
-      Object value = entry.getValue();
-      if (value instanceof Future<?>) {
-        ProcessVariable variable = new ProcessVariable();
-        variable.setTaskId(entry.getKey().getFirstElement());
-        variable.setType(entry.getKey().getSecondElement());
-        variable.setPayload(entry.getValue());
-        toResolve.add(variable);
-      }
-    }
-    return toResolve;
+  private int[] findSlotsToResolve() {
+    return newSlots.stream().filter(slot -> slots[slot] instanceof Future<?>).toArray();
   }
 
   private Object getVariableInternal(String taskId, Variable.Type type) {
-    Map<String, Object> payloadByType = variables.get(taskId);
-    if (payloadByType == null) {
+    int taskIndex = indexOf(taskId);
+    if (taskIndex < 0 || type == null) {
       return null;
     }
-    return payloadByType.get(type.getKey());
+    return slots[slotOf(taskIndex, type)];
   }
 
   private Object ensureResolved(String taskId, Variable.Type varType, Object payload) {
@@ -199,11 +212,110 @@ public class VariableContainerImpl implements VariableContainer {
   }
 
   private void removeNewVariable(String taskId, Variable.Type type) {
-    Map<String, Object> payloadByType = variables.get(taskId);
-    if (payloadByType != null) {
-      payloadByType.remove(type.getKey());
+    int taskIndex = indexOf(taskId);
+    if (taskIndex >= 0) {
+      int slot = slotOf(taskIndex, type);
+      slots[slot] = null;
+      newSlots.clear(slot);
+    }
+  }
+
+  private static int slotOf(int taskIndex, Variable.Type type) {
+    return taskIndex * TYPES.length + type.ordinal();
+  }
+
+  private int indexOf(String taskId) {
+    Integer taskIndex = taskIndexes.get(taskId);
+    if (taskIndex == null && addedTaskIndexes != null) {
+      taskIndex = addedTaskIndexes.get(taskId);
+    }
+    return taskIndex != null ? taskIndex : -1;
+  }
+
+  private int internTask(String taskId) {
+    int taskIndex = indexOf(taskId);
+    if (taskIndex < 0) {
+      if (addedTaskIndexes == null) {
+        addedTaskIndexes = new HashMap<>();
+      }
+      taskIndex = taskIndexes.size() + addedTaskIndexes.size();
+      addedTaskIndexes.put(taskId, taskIndex);
+    }
+    if (taskIndex >= taskIds.length) {
+      int taskCapacity = Math.max(taskIds.length * 2, taskIndex + 1);
+      taskIds = Arrays.copyOf(taskIds, taskCapacity);
+      slots = Arrays.copyOf(slots, taskCapacity * TYPES.length);
+      if (taskViews != null) {
+        taskViews = Arrays.copyOf(taskViews, taskCapacity);
+      }
+    }
+    taskIds[taskIndex] = taskId;
+    return taskIndex;
+  }
+
+  private TaskVariablesView getTaskView(int taskIndex) {
+    if (taskViews == null) {
+      taskViews = new TaskVariablesView[taskIds.length];
+    }
+    TaskVariablesView taskView = taskViews[taskIndex];
+    if (taskView == null) {
+      taskView = new TaskVariablesView(taskIndex);
+      taskViews[taskIndex] = taskView;
+    }
+    return taskView;
+  }
+
+  /** Root of paths: process environment components by key and task variables by task id. */
+  private final class VariablesView extends AbstractMap<String, Object> {
+
+    @Override
+    public Object get(Object key) {
+      Object value = processEnvVariables.get(key);
+      if (value != null || !(key instanceof String taskId)) {
+        return value;
+      }
+      int taskIndex = indexOf(taskId);
+      return taskIndex >= 0 && taskIds[taskIndex] != null ? getTaskView(taskIndex) : null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      Map<String, Object> entries = new LinkedHashMap<>();
+      for (int taskIndex = 0; taskIndex < taskIds.length; taskIndex++) {
+        if (taskIds[taskIndex] != null) {
+          entries.put(taskIds[taskIndex], getTaskView(taskIndex));
+        }
+      }
+      entries.putAll(processEnvVariables);
+      return Collections.unmodifiableMap(entries).entrySet();
+    }
+  }
+
+  /** Variables of one task by type key. */
+  private final class TaskVariablesView extends AbstractMap<String, Object> {
+    private final int taskIndex;
+
+    private TaskVariablesView(int taskIndex) {
+      this.taskIndex = taskIndex;
+    }
+
+    @Override
+    public Object get(Object key) {
+      Variable.Type type = key instanceof String typeKey ? Variable.Type.fromKey(typeKey) : null;
+      return type != null ? slots[slotOf(taskIndex, type)] : null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      Map<String, Object> entries = new LinkedHashMap<>();
+      for (Variable.Type type : TYPES) {
+        Object payload = slots[slotOf(taskIndex, type)];
+        if (payload != null) {
+          entries.put(type.getKey(), payload);
+        }
+      }
+      return Collections.unmodifiableMap(entries).entrySet();
     }
-    newVariables.remove(Pair.of(taskId, type));
   }
 
   private Object waitForVariable(String taskId, Variable.Type type, Future<?> future) {
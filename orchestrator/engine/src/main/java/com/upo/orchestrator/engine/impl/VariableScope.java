@@ -0,0 +1,254 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.VariableContainer;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.models.ProcessVariable;
+import com.upo.utilities.json.path.JsonPath;
+
+/**
+ * Stack of temporary variable bindings overlaid on the variable container of a process instance,
+ * used while evaluating transitions against task results or array transforms against each item.
+ *
+ * <p>A scope is entered by installing it as the container of the instance, pushing bindings on it,
+ * and popping them back to a mark when done. Bindings are searched from the most recent one down
+ * before falling back to the underlying container; a binding without type, like the {@code item}
+ * of array transforms, binds the whole task id. Binding slots are reused and the scope is kept on
+ * the instance, so pushing and popping bindings doesn't allocate once the stack reached its depth.
+ * Writes go to the underlying container.
+ *
+ * <p>Scopes are not thread-safe, like the instance they belong to.
+ */
+public final class VariableScope implements VariableContainer {
+
+  private VariableContainer base;
+  private Binding[] bindings = new Binding[4];
+  private int size;
+
+  private VariableScope() {}
+
+  /**
+   * Creates a detached scope overlaid on the given container, for evaluating on another thread than
+   * the instance's own. The scope isn't installed on any instance; it is used by setting it as the
+   * container of an instance of its own, and its bindings are dropped with it.
+   *
+   * @param base container to overlay bindings on
+   */
+  public VariableScope(VariableContainer base) {
+    this.base = base;
+  }
+
+  /**
+   * Enters a scope on the given instance, installing it as the instance's variable container. If
+   * the instance is already evaluating in a scope, that scope is returned as is.
+   *
+   * @param processInstance instance to overlay bindings on
+   * @return the installed scope
+   */
+  public static VariableScope enter(ProcessInstance processInstance) {
+    VariableContainer current = processInstance.getVariableContainer();
+    if (current instanceof VariableScope scope) {
+      return scope;
+    }
+    VariableScope scope = processInstance.getVariableScope();
+    if (scope == null || scope.base != null) {
+      scope = new VariableScope();
+      processInstance.setVariableScope(scope);
+    }
+    scope.base = current;
+    processInstance.setVariableContainer(scope);
+    return scope;
+  }
+
+  /**
+   * Pops bindings back to the given mark and, once no binding is left, restores the underlying
+   * container of the instance.
+   *
+   * @param processInstance instance the scope was entered on
+   * @param mark mark returned by {@link #mark()} right after entering
+   */
+  public void exit(ProcessInstance processInstance, int mark) {
+    popTo(mark);
+    if (size == 0) {
+      if (processInstance.getVariableContainer() == this) {
+        processInstance.setVariableContainer(base);
+      }
+      base = null;
+    }
+  }
+
+  /** Returns the current depth, to pop back to */
+  public int mark() {
+    return size;
+  }
+
+  /**
+   * Binds a variable on top of the scope.
+   *
+   * @param taskId id the variable is bound to
+   * @param type type of the variable, or null to bind the payload to the task id itself
+   * @param payload value of the variable
+   */
+  public void push(String taskId, Variable.Type type, Object payload) {
+    if (size == bindings.length) {
+      bindings = Arrays.copyOf(bindings, size * 2);
+    }
+    Binding binding = bindings[size];
+    if (binding == null) {
+      binding = new Binding();
+      bindings[size] = binding;
+    }
+    binding.taskId = taskId;
+    binding.type = type;
+    binding.payload = payload;
+    size++;
+  }
+
+  /**
+   * Binds the given variables on top of the scope.
+   *
+   * @param variables variables to bind
+   */
+  public void pushAll(Collection<? extends Variable> variables) {
+    for (Variable variable : variables) {
+      push(variable.getTaskId(), variable.getType(), variable.getPayload());
+    }
+  }
+
+  /**
+   * Removes the bindings pushed after the given mark.
+   *
+   * @param mark depth to pop back to
+   */
+  public void popTo(int mark) {
+    while (size > mark) {
+      Binding binding = bindings[--size];
+      binding.taskId = null;
+      binding.type = null;
+      binding.payload = null;
+    }
+  }
+
+  @Override
+  public void addNewVariable(String taskId, Variable.Type type, Object payload) {
+    base.addNewVariable(taskId, type, payload);
+  }
+
+  @Override
+  public void restoreVariable(String taskId, Variable.Type type, Object payload) {
+    base.restoreVariable(taskId, type, payload);
+  }
+
+  @Override
+  public List<ProcessVariable> getNewVariables() {
+    return base.getNewVariables();
+  }
+
+  @Override
+  public void clearNewVariables() {
+    base.clearNewVariables();
+  }
+
+  @Override
+  public void closeTransientVariables() {
+    base.closeTransientVariables();
+  }
+
+  @Override
+  public Object getVariable(String taskId, Variable.Type type) {
+    for (int i = size - 1; i >= 0; i--) {
+      Object payload = bindings[i].getVariable(taskId, type);
+      if (payload != null) {
+        return payload;
+      }
+    }
+    return base.getVariable(taskId, type);
+  }
+
+  @Override
+  public boolean containsVariable(String taskId, Variable.Type type) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (bindings[i].getVariable(taskId, type) != null) {
+        return true;
+      }
+    }
+    return base.containsVariable(taskId, type);
+  }
+
+  @Override
+  public Object readVariable(JsonPath jsonPath) {
+    String taskId = jsonPath.getToken(0);
+    for (int i = size - 1; i >= 0; i--) {
+      Binding binding = bindings[i];
+      if (binding.taskId.equals(taskId)) {
+        Object value = jsonPath.read(binding);
+        if (value != null) {
+          return value;
+        }
+      }
+    }
+    return base.readVariable(jsonPath);
+  }
+
+  /**
+   * A bound variable, which is also the root of paths read from it: the task id maps to the
+   * payload, or to a map of the type key to the payload for typed bindings.
+   */
+  private static final class Binding extends AbstractMap<String, Object> {
+    private String taskId;
+    private Variable.Type type;
+    private Object payload;
+    private final Map<String, Object> typedPayload = new TypedPayload();
+
+    private Object getVariable(String taskId, Variable.Type type) {
+      if (!this.taskId.equals(taskId)) {
+        return null;
+      }
+      if (this.type == null) {
+        return type != null && payload instanceof Map<?, ?> map ? map.get(type.getKey()) : payload;
+      }
+      return this.type == type ? payload : null;
+    }
+
+    @Override
+    public Object get(Object key) {
+      if (!taskId.equals(key)) {
+        return null;
+      }
+      return type == null ? payload : typedPayload;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+      return Set.of(new SimpleImmutableEntry<>(taskId, get(taskId)));
+    }
+
+    /** Type key to payload, for typed bindings. */
+    private final class TypedPayload extends AbstractMap<String, Object> {
+
+      @Override
+      public Object get(Object key) {
+        return type.getKey().equals(key) ? payload : null;
+      }
+
+      @Override
+      public Set<Entry<String, Object>> entrySet() {
+        return Set.of(new SimpleImmutableEntry<>(type.getKey(), payload));
+      }
+    }
+  }
+}
@@ -0,0 +1,518 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.upo.orchestrator.engine.impl.MailboxLifecycleEventHandler;
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.services.LifecycleEventHandler;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.utilities.json.Utils;
+
+/**
+ * Base class for workers draining distributed lifecycle events and dispatching them to a {@link
+ * LifecycleEventHandler}. Subclasses provide the Redis transport: how events are polled,
+ * acknowledged and recovered from crashed workers.
+ *
+ * <p>Partitions are owned through leases handed out by {@link PartitionLeaseManager}, which are
+ * acquired, renewed and released on every heartbeat as the set of live workers changes. Every owned
+ * partition gets a polling thread. Events are handled on virtual threads, with the number of
+ * in-flight events bounded by a semaphore so polling stops when handlers fall behind. An event is
+ * acknowledged once the handler returns; failed events are additionally copied to the partition's
+ * failed list. Events of one process instance are handled one at a time through a {@link
+ * MailboxLifecycleEventHandler}. Instances cached by the {@link ProcessInstanceCache} are dropped
+ * whenever a partition is acquired or released, so cached state never outlives ownership.
+ *
+ * <p>A partition stops polling as soon as its lease is not known to be valid for the next poll, so
+ * a worker that cannot renew in time never takes events after its successor may have acquired the
+ * lease. Events are handled on behalf of the partition lease, so instance checkpoints carry its
+ * fencing token and are rejected once a successor has written the instance. Delivery is
+ * at-least-once.
+ *
+ * <p>In-flight events are bounded by MAX_CONCURRENT_EVENTS environment variable.
+ */
+public abstract class AbstractLifecycleEventConsumer implements Closeable {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AbstractLifecycleEventConsumer.class);
+
+  protected static final long POLL_TIMEOUT_SECONDS = 1;
+  private static final long POLL_ERROR_BACKOFF_MILLIS = 1_000;
+  private static final int DEFAULT_MAX_CONCURRENT_EVENTS = 256;
+
+  private final PartitionLeaseManager partitionLeaseManager;
+  private final RedisTemplateFactory redisTemplateFactory;
+  private final LifecycleEventHandler lifecycleEventHandler;
+  private final ProcessInstanceCache processInstanceCache;
+  private final String workerId;
+  private final long heartbeatIntervalMillis;
+  private final Semaphore inFlightEvents;
+  private final ExecutorService dispatcher;
+  private final Map<Integer, PartitionWorker> partitionWorkers;
+  private volatile boolean running;
+  private Thread heartbeatThread;
+
+  protected AbstractLifecycleEventConsumer(
+      PartitionLeaseManager partitionLeaseManager,
+      RedisTemplateFactory redisTemplateFactory,
+      LifecycleEventHandler lifecycleEventHandler,
+      ProcessInstanceCache processInstanceCache,
+      int maxConcurrentEvents) {
+    this.partitionLeaseManager = partitionLeaseManager;
+    this.redisTemplateFactory = redisTemplateFactory;
+    this.lifecycleEventHandler = new MailboxLifecycleEventHandler(lifecycleEventHandler);
+    this.processInstanceCache = processInstanceCache;
+    this.workerId = partitionLeaseManager.getWorkerId();
+   // renew often enough to survive two missed heartbeats
+    this.heartbeatIntervalMillis = Math.max(1, partitionLeaseManager.getLeaseTimeoutMillis() / 3);
+    this.inFlightEvents = new Semaphore(maxConcurrentEvents);
+    this.dispatcher = Executors.newThreadPerTaskExecutor(createVirtualThreadFactory());
+    this.partitionWorkers = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Prepares a partition right after its lease is acquired, before polling starts.
+   *
+   * @param partition partition number
+   */
+  protected abstract void onPartitionAcquired(int partition);
+
+  /**
+   * Takes up to maxEvents events of the partition, blocking up to {@link #POLL_TIMEOUT_SECONDS}
+   * when none are available. Taken events must stay recoverable until acknowledged.
+   *
+   * @param partition partition number
+   * @param maxEvents maximum number of events to take
+   * @return events taken, empty if none arrived in time
+   */
+  protected abstract List<PendingEvent> poll(int partition, int maxEvents);
+
+  /**
+   * Marks an event as done so it is never delivered again.
+   *
+   * @param partition partition number
+   * @param pendingEvent event returned by {@link #poll} or {@link #recover}
+   */
+  protected abstract void acknowledge(int partition, PendingEvent pendingEvent);
+
+  /**
+   * Recovers events taken but never acknowledged by crashed workers. Called on every heartbeat for
+   * every owned partition. Events may either be put back for polling or returned to be dispatched
+   * by this worker.
+   *
+   * @param partition partition number
+   * @param maxEvents maximum number of events that may be returned
+   * @return events to dispatch right away
+   */
+  protected abstract List<PendingEvent> recover(int partition, int maxEvents);
+
+  /**
+   * Maximum number of events taken by a single poll.
+   *
+   * @return batch size, 1 by default
+   */
+  protected int getBatchSize() {
+    return 1;
+  }
+
+  /** Registers this worker and starts consuming the partitions assigned to it. */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    partitionLeaseManager.register();
+    rebalance();
+    heartbeatThread =
+        Thread.ofVirtual().name("lifecycle-event-heartbeat-" + workerId).start(this::heartbeat);
+  }
+
+  public Set<Integer> getOwnedPartitions() {
+    return Collections.unmodifiableSet(partitionWorkers.keySet());
+  }
+
+  public String getWorkerId() {
+    return workerId;
+  }
+
+  /**
+   * Returns throughput counters per owned partition. Rates are sampled on every heartbeat.
+   *
+   * @return map of partition number to its stats
+   */
+  public Map<Integer, PartitionStats> getPartitionStats() {
+    Map<Integer, PartitionStats> stats = new TreeMap<>();
+    for (PartitionWorker partitionWorker : partitionWorkers.values()) {
+      stats.put(partitionWorker.partition, partitionWorker.toStats());
+    }
+    return stats;
+  }
+
+  /**
+   * Stops polling, releases all leases, waits for in-flight events to finish and unregisters this
+   * worker.
+   */
+  @Override
+  public synchronized void close() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    heartbeatThread.interrupt();
+    for (Integer partition : new ArrayList<>(partitionWorkers.keySet())) {
+      stopPartition(partition, true);
+    }
+    dispatcher.close();
+    try {
+      partitionLeaseManager.unregister();
+    } catch (Exception e) {
+      LOGGER.warn("failed to unregister worker: {}", workerId, e);
+    }
+  }
+
+  private void heartbeat() {
+    while (running) {
+      if (!sleep(heartbeatIntervalMillis)) {
+        return;
+      }
+      try {
+        partitionLeaseManager.register();
+        rebalance();
+        recoverOrphanedEvents();
+        sampleStats();
+      } catch (Exception e) {
+        LOGGER.error("heartbeat failed for worker: {}", workerId, e);
+      }
+    }
+  }
+
+  /**
+   * Renews leases of partitions still assigned to this worker, hands over partitions assigned to
+   * other workers and tries to acquire newly assigned partitions. A partition whose previous owner
+   * has not released it is picked up once the old lease expires.
+   */
+  private synchronized void rebalance() {
+    if (!running) {
+      return;
+    }
+    Set<Integer> assigned = partitionLeaseManager.computeAssignment();
+    for (PartitionWorker partitionWorker : new ArrayList<>(partitionWorkers.values())) {
+      int partition = partitionWorker.partition;
+      if (!assigned.contains(partition)) {
+        LOGGER.info("handing over partition: {} from worker: {}", partition, workerId);
+        stopPartition(partition, true);
+        continue;
+      }
+      long renewStartNanos = System.nanoTime();
+      if (partitionLeaseManager.renew(partitionWorker.lease)) {
+        partitionWorker.extendLease(renewStartNanos);
+      } else {
+        LOGGER.warn("lost lease of partition: {} on worker: {}", partition, workerId);
+        stopPartition(partition, false);
+      }
+    }
+    for (int partition : assigned) {
+      if (partitionWorkers.containsKey(partition)) {
+        continue;
+      }
+      long acquireStartNanos = System.nanoTime();
+      partitionLeaseManager
+          .acquire(partition)
+          .ifPresent(lease -> startPartition(lease, acquireStartNanos));
+    }
+  }
+
+  private void startPartition(PartitionLeaseManager.Lease lease, long leaseStartNanos) {
+    LOGGER.info(
+        "acquired partition: {} on worker: {} with fencing token: {}",
+        lease.partition(),
+        workerId,
+        lease.fencingToken());
+    invalidateCachedInstances(lease.partition());
+    onPartitionAcquired(lease.partition());
+    PartitionWorker partitionWorker = new PartitionWorker(lease);
+    partitionWorker.extendLease(leaseStartNanos);
+    partitionWorkers.put(lease.partition(), partitionWorker);
+    partitionWorker.start();
+  }
+
+  /** Stops polling a partition. Events already taken are still handled and acknowledged. */
+  private void stopPartition(int partition, boolean releaseLease) {
+    PartitionWorker partitionWorker = partitionWorkers.remove(partition);
+    if (partitionWorker == null) {
+      return;
+    }
+    partitionWorker.stop();
+    invalidateCachedInstances(partition);
+    if (releaseLease) {
+      try {
+        partitionLeaseManager.release(partitionWorker.lease);
+      } catch (Exception e) {
+        LOGGER.warn("failed to release lease of partition: {}, left to expire", partition, e);
+      }
+    }
+  }
+
+  /**
+   * Drops cached instances of a partition whose ownership changes. Called on release and again on
+   * acquire, since events still in flight after a release may cache instances once more.
+   */
+  private void invalidateCachedInstances(int partition) {
+    processInstanceCache.invalidateIf(
+        instanceId -> LifecycleEventQueues.calculatePartition(instanceId) == partition);
+  }
+
+  private void recoverOrphanedEvents() {
+    for (PartitionWorker partitionWorker : partitionWorkers.values()) {
+      int permits = acquireAvailablePermits(getBatchSize());
+      List<PendingEvent> recovered = Collections.emptyList();
+      try {
+        recovered = recover(partitionWorker.partition, permits);
+      } finally {
+        inFlightEvents.release(permits - recovered.size());
+      }
+      if (!recovered.isEmpty()) {
+        LOGGER.info(
+            "recovered {} events on partition: {}", recovered.size(), partitionWorker.partition);
+      }
+      for (PendingEvent pendingEvent : recovered) {
+        dispatcher.execute(() -> partitionWorker.dispatch(pendingEvent));
+      }
+    }
+  }
+
+  private void sampleStats() {
+    long now = System.nanoTime();
+    for (PartitionWorker partitionWorker : partitionWorkers.values()) {
+      partitionWorker.sample(now);
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("worker: {} partition stats: {}", workerId, getPartitionStats());
+    }
+  }
+
+  /** Blocks for one permit, then takes whatever else is free up to max. */
+  private int acquirePermits(int max) throws InterruptedException {
+    inFlightEvents.acquire();
+    return 1 + acquireAvailablePermits(max - 1);
+  }
+
+  private int acquireAvailablePermits(int max) {
+    int permits = 0;
+    while (permits < max && inFlightEvents.tryAcquire()) {
+      permits++;
+    }
+    return permits;
+  }
+
+  protected RedisTemplate getRedisTemplate() {
+    return LifecycleEventQueues.getRedisTemplate(redisTemplateFactory);
+  }
+
+  protected long getLeaseTimeoutMillis() {
+    return partitionLeaseManager.getLeaseTimeoutMillis();
+  }
+
+  protected static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  protected static int getMaxConcurrentEvents() {
+    return Optional.ofNullable(System.getenv("MAX_CONCURRENT_EVENTS"))
+        .filter(s -> !s.isEmpty())
+        .map(Integer::parseInt)
+        .filter(p -> p > 0)
+        .orElse(DEFAULT_MAX_CONCURRENT_EVENTS);
+  }
+
+  /** Creates a virtual thread factory with naming and error handling. */
+  private static ThreadFactory createVirtualThreadFactory() {
+    return Thread.ofVirtual()
+        .name("lifecycle-event-worker-", 0)
+        .uncaughtExceptionHandler(
+            (t, e) -> LOGGER.error("uncaught exception in thread: {}", t.getName(), e))
+        .factory();
+  }
+
+  /**
+   * Event taken from a partition and not yet acknowledged.
+   *
+   * @param id transport specific id used to acknowledge the event
+   * @param payload event json
+   */
+  protected record PendingEvent(String id, String payload) {}
+
+  /**
+   * Lease and throughput counters of a partition.
+   *
+   * @param fencingToken fencing token of the lease this worker holds on the partition
+   * @param processed events handled successfully since the partition was acquired
+   * @param failed events whose handler threw
+   * @param eventsPerSecond rate of handled events over the last heartbeat interval
+   */
+  public record PartitionStats(
+      long fencingToken, long processed, long failed, double eventsPerSecond) {}
+
+  /** Polling loop and counters of a single leased partition. */
+  private final class PartitionWorker {
+    private final PartitionLeaseManager.Lease lease;
+    private final int partition;
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean active;
+    private volatile long leaseDeadlineNanos;
+    private volatile double eventsPerSecond;
+    private long lastSampleCount;
+    private long lastSampleNanos;
+    private Thread thread;
+
+    private PartitionWorker(PartitionLeaseManager.Lease lease) {
+      this.lease = lease;
+      this.partition = lease.partition();
+      this.lastSampleNanos = System.nanoTime();
+    }
+
+    private void start() {
+      active = true;
+      thread =
+          Thread.ofVirtual()
+              .name("lifecycle-event-poller-" + partition)
+              .uncaughtExceptionHandler(
+                  (t, e) -> LOGGER.error("uncaught exception in thread: {}", t.getName(), e))
+              .start(this::poll);
+    }
+
+    /** Records a successful renewal that was sent at the given time. */
+    private void extendLease(long renewStartNanos) {
+      leaseDeadlineNanos = renewStartNanos + TimeUnit.MILLISECONDS.toNanos(getLeaseTimeoutMillis());
+    }
+
+    /** Lease must outlive the next blocking poll, otherwise a successor may already own it. */
+    private boolean isLeaseValid() {
+      long pollEndNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(POLL_TIMEOUT_SECONDS);
+      return pollEndNanos - leaseDeadlineNanos < 0;
+    }
+
+    private void stop() {
+      active = false;
+      try {
+        thread.join(TimeUnit.SECONDS.toMillis(POLL_TIMEOUT_SECONDS * 2));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void poll() {
+      while (active) {
+        if (!isLeaseValid()) {
+          if (!sleep(TimeUnit.SECONDS.toMillis(POLL_TIMEOUT_SECONDS))) {
+            return;
+          }
+          continue;
+        }
+        int permits;
+        try {
+          permits = acquirePermits(getBatchSize());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        List<PendingEvent> pendingEvents = Collections.emptyList();
+        try {
+          pendingEvents = AbstractLifecycleEventConsumer.this.poll(partition, permits);
+        } catch (Exception e) {
+          LOGGER.error("failed to poll partition: {}", partition, e);
+          if (!sleep(POLL_ERROR_BACKOFF_MILLIS)) {
+            return;
+          }
+        } finally {
+          inFlightEvents.release(permits - pendingEvents.size());
+        }
+        for (PendingEvent pendingEvent : pendingEvents) {
+          dispatcher.execute(() -> dispatch(pendingEvent));
+        }
+      }
+    }
+
+    private void dispatch(PendingEvent pendingEvent) {
+      try {
+        LifecycleEvent lifecycleEvent =
+            Utils.fromJson(pendingEvent.payload(), LifecycleEvent.class);
+        if (lifecycleEvent == null) {
+          throw new IllegalStateException("invalid lifecycle event: " + pendingEvent.id());
+        }
+        PartitionLeaseManager.runWithLease(
+            lease, () -> lifecycleEventHandler.handle(lifecycleEvent));
+        processed.increment();
+      } catch (Exception e) {
+        failed.increment();
+        LOGGER.error(
+            "failed to handle event on partition: {}, event: {}",
+            partition,
+            pendingEvent.payload(),
+            e);
+        moveToFailed(pendingEvent);
+      } finally {
+        try {
+          acknowledge(partition, pendingEvent);
+        } catch (Exception e) {
+         // event stays pending and gets redelivered by recovery
+          LOGGER.error("failed to acknowledge event on partition: {}", partition, e);
+        }
+        inFlightEvents.release();
+      }
+    }
+
+    private void moveToFailed(PendingEvent pendingEvent) {
+      if (pendingEvent.payload() == null) {
+        return;
+      }
+      try {
+        getRedisTemplate()
+            .addToList(LifecycleEventQueues.getFailedKey(partition), pendingEvent.payload());
+      } catch (Exception e) {
+        LOGGER.error("failed to record failed event on partition: {}", partition, e);
+      }
+    }
+
+    private void sample(long now) {
+      long count = processed.sum();
+      double elapsedSeconds = (now - lastSampleNanos) / 1_000_000_000.0;
+      if (elapsedSeconds > 0) {
+        eventsPerSecond = (count - lastSampleCount) / elapsedSeconds;
+      }
+      lastSampleCount = count;
+      lastSampleNanos = now;
+    }
+
+    private PartitionStats toStats() {
+      return new PartitionStats(
+          lease.fencingToken(), processed.sum(), failed.sum(), eventsPerSecond);
+    }
+  }
+}
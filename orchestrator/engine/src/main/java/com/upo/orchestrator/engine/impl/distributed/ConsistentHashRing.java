@@ -0,0 +1,67 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring with virtual nodes used to assign partitions to workers. Every worker is
+ * placed on the ring multiple times so partitions spread evenly, and adding or removing a worker
+ * only moves the partitions adjacent to its virtual nodes (about 1/N of them).
+ *
+ * <p>Hashing is deterministic across JVMs so every worker computes the same assignment from the
+ * same member set.
+ */
+public final class ConsistentHashRing {
+
+  private final TreeMap<Long, String> ring;
+
+  public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+    if (virtualNodes <= 0) {
+      throw new IllegalArgumentException("virtual nodes must be positive: " + virtualNodes);
+    }
+    this.ring = new TreeMap<>();
+    for (String member : members) {
+      for (int i = 0; i < virtualNodes; i++) {
+        ring.put(hash(member + "#" + i), member);
+      }
+    }
+  }
+
+  /**
+   * Returns the member owning the given partition, or null if the ring is empty.
+   *
+   * @param partition partition number
+   * @return owning member
+   */
+  public String getOwner(int partition) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash("partition-" + partition));
+    return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+  }
+
+  /** 64-bit FNV-1a followed by a murmur3 finalizer to spread similar inputs. */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
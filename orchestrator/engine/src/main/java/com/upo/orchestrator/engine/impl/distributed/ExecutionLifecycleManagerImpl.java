@@ -7,11 +7,14 @@
 */
 package com.upo.orchestrator.engine.impl.distributed;
 
-import java.util.Optional;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.upo.orchestrator.engine.impl.AbstractExecutionLifecycleManager;
 import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
-import com.upo.orchestrator.engine.services.EnvironmentProvider;
 import com.upo.resource.redis.RedisTemplate;
 import com.upo.resource.redis.RedisTemplateFactory;
 import com.upo.utilities.json.Utils;
@@ -22,19 +25,46 @@ import jakarta.inject.Singleton;
 
 /**
  * Distributed implementation of ExecutionLifecycleManager using Redis for event distribution.
- * Events are partitioned and stored in Redis lists for processing by consumers.
+ * Events are partitioned and stored in Redis lists for processing by {@link
+ * LifecycleEventConsumer}s.
+ *
+ * <p>Deployments pick the transport by registering either this or {@link
+ * StreamExecutionLifecycleManagerImpl} for the distributed strategy.
+ *
+ * <p>Events raised while a task executes are batched, grouped by partition list and pushed in a
+ * single pipeline, so a fork over many instances costs one round trip instead of one per instance.
+ *
+ * <p>The {@link LifecycleEventConsumer} of this worker is started along with the manager and
+ * stopped when the manager is closed. Producer only deployments may create the manager without a
+ * consumer.
  */
 @Named("DistributedExecutionLifecycleManagerImpl")
 @Singleton
-public class ExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleManager {
-
-  private static final int DEFAULT_PARTITIONS = 8;
+public class ExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleManager
+    implements Closeable {
 
   private final RedisTemplateFactory redisTemplateFactory;
+  private final LifecycleEventConsumer lifecycleEventConsumer;
 
-  @Inject
   public ExecutionLifecycleManagerImpl(RedisTemplateFactory redisTemplateFactory) {
     this.redisTemplateFactory = redisTemplateFactory;
+    this.lifecycleEventConsumer = null;
+  }
+
+  @Inject
+  public ExecutionLifecycleManagerImpl(
+      RedisTemplateFactory redisTemplateFactory, LifecycleEventConsumer lifecycleEventConsumer) {
+    this.redisTemplateFactory = redisTemplateFactory;
+    this.lifecycleEventConsumer = lifecycleEventConsumer;
+    lifecycleEventConsumer.start();
+  }
+
+  /** Stops the lifecycle event consumer of this worker, if any. */
+  @Override
+  public void close() {
+    if (lifecycleEventConsumer != null) {
+      lifecycleEventConsumer.close();
+    }
   }
 
   @Override
@@ -48,24 +78,28 @@ public class ExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleMan
     getRedisTemplate().addToList(eventKey, eventJson);
   }
 
-  private String createEventKey(LifecycleEvent lifecycleEvent) {
-    return String.format("%s/%d", lifecycleEvent.getType(), calculatePartition(lifecycleEvent));
+  @Override
+  protected void handleEvents(List<LifecycleEvent> lifecycleEvents) {
+    if (lifecycleEvents.size() == 1) {
+      handleEvent(lifecycleEvents.getFirst());
+      return;
+    }
+   // events of a partition keep the order in which they were raised
+    Map<String, List<String>> eventsByKey = new LinkedHashMap<>();
+    for (LifecycleEvent lifecycleEvent : lifecycleEvents) {
+      eventsByKey
+          .computeIfAbsent(createEventKey(lifecycleEvent), _ -> new ArrayList<>())
+          .add(Utils.toJson(lifecycleEvent));
+    }
+    getRedisTemplate().addAllToLists(eventsByKey);
   }
 
-  private int calculatePartition(LifecycleEvent lifecycleEvent) {
-    return Math.abs(lifecycleEvent.getPartitionKey().hashCode()) % getMaxPartitions();
+  private String createEventKey(LifecycleEvent lifecycleEvent) {
+    int partition = LifecycleEventQueues.calculatePartition(lifecycleEvent);
+    return LifecycleEventQueues.getQueueKey(partition);
   }
 
   private RedisTemplate getRedisTemplate() {
-    return redisTemplateFactory.getRedisTemplate(
-        Resources.REDIS, EnvironmentProvider.getCurrentTier());
-  }
-
-  private int getMaxPartitions() {
-    return Optional.ofNullable(System.getenv("MAX_PARTITIONS"))
-        .filter(s -> !s.isEmpty())
-        .map(Integer::parseInt)
-        .filter(p -> p > 0)
-        .orElse(DEFAULT_PARTITIONS);
+    return LifecycleEventQueues.getRedisTemplate(redisTemplateFactory);
   }
 }
@@ -0,0 +1,123 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.upo.orchestrator.engine.impl.MailboxProcessInstanceCache;
+import com.upo.orchestrator.engine.services.LifecycleEventHandler;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Drains lifecycle events published to Redis lists by the distributed {@link
+ * ExecutionLifecycleManagerImpl}.
+ *
+ * <p>Every owned partition blocks on the partition list with BLMOVE, moving each event into a
+ * processing list private to this worker. An event is acknowledged by removing it from the
+ * processing list. On every heartbeat, processing lists of owned partitions that belong to workers
+ * without a live heartbeat are pushed back to the head of the partition list, so events of crashed
+ * workers are delivered again.
+ */
+@Singleton
+public class LifecycleEventConsumer extends AbstractLifecycleEventConsumer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LifecycleEventConsumer.class);
+
+  @Inject
+  public LifecycleEventConsumer(
+      PartitionLeaseManager partitionLeaseManager,
+      RedisTemplateFactory redisTemplateFactory,
+      LifecycleEventHandler lifecycleEventHandler,
+      MailboxProcessInstanceCache processInstanceCache) {
+    this(
+        partitionLeaseManager,
+        redisTemplateFactory,
+        lifecycleEventHandler,
+        processInstanceCache,
+        getMaxConcurrentEvents());
+  }
+
+  public LifecycleEventConsumer(
+      PartitionLeaseManager partitionLeaseManager,
+      RedisTemplateFactory redisTemplateFactory,
+      LifecycleEventHandler lifecycleEventHandler,
+      ProcessInstanceCache processInstanceCache,
+      int maxConcurrentEvents) {
+    super(
+        partitionLeaseManager,
+        redisTemplateFactory,
+        lifecycleEventHandler,
+        processInstanceCache,
+        maxConcurrentEvents);
+  }
+
+  @Override
+  protected void onPartitionAcquired(int partition) {
+   // events left over by a previous run of a worker with the same id
+    requeue(
+        getRedisTemplate(),
+        LifecycleEventQueues.getProcessingKey(partition, getWorkerId()),
+        LifecycleEventQueues.getQueueKey(partition));
+  }
+
+  @Override
+  protected List<PendingEvent> poll(int partition, int maxEvents) {
+    return getRedisTemplate()
+        .moveFromList(
+            LifecycleEventQueues.getQueueKey(partition),
+            LifecycleEventQueues.getProcessingKey(partition, getWorkerId()),
+            POLL_TIMEOUT_SECONDS)
+        .map(eventJson -> List.of(new PendingEvent(eventJson, eventJson)))
+        .orElse(Collections.emptyList());
+  }
+
+  @Override
+  protected void acknowledge(int partition, PendingEvent pendingEvent) {
+    getRedisTemplate()
+        .removeFromList(
+            LifecycleEventQueues.getProcessingKey(partition, getWorkerId()), pendingEvent.id());
+  }
+
+  /** Returns events held by dead workers back to the partition list. */
+  @Override
+  protected List<PendingEvent> recover(int partition, int maxEvents) {
+    RedisTemplate redisTemplate = getRedisTemplate();
+    String pattern = LifecycleEventQueues.getProcessingKey(partition, "*");
+    for (String processingKey : redisTemplate.findKeysByPattern(pattern)) {
+      String owner = LifecycleEventQueues.extractWorkerId(processingKey);
+      if (getWorkerId().equals(owner)
+          || redisTemplate.exists(LifecycleEventQueues.getWorkerKey(owner))) {
+        continue;
+      }
+      int requeued =
+          requeue(redisTemplate, processingKey, LifecycleEventQueues.getQueueKey(partition));
+      if (requeued > 0) {
+        LOGGER.info(
+            "requeued {} events of dead worker: {} on partition: {}", requeued, owner, partition);
+      }
+    }
+    return Collections.emptyList();
+  }
+
+  private static int requeue(RedisTemplate redisTemplate, String fromKey, String toKey) {
+    int count = 0;
+    while (redisTemplate.moveToListHead(fromKey, toKey).isPresent()) {
+      count++;
+    }
+    return count;
+  }
+}
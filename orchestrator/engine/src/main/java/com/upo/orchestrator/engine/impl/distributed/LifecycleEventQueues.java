@@ -0,0 +1,107 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.util.Optional;
+
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.services.EnvironmentProvider;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+
+/**
+ * Key layout and partitioning shared by the producer and consumer side of distributed lifecycle
+ * events. Every partition has a single pending list and one processing list per worker. The
+ * partition number is wrapped in a hash tag so that both lists land in the same cluster slot, which
+ * is required for BLMOVE.
+ *
+ * <pre>
+ *   events/{3}                       pending events of partition 3
+ *   events/{3}/processing/worker-a   events taken by worker-a but not yet acknowledged
+ *   events/{3}/failed                events whose handler failed
+ *   workers                          set of registered workers
+ *   workers/worker-a                 liveness key of worker-a, refreshed by heartbeats
+ *   leases/{3}                       lease of partition 3, holds "fencing token:worker id"
+ *   leases/{3}/token                 fencing token counter of partition 3
+ *   stream/{3}                       stream of partition 3 when using the streams transport
+ * </pre>
+ */
+public final class LifecycleEventQueues {
+
+  /** Consumer group shared by all workers reading partition streams. */
+  public static final String STREAM_GROUP = "lifecycle-event-workers";
+
+  /** Stream entry field holding the event json. */
+  public static final String STREAM_EVENT_FIELD = "event";
+
+  private static final int DEFAULT_PARTITIONS = 8;
+
+  private LifecycleEventQueues() {}
+
+  /**
+   * Returns the number of partitions events are spread across, read from MAX_PARTITIONS env
+   * variable.
+   */
+  public static int getMaxPartitions() {
+    return Optional.ofNullable(System.getenv("MAX_PARTITIONS"))
+        .filter(s -> !s.isEmpty())
+        .map(Integer::parseInt)
+        .filter(p -> p > 0)
+        .orElse(DEFAULT_PARTITIONS);
+  }
+
+  public static int calculatePartition(LifecycleEvent lifecycleEvent) {
+    return calculatePartition(lifecycleEvent.getPartitionKey());
+  }
+
+  public static int calculatePartition(String partitionKey) {
+    return Math.floorMod(partitionKey.hashCode(), getMaxPartitions());
+  }
+
+  public static String getQueueKey(int partition) {
+    return "events/{" + partition + "}";
+  }
+
+  public static String getProcessingKey(int partition, String workerId) {
+    return getQueueKey(partition) + "/processing/" + workerId;
+  }
+
+  public static String getFailedKey(int partition) {
+    return getQueueKey(partition) + "/failed";
+  }
+
+  public static String getStreamKey(int partition) {
+    return "stream/{" + partition + "}";
+  }
+
+  public static String getWorkersKey() {
+    return "workers";
+  }
+
+  public static String getWorkerKey(String workerId) {
+    return getWorkersKey() + "/" + workerId;
+  }
+
+  public static String getLeaseKey(int partition) {
+    return "leases/{" + partition + "}";
+  }
+
+  public static String getFencingTokenKey(int partition) {
+    return getLeaseKey(partition) + "/token";
+  }
+
+  /** Extracts worker id from a processing list key created by {@link #getProcessingKey}. */
+  public static String extractWorkerId(String processingKey) {
+    return processingKey.substring(processingKey.lastIndexOf('/') + 1);
+  }
+
+  public static RedisTemplate getRedisTemplate(RedisTemplateFactory redisTemplateFactory) {
+    return redisTemplateFactory.getRedisTemplate(
+        Resources.REDIS, EnvironmentProvider.getCurrentTier());
+  }
+}
@@ -0,0 +1,235 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.util.*;
+
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.resource.redis.StandardScripts;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Assigns lifecycle event partitions to workers using Redis backed leases.
+ *
+ * <p>Workers register themselves in a shared set and keep an expiring liveness key alive. The
+ * desired owner of every partition is computed from the live members with a {@link
+ * ConsistentHashRing}, so a worker joining or leaving only moves about 1/N of the partitions. A
+ * worker may consume a partition only while it holds that partition's lease. Leases expire after
+ * the lease timeout unless renewed, so partitions of a dead worker are reclaimed by their new owner
+ * once its lease runs out.
+ *
+ * <p>Each new holder of a lease gets a strictly increasing fencing token. Renewal and release
+ * compare the complete lease value, so a worker that lost its lease can never extend or drop the
+ * lease of its successor. Events are handled on behalf of the lease of their partition, exposed by
+ * {@link #getCurrentLease()}, so that writes can carry its fencing token and storage can reject
+ * writes of a holder that was superseded.
+ *
+ * <p>Configuration is read from environment variables: WORKER_ID (defaults to a random id),
+ * PARTITION_LEASE_TIMEOUT_SECONDS and PARTITION_VIRTUAL_NODES.
+ */
+@Singleton
+public class PartitionLeaseManager {
+
+  private static final long DEFAULT_LEASE_TIMEOUT_SECONDS = 15;
+  private static final int DEFAULT_VIRTUAL_NODES = 64;
+
+  /** Lease of the partition whose event the current thread is handling. */
+  private static final ScopedValue<Lease> CURRENT_LEASE = ScopedValue.newInstance();
+
+  private final RedisTemplateFactory redisTemplateFactory;
+  private final String workerId;
+  private final long leaseTimeoutMillis;
+  private final int virtualNodes;
+
+  @Inject
+  public PartitionLeaseManager(RedisTemplateFactory redisTemplateFactory) {
+    this(
+        redisTemplateFactory,
+        lookupWorkerId(),
+        getPositiveEnv("PARTITION_LEASE_TIMEOUT_SECONDS", DEFAULT_LEASE_TIMEOUT_SECONDS) * 1000,
+        (int) getPositiveEnv("PARTITION_VIRTUAL_NODES", DEFAULT_VIRTUAL_NODES));
+  }
+
+  public PartitionLeaseManager(
+      RedisTemplateFactory redisTemplateFactory,
+      String workerId,
+      long leaseTimeoutMillis,
+      int virtualNodes) {
+    this.redisTemplateFactory = redisTemplateFactory;
+    this.workerId = workerId;
+    this.leaseTimeoutMillis = leaseTimeoutMillis;
+    this.virtualNodes = virtualNodes;
+  }
+
+  public String getWorkerId() {
+    return workerId;
+  }
+
+  public long getLeaseTimeoutMillis() {
+    return leaseTimeoutMillis;
+  }
+
+  /**
+   * Runs a task on behalf of a lease, which it can look up with {@link #getCurrentLease()}.
+   *
+   * @param lease lease the task runs under
+   * @param task task to run
+   */
+  public static void runWithLease(Lease lease, Runnable task) {
+    ScopedValue.runWhere(CURRENT_LEASE, lease, task);
+  }
+
+  /**
+   * Returns the lease of the partition whose event the current thread is handling.
+   *
+   * @return lease, empty outside of event handling
+   */
+  public static Optional<Lease> getCurrentLease() {
+    return CURRENT_LEASE.isBound() ? Optional.of(CURRENT_LEASE.get()) : Optional.empty();
+  }
+
+  /** Registers this worker as a member and refreshes its liveness key on every heartbeat. */
+  public void register() {
+    RedisTemplate redisTemplate = getRedisTemplate();
+    redisTemplate.saveWithExpiry(
+        LifecycleEventQueues.getWorkerKey(workerId),
+        String.valueOf(System.currentTimeMillis()),
+        Math.max(1, leaseTimeoutMillis / 1000));
+    redisTemplate.addToSet(LifecycleEventQueues.getWorkersKey(), workerId);
+  }
+
+  /** Removes this worker from the member set so others take over its partitions right away. */
+  public void unregister() {
+    RedisTemplate redisTemplate = getRedisTemplate();
+    redisTemplate.removeFromSet(LifecycleEventQueues.getWorkersKey(), workerId);
+    redisTemplate.delete(LifecycleEventQueues.getWorkerKey(workerId));
+  }
+
+  /**
+   * Returns members whose liveness key has not expired. Members found dead are removed from the
+   * member set.
+   */
+  public Set<String> getLiveMembers() {
+    RedisTemplate redisTemplate = getRedisTemplate();
+    Set<String> liveMembers = new TreeSet<>();
+    for (String member : redisTemplate.getSetMembers(LifecycleEventQueues.getWorkersKey())) {
+      if (redisTemplate.exists(LifecycleEventQueues.getWorkerKey(member))) {
+        liveMembers.add(member);
+      } else {
+        redisTemplate.removeFromSet(LifecycleEventQueues.getWorkersKey(), member);
+      }
+    }
+    liveMembers.add(workerId);
+    return liveMembers;
+  }
+
+  /**
+   * Computes the partitions this worker should own given the current live members.
+   *
+   * @return partitions mapped to this worker on the hash ring
+   */
+  public Set<Integer> computeAssignment() {
+    ConsistentHashRing ring = new ConsistentHashRing(getLiveMembers(), virtualNodes);
+    Set<Integer> assigned = new TreeSet<>();
+    int maxPartitions = LifecycleEventQueues.getMaxPartitions();
+    for (int partition = 0; partition < maxPartitions; partition++) {
+      if (workerId.equals(ring.getOwner(partition))) {
+        assigned.add(partition);
+      }
+    }
+    return assigned;
+  }
+
+  /**
+   * Acquires the lease of a partition if it is free or already held by this worker.
+   *
+   * @param partition partition number
+   * @return the lease, empty if another worker holds it
+   */
+  public Optional<Lease> acquire(int partition) {
+    List<Object> result =
+        getRedisTemplate()
+            .executeStandardScript(
+                StandardScripts.ACQUIRE_LEASE,
+                Arrays.asList(
+                    LifecycleEventQueues.getLeaseKey(partition),
+                    LifecycleEventQueues.getFencingTokenKey(partition)),
+                Arrays.asList(workerId, String.valueOf(leaseTimeoutMillis)));
+    if (!isSuccess(result)) {
+      return Optional.empty();
+    }
+    long fencingToken = Long.parseLong(String.valueOf(result.get(0)));
+    return Optional.of(new Lease(partition, fencingToken, fencingToken + ":" + workerId));
+  }
+
+  /**
+   * Extends a lease by the lease timeout.
+   *
+   * @param lease lease previously acquired by this worker
+   * @return true if the lease is still held and was extended
+   */
+  public boolean renew(Lease lease) {
+    return isSuccess(
+        getRedisTemplate()
+            .executeStandardScript(
+                StandardScripts.RENEW_LEASE,
+                Collections.singletonList(LifecycleEventQueues.getLeaseKey(lease.partition())),
+                Arrays.asList(lease.value(), String.valueOf(leaseTimeoutMillis))));
+  }
+
+  /**
+   * Releases a lease so the next owner does not have to wait for it to expire.
+   *
+   * @param lease lease previously acquired by this worker
+   * @return true if the lease was still held and got released
+   */
+  public boolean release(Lease lease) {
+    return isSuccess(
+        getRedisTemplate()
+            .executeStandardScript(
+                StandardScripts.RELEASE_LEASE,
+                Collections.singletonList(LifecycleEventQueues.getLeaseKey(lease.partition())),
+                Collections.singletonList(lease.value())));
+  }
+
+  private static boolean isSuccess(List<Object> result) {
+    return result != null
+        && !result.isEmpty()
+        && Long.valueOf(1L).equals(result.get(result.size() - 1));
+  }
+
+  private RedisTemplate getRedisTemplate() {
+    return LifecycleEventQueues.getRedisTemplate(redisTemplateFactory);
+  }
+
+  private static String lookupWorkerId() {
+    return Optional.ofNullable(System.getenv("WORKER_ID"))
+        .filter(s -> !s.isEmpty())
+        .orElseGet(() -> UUID.randomUUID().toString());
+  }
+
+  private static long getPositiveEnv(String name, long defaultValue) {
+    return Optional.ofNullable(System.getenv(name))
+        .filter(s -> !s.isEmpty())
+        .map(Long::parseLong)
+        .filter(p -> p > 0)
+        .orElse(defaultValue);
+  }
+
+  /**
+   * Lease held on a partition.
+   *
+   * @param partition partition number
+   * @param fencingToken token that increases with every new holder of the partition
+   * @param value lease value stored in Redis, used to renew and release
+   */
+  public record Lease(int partition, long fencingToken, String value) {}
+}
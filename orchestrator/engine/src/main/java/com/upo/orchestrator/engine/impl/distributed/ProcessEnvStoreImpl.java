@@ -0,0 +1,124 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.upo.orchestrator.engine.models.ProcessEnv;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.resource.redis.impl.JsonRedisCodec;
+import com.upo.resource.redis.impl.JsonRepositoryServiceImpl;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+/**
+ * Stores process environments in redis, keeping the most recently read ones in a bounded LRU cache
+ * of PROCESS_ENV_CACHE_SIZE entries. Environments are frozen once saved or read, so the cached ones
+ * are shared by every instance referencing them.
+ *
+ * <p>Instances holding an environment are kept in a set next to it. Releases remove their instance
+ * and delete the environment when the set turns out empty; the last one to release always sees it
+ * empty, concurrent ones may both delete it, which is harmless.
+ */
+@Named("DistributedProcessEnvStoreImpl")
+@Singleton
+public class ProcessEnvStoreImpl extends JsonRepositoryServiceImpl<ProcessEnv, String>
+    implements ProcessEnvStore {
+
+  private static final int CACHE_SIZE =
+      Optional.ofNullable(System.getenv("PROCESS_ENV_CACHE_SIZE"))
+          .filter(s -> !s.isEmpty())
+          .map(Integer::parseInt)
+          .orElse(1000);
+
+  private final LinkedHashMap<String, ProcessEnv> cache;
+
+  @Inject
+  public ProcessEnvStoreImpl(RedisTemplateFactory redisTemplateFactory) {
+    super(
+        redisTemplateFactory,
+        Resources.REDIS,
+        ProcessEnv.class,
+        JsonRedisCodec.forStringKey(ProcessEnv.class, ProcessEnv::getId));
+    this.cache =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, ProcessEnv> eldest) {
+            return size() > CACHE_SIZE;
+          }
+        };
+  }
+
+  @Override
+  public boolean save(ProcessEnv processEnv) {
+    if (!super.save(processEnv)) {
+      return false;
+    }
+    getRawTemplate().addToSet(toInstanceIdsKey(processEnv.getId()), processEnv.getId());
+    cache(processEnv.getId(), processEnv.freeze());
+    return true;
+  }
+
+  @Override
+  public Optional<ProcessEnv> findById(String id) {
+    ProcessEnv cached;
+    synchronized (cache) {
+      cached = cache.get(id);
+    }
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    Optional<ProcessEnv> processEnv = super.findById(id).map(ProcessEnv::freeze);
+    processEnv.ifPresent(env -> cache(id, env));
+    return processEnv;
+  }
+
+  @Override
+  public void retain(String id, Collection<String> instanceIds) {
+    getRawTemplate().addToSet(toInstanceIdsKey(id), instanceIds.toArray(new String[0]));
+  }
+
+  @Override
+  public boolean release(String id, String instanceId) {
+    RedisTemplate rawTemplate = getRawTemplate();
+    rawTemplate.removeFromSet(toInstanceIdsKey(id), instanceId);
+    if (!rawTemplate.getSetMembers(toInstanceIdsKey(id)).isEmpty()) {
+      return false;
+    }
+    return deleteById(id);
+  }
+
+  @Override
+  public boolean deleteById(String id) {
+    synchronized (cache) {
+      cache.remove(id);
+    }
+    return getRawTemplate().deleteMany(List.of(toKey(id), toInstanceIdsKey(id))) > 0;
+  }
+
+  private static String toInstanceIdsKey(String id) {
+    return "envInstances/" + id;
+  }
+
+  private void cache(String id, ProcessEnv processEnv) {
+    if (CACHE_SIZE <= 0) {
+      return;
+    }
+    synchronized (cache) {
+      cache.put(id, processEnv);
+    }
+  }
+}
@@ -11,34 +11,145 @@ import java.util.*;
 
 import com.upo.orchestrator.engine.ProcessFlowStatus;
 import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.models.ProcessVariable;
 import com.upo.orchestrator.engine.services.ProcessInstanceStore;
+import com.upo.orchestrator.engine.services.VariableStore;
 import com.upo.resource.redis.RedisTemplate;
 import com.upo.resource.redis.RedisTemplateFactory;
-import com.upo.resource.redis.impl.JsonRedisCodec;
-import com.upo.resource.redis.impl.JsonRepositoryServiceImpl;
+import com.upo.resource.redis.impl.HashRepositoryServiceImpl;
+import com.upo.resource.redis.impl.JsonHashRedisCodec;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
+/**
+ * Stores process instances as hashes, with a field per property. Checkpoints write only the fields
+ * changed since the instance was read or last saved, tracked by {@link
+ * ProcessInstance#getDirtyFields()}, rather than the whole instance with its process env.
+ *
+ * <p>Checkpoints made while handling an event of the instance's own partition are fenced by the
+ * fencing token of the partition lease, kept in a field of the instance hash. A worker that lost
+ * the partition can't overwrite an instance once its successor has checkpointed it.
+ *
+ * <p>Instance keys carry the instance id as hash tag, like the keys of its variables and of their
+ * index in {@link VariableStoreImpl}, so that a checkpoint only touches keys of one slot on
+ * clusters.
+ */
 @Named("DistributedProcessInstanceStoreImpl")
 @Singleton
-public class ProcessInstanceStoreImpl extends JsonRepositoryServiceImpl<ProcessInstance, String>
+public class ProcessInstanceStoreImpl extends HashRepositoryServiceImpl<ProcessInstance, String>
     implements ProcessInstanceStore {
 
+  private static final String FENCING_TOKEN = "fencingToken";
+
   @Inject
   public ProcessInstanceStoreImpl(RedisTemplateFactory redisTemplateFactory) {
     super(
         redisTemplateFactory,
         Resources.REDIS,
         ProcessInstance.class,
-        JsonRedisCodec.forStringKey(ProcessInstance.class, ProcessInstance::getId));
+        JsonHashRedisCodec.forStringKey(ProcessInstance.class, ProcessInstance::getId));
   }
 
+  @Override
+  public boolean save(ProcessInstance processInstance) {
+    if (!super.save(processInstance)) {
+      return false;
+    }
+    processInstance.clearDirtyFields();
+    return true;
+  }
+
+  @Override
+  public Optional<ProcessInstance> findById(String id) {
+    Optional<ProcessInstance> processInstance = super.findById(id);
+    processInstance.ifPresent(ProcessInstance::clearDirtyFields);
+    return processInstance;
+  }
+
+  /**
+   * Saves the changed fields of the instance if it wasn't saved elsewhere since it was read and is
+   * stored in the expected status, by comparing its version and status fields rather than decoding
+   * the stored instance.
+   */
   @Override
   public boolean save(ProcessInstance processInstance, ProcessFlowStatus expectedStatus) {
-    return updateIf(processInstance, ProcessInstance.STATUS, expectedStatus.name(), true)
-        .isPresent();
+    return save(processInstance, expectedStatus, Collections.emptyList(), null);
+  }
+
+  /**
+   * Saves the instance like {@link #save(ProcessInstance, ProcessFlowStatus)}, writing the new
+   * variables and adding them to the index of the instance in the same script, so that a crash
+   * can't leave variables of a checkpoint that didn't happen.
+   */
+  @Override
+  public boolean save(
+      ProcessInstance processInstance,
+      ProcessFlowStatus expectedStatus,
+      Collection<ProcessVariable> newVariables,
+      VariableStore variableStore) {
+    long expectedVersion = processInstance.getVersion();
+    Optional<PartitionLeaseManager.Lease> lease = getLease(processInstance);
+    String fencingTokenField = lease.isPresent() ? FENCING_TOKEN : null;
+    long fencingToken = lease.map(PartitionLeaseManager.Lease::fencingToken).orElse(0L);
+    Map<String, ProcessFlowStatus> expectedFields =
+        Collections.singletonMap(ProcessInstance.STATUS, expectedStatus);
+    processInstance.setVersion(expectedVersion + 1);
+    boolean saved;
+    if (variableStore instanceof VariableStoreImpl variableStoreImpl) {
+      saved =
+          updateIfVersionAndSave(
+              processInstance,
+              ProcessInstance.VERSION,
+              expectedVersion,
+              expectedFields,
+              processInstance.getDirtyFields(),
+              fencingTokenField,
+              fencingToken,
+              variableStoreImpl,
+              newVariables,
+              VariableStoreImpl.byInstanceKey(processInstance.getId()));
+    } else {
+      saved =
+          updateIfVersion(
+              processInstance,
+              ProcessInstance.VERSION,
+              expectedVersion,
+              expectedFields,
+              processInstance.getDirtyFields(),
+              fencingTokenField,
+              fencingToken);
+      if (saved && !newVariables.isEmpty()) {
+        variableStore.saveMany(newVariables);
+      }
+    }
+    if (saved) {
+      processInstance.clearDirtyFields();
+    } else {
+      processInstance.setVersion(expectedVersion);
+    }
+    return saved;
+  }
+
+  /** Lease of the partition being handled, if the instance belongs to that partition. */
+  private static Optional<PartitionLeaseManager.Lease> getLease(ProcessInstance processInstance) {
+    return PartitionLeaseManager.getCurrentLease()
+        .filter(
+            lease ->
+                lease.partition()
+                    == LifecycleEventQueues.calculatePartition(processInstance.getId()));
+  }
+
+  @Override
+  protected String createKey(String id) {
+    return super.createKey("{" + id + "}");
+  }
+
+  @Override
+  protected String fromKey(String key) {
+    String id = super.fromKey(key);
+    return id.substring(1, id.length() - 1);
   }
 
   @Override
@@ -0,0 +1,117 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.upo.orchestrator.engine.impl.AbstractExecutionLifecycleManager;
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.utilities.json.Utils;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+/**
+ * Distributed implementation of ExecutionLifecycleManager using Redis streams for event
+ * distribution, an alternative to the list based {@link ExecutionLifecycleManagerImpl}. Events are
+ * appended to one stream per partition and consumed by {@link StreamLifecycleEventConsumer}s.
+ *
+ * <p>Streams are trimmed approximately to STREAM_MAX_LENGTH entries. Trimming also drops entries
+ * not yet consumed, so the limit must stay well above the expected backlog. Events raised while a
+ * task executes are appended in a single pipeline.
+ *
+ * <p>The {@link StreamLifecycleEventConsumer} of this worker is started along with the manager and
+ * stopped when the manager is closed. Producer only deployments may create the manager without a
+ * consumer.
+ */
+@Named("DistributedStreamExecutionLifecycleManagerImpl")
+@Singleton
+public class StreamExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleManager
+    implements Closeable {
+
+  private static final long DEFAULT_MAX_LENGTH = 1_000_000;
+
+  private final RedisTemplateFactory redisTemplateFactory;
+  private final long maxLength;
+  private final StreamLifecycleEventConsumer lifecycleEventConsumer;
+
+  public StreamExecutionLifecycleManagerImpl(RedisTemplateFactory redisTemplateFactory) {
+    this.redisTemplateFactory = redisTemplateFactory;
+    this.maxLength = getMaxLength();
+    this.lifecycleEventConsumer = null;
+  }
+
+  @Inject
+  public StreamExecutionLifecycleManagerImpl(
+      RedisTemplateFactory redisTemplateFactory,
+      StreamLifecycleEventConsumer lifecycleEventConsumer) {
+    this.redisTemplateFactory = redisTemplateFactory;
+    this.maxLength = getMaxLength();
+    this.lifecycleEventConsumer = lifecycleEventConsumer;
+    lifecycleEventConsumer.start();
+  }
+
+  /** Stops the lifecycle event consumer of this worker, if any. */
+  @Override
+  public void close() {
+    if (lifecycleEventConsumer != null) {
+      lifecycleEventConsumer.close();
+    }
+  }
+
+  @Override
+  protected void handleEvent(LifecycleEvent lifecycleEvent) {
+    if (lifecycleEvent == null) {
+      return;
+    }
+    int partition = LifecycleEventQueues.calculatePartition(lifecycleEvent);
+    String eventJson = Utils.toJson(lifecycleEvent);
+
+    getRedisTemplate()
+        .addToStream(
+            LifecycleEventQueues.getStreamKey(partition),
+            Map.of(LifecycleEventQueues.STREAM_EVENT_FIELD, eventJson),
+            maxLength);
+  }
+
+  @Override
+  protected void handleEvents(List<LifecycleEvent> lifecycleEvents) {
+    if (lifecycleEvents.size() == 1) {
+      handleEvent(lifecycleEvents.getFirst());
+      return;
+    }
+    Map<String, List<Map<String, String>>> entriesByKey = new LinkedHashMap<>();
+    for (LifecycleEvent lifecycleEvent : lifecycleEvents) {
+      int partition = LifecycleEventQueues.calculatePartition(lifecycleEvent);
+      entriesByKey
+          .computeIfAbsent(LifecycleEventQueues.getStreamKey(partition), _ -> new ArrayList<>())
+          .add(Map.of(LifecycleEventQueues.STREAM_EVENT_FIELD, Utils.toJson(lifecycleEvent)));
+    }
+    getRedisTemplate().addAllToStreams(entriesByKey, maxLength);
+  }
+
+  private RedisTemplate getRedisTemplate() {
+    return LifecycleEventQueues.getRedisTemplate(redisTemplateFactory);
+  }
+
+  private static long getMaxLength() {
+    return Optional.ofNullable(System.getenv("STREAM_MAX_LENGTH"))
+        .filter(s -> !s.isEmpty())
+        .map(Long::parseLong)
+        .filter(p -> p >= 0)
+        .orElse(DEFAULT_MAX_LENGTH);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.distributed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.upo.orchestrator.engine.impl.MailboxProcessInstanceCache;
+import com.upo.orchestrator.engine.services.LifecycleEventHandler;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.resource.redis.models.StreamEntry;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Drains lifecycle events published to Redis streams by {@link
+ * StreamExecutionLifecycleManagerImpl}.
+ *
+ * <p>All workers read through a single consumer group, each worker using its id as consumer name.
+ * Events are read in batches of up to STREAM_BATCH_SIZE entries with XREADGROUP and acknowledged
+ * with XACK, so the stream's pending entries list replaces the per-worker processing lists of the
+ * list transport. On every heartbeat, entries pending for longer than the lease timeout are taken
+ * over with XAUTOCLAIM and dispatched by this worker, which recovers events of crashed workers.
+ * Entries this worker is still handling are left out of the claimed ones, so slow events are never
+ * dispatched twice by their own worker.
+ */
+@Singleton
+public class StreamLifecycleEventConsumer extends AbstractLifecycleEventConsumer {
+
+  private static final int DEFAULT_BATCH_SIZE = 32;
+
+  private final int batchSize;
+  private final Set<String> inFlightIds = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  public StreamLifecycleEventConsumer(
+      PartitionLeaseManager partitionLeaseManager,
+      RedisTemplateFactory redisTemplateFactory,
+      LifecycleEventHandler lifecycleEventHandler,
+      MailboxProcessInstanceCache processInstanceCache) {
+    this(
+        partitionLeaseManager,
+        redisTemplateFactory,
+        lifecycleEventHandler,
+        processInstanceCache,
+        getMaxConcurrentEvents(),
+        getBatchSizeFromEnv());
+  }
+
+  public StreamLifecycleEventConsumer(
+      PartitionLeaseManager partitionLeaseManager,
+      RedisTemplateFactory redisTemplateFactory,
+      LifecycleEventHandler lifecycleEventHandler,
+      ProcessInstanceCache processInstanceCache,
+      int maxConcurrentEvents,
+      int batchSize) {
+    super(
+        partitionLeaseManager,
+        redisTemplateFactory,
+        lifecycleEventHandler,
+        processInstanceCache,
+        maxConcurrentEvents);
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  protected int getBatchSize() {
+    return batchSize;
+  }
+
+  @Override
+  protected void onPartitionAcquired(int partition) {
+    getRedisTemplate()
+        .createStreamGroup(
+            LifecycleEventQueues.getStreamKey(partition), LifecycleEventQueues.STREAM_GROUP);
+  }
+
+  @Override
+  protected List<PendingEvent> poll(int partition, int maxEvents) {
+    List<PendingEvent> pendingEvents =
+        toPendingEvents(
+            getRedisTemplate()
+                .readFromStreamGroup(
+                    LifecycleEventQueues.getStreamKey(partition),
+                    LifecycleEventQueues.STREAM_GROUP,
+                    getWorkerId(),
+                    maxEvents,
+                    TimeUnit.SECONDS.toMillis(POLL_TIMEOUT_SECONDS)));
+    for (PendingEvent pendingEvent : pendingEvents) {
+      inFlightIds.add(pendingEvent.id());
+    }
+    return pendingEvents;
+  }
+
+  @Override
+  protected void acknowledge(int partition, PendingEvent pendingEvent) {
+    try {
+      getRedisTemplate()
+          .acknowledgeStreamEntries(
+              LifecycleEventQueues.getStreamKey(partition),
+              LifecycleEventQueues.STREAM_GROUP,
+              pendingEvent.id());
+    } finally {
+     // an entry left pending is recovered once idle
+      inFlightIds.remove(pendingEvent.id());
+    }
+  }
+
+  /**
+   * Claims entries idle for longer than the lease timeout, whoever they were delivered to, except
+   * entries this worker is still handling.
+   */
+  @Override
+  protected List<PendingEvent> recover(int partition, int maxEvents) {
+    if (maxEvents <= 0) {
+      return List.of();
+    }
+    List<PendingEvent> claimed =
+        toPendingEvents(
+            getRedisTemplate()
+                .claimFromStreamGroup(
+                    LifecycleEventQueues.getStreamKey(partition),
+                    LifecycleEventQueues.STREAM_GROUP,
+                    getWorkerId(),
+                    getLeaseTimeoutMillis(),
+                    maxEvents));
+    List<PendingEvent> recovered = new ArrayList<>(claimed.size());
+    for (PendingEvent pendingEvent : claimed) {
+      if (inFlightIds.add(pendingEvent.id())) {
+        recovered.add(pendingEvent);
+      }
+    }
+    return recovered;
+  }
+
+  private static List<PendingEvent> toPendingEvents(List<StreamEntry> entries) {
+    List<PendingEvent> pendingEvents = new ArrayList<>(entries.size());
+    for (StreamEntry entry : entries) {
+      Map<String, String> fields = entry.fields();
+      String eventJson =
+          fields != null ? fields.get(LifecycleEventQueues.STREAM_EVENT_FIELD) : null;
+      pendingEvents.add(new PendingEvent(entry.id(), eventJson));
+    }
+    return pendingEvents;
+  }
+
+  private static int getBatchSizeFromEnv() {
+    return Optional.ofNullable(System.getenv("STREAM_BATCH_SIZE"))
+        .filter(s -> !s.isEmpty())
+        .map(Integer::parseInt)
+        .filter(p -> p > 0)
+        .orElse(DEFAULT_BATCH_SIZE);
+  }
+}
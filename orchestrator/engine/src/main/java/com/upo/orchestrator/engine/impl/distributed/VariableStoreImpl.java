@@ -39,7 +39,7 @@ public class VariableStoreImpl extends JsonRepositoryServiceImpl<ProcessVariable
   public boolean save(ProcessVariable obj) {
     boolean saved = super.save(obj);
     if (saved) {
-      getRawTemplate().addToSet("byInstance/" + obj.getProcessInstanceId(), obj.getId());
+      getRawTemplate().addToSet(byInstanceKey(obj.getProcessInstanceId()), obj.getId());
     }
     return saved;
   }
@@ -54,7 +54,7 @@ public class VariableStoreImpl extends JsonRepositoryServiceImpl<ProcessVariable
       if (CollectionUtils.isNotEmpty(byInstanceIds)) {
         for (Map.Entry<String, List<String>> entry : byInstanceIds.entrySet()) {
           getRawTemplate()
-              .addToSet("byInstance/" + entry.getKey(), entry.getValue().toArray(new String[0]));
+              .addToSet(byInstanceKey(entry.getKey()), entry.getValue().toArray(new String[0]));
         }
       }
     }
@@ -63,21 +63,52 @@ public class VariableStoreImpl extends JsonRepositoryServiceImpl<ProcessVariable
 
   @Override
   public Collection<Variable> findVariablesForInstance(ProcessInstance processInstance) {
-    Set<String> members = getRawTemplate().getSetMembers("byInstance/" + processInstance.getId());
+    Set<String> members = getRawTemplate().getSetMembers(byInstanceKey(processInstance.getId()));
     return CollectionUtils.transformToList(
         findByIds(members).values(), processVariable -> processVariable);
   }
 
   @Override
   public void deleteProcessVariables(String processInstanceId) {
-    Set<String> members = getRawTemplate().getSetMembers("byInstance/" + processInstanceId);
+    Set<String> members = getRawTemplate().getSetMembers(byInstanceKey(processInstanceId));
     Set<String> keys = new HashSet<>(members != null ? members.size() + 1 : 1);
     if (CollectionUtils.isNotEmpty(members)) {
-      keys.add("byInstance/" + processInstanceId);
+      keys.add(byInstanceKey(processInstanceId));
       for (String member : members) {
         keys.add(toKey(member));
       }
     }
     getRawTemplate().deleteMany(keys);
   }
+
+  /**
+   * Tags the key of a variable with the id of its instance, the second segment of variable ids, so
+   * that variables share the slot of their instance on clusters.
+   */
+  @Override
+  protected String createKey(String id) {
+    int start = id.indexOf('/') + 1;
+    int end = id.indexOf('/', start);
+    if (start == 0 || end < 0) {
+      return super.createKey(id);
+    }
+    return super.createKey(
+        id.substring(0, start) + "{" + id.substring(start, end) + "}" + id.substring(end));
+  }
+
+  @Override
+  protected String fromKey(String key) {
+    String id = super.fromKey(key);
+    int start = id.indexOf('{');
+    int end = id.indexOf('}', start);
+    if (start < 0 || end < 0) {
+      return id;
+    }
+    return id.substring(0, start) + id.substring(start + 1, end) + id.substring(end + 1);
+  }
+
+  /** Key of the set holding the ids of the variables of a process instance */
+  static String byInstanceKey(String processInstanceId) {
+    return "byInstance/{" + processInstanceId + "}";
+  }
 }
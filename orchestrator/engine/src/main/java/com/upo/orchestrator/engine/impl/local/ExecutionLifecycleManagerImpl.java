@@ -7,14 +7,14 @@
 */
 package com.upo.orchestrator.engine.impl.local;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.upo.orchestrator.engine.impl.AbstractExecutionLifecycleManager;
+import com.upo.orchestrator.engine.impl.MailboxLifecycleEventHandler;
 import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
 import com.upo.orchestrator.engine.services.LifecycleEventHandler;
 import com.upo.utilities.context.RequestContext;
@@ -26,6 +26,11 @@ import jakarta.inject.Singleton;
 /**
  * Local implementation of ExecutionLifecycleManager that handles events in virtual threads.
  * Executes lifecycle events asynchronously while maintaining request context propagation.
+ *
+ * <p>Events run through a {@link LocalEventScheduler}, configured with LOCAL_EVENT_PARTITIONS,
+ * LOCAL_EVENT_QUEUE_CAPACITY, LOCAL_MAX_CONCURRENT_EVENTS and LOCAL_EVENT_OVERFLOW_POLICY, so
+ * bursts of forks or signals queue up instead of running all at once. Events of one process
+ * instance are handled one at a time through a {@link MailboxLifecycleEventHandler}.
  */
 @Named("LocalExecutionLifecycleManagerImpl")
 @Singleton
@@ -33,13 +38,34 @@ public class ExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleMan
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionLifecycleManagerImpl.class);
 
-  private final Executor executor;
+  private static final int DEFAULT_PARTITIONS = 16;
+  private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+  private static final int DEFAULT_MAX_CONCURRENT_EVENTS = 256;
+
+  private final LocalEventScheduler scheduler;
   private final LifecycleEventHandler lifecycleEventHandler;
 
   @Inject
   public ExecutionLifecycleManagerImpl(LifecycleEventHandler lifecycleEventHandler) {
-    this.executor = Executors.newThreadPerTaskExecutor(createVirtualThreadFactory());
-    this.lifecycleEventHandler = lifecycleEventHandler;
+    this(
+        lifecycleEventHandler,
+        new LocalEventScheduler(
+            getIntFromEnv("LOCAL_EVENT_PARTITIONS", DEFAULT_PARTITIONS),
+            getIntFromEnv("LOCAL_EVENT_QUEUE_CAPACITY", DEFAULT_QUEUE_CAPACITY),
+            getIntFromEnv("LOCAL_MAX_CONCURRENT_EVENTS", DEFAULT_MAX_CONCURRENT_EVENTS),
+            getOverflowPolicy(),
+            createVirtualThreadFactory()));
+  }
+
+  public ExecutionLifecycleManagerImpl(
+      LifecycleEventHandler lifecycleEventHandler, LocalEventScheduler scheduler) {
+    this.scheduler = scheduler;
+    this.lifecycleEventHandler = new MailboxLifecycleEventHandler(lifecycleEventHandler);
+  }
+
+  /** Returns queue depth, concurrency and wait time of the local event scheduler. */
+  public LocalEventScheduler.Stats getSchedulerStats() {
+    return scheduler.getStats();
   }
 
   /**
@@ -47,11 +73,13 @@ public class ExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleMan
    * thread boundaries.
    *
    * @param lifecycleEvent Event to be handled
+   * @throws java.util.concurrent.RejectedExecutionException if the event is shed by the scheduler
    */
   @Override
   protected void handleEvent(LifecycleEvent lifecycleEvent) {
     RequestContext requestContext = cloneContext();
-    this.executor.execute(
+    this.scheduler.submit(
+        lifecycleEvent.getPartitionKey(),
         () ->
             RequestContext.executeInContext(
                 requestContext, () -> lifecycleEventHandler.handle(lifecycleEvent)));
@@ -74,4 +102,19 @@ public class ExecutionLifecycleManagerImpl extends AbstractExecutionLifecycleMan
             (t, e) -> LOGGER.error("uncaught exception in thread: {}", t.getName(), e))
         .factory();
   }
+
+  private static LocalEventScheduler.OverflowPolicy getOverflowPolicy() {
+    return Optional.ofNullable(System.getenv("LOCAL_EVENT_OVERFLOW_POLICY"))
+        .filter(s -> !s.isEmpty())
+        .map(LocalEventScheduler.OverflowPolicy::valueOf)
+        .orElse(LocalEventScheduler.OverflowPolicy.BLOCK);
+  }
+
+  private static int getIntFromEnv(String name, int defaultValue) {
+    return Optional.ofNullable(System.getenv(name))
+        .filter(s -> !s.isEmpty())
+        .map(Integer::parseInt)
+        .filter(p -> p > 0)
+        .orElse(defaultValue);
+  }
 }
@@ -0,0 +1,234 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.local;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs lifecycle events of the local strategy with bounded queues and bounded concurrency.
+ *
+ * <p>Events are queued per partition of their partition key, each partition holding at most
+ * queueCapacity events. A dispatcher per partition hands queued events to virtual threads, with no
+ * more than maxConcurrentEvents events running at once across all partitions. When a partition
+ * queue is full, submission follows the configured {@link OverflowPolicy}.
+ *
+ * <p>Events submitted while running an event of this scheduler are never blocked or shed when
+ * their queue is full; they run on the submitting thread instead. Blocking there could deadlock
+ * the scheduler on its own permits, and shedding would silently lose process progress.
+ */
+public class LocalEventScheduler implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LocalEventScheduler.class);
+
+  /** Marks threads running an event, bound to the scheduler running it. */
+  private static final ScopedValue<LocalEventScheduler> RUNNING_SCHEDULER =
+      ScopedValue.newInstance();
+
+  /** Behaviour of {@link #submit(String, Runnable)} when the partition queue is full. */
+  public enum OverflowPolicy {
+    /** Blocks the caller until the queue has room. */
+    BLOCK,
+    /** Rejects the event with a {@link RejectedExecutionException}. */
+    SHED,
+    /** Runs the event on the calling thread. */
+    CALLER_RUNS
+  }
+
+  /**
+   * Point-in-time view of the scheduler.
+   *
+   * @param queuedEvents Events waiting in partition queues
+   * @param runningEvents Events currently running on scheduler threads
+   * @param completedEvents Events run by scheduler threads since start
+   * @param rejectedEvents Events shed because their queue was full
+   * @param callerRunEvents Events run on the submitting thread because their queue was full
+   * @param averageWaitMillis Average time events spent queued before running
+   * @param maxWaitMillis Longest time an event spent queued before running
+   */
+  public record Stats(
+      int queuedEvents,
+      int runningEvents,
+      long completedEvents,
+      long rejectedEvents,
+      long callerRunEvents,
+      double averageWaitMillis,
+      long maxWaitMillis) {}
+
+  private record QueuedEvent(Runnable task, long enqueuedNanos) {}
+
+  private final List<BlockingQueue<QueuedEvent>> queues;
+  private final int maxConcurrentEvents;
+  private final Semaphore permits;
+  private final OverflowPolicy overflowPolicy;
+  private final ExecutorService executor;
+  private final List<Thread> dispatchers;
+
+  private final LongAdder completedEvents = new LongAdder();
+  private final LongAdder rejectedEvents = new LongAdder();
+  private final LongAdder callerRunEvents = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+  private volatile boolean closed;
+
+  public LocalEventScheduler(
+      int partitions,
+      int queueCapacity,
+      int maxConcurrentEvents,
+      OverflowPolicy overflowPolicy,
+      ThreadFactory threadFactory) {
+    if (partitions <= 0 || queueCapacity <= 0 || maxConcurrentEvents <= 0) {
+      throw new IllegalArgumentException(
+          "partitions, queue capacity and max concurrent events must be positive");
+    }
+    this.maxConcurrentEvents = maxConcurrentEvents;
+    this.permits = new Semaphore(maxConcurrentEvents);
+    this.overflowPolicy = overflowPolicy;
+    this.executor = Executors.newThreadPerTaskExecutor(threadFactory);
+    this.queues = new ArrayList<>(partitions);
+    this.dispatchers = new ArrayList<>(partitions);
+    for (int partition = 0; partition < partitions; partition++) {
+      BlockingQueue<QueuedEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+      queues.add(queue);
+      dispatchers.add(
+          Thread.ofVirtual()
+              .name("local-event-dispatcher-" + partition)
+              .start(() -> dispatch(queue)));
+    }
+  }
+
+  /**
+   * Queues an event for execution on the partition of its key.
+   *
+   * @param partitionKey Key selecting the partition queue
+   * @param task The event to run
+   * @throws RejectedExecutionException if the scheduler is closed, or the queue is full under
+   *     {@link OverflowPolicy#SHED}
+   */
+  public void submit(String partitionKey, Runnable task) {
+    if (closed) {
+      throw new RejectedExecutionException("local event scheduler is closed");
+    }
+    int hash = partitionKey != null ? partitionKey.hashCode() : 0;
+    int partition = Math.floorMod(hash, queues.size());
+    BlockingQueue<QueuedEvent> queue = queues.get(partition);
+    QueuedEvent queuedEvent = new QueuedEvent(task, System.nanoTime());
+    if (queue.offer(queuedEvent)) {
+      return;
+    }
+    if (isRunningEvent()) {
+      runOnCaller(task);
+      return;
+    }
+    switch (overflowPolicy) {
+      case BLOCK -> {
+        try {
+          queue.put(queuedEvent);
+        } catch (InterruptedException eX) {
+          Thread.currentThread().interrupt();
+          throw new RejectedExecutionException("interrupted while waiting for queue space", eX);
+        }
+      }
+      case SHED -> {
+        rejectedEvents.increment();
+        throw new RejectedExecutionException("event queue of partition " + partition + " is full");
+      }
+      case CALLER_RUNS -> runOnCaller(task);
+    }
+  }
+
+  public Stats getStats() {
+    long completed = completedEvents.sum();
+    double averageWaitMillis =
+        completed == 0 ? 0 : (double) totalWaitNanos.sum() / completed / 1_000_000;
+    return new Stats(
+        getQueueDepth(),
+        maxConcurrentEvents - permits.availablePermits(),
+        completed,
+        rejectedEvents.sum(),
+        callerRunEvents.sum(),
+        averageWaitMillis,
+        TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+  }
+
+  public int getQueueDepth() {
+    int depth = 0;
+    for (BlockingQueue<QueuedEvent> queue : queues) {
+      depth += queue.size();
+    }
+    return depth;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    dispatchers.forEach(Thread::interrupt);
+    executor.shutdown();
+  }
+
+  private void dispatch(BlockingQueue<QueuedEvent> queue) {
+    try {
+      while (!closed) {
+        QueuedEvent queuedEvent = queue.take();
+        permits.acquire();
+        long waitNanos = System.nanoTime() - queuedEvent.enqueuedNanos();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+        try {
+          executor.execute(() -> runOnScheduler(queuedEvent.task()));
+        } catch (RejectedExecutionException eX) {
+          permits.release();
+          LOGGER.warn("dropping lifecycle event, local event scheduler is closed");
+        }
+      }
+    } catch (InterruptedException eX) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runOnScheduler(Runnable task) {
+    try {
+      run(task);
+    } finally {
+      completedEvents.increment();
+      permits.release();
+    }
+  }
+
+  private void runOnCaller(Runnable task) {
+    callerRunEvents.increment();
+    run(task);
+  }
+
+  private void run(Runnable task) {
+    try {
+      ScopedValue.runWhere(RUNNING_SCHEDULER, this, task);
+    } catch (Throwable th) {
+      LOGGER.error("failed to handle lifecycle event", th);
+    }
+  }
+
+  private boolean isRunningEvent() {
+    return RUNNING_SCHEDULER.isBound() && RUNNING_SCHEDULER.get() == this;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.local;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.upo.orchestrator.engine.models.ProcessEnv;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
+
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+@Named("LocalProcessEnvStoreImpl")
+@Singleton
+public class ProcessEnvStoreImpl implements ProcessEnvStore {
+
+  private final Map<String, ProcessEnv> processEnvMap;
+  private final Map<String, Set<String>> instanceIdsMap;
+
+  public ProcessEnvStoreImpl() {
+    this.processEnvMap = new ConcurrentHashMap<>();
+    this.instanceIdsMap = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public boolean save(ProcessEnv processEnv) {
+    if (processEnv == null) {
+      return false;
+    }
+    processEnvMap.put(processEnv.getId(), processEnv.freeze());
+    instanceIdsMap.compute(
+        processEnv.getId(),
+        (id, instanceIds) -> {
+          Set<String> holders = instanceIds != null ? instanceIds : new HashSet<>();
+          holders.add(id);
+          return holders;
+        });
+    return true;
+  }
+
+  @Override
+  public Optional<ProcessEnv> findById(String id) {
+    return Optional.ofNullable(processEnvMap.get(id));
+  }
+
+  @Override
+  public void retain(String id, Collection<String> instanceIds) {
+    instanceIdsMap.compute(
+        id,
+        (_, holders) -> {
+          Set<String> retained = holders != null ? holders : new HashSet<>();
+          retained.addAll(instanceIds);
+          return retained;
+        });
+  }
+
+  @Override
+  public boolean release(String id, String instanceId) {
+    boolean[] deleted = new boolean[1];
+   // holders are only changed inside compute, which runs atomically per env
+    instanceIdsMap.compute(
+        id,
+        (_, holders) -> {
+          if (holders != null) {
+            holders.remove(instanceId);
+            if (!holders.isEmpty()) {
+              return holders;
+            }
+          }
+          deleted[0] = processEnvMap.remove(id) != null;
+          return null;
+        });
+    return deleted[0];
+  }
+
+  @Override
+  public boolean deleteById(String id) {
+    instanceIdsMap.remove(id);
+    return processEnvMap.remove(id) != null;
+  }
+}
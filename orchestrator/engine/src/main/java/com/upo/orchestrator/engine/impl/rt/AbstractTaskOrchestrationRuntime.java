@@ -14,8 +14,8 @@ import org.slf4j.LoggerFactory;
 
 import com.upo.orchestrator.api.domain.TransitionType;
 import com.upo.orchestrator.engine.*;
-import com.upo.orchestrator.engine.impl.CompositeVariableView;
-import com.upo.orchestrator.engine.impl.ImmutableVariableContainer;
+import com.upo.orchestrator.engine.impl.CompiledTransitions;
+import com.upo.orchestrator.engine.impl.VariableScope;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.models.ProcessVariable;
 import com.upo.orchestrator.engine.services.*;
@@ -39,8 +39,25 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
     super(parent, taskId);
   }
 
+  /**
+   * Executes the task. Lifecycle events raised along the way, such as starting forked instances or
+   * signalling the parent, are published as one batch when control returns to the caller.
+   */
   @Override
   public Next execute(ProcessInstance processInstance) {
+    ExecutionLifecycleManager lifecycleManager =
+        getService(processInstance, ExecutionLifecycleManager.class);
+    return lifecycleManager.publishBatched(() -> orchestrate(processInstance));
+  }
+
+  @Override
+  public Next handleSignal(ProcessInstance processInstance, Signal signal) {
+    ExecutionLifecycleManager lifecycleManager =
+        getService(processInstance, ExecutionLifecycleManager.class);
+    return lifecycleManager.publishBatched(() -> orchestrate(processInstance, signal));
+  }
+
+  private Next orchestrate(ProcessInstance processInstance) {
     Optional<Next> next = beforeTaskExecution(processInstance);
     return next.orElseGet(
         () -> {
@@ -50,8 +67,7 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
         });
   }
 
-  @Override
-  public Next handleSignal(ProcessInstance processInstance, Signal signal) {
+  private Next orchestrate(ProcessInstance processInstance, Signal signal) {
     ProcessFlowResult processFlowResult = resolveProcessFlow(processInstance, signal);
     applyResultOnProcessInstance(processInstance, processFlowResult);
     if (!saveProcessInstance(processInstance, ProcessFlowStatus.WAIT)) {
@@ -188,23 +204,19 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
    */
   private static Optional<Transition> findMatchingTransition(
       ProcessInstance processInstance, TaskResult taskResult, List<Transition> transitions) {
-    boolean hasTemporaryScope = false;
-    VariableContainer original = processInstance.getVariableContainer();
+    if (CollectionUtils.isEmpty(taskResult.getVariables())) {
+      return Optional.ofNullable(
+          evaluateTransitionsForMatch(processInstance, taskResult, transitions));
+    }
+   // Overlay task result variables while evaluating
+    VariableScope scope = VariableScope.enter(processInstance);
+    int mark = scope.mark();
     try {
-     // Create temporary variable scope if task produced variables
-      if (CollectionUtils.isNotEmpty(taskResult.getVariables())) {
-        processInstance.setVariableContainer(
-            createTemporaryScopeWithTaskResults(taskResult, original));
-        hasTemporaryScope = true;
-      }
-      Transition matchingTransition =
-          evaluateTransitionsForMatch(processInstance, taskResult, transitions);
-      return Optional.ofNullable(matchingTransition);
+      scope.pushAll(taskResult.getVariables());
+      return Optional.ofNullable(
+          evaluateTransitionsForMatch(processInstance, taskResult, transitions));
     } finally {
-     // Restore original variable scope
-      if (hasTemporaryScope) {
-        processInstance.setVariableContainer(original);
-      }
+      scope.exit(processInstance, mark);
     }
   }
 
@@ -214,6 +226,9 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
    * DEFAULT 2. For ERROR status: evaluates ERROR transitions 3. Returns first matching transition
    * or remembered DEFAULT
    *
+   * <p>CONDITIONAL transitions compiled into decision tables are matched through {@link
+   * CompiledTransitions}, which keeps the first-match order.
+   *
    * @param processInstance Current process instance
    * @param taskResult Result from task execution
    * @param transitions Transitions to evaluate
@@ -221,30 +236,26 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
    */
   private static Transition evaluateTransitionsForMatch(
       ProcessInstance processInstance, TaskResult taskResult, List<Transition> transitions) {
-    Transition defaultTransition = null;
-
-    for (Transition transition : transitions) {
-      Transition transitionToEvaluate = null;
-
-      if (taskResult.getStatus() == TaskResult.Status.CONTINUE) {
+    if (taskResult.getStatus() == TaskResult.Status.CONTINUE) {
+      Transition matchingTransition =
+          CompiledTransitions.findFirstConditionalMatch(processInstance, transitions);
+      if (matchingTransition != null) {
+        return matchingTransition;
+      }
+      for (Transition transition : transitions) {
         if (transition.getType() == TransitionType.DEFAULT) {
-          defaultTransition = defaultTransition == null ? transition : defaultTransition;
-          continue;
-        } else if (transition.getType() == TransitionType.CONDITIONAL) {
-          transitionToEvaluate = transition;
+          return transition;
         }
-      } else if (taskResult.getStatus() == TaskResult.Status.FAIL
-          && transition.getType() == TransitionType.ERROR) {
-        transitionToEvaluate = transition;
       }
-
-      if (transitionToEvaluate != null
-          && evaluateTransitionPredicate(processInstance, transitionToEvaluate)) {
-        return transition;
+    } else if (taskResult.getStatus() == TaskResult.Status.FAIL) {
+      for (Transition transition : transitions) {
+        if (transition.getType() == TransitionType.ERROR
+            && evaluateTransitionPredicate(processInstance, transition)) {
+          return transition;
+        }
       }
     }
-
-    return defaultTransition;
+    return null;
   }
 
   /**
@@ -263,27 +274,6 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
     lifecycleAuditor.recordVariables(taskResult.getVariables(), this, processInstance);
   }
 
-  private static VariableContainer createTemporaryScopeWithTaskResults(
-      TaskResult taskResult, VariableContainer original) {
-    return createTemporaryScopeWithVariables(original, taskResult.getVariables());
-  }
-
-  protected static VariableContainer createTemporaryScopeWithVariables(
-      VariableContainer original, Collection<Variable> variables) {
-    if (CollectionUtils.isEmpty(variables)) {
-      return original;
-    }
-    CompositeVariableView view = new CompositeVariableView();
-    ImmutableVariableContainer tempContainer = new ImmutableVariableContainer();
-    for (Variable variable : variables) {
-      tempContainer.restoreVariable(
-          variable.getTaskId(), variable.getType(), variable.getPayload());
-    }
-    view.addVariables(tempContainer);
-    view.addVariables(original);
-    return view;
-  }
-
   protected static boolean evaluateTransitionPredicate(
       ProcessInstance processInstance, Transition toEvaluate) {
     Optional<FilterEvaluator<ProcessInstance>> predicate = toEvaluate.getPredicate();
@@ -584,31 +574,49 @@ public abstract class AbstractTaskOrchestrationRuntime extends AbstractTaskRunti
   }
 
   protected void flushNewVariablesIfAny(ProcessInstance processInstance) {
-    VariableContainer variableContainer = processInstance.getVariableContainer();
-    List<ProcessVariable> newVariables = variableContainer.getNewVariables();
+    List<ProcessVariable> newVariables = getNewVariables(processInstance);
     if (CollectionUtils.isEmpty(newVariables)) {
       return;
     }
     VariableStore variableStore = getService(processInstance, VariableStore.class);
-    for (ProcessVariable newVariable : newVariables) {
-      newVariable.initId(processInstance);
-    }
     variableStore.saveMany(newVariables);
-    variableContainer.clearNewVariables();
-    variableContainer.closeTransientVariables();
+    onNewVariablesSaved(processInstance);
   }
 
   protected boolean saveProcessInstance(
       ProcessInstance processInstance, ProcessFlowStatus expectedStatus) {
     ProcessInstanceStore instanceStore = getService(processInstance, ProcessInstanceStore.class);
-    if (instanceStore.save(processInstance, expectedStatus)) {
+    VariableStore variableStore = getService(processInstance, VariableStore.class);
+    List<ProcessVariable> newVariables = getNewVariables(processInstance);
+   // instance and its new variables are checkpointed together
+    if (instanceStore.save(processInstance, expectedStatus, newVariables, variableStore)) {
       processInstance.setTaskCountSinceLastFlush(0L);
-      flushNewVariablesIfAny(processInstance);
+      if (!newVariables.isEmpty()) {
+        onNewVariablesSaved(processInstance);
+      }
       return true;
     }
     return false;
   }
 
+  private List<ProcessVariable> getNewVariables(ProcessInstance processInstance) {
+    List<ProcessVariable> newVariables =
+        processInstance.getVariableContainer().getNewVariables();
+    if (CollectionUtils.isEmpty(newVariables)) {
+      return Collections.emptyList();
+    }
+    for (ProcessVariable newVariable : newVariables) {
+      newVariable.initId(processInstance);
+    }
+    return newVariables;
+  }
+
+  private void onNewVariablesSaved(ProcessInstance processInstance) {
+    VariableContainer variableContainer = processInstance.getVariableContainer();
+    variableContainer.clearNewVariables();
+    variableContainer.closeTransientVariables();
+  }
+
   protected <T> T getService(ProcessInstance processInstance, Class<T> serviceClz) {
     return getServices(processInstance).getService(serviceClz);
   }
@@ -11,6 +11,7 @@ import java.util.*;
 
 import com.upo.orchestrator.api.domain.TransitionType;
 import com.upo.orchestrator.engine.*;
+import com.upo.orchestrator.engine.impl.CompiledTransitions;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.utilities.ds.CollectionUtils;
 
@@ -43,27 +44,28 @@ public class ConditionalTaskRuntime extends AbstractTaskOrchestrationRuntime {
   protected TaskResult doExecute(ProcessInstance processInstance) {
     List<Transition> transitions =
         outgoingTransitions.resolveTransitions(this, processInstance, null);
-    Transition defaultTransition = null;
     Transition matchingTransition = null;
     if (CollectionUtils.isNotEmpty(transitions)) {
-      for (Transition transition : transitions) {
-        if (transition.getType() == TransitionType.DEFAULT) {
-          defaultTransition = transition;
-        } else if (transition.getType() == TransitionType.CONDITIONAL) {
-          if (evaluateTransitionPredicate(processInstance, transition)) {
-            matchingTransition = transition;
-            break;
-          }
-        }
+      matchingTransition =
+          CompiledTransitions.findFirstConditionalMatch(processInstance, transitions);
+      if (matchingTransition == null) {
+        matchingTransition = findDefaultTransition(transitions);
       }
     }
-    if (matchingTransition == null) {
-      matchingTransition = defaultTransition;
-    }
     return TaskResult.ContinueWithTransitions.with(
         Collections.emptyList(),
         matchingTransition != null
             ? Collections.singletonList(matchingTransition)
             : Collections.emptyList());
   }
+
+  private static Transition findDefaultTransition(List<Transition> transitions) {
+    Transition defaultTransition = null;
+    for (Transition transition : transitions) {
+      if (transition.getType() == TransitionType.DEFAULT) {
+        defaultTransition = transition;
+      }
+    }
+    return defaultTransition;
+  }
 }
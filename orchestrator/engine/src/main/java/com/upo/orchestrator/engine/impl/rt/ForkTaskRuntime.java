@@ -16,6 +16,7 @@ import com.upo.orchestrator.engine.*;
 import com.upo.orchestrator.engine.impl.ProcessExecutorImpl;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.services.ExecutionLifecycleManager;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
 import com.upo.orchestrator.engine.services.ProcessInstanceStore;
 import com.upo.utilities.ds.CollectionUtils;
 
@@ -121,7 +122,14 @@ public class ForkTaskRuntime extends AbstractTaskOrchestrationRuntime {
     }
     ProcessInstanceStore processInstanceStore =
         getService(processInstance, ProcessInstanceStore.class);
+    ProcessEnvStore processEnvStore = getService(processInstance, ProcessEnvStore.class);
+    String processEnvId = processInstance.getProcessEnvId();
+    List<String> instanceIds =
+        CollectionUtils.transformToList(concurrentInstances, ProcessInstance::getId);
+   // forked instances may outlive their root, so they hold the shared env themselves
+    processEnvStore.retain(processEnvId, instanceIds);
     if (!processInstanceStore.saveMany(concurrentInstances)) {
+      instanceIds.forEach(instanceId -> processEnvStore.release(processEnvId, instanceId));
       throw new IllegalStateException("failed to save concurrent instances!");
     }
     return concurrentInstances;
@@ -12,6 +12,7 @@ import java.util.*;
 
 import com.upo.orchestrator.api.domain.TransitionType;
 import com.upo.orchestrator.engine.*;
+import com.upo.orchestrator.engine.impl.VariableScope;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.utilities.ds.CollectionUtils;
 import com.upo.utilities.ds.IOUtils;
@@ -133,12 +134,13 @@ public abstract class LoopTaskRuntime extends AbstractTaskOrchestrationRuntime {
       return null;
     }
 
-    VariableContainer original = processInstance.getVariableContainer();
+    VariableScope scope = VariableScope.enter(processInstance);
+    int mark = scope.mark();
     try {
-      processInstance.setVariableContainer(createTemporaryScopeWithVariables(original, variables));
+      scope.pushAll(variables);
       return findMatchingTransition(processInstance, transitions);
     } finally {
-      processInstance.setVariableContainer(original);
+      scope.exit(processInstance, mark);
     }
   }
 
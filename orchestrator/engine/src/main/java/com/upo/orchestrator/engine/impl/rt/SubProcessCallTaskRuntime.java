@@ -18,6 +18,7 @@ import com.upo.orchestrator.engine.TaskResult;
 import com.upo.orchestrator.engine.impl.ProcessExecutorImpl;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.services.ExecutionLifecycleManager;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
 import com.upo.orchestrator.engine.services.ProcessInstanceStore;
 import com.upo.orchestrator.engine.services.ProcessManager;
 import com.upo.utilities.ds.CollectionUtils;
@@ -65,7 +66,12 @@ public class SubProcessCallTaskRuntime extends AbstractTaskOrchestrationRuntime
         ProcessExecutorImpl.createChildInstance(processInstance, processRuntime.getDetails());
     ProcessInstanceStore processInstanceStore =
         getService(processInstance, ProcessInstanceStore.class);
+    ProcessEnvStore processEnvStore = getService(processInstance, ProcessEnvStore.class);
+   // sub-processes may outlive their root, so they hold the shared env themselves
+    processEnvStore.retain(
+        childInstance.getProcessEnvId(), Collections.singletonList(childInstance.getId()));
     if (!processInstanceStore.save(childInstance)) {
+      processEnvStore.release(childInstance.getProcessEnvId(), childInstance.getId());
       throw new IllegalStateException("failed to save child process instance!");
     }
     return childInstance;
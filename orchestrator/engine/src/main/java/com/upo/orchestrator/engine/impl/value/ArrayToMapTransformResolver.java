@@ -10,8 +10,7 @@ package com.upo.orchestrator.engine.impl.value;
 import java.util.*;
 
 import com.upo.orchestrator.engine.*;
-import com.upo.orchestrator.engine.impl.CompositeVariableView;
-import com.upo.orchestrator.engine.impl.ImmutableVariableContainer;
+import com.upo.orchestrator.engine.impl.VariableScope;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.services.InputValueResolver;
 import com.upo.utilities.ds.CollectionUtils;
@@ -46,7 +45,10 @@ public class ArrayToMapTransformResolver implements InputValueResolver {
     }
 
     return new ArrayToMapTransformValue(
-        sourceValue, resolver.resolve(key), resolver.resolve(value));
+        sourceValue,
+        resolver.resolve(key),
+        resolver.resolve(value),
+        ParallelItemEvaluator.fromDefinition(input));
   }
 
   /**
@@ -60,12 +62,17 @@ public class ArrayToMapTransformResolver implements InputValueResolver {
     private final ResolvableValue source;
     private final ResolvableValue keyExpr;
     private final ResolvableValue valueExpr;
+    private final ParallelItemEvaluator parallelEvaluator;
 
     public ArrayToMapTransformValue(
-        ResolvableValue source, ResolvableValue keyExpr, ResolvableValue valueExpr) {
+        ResolvableValue source,
+        ResolvableValue keyExpr,
+        ResolvableValue valueExpr,
+        ParallelItemEvaluator parallelEvaluator) {
       this.source = source;
       this.keyExpr = keyExpr;
       this.valueExpr = valueExpr;
+      this.parallelEvaluator = parallelEvaluator;
     }
 
     @Override
@@ -79,13 +86,22 @@ public class ArrayToMapTransformResolver implements InputValueResolver {
       }
 
       Map<Object, Object> result = new LinkedHashMap<>();
-      VariableContainer original = context.getVariableContainer();
+      if (parallelEvaluator != null && parallelEvaluator.appliesTo(list.size())) {
+        for (Object entry : parallelEvaluator.evaluate(context, list, this::evaluateEntry)) {
+          if (entry instanceof Pair<?, ?> pair) {
+            result.put(pair.getFirstElement(), pair.getSecondElement());
+          }
+        }
+       //noinspection unchecked
+        return (T) result;
+      }
+      VariableScope scope = VariableScope.enter(context);
+      int mark = scope.mark();
 
-      for (Object item : list) {
-        try {
-         // Create new scope with current item
-          CompositeVariableView view = createVariableViewWithItem(item, original);
-          context.setVariableContainer(view);
+      try {
+        for (Object item : list) {
+         // Bind current item
+          scope.push("item", null, item);
 
          // Extract key and value using expressions
           Object key = keyExpr.evaluate(context);
@@ -95,15 +111,26 @@ public class ArrayToMapTransformResolver implements InputValueResolver {
               result.put(key, value);
             }
           }
-        } finally {
-         // Restore original scope
-          context.setVariableContainer(original);
+          scope.popTo(mark);
         }
+      } finally {
+       // Restore original scope
+        scope.exit(context, mark);
       }
      //noinspection unchecked
       return (T) result;
     }
 
+    /** Evaluates the entry of the bound item, null if its key or value is null */
+    private Pair<Object, Object> evaluateEntry(ProcessInstance context) {
+      Object key = keyExpr.evaluate(context);
+      if (key == null) {
+        return null;
+      }
+      Object value = valueExpr.evaluate(context);
+      return value != null ? Pair.of(key, value) : null;
+    }
+
     @Override
     public Set<Pair<String, Variable.Type>> getVariableDependencies() {
       Set<Pair<String, Variable.Type>> result = new HashSet<>(source.getVariableDependencies());
@@ -119,15 +146,5 @@ public class ArrayToMapTransformResolver implements InputValueResolver {
       }
       return result;
     }
-
-    private CompositeVariableView createVariableViewWithItem(
-        Object item, VariableContainer original) {
-      CompositeVariableView view = new CompositeVariableView();
-      VariableContainer itemContainer = new ImmutableVariableContainer();
-      itemContainer.restoreVariable("item", null, item);
-      view.addVariables(itemContainer);
-      view.addVariables(original);
-      return view;
-    }
   }
 }
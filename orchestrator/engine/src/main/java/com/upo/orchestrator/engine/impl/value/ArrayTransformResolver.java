@@ -10,8 +10,7 @@ package com.upo.orchestrator.engine.impl.value;
 import java.util.*;
 
 import com.upo.orchestrator.engine.*;
-import com.upo.orchestrator.engine.impl.CompositeVariableView;
-import com.upo.orchestrator.engine.impl.ImmutableVariableContainer;
+import com.upo.orchestrator.engine.impl.VariableScope;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.services.InputValueResolver;
 import com.upo.utilities.ds.CollectionUtils;
@@ -45,6 +44,9 @@ import com.upo.utilities.ds.Pair;
  * transformation supports all standard variable resolution patterns including direct references and
  * expressions.
  *
+ * <p>Setting {@code "parallel": true} evaluates sources of at least {@code "parallelThreshold"}
+ * items on several threads, keeping the order of the results; see {@link ParallelItemEvaluator}.
+ *
  * @see ResolvableValue
  * @see InputValueResolver
  */
@@ -71,23 +73,28 @@ public class ArrayTransformResolver implements InputValueResolver {
     if (item == null) {
       return null;
     }
-    return new ArrayTransformValue(sourceValue, resolver.resolve(item));
+    return new ArrayTransformValue(
+        sourceValue, resolver.resolve(item), ParallelItemEvaluator.fromDefinition(input));
   }
 
   /**
    * Implements the array transformation logic, transforming source array elements according to a
    * template. For each element in the source array, creates a new variable scope making the element
-   * available as 'item', then evaluates the template in this scope.
+   * available as 'item', then evaluates the template in this scope. Large sources of transforms
+   * opting in are evaluated in parallel through a {@link ParallelItemEvaluator}.
    */
   @SuppressWarnings("ClassCanBeRecord")
   private static class ArrayTransformValue implements ResolvableValue {
 
     private final ResolvableValue source;
     private final ResolvableValue item;
+    private final ParallelItemEvaluator parallelEvaluator;
 
-    public ArrayTransformValue(ResolvableValue source, ResolvableValue item) {
+    public ArrayTransformValue(
+        ResolvableValue source, ResolvableValue item, ParallelItemEvaluator parallelEvaluator) {
       this.source = source;
       this.item = item;
+      this.parallelEvaluator = parallelEvaluator;
     }
 
     @Override
@@ -99,19 +106,29 @@ public class ArrayTransformResolver implements InputValueResolver {
       if (!(evaluate instanceof List<?> list)) {
         return null;
       }
-      List<Object> result = new ArrayList<>();
-      VariableContainer original = context.getVariableContainer();
-      for (Object item : list) {
-        try {
-          CompositeVariableView view = createVariableViewWithItem(item, original);
-          context.setVariableContainer(view);
+      List<Object> result = new ArrayList<>(list.size());
+      if (parallelEvaluator != null && parallelEvaluator.appliesTo(list.size())) {
+        for (Object resolvedItem : parallelEvaluator.evaluate(context, list, item::evaluate)) {
+          if (resolvedItem != null) {
+            result.add(resolvedItem);
+          }
+        }
+       //noinspection unchecked
+        return (T) result;
+      }
+      VariableScope scope = VariableScope.enter(context);
+      int mark = scope.mark();
+      try {
+        for (Object item : list) {
+          scope.push("item", null, item);
           Object resolvedItem = this.item.evaluate(context);
+          scope.popTo(mark);
           if (resolvedItem != null) {
             result.add(resolvedItem);
           }
-        } finally {
-          context.setVariableContainer(original);
         }
+      } finally {
+        scope.exit(context, mark);
       }
      //noinspection unchecked
       return (T) result;
@@ -127,15 +144,5 @@ public class ArrayTransformResolver implements InputValueResolver {
       }
       return result;
     }
-
-    private CompositeVariableView createVariableViewWithItem(
-        Object item, VariableContainer original) {
-      CompositeVariableView view = new CompositeVariableView();
-      VariableContainer itemContainer = new ImmutableVariableContainer();
-      itemContainer.restoreVariable("item", null, item);
-      view.addVariables(itemContainer);
-      view.addVariables(original);
-      return view;
-    }
   }
 }
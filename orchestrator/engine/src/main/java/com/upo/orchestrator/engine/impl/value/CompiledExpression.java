@@ -0,0 +1,25 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import com.upo.orchestrator.engine.VariableContainer;
+
+/**
+ * Handle to a compiled expression, evaluated against a {@link VariableContainer}. Implementations
+ * are thread-safe.
+ */
+public interface CompiledExpression {
+
+  /**
+   * Evaluates the expression, resolving its variables from the given container.
+   *
+   * @param variableContainer container the expression variables are read from
+   * @return result of the expression
+   */
+  Object evaluate(VariableContainer variableContainer);
+}
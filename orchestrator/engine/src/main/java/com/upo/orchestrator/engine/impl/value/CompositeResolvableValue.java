@@ -19,23 +19,49 @@ import com.upo.utilities.ds.Pair;
 /**
  * Combines multiple ResolvableValue implementations into a single value. Used for strings that
  * contain multiple variable references or expressions.
+ *
+ * <p>Static text is kept as plain strings and its length precomputed, so evaluation appends into a
+ * builder presized for the text and an estimate of the dynamic values.
  */
 public class CompositeResolvableValue implements ResolvableValue {
+  private static final int ESTIMATED_VALUE_LENGTH = 16;
+
   private final List<ResolvableValue> parts;
+ // static text as String, dynamic values as ResolvableValue
+  private final Object[] segments;
+  private final int estimatedLength;
 
   public CompositeResolvableValue(List<ResolvableValue> parts) {
     this.parts = parts;
+    this.segments = new Object[parts.size()];
+    int length = 0;
+    for (int i = 0; i < segments.length; i++) {
+      ResolvableValue part = parts.get(i);
+      if (part instanceof StaticResolvableValue staticValue) {
+        String text = staticValue.getValue() != null ? staticValue.getValue().toString() : "";
+        segments[i] = text;
+        length += text.length();
+      } else {
+        segments[i] = part;
+        length += ESTIMATED_VALUE_LENGTH;
+      }
+    }
+    this.estimatedLength = length;
   }
 
   @Override
   public <T> T evaluate(ProcessInstance context) {
-    StringBuilder result = new StringBuilder();
-
-    for (ResolvableValue part : parts) {
-      Object evaluated = part.evaluate(context);
-      result.append(evaluated != null ? evaluated.toString() : "");
+    StringBuilder result = new StringBuilder(estimatedLength);
+    for (Object segment : segments) {
+      if (segment instanceof String text) {
+        result.append(text);
+      } else {
+        Object evaluated = ((ResolvableValue) segment).evaluate(context);
+        if (evaluated != null) {
+          result.append(evaluated);
+        }
+      }
     }
-
    //noinspection unchecked
     return (T) result.toString();
   }
@@ -0,0 +1,691 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.codehaus.groovy.runtime.ScriptBytecodeAdapter;
+import org.codehaus.groovy.runtime.typehandling.DefaultTypeTransformation;
+import org.codehaus.groovy.runtime.typehandling.NumberMath;
+
+import com.upo.orchestrator.engine.VariableContainer;
+import com.upo.utilities.json.path.JsonPath;
+
+/**
+ * Tree-walking interpreter for the simple expressions most processes use: literals, arithmetic,
+ * comparisons, boolean logic, ternary and elvis operators, property and index access, including
+ * null-safe navigation, and {@link Math} functions and constants.
+ *
+ * <p>Operators are evaluated through the same Groovy runtime helpers compiled scripts call, so
+ * results match Groovy, including its number type promotion, equality and truth rules, but without
+ * the cost of dynamic dispatch through a script instance. Expressions using anything else, like
+ * closures, method calls, assignments or GStrings, are left to {@link GroovyScriptCompiler}.
+ */
+final class ExpressionInterpreter {
+
+  private static final Set<String> MATH_METHODS = getMathMethods();
+  private static final Map<String, Object> MATH_CONSTANTS = getMathConstants();
+  private static final List<String> OPERATORS =
+      List.of(
+          "<=>", "?.", "?:", "**", "==", "!=", "<=", ">=", "&&", "||", "+", "-", "*", "/", "%",
+          "<", ">", "!", "?", ":", "(", ")", "[", "]", ".", ",");
+
+  private ExpressionInterpreter() {
+    throw new UnsupportedOperationException("Utility class");
+  }
+
+  /**
+   * Compiles the expression for interpretation.
+   *
+   * @param expression expression with placeholders replaced by variable names
+   * @param variables mapping of variable names to the json paths they are read from
+   * @return interpreted expression, or null if the expression needs Groovy
+   */
+  static CompiledExpression compile(String expression, Map<String, JsonPath> variables) {
+    // groovy terminates statements at line breaks, leave multi-line expressions to it
+    if (expression.indexOf('\n') >= 0 || expression.indexOf('\r') >= 0) {
+      return null;
+    }
+    try {
+      Node root = new Parser(tokenize(expression), variables).parse();
+      return root::evaluate;
+    } catch (UnsupportedExpressionException | NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static List<Token> tokenize(String expression) {
+    List<Token> tokens = new ArrayList<>();
+    int position = 0;
+    while (position < expression.length()) {
+      char ch = expression.charAt(position);
+      if (Character.isWhitespace(ch)) {
+        position++;
+      } else if (Character.isDigit(ch)) {
+        position = readNumber(expression, position, tokens);
+      } else if (ch == '\'' || ch == '"') {
+        position = readString(expression, position, tokens);
+      } else if (Character.isJavaIdentifierStart(ch) && ch != '$') {
+        int end = position + 1;
+        while (end < expression.length()
+            && Character.isJavaIdentifierPart(expression.charAt(end))) {
+          end++;
+        }
+        tokens.add(new Token(TokenType.IDENTIFIER, expression.substring(position, end), null));
+        position = end;
+      } else {
+        position = readOperator(expression, position, tokens);
+      }
+    }
+    tokens.add(new Token(TokenType.END, "", null));
+    return tokens;
+  }
+
+  private static int readNumber(String expression, int start, List<Token> tokens) {
+    int end = skipDigits(expression, start);
+    if (expression.charAt(start) == '0' && end - start > 1) {
+      // octal literal
+      throw UnsupportedExpressionException.INSTANCE;
+    }
+    boolean decimal = false;
+    if (end + 1 < expression.length()
+        && expression.charAt(end) == '.'
+        && Character.isDigit(expression.charAt(end + 1))) {
+      decimal = true;
+      end = skipDigits(expression, end + 1);
+    }
+    if (end < expression.length() && Character.toLowerCase(expression.charAt(end)) == 'e') {
+      int exponent = end + 1;
+      if (exponent < expression.length() && "+-".indexOf(expression.charAt(exponent)) >= 0) {
+        exponent++;
+      }
+      if (exponent >= expression.length() || !Character.isDigit(expression.charAt(exponent))) {
+        throw UnsupportedExpressionException.INSTANCE;
+      }
+      decimal = true;
+      end = skipDigits(expression, exponent);
+    }
+    String text = expression.substring(start, end);
+    char suffix = end < expression.length() ? Character.toLowerCase(expression.charAt(end)) : ' ';
+    Number value =
+        switch (suffix) {
+          case 'l' -> decimal ? null : Long.valueOf(text);
+          case 'g' -> decimal ? new BigDecimal(text) : new BigInteger(text);
+          case 'd' -> Double.valueOf(text);
+          case 'f' -> Float.valueOf(text);
+          default -> {
+            if (Character.isJavaIdentifierPart(suffix)) {
+              yield null;
+            }
+            yield decimal ? new BigDecimal(text) : parseInteger(text);
+          }
+        };
+    if (value == null) {
+      throw UnsupportedExpressionException.INSTANCE;
+    }
+    end = "lgdf".indexOf(suffix) >= 0 ? end + 1 : end;
+    tokens.add(new Token(TokenType.LITERAL, expression.substring(start, end), value));
+    return end;
+  }
+
+  private static Number parseInteger(String text) {
+    BigInteger value = new BigInteger(text);
+    if (value.bitLength() < 32) {
+      return value.intValue();
+    }
+    return value.bitLength() < 64 ? (Number) value.longValue() : value;
+  }
+
+  private static int skipDigits(String expression, int position) {
+    while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  private static int readString(String expression, int start, List<Token> tokens) {
+    char quote = expression.charAt(start);
+    StringBuilder value = new StringBuilder();
+    int position = start + 1;
+    while (position < expression.length()) {
+      char ch = expression.charAt(position++);
+      if (ch == quote) {
+        String text = expression.substring(start, position);
+        tokens.add(new Token(TokenType.LITERAL, text, value.toString()));
+        return position;
+      }
+      if (ch == '$' && quote == '"') {
+        // interpolated GString
+        throw UnsupportedExpressionException.INSTANCE;
+      }
+      if (ch == '\\' && position < expression.length()) {
+        ch =
+            switch (expression.charAt(position++)) {
+              case 'n' -> '\n';
+              case 't' -> '\t';
+              case 'r' -> '\r';
+              case 'b' -> '\b';
+              case 'f' -> '\f';
+              case '\\' -> '\\';
+              case '\'' -> '\'';
+              case '"' -> '"';
+              case '$' -> '$';
+              default -> throw UnsupportedExpressionException.INSTANCE;
+            };
+      }
+      value.append(ch);
+    }
+    throw UnsupportedExpressionException.INSTANCE;
+  }
+
+  private static int readOperator(String expression, int position, List<Token> tokens) {
+    for (String operator : OPERATORS) {
+      if (expression.startsWith(operator, position)) {
+        tokens.add(new Token(TokenType.OPERATOR, operator, null));
+        return position + operator.length();
+      }
+    }
+    throw UnsupportedExpressionException.INSTANCE;
+  }
+
+  private static Set<String> getMathMethods() {
+    Set<String> methods = new HashSet<>();
+    for (Method method : Math.class.getMethods()) {
+      if (Modifier.isStatic(method.getModifiers())) {
+        methods.add(method.getName());
+      }
+    }
+    return Set.copyOf(methods);
+  }
+
+  private static Map<String, Object> getMathConstants() {
+    Map<String, Object> constants = new HashMap<>();
+    for (Field field : Math.class.getFields()) {
+      if (Modifier.isStatic(field.getModifiers())) {
+        try {
+          constants.put(field.getName(), field.get(null));
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException("failed to read Math." + field.getName(), e);
+        }
+      }
+    }
+    return Map.copyOf(constants);
+  }
+
+  /** Recursive descent parser following Groovy operator precedence. */
+  private static final class Parser {
+    private final List<Token> tokens;
+    private final Map<String, JsonPath> variables;
+    private int position;
+
+    private Parser(List<Token> tokens, Map<String, JsonPath> variables) {
+      this.tokens = tokens;
+      this.variables = variables;
+    }
+
+    private Node parse() {
+      Node node = parseConditional();
+      if (peek().type() != TokenType.END) {
+        throw UnsupportedExpressionException.INSTANCE;
+      }
+      return node;
+    }
+
+    private Node parseConditional() {
+      Node condition = parseOr();
+      if (accept("?:")) {
+        return new Elvis(condition, parseConditional());
+      }
+      if (accept("?")) {
+        Node whenTrue = parseConditional();
+        expect(":");
+        return new Conditional(condition, whenTrue, parseConditional());
+      }
+      return condition;
+    }
+
+    private Node parseOr() {
+      Node node = parseAnd();
+      while (accept("||")) {
+        node = new Or(node, parseAnd());
+      }
+      return node;
+    }
+
+    private Node parseAnd() {
+      Node node = parseEquality();
+      while (accept("&&")) {
+        node = new And(node, parseEquality());
+      }
+      return node;
+    }
+
+    private Node parseEquality() {
+      Node node = parseRelational();
+      while (true) {
+        Comparison.Operator operator;
+        if (accept("==")) {
+          operator = Comparison.Operator.EQUAL;
+        } else if (accept("!=")) {
+          operator = Comparison.Operator.NOT_EQUAL;
+        } else if (accept("<=>")) {
+          operator = Comparison.Operator.COMPARE_TO;
+        } else {
+          return node;
+        }
+        node = new Comparison(operator, node, parseRelational());
+      }
+    }
+
+    private Node parseRelational() {
+      Node node = parseAdditive();
+      Comparison.Operator operator;
+      if (accept("<=")) {
+        operator = Comparison.Operator.LESS_THAN_EQUAL;
+      } else if (accept(">=")) {
+        operator = Comparison.Operator.GREATER_THAN_EQUAL;
+      } else if (accept("<")) {
+        operator = Comparison.Operator.LESS_THAN;
+      } else if (accept(">")) {
+        operator = Comparison.Operator.GREATER_THAN;
+      } else {
+        return node;
+      }
+      return new Comparison(operator, node, parseAdditive());
+    }
+
+    private Node parseAdditive() {
+      Node node = parseMultiplicative();
+      while (true) {
+        if (accept("+")) {
+          node = new Arithmetic(Arithmetic.Operator.PLUS, node, parseMultiplicative());
+        } else if (accept("-")) {
+          node = new Arithmetic(Arithmetic.Operator.MINUS, node, parseMultiplicative());
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseMultiplicative() {
+      Node node = parseUnary();
+      while (true) {
+        if (accept("*")) {
+          node = new Arithmetic(Arithmetic.Operator.MULTIPLY, node, parseUnary());
+        } else if (accept("/")) {
+          node = new Arithmetic(Arithmetic.Operator.DIVIDE, node, parseUnary());
+        } else if (accept("%")) {
+          node = new Arithmetic(Arithmetic.Operator.MOD, node, parseUnary());
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private Node parseUnary() {
+      if (accept("!")) {
+        return new Not(parseUnary());
+      }
+      if (accept("-")) {
+        if (isNegativeIntegerLiteral()) {
+          // groovy parses these as one literal, so -2147483648 is still an Integer
+          return new Constant(parseInteger("-" + next().text()));
+        }
+        return new Negate(parseUnary());
+      }
+      if (accept("+")) {
+        return new Positive(parseUnary());
+      }
+      return parsePower();
+    }
+
+    private boolean isNegativeIntegerLiteral() {
+      Token token = peek();
+      if (token.type() != TokenType.LITERAL
+          || !(token.value() instanceof Number)
+          || !token.text().chars().allMatch(Character::isDigit)) {
+        return false;
+      }
+      Token following = tokens.get(position + 1);
+      return !following.is("**")
+          && !following.is(".")
+          && !following.is("?.")
+          && !following.is("[");
+    }
+
+    private Node parsePower() {
+      Node node = parsePostfix();
+      while (accept("**")) {
+        if (accept("-")) {
+          node = new Arithmetic(Arithmetic.Operator.POWER, node, new Negate(parsePostfix()));
+          if (peek().is("**")) {
+            throw UnsupportedExpressionException.INSTANCE;
+          }
+        } else {
+          node = new Arithmetic(Arithmetic.Operator.POWER, node, parsePostfix());
+        }
+      }
+      return node;
+    }
+
+    private Node parsePostfix() {
+      Node node = parsePrimary();
+      while (true) {
+        if (accept(".")) {
+          node = new Property(node, parsePropertyName(), false);
+        } else if (accept("?.")) {
+          node = new Property(node, parsePropertyName(), true);
+        } else if (accept("[")) {
+          Node index = parseConditional();
+          expect("]");
+          node = new Index(node, index);
+        } else {
+          return node;
+        }
+      }
+    }
+
+    private String parsePropertyName() {
+      Token token = next();
+      if (token.type() != TokenType.IDENTIFIER || peek().is("(")) {
+        // method calls are left to groovy
+        throw UnsupportedExpressionException.INSTANCE;
+      }
+      return token.text();
+    }
+
+    private Node parsePrimary() {
+      Token token = next();
+      switch (token.type()) {
+        case LITERAL:
+          return new Constant(token.value());
+        case IDENTIFIER:
+          return parseIdentifier(token.text());
+        case OPERATOR:
+          if (token.is("(")) {
+            Node node = parseConditional();
+            expect(")");
+            return node;
+          }
+          throw UnsupportedExpressionException.INSTANCE;
+        default:
+          throw UnsupportedExpressionException.INSTANCE;
+      }
+    }
+
+    private Node parseIdentifier(String name) {
+      switch (name) {
+        case "true":
+          return new Constant(Boolean.TRUE);
+        case "false":
+          return new Constant(Boolean.FALSE);
+        case "null":
+          return new Constant(null);
+        default:
+          break;
+      }
+      JsonPath jsonPath = variables.get(name);
+      if (jsonPath != null) {
+        return new Variable(jsonPath);
+      }
+      if (name.equals("Math") && accept(".")) {
+        name = next().text();
+        if (!peek().is("(") && MATH_CONSTANTS.containsKey(name)) {
+          return new Constant(MATH_CONSTANTS.get(name));
+        }
+      } else if (!peek().is("(") && MATH_CONSTANTS.containsKey(name)) {
+        // statically imported from Math
+        return new Constant(MATH_CONSTANTS.get(name));
+      }
+      if (!MATH_METHODS.contains(name) || !accept("(")) {
+        throw UnsupportedExpressionException.INSTANCE;
+      }
+      List<Node> arguments = new ArrayList<>();
+      if (!accept(")")) {
+        do {
+          arguments.add(parseConditional());
+        } while (accept(","));
+        expect(")");
+      }
+      return new MathCall(name, arguments.toArray(Node[]::new));
+    }
+
+    private Token peek() {
+      return tokens.get(position);
+    }
+
+    private Token next() {
+      Token token = tokens.get(position);
+      if (token.type() != TokenType.END) {
+        position++;
+      }
+      return token;
+    }
+
+    private boolean accept(String operator) {
+      if (peek().is(operator)) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(String operator) {
+      if (!accept(operator)) {
+        throw UnsupportedExpressionException.INSTANCE;
+      }
+    }
+  }
+
+  private enum TokenType {
+    LITERAL,
+    IDENTIFIER,
+    OPERATOR,
+    END
+  }
+
+  private record Token(TokenType type, String text, Object value) {
+    private boolean is(String operator) {
+      return type == TokenType.OPERATOR && text.equals(operator);
+    }
+  }
+
+  /** Signals syntax outside the interpreted subset, the expression is compiled by groovy. */
+  private static final class UnsupportedExpressionException extends RuntimeException {
+    private static final UnsupportedExpressionException INSTANCE =
+        new UnsupportedExpressionException();
+
+    private UnsupportedExpressionException() {
+      super(null, null, false, false);
+    }
+  }
+
+  private interface Node {
+    Object evaluate(VariableContainer variableContainer);
+  }
+
+  private record Constant(Object value) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return value;
+    }
+  }
+
+  private record Variable(JsonPath jsonPath) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return variableContainer.readVariable(jsonPath);
+    }
+  }
+
+  private record Arithmetic(Operator operator, Node left, Node right) implements Node {
+
+    private enum Operator {
+      PLUS("plus"),
+      MINUS("minus"),
+      MULTIPLY("multiply"),
+      DIVIDE("div"),
+      MOD("mod"),
+      POWER("power");
+
+      private final String methodName;
+
+      Operator(String methodName) {
+        this.methodName = methodName;
+      }
+    }
+
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      Object leftValue = left.evaluate(variableContainer);
+      Object rightValue = right.evaluate(variableContainer);
+      if (leftValue instanceof Number leftNumber && rightValue instanceof Number rightNumber) {
+        switch (operator) {
+          case PLUS:
+            return NumberMath.add(leftNumber, rightNumber);
+          case MINUS:
+            return NumberMath.subtract(leftNumber, rightNumber);
+          case MULTIPLY:
+            return NumberMath.multiply(leftNumber, rightNumber);
+          case DIVIDE:
+            return NumberMath.divide(leftNumber, rightNumber);
+          case MOD:
+            return NumberMath.mod(leftNumber, rightNumber);
+          default:
+            break;
+        }
+      }
+      return InvokerHelper.invokeMethod(leftValue, operator.methodName, new Object[] {rightValue});
+    }
+  }
+
+  private record Comparison(Operator operator, Node left, Node right) implements Node {
+
+    private enum Operator {
+      EQUAL,
+      NOT_EQUAL,
+      LESS_THAN,
+      LESS_THAN_EQUAL,
+      GREATER_THAN,
+      GREATER_THAN_EQUAL,
+      COMPARE_TO
+    }
+
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      Object leftValue = left.evaluate(variableContainer);
+      Object rightValue = right.evaluate(variableContainer);
+      return switch (operator) {
+        case EQUAL -> ScriptBytecodeAdapter.compareEqual(leftValue, rightValue);
+        case NOT_EQUAL -> ScriptBytecodeAdapter.compareNotEqual(leftValue, rightValue);
+        case LESS_THAN -> ScriptBytecodeAdapter.compareLessThan(leftValue, rightValue);
+        case LESS_THAN_EQUAL -> ScriptBytecodeAdapter.compareLessThanEqual(leftValue, rightValue);
+        case GREATER_THAN -> ScriptBytecodeAdapter.compareGreaterThan(leftValue, rightValue);
+        case GREATER_THAN_EQUAL ->
+            ScriptBytecodeAdapter.compareGreaterThanEqual(leftValue, rightValue);
+        case COMPARE_TO -> ScriptBytecodeAdapter.compareTo(leftValue, rightValue);
+      };
+    }
+  }
+
+  private record Not(Node operand) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return !DefaultTypeTransformation.castToBoolean(operand.evaluate(variableContainer));
+    }
+  }
+
+  private record Negate(Node operand) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return InvokerHelper.unaryMinus(operand.evaluate(variableContainer));
+    }
+  }
+
+  private record Positive(Node operand) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return InvokerHelper.unaryPlus(operand.evaluate(variableContainer));
+    }
+  }
+
+  private record And(Node left, Node right) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return DefaultTypeTransformation.castToBoolean(left.evaluate(variableContainer))
+          && DefaultTypeTransformation.castToBoolean(right.evaluate(variableContainer));
+    }
+  }
+
+  private record Or(Node left, Node right) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return DefaultTypeTransformation.castToBoolean(left.evaluate(variableContainer))
+          || DefaultTypeTransformation.castToBoolean(right.evaluate(variableContainer));
+    }
+  }
+
+  private record Conditional(Node condition, Node whenTrue, Node whenFalse) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      return DefaultTypeTransformation.castToBoolean(condition.evaluate(variableContainer))
+          ? whenTrue.evaluate(variableContainer)
+          : whenFalse.evaluate(variableContainer);
+    }
+  }
+
+  private record Elvis(Node value, Node fallback) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      Object result = value.evaluate(variableContainer);
+      return DefaultTypeTransformation.castToBoolean(result)
+          ? result
+          : fallback.evaluate(variableContainer);
+    }
+  }
+
+  private record Property(Node target, String name, boolean nullSafe) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      Object object = target.evaluate(variableContainer);
+      if (object == null && nullSafe) {
+        return null;
+      }
+      if (object instanceof Map<?, ?> map) {
+        return map.get(name);
+      }
+      return InvokerHelper.getProperty(object, name);
+    }
+  }
+
+  private record Index(Node target, Node index) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      Object object = target.evaluate(variableContainer);
+      Object[] arguments = {index.evaluate(variableContainer)};
+      return InvokerHelper.invokeMethod(object, "getAt", arguments);
+    }
+  }
+
+  private record MathCall(String name, Node[] arguments) implements Node {
+    @Override
+    public Object evaluate(VariableContainer variableContainer) {
+      Object[] values = new Object[arguments.length];
+      for (int i = 0; i < arguments.length; i++) {
+        values[i] = arguments[i].evaluate(variableContainer);
+      }
+      return InvokerHelper.invokeStaticMethod(Math.class, name, values);
+    }
+  }
+}
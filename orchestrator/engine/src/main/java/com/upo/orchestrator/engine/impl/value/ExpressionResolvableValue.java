@@ -7,7 +7,6 @@
 */
 package com.upo.orchestrator.engine.impl.value;
 
-import static com.upo.orchestrator.engine.impl.value.GroovyScriptCompiler.evaluateScript;
 import static com.upo.orchestrator.engine.impl.value.ValueParser.VAR_PATTERN;
 
 import java.util.*;
@@ -15,34 +14,26 @@ import java.util.regex.Matcher;
 
 import com.upo.orchestrator.engine.ResolvableValue;
 import com.upo.orchestrator.engine.Variable;
-import com.upo.orchestrator.engine.VariableContainer;
 import com.upo.orchestrator.engine.models.ProcessInstance;
-import com.upo.utilities.ds.CollectionUtils;
 import com.upo.utilities.ds.Pair;
 import com.upo.utilities.json.path.JsonPath;
 
-import groovy.lang.Script;
-
 /** ResolvableValue implementation for Groovy expressions. */
 public class ExpressionResolvableValue implements ResolvableValue {
   private final Map<String, JsonPath> variables;
-  private final Script compiledScript;
+  private final CompiledExpression compiledExpression;
 
   public ExpressionResolvableValue(String expression) {
     ProcessedExpressionResult result = processExpression(expression.trim());
-    this.compiledScript = GroovyScriptCompiler.compileExpression(result.processedExpression);
     this.variables = result.variableMappings;
+    this.compiledExpression =
+        GroovyScriptCompiler.compileExpression(result.processedExpression, variables);
   }
 
   @Override
   public <T> T evaluate(ProcessInstance context) {
-    VariableContainer variableContainer = context.getVariableContainer();
-   // include keys with null values, this is to ensure groovy execution doesn't
-   // fail with undefined key
-    Map<String, Object> variables =
-        CollectionUtils.transformValueInMap(this.variables, variableContainer::readVariable, true);
    //noinspection unchecked
-    return (T) evaluateScript(compiledScript, variables);
+    return (T) compiledExpression.evaluate(context.getVariableContainer());
   }
 
   @Override
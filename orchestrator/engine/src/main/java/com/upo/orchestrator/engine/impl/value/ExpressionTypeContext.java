@@ -0,0 +1,104 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.upo.orchestrator.api.domain.ProcessDefinition;
+import com.upo.orchestrator.api.domain.TaskDefinition;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.utilities.json.path.JsonPath;
+
+/**
+ * Types of the variables expressions of a process can reference, derived from the JSON schemas of
+ * its tasks, used to compile Groovy expressions statically.
+ *
+ * <p>A variable like {@code {{task.output.amount}}} is typed by walking the {@code properties} of
+ * the task's output schema. Schema types map to {@link String}, {@link Number}, {@link Boolean} and
+ * {@link Map}; variables without a schema or of other types are left untyped. Arrays are left
+ * untyped too, as paths don't tell whether an index is applied to them. Expressions that can't be
+ * compiled statically are collected so they can be reported when the process is deployed.
+ */
+public final class ExpressionTypeContext {
+
+  private final Map<String, TaskDefinition> taskDefinitions;
+  private final List<String> dynamicExpressions = new ArrayList<>();
+
+  public ExpressionTypeContext(Map<String, TaskDefinition> taskDefinitions) {
+    this.taskDefinitions = taskDefinitions != null ? taskDefinitions : Map.of();
+  }
+
+  public static ExpressionTypeContext forProcess(ProcessDefinition processDefinition) {
+    return new ExpressionTypeContext(processDefinition.getTaskDefinitions());
+  }
+
+  /**
+   * Returns the type of the variable at the given path.
+   *
+   * @param jsonPath path of the variable, starting with task id and variable type
+   * @return type of the variable, or null if its schema doesn't define one
+   */
+  public Class<?> getType(JsonPath jsonPath) {
+    TaskDefinition taskDefinition = taskDefinitions.get(jsonPath.getToken(0));
+    Variable.Type variableType = Variable.Type.fromKey(jsonPath.getToken(1));
+    if (taskDefinition == null || variableType == null) {
+      return null;
+    }
+    Map<String, Object> schema =
+        switch (variableType) {
+          case INPUT -> taskDefinition.getInputSchema();
+          case OUTPUT -> taskDefinition.getOutputSchema();
+          case ERROR -> taskDefinition.getErrorSchema();
+          default -> null;
+        };
+    for (int i = 2; schema != null; i++) {
+      String token = jsonPath.getToken(i);
+      if (token == null) {
+        return toJavaType(schema.get("type"));
+      }
+      if (!"object".equals(schema.get("type"))
+          || !(schema.get("properties") instanceof Map<?, ?> properties)) {
+        return null;
+      }
+      //noinspection unchecked
+      schema = (Map<String, Object>) (properties.get(token) instanceof Map<?, ?> p ? p : null);
+    }
+    return null;
+  }
+
+  /**
+   * Records an expression that is compiled dynamically.
+   *
+   * @param expression the expression
+   * @param reason why it couldn't be compiled statically
+   */
+  public synchronized void reportDynamicExpression(String expression, String reason) {
+    dynamicExpressions.add(expression + " (" + reason + ")");
+  }
+
+  /** Returns the expressions compiled dynamically, with the reason for each */
+  public synchronized List<String> getDynamicExpressions() {
+    return Collections.unmodifiableList(new ArrayList<>(dynamicExpressions));
+  }
+
+  private static Class<?> toJavaType(Object schemaType) {
+    if (!(schemaType instanceof String type)) {
+      return null;
+    }
+    return switch (type) {
+      case "string" -> String.class;
+      case "integer", "number" -> Number.class;
+      case "boolean" -> Boolean.class;
+      case "object" -> Map.class;
+      default -> null;
+    };
+  }
+}
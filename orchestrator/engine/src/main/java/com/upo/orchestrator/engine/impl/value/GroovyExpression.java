@@ -0,0 +1,112 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import com.upo.orchestrator.engine.VariableContainer;
+import com.upo.utilities.json.path.JsonPath;
+
+import groovy.lang.Binding;
+import groovy.lang.MissingPropertyException;
+import groovy.lang.Script;
+
+/**
+ * {@link CompiledExpression} running a compiled Groovy script class.
+ *
+ * <p>Script instances are not thread-safe, so each evaluation takes an instance from a small pool
+ * and returns it afterwards, creating a new one only when the pool is empty. Every pooled instance
+ * keeps its own binding, which reads expression variables straight from the container being
+ * evaluated instead of copying them into a map first; variables are read only when the
+ * expression uses them.
+ */
+final class GroovyExpression implements CompiledExpression {
+
+  private static final int MAX_POOLED_SCRIPTS =
+      Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  private final Class<? extends Script> scriptClass;
+  private final Map<String, JsonPath> variables;
+  private final Queue<Script> pool = new ArrayBlockingQueue<>(MAX_POOLED_SCRIPTS);
+
+  GroovyExpression(Class<? extends Script> scriptClass, Map<String, JsonPath> variables) {
+    this.scriptClass = scriptClass;
+    this.variables = variables;
+  }
+
+  @Override
+  public Object evaluate(VariableContainer variableContainer) {
+    Script script = pool.poll();
+    if (script == null) {
+      script = InvokerHelper.createScript(scriptClass, new ContainerBinding(variables));
+    }
+    ContainerBinding binding = (ContainerBinding) script.getBinding();
+    binding.bind(variableContainer);
+    try {
+      return script.run();
+    } finally {
+      binding.reset();
+      pool.offer(script);
+    }
+  }
+
+  /**
+   * Binding resolving the expression's placeholder variables from a container, so that keys of
+   * variables with null values are still defined for the script.
+   */
+  private static final class ContainerBinding extends Binding {
+
+    private final Map<String, JsonPath> variables;
+    private VariableContainer variableContainer;
+    // whether the script assigned variables of its own during this evaluation
+    private boolean hasLocalVariables;
+
+    private ContainerBinding(Map<String, JsonPath> variables) {
+      this.variables = variables;
+    }
+
+    private void bind(VariableContainer variableContainer) {
+      this.variableContainer = variableContainer;
+    }
+
+    private void reset() {
+      this.variableContainer = null;
+      if (hasLocalVariables) {
+        super.getVariables().clear();
+        hasLocalVariables = false;
+      }
+    }
+
+    @Override
+    public Object getVariable(String name) {
+      if (hasLocalVariables && super.hasVariable(name)) {
+        return super.getVariable(name);
+      }
+      JsonPath jsonPath = variables.get(name);
+      if (jsonPath == null) {
+        throw new MissingPropertyException(name, getClass());
+      }
+      return variableContainer.readVariable(jsonPath);
+    }
+
+    @Override
+    public void setVariable(String name, Object value) {
+      hasLocalVariables = true;
+      super.setVariable(name, value);
+    }
+
+    @Override
+    public boolean hasVariable(String name) {
+      return variables.containsKey(name) || (hasLocalVariables && super.hasVariable(name));
+    }
+  }
+}
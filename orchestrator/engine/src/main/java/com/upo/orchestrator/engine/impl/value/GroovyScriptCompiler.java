@@ -10,25 +10,55 @@ package com.upo.orchestrator.engine.impl.value;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
+import org.codehaus.groovy.control.CompilationFailedException;
 import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
 import org.codehaus.groovy.control.customizers.SecureASTCustomizer;
-import org.codehaus.groovy.runtime.InvokerHelper;
 
-import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
+import com.upo.utilities.json.path.JsonPath;
+
+import groovy.lang.GroovyClassLoader;
 import groovy.lang.Script;
+import groovy.transform.CompileStatic;
 
 /**
  * Handles compilation and execution of Groovy expressions with caching and security restrictions.
+ *
+ * <p>Compiled script classes are shared through a {@link ScriptClassCache} keyed by the rewritten
+ * expression text, so identical expressions across tasks, processes and snapshots compile once.
+ * Compilations running within {@link #compileFor(String, Supplier)} are owned by that id, and
+ * {@link #release(String)} drops the classes only that owner used, once e.g. its process snapshot
+ * is retired. Simple expressions skip Groovy entirely and are evaluated by {@link
+ * ExpressionInterpreter}.
+ *
+ * <p>With {@code EXPRESSION_COMPILATION_MODE=STATIC}, scripts are compiled with {@link
+ * CompileStatic} when an {@link ExpressionTypeContext} types all of their variables. Others are
+ * compiled dynamically and reported to the type context.
  */
 public final class GroovyScriptCompiler {
-  private static final GroovyShell SHELL;
+  private static final int DEFAULT_CACHE_SIZE = 4096;
+
+  private static final CompilerConfiguration CONFIG = createSecureCompilerConfiguration();
+  private static final CompilerConfiguration STATIC_CONFIG =
+      createSecureCompilerConfiguration()
+          .addCompilationCustomizers(new ASTTransformationCustomizer(CompileStatic.class));
+  private static final ScriptClassCache CACHE =
+      new ScriptClassCache(
+          getCacheSizeFromEnv(), expression -> compileScriptClass(expression, CONFIG));
+  private static final ScriptClassCache STATIC_CACHE =
+      new ScriptClassCache(
+          getCacheSizeFromEnv(), expression -> compileScriptClass(expression, STATIC_CONFIG));
+  private static final CompilationMode COMPILATION_MODE = getCompilationModeFromEnv();
+  private static final ScopedValue<Compilation> COMPILATION = ScopedValue.newInstance();
 
-  static {
-    CompilerConfiguration config = createSecureCompilerConfiguration();
-    SHELL = new GroovyShell(config);
+  /** How scripts are compiled, configured through EXPRESSION_COMPILATION_MODE. */
+  public enum CompilationMode {
+    DYNAMIC,
+    STATIC
   }
 
  // Prevent instantiation
@@ -63,27 +93,152 @@ public final class GroovyScriptCompiler {
   }
 
   /**
-   * Compiles a Groovy expression using the shared shell instance. Thread-safe due to GroovyShell's
-   * internal synchronization.
+   * Compiles an expression, interpreting it directly when it only uses the operators {@link
+   * ExpressionInterpreter} supports and compiling it with Groovy otherwise.
+   *
+   * @param expression The expression to compile
+   * @param variables Mapping of script variable names to the json paths they are read from
+   * @return Handle evaluating the compiled expression
+   */
+  public static CompiledExpression compileExpression(
+      String expression, Map<String, JsonPath> variables) {
+    CompiledExpression interpreted = ExpressionInterpreter.compile(expression.trim(), variables);
+    return interpreted != null ? interpreted : compileScript(expression, variables);
+  }
+
+  /**
+   * Compiles a Groovy expression, reusing the class of an identical expression compiled before.
    *
    * @param expression The Groovy expression to compile
-   * @return Compiled Script object
+   * @param variables Mapping of script variable names to the json paths they are read from
+   * @return Handle evaluating the compiled script with reusable script instances
+   */
+  public static CompiledExpression compileScript(
+      String expression, Map<String, JsonPath> variables) {
+    Compilation compilation = COMPILATION.isBound() ? COMPILATION.get() : null;
+    String owner = compilation != null ? compilation.ownerId() : null;
+    if (compilation != null && compilation.typeContext() != null) {
+      CompiledExpression compiled =
+          compileStatic(expression.trim(), variables, owner, compilation.typeContext());
+      if (compiled != null) {
+        return compiled;
+      }
+    }
+    return new GroovyExpression(CACHE.getOrCompile(expression.trim(), owner), variables);
+  }
+
+  public static CompilationMode getCompilationMode() {
+    return COMPILATION_MODE;
+  }
+
+  /**
+   * Runs a compilation, typically of a process snapshot, owning the expressions it compiles.
+   *
+   * @param ownerId id owning the compiled expressions
+   * @param compilation compilation to run
+   * @return result of the compilation
    */
-  public static Script compileExpression(String expression) {
-    return SHELL.parse(expression.trim());
+  public static <T> T compileFor(String ownerId, Supplier<T> compilation) {
+    return compileFor(ownerId, null, compilation);
   }
 
   /**
-   * Evaluates a compiled script with the given variable bindings. Creates a clone of the script for
-   * thread-safe execution.
+   * Runs a compilation owning the expressions it compiles, compiling scripts statically with the
+   * variable types of the given context.
+   *
+   * @param ownerId id owning the compiled expressions
+   * @param typeContext types of variables, null to compile scripts dynamically
+   * @param compilation compilation to run
+   * @return result of the compilation
    */
-  public static Object evaluateScript(Script script, Map<String, Object> variables) {
-   // Create a clone of the script for thread-safe execution
-    Script clonedScript = InvokerHelper.createScript(script.getClass(), new Binding(variables));
+  public static <T> T compileFor(
+      String ownerId, ExpressionTypeContext typeContext, Supplier<T> compilation) {
+    return ScopedValue.getWhere(COMPILATION, new Compilation(ownerId, typeContext), compilation);
+  }
+
+  /**
+   * Releases the compiled expressions of an owner, letting classes no other owner uses unload.
+   *
+   * @param ownerId id passed to {@link #compileFor(String, Supplier)}
+   */
+  public static void release(String ownerId) {
+    CACHE.release(ownerId);
+    STATIC_CACHE.release(ownerId);
+  }
+
+  /**
+   * Compiles the expression statically, declaring every variable as a local of its type read from
+   * the binding.
+   *
+   * @return compiled expression, or null if it has to be compiled dynamically
+   */
+  private static CompiledExpression compileStatic(
+      String expression,
+      Map<String, JsonPath> variables,
+      String owner,
+      ExpressionTypeContext typeContext) {
+    StringBuilder script = new StringBuilder();
+    for (Map.Entry<String, JsonPath> variable : variables.entrySet()) {
+      Class<?> type = typeContext.getType(variable.getValue());
+      if (type == null) {
+        typeContext.reportDynamicExpression(
+            expression, "no schema type for: " + toPath(variable.getValue()));
+        return null;
+      }
+      String name = variable.getKey();
+      script
+          .append(type.getName())
+          .append(' ')
+          .append(name)
+          .append(" = (")
+          .append(type.getName())
+          .append(") binding.getVariable('")
+          .append(name)
+          .append("')\n");
+    }
+    script.append(expression);
     try {
-      return clonedScript.run();
-    } finally {
-      clonedScript.setBinding(null);
+      return new GroovyExpression(STATIC_CACHE.getOrCompile(script.toString(), owner), variables);
+    } catch (CompilationFailedException e) {
+      String[] lines = e.getMessage().split("\n");
+      typeContext.reportDynamicExpression(expression, lines[Math.min(1, lines.length - 1)].trim());
+      return null;
+    }
+  }
+
+  private static String toPath(JsonPath jsonPath) {
+    StringBuilder path = new StringBuilder(jsonPath.getToken(0));
+    for (int i = 1; jsonPath.getToken(i) != null; i++) {
+      path.append('.').append(jsonPath.getToken(i));
     }
+    return path.toString();
   }
+
+  /**
+   * Compiles an expression with its own class loader, so the class can be unloaded independently
+   * of every other expression.
+   */
+  private static Class<? extends Script> compileScriptClass(
+      String expression, CompilerConfiguration config) {
+    GroovyClassLoader classLoader =
+        new GroovyClassLoader(GroovyScriptCompiler.class.getClassLoader(), config);
+    return classLoader.parseClass(expression).asSubclass(Script.class);
+  }
+
+  private static CompilationMode getCompilationModeFromEnv() {
+    return Optional.ofNullable(System.getenv("EXPRESSION_COMPILATION_MODE"))
+        .filter(s -> !s.isEmpty())
+        .map(CompilationMode::valueOf)
+        .orElse(CompilationMode.DYNAMIC);
+  }
+
+  private static int getCacheSizeFromEnv() {
+    return Optional.ofNullable(System.getenv("EXPRESSION_CACHE_SIZE"))
+        .filter(s -> !s.isEmpty())
+        .map(Integer::parseInt)
+        .filter(p -> p >= 0)
+        .orElse(DEFAULT_CACHE_SIZE);
+  }
+
+  private record Compilation(String ownerId, ExpressionTypeContext typeContext) {}
 }
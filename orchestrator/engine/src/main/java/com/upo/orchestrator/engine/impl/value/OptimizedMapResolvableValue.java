@@ -8,7 +8,6 @@
 package com.upo.orchestrator.engine.impl.value;
 
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,40 +20,39 @@ import com.upo.utilities.ds.Pair;
  * An optimized implementation of ResolvableValue for Map structures that separates static and
  * dynamic values while preserving the original map's key ordering.
  *
- * <p>This implementation: 1. Maintains static values that don't need resolution 2. Separately
- * tracks dynamic values that require resolution 3. Preserves original map key ordering through
- * LinkedHashMap 4. Optimizes evaluation by only resolving dynamic values
+ * <p>The keys, in their original order, and the static values are compiled once into a {@link
+ * ShapedMap.Shape}. Evaluation only resolves the dynamic values into a slot array and returns a
+ * {@link ShapedMap} view sharing the static part, so no map is copied until a consumer mutates the
+ * result.
  *
- * <p>Key behaviors: - Original map ordering is preserved through static map structure - Dynamic
- * values are resolved only when evaluate() is called - Null values in static map indicate presence
- * of dynamic value
+ * <p>Key behaviors: - Original map ordering is preserved through the shape - Dynamic values are
+ * resolved only when evaluate() is called - Null values in static map indicate presence of dynamic
+ * value - Dynamic values resolving to null are left out of the result
  */
 public class OptimizedMapResolvableValue implements ResolvableValue {
-  private final Map<String, Object> staticValues;
   private final Map<String, ResolvableValue> dynamicValues;
+  private final ShapedMap.Shape shape;
+  private final ResolvableValue[] slotValues;
 
   public OptimizedMapResolvableValue(
       Map<String, Object> staticValues, Map<String, ResolvableValue> dynamicValues) {
-    this.staticValues = staticValues;
     this.dynamicValues = dynamicValues;
+    this.shape = new ShapedMap.Shape(staticValues, dynamicValues.keySet());
+    String[] slotKeys = shape.getDynamicKeys();
+    this.slotValues = new ResolvableValue[slotKeys.length];
+    for (int i = 0; i < slotKeys.length; i++) {
+      slotValues[i] = dynamicValues.get(slotKeys[i]);
+    }
   }
 
   @Override
   public <T> T evaluate(ProcessInstance context) {
-   // Copy static map - this preserves order
-    Map<String, Object> result = new LinkedHashMap<>(staticValues);
-
-   // Resolve and overwrite dynamic values
-    for (Map.Entry<String, ResolvableValue> entry : dynamicValues.entrySet()) {
-      Object evaluate = entry.getValue().evaluate(context);
-      if (evaluate == null) {
-        result.remove(entry.getKey());
-      } else {
-        result.put(entry.getKey(), evaluate);
-      }
+    Object[] values = new Object[slotValues.length];
+    for (int i = 0; i < slotValues.length; i++) {
+      values[i] = slotValues[i].evaluate(context);
     }
    //noinspection unchecked
-    return (T) result;
+    return (T) new ShapedMap(shape, values);
   }
 
   @Override
@@ -0,0 +1,215 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.VariableContainer;
+import com.upo.orchestrator.engine.impl.VariableScope;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.models.ProcessVariable;
+import com.upo.utilities.ds.CollectionUtils;
+import com.upo.utilities.json.path.JsonPath;
+
+/**
+ * Evaluates the items of an array transform in parallel, for transforms whose definition sets
+ * {@code "parallel": true} and whose source has at least {@code parallelThreshold} items.
+ *
+ * <p>The source is split into chunks evaluated on a dedicated fork-join pool. Every chunk binds its
+ * items on a fresh variable scope of its own, overlaid on the variables of the evaluating instance,
+ * and writes its results into the positions of its items, so results keep the source order.
+ *
+ * <p>Containers aren't thread-safe: reading a variable may resolve it or build views lazily. The
+ * chunks therefore reach the container of the evaluating instance, including the bindings of a
+ * scope it is evaluating in, through a view serializing every access to it. The evaluating thread
+ * waits for the chunks, so it doesn't touch the container meanwhile.
+ */
+final class ParallelItemEvaluator {
+
+  static final String PARALLEL = "parallel";
+  static final String PARALLEL_THRESHOLD = "parallelThreshold";
+
+  private static final int DEFAULT_THRESHOLD =
+      Optional.ofNullable(System.getenv("ARRAY_TRANSFORM_PARALLEL_THRESHOLD"))
+          .filter(s -> !s.isEmpty())
+          .map(Integer::parseInt)
+          .orElse(10_000);
+  private static final int PARALLELISM =
+      Optional.ofNullable(System.getenv("ARRAY_TRANSFORM_PARALLELISM"))
+          .filter(s -> !s.isEmpty())
+          .map(Integer::parseInt)
+          .orElse(Runtime.getRuntime().availableProcessors());
+  private static final int MIN_CHUNK_SIZE = 256;
+  // chunks per worker, so that workers finishing early can steal the remaining ones
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  private final int threshold;
+
+  private ParallelItemEvaluator(int threshold) {
+    this.threshold = threshold;
+  }
+
+  /**
+   * Creates the evaluator configured by a transform definition.
+   *
+   * @param definition the transform definition
+   * @return evaluator, or null if the definition doesn't opt in
+   */
+  static ParallelItemEvaluator fromDefinition(Map<String, Object> definition) {
+    if (!CollectionUtils.getBooleanValue(definition, PARALLEL, false)) {
+      return null;
+    }
+    Object threshold = CollectionUtils.getValue(definition, PARALLEL_THRESHOLD);
+    return new ParallelItemEvaluator(
+        threshold instanceof Number number ? number.intValue() : DEFAULT_THRESHOLD);
+  }
+
+  /** Returns whether a source of the given size is evaluated in parallel */
+  boolean appliesTo(int size) {
+    return size >= threshold && size > 1;
+  }
+
+  /**
+   * Evaluates a function for every item, bound as {@code item}.
+   *
+   * @param context instance being evaluated
+   * @param items source items
+   * @param function evaluated for every item, against an instance the item is bound on
+   * @return results by item position
+   */
+  Object[] evaluate(ProcessInstance context, List<?> items, ItemFunction function) {
+    Object[] source = items.toArray();
+    Object[] results = new Object[source.length];
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, source.length / (PARALLELISM * CHUNKS_PER_WORKER));
+    VariableContainer shared = new SynchronizedContainer(context.getVariableContainer());
+    Pool.INSTANCE.invoke(
+        new ChunkTask(context, shared, source, results, function, 0, source.length, chunkSize));
+    return results;
+  }
+
+  /** Function evaluated for every item. */
+  @FunctionalInterface
+  interface ItemFunction {
+    Object apply(ProcessInstance context);
+  }
+
+  private static final class ChunkTask extends RecursiveAction {
+    private final ProcessInstance context;
+    private final VariableContainer shared;
+    private final Object[] source;
+    private final Object[] results;
+    private final ItemFunction function;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    private ChunkTask(
+        ProcessInstance context,
+        VariableContainer shared,
+        Object[] source,
+        Object[] results,
+        ItemFunction function,
+        int from,
+        int to,
+        int chunkSize) {
+      this.context = context;
+      this.shared = shared;
+      this.source = source;
+      this.results = results;
+      this.function = function;
+      this.from = from;
+      this.to = to;
+      this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunkSize) {
+        evaluateChunk();
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new ChunkTask(context, shared, source, results, function, from, middle, chunkSize),
+          new ChunkTask(context, shared, source, results, function, middle, to, chunkSize));
+    }
+
+    private void evaluateChunk() {
+      ProcessInstance worker = new ProcessInstance();
+      worker.setId(context.getId());
+      worker.setProcessId(context.getProcessId());
+      worker.setProcessEnv(context.getProcessEnv());
+      worker.setInput(context.getInput());
+      VariableScope scope = new VariableScope(shared);
+      worker.setVariableContainer(scope);
+      for (int i = from; i < to; i++) {
+        scope.push("item", null, source[i]);
+        results[i] = function.apply(worker);
+        scope.popTo(0);
+      }
+    }
+  }
+
+  /** Container serializing every access to the container it wraps. */
+  private static final class SynchronizedContainer implements VariableContainer {
+    private final VariableContainer container;
+
+    private SynchronizedContainer(VariableContainer container) {
+      this.container = container;
+    }
+
+    @Override
+    public synchronized void addNewVariable(String taskId, Variable.Type type, Object payload) {
+      container.addNewVariable(taskId, type, payload);
+    }
+
+    @Override
+    public synchronized void restoreVariable(String taskId, Variable.Type type, Object payload) {
+      container.restoreVariable(taskId, type, payload);
+    }
+
+    @Override
+    public synchronized List<ProcessVariable> getNewVariables() {
+      return container.getNewVariables();
+    }
+
+    @Override
+    public synchronized void clearNewVariables() {
+      container.clearNewVariables();
+    }
+
+    @Override
+    public synchronized void closeTransientVariables() {
+      container.closeTransientVariables();
+    }
+
+    @Override
+    public synchronized Object getVariable(String taskId, Variable.Type type) {
+      return container.getVariable(taskId, type);
+    }
+
+    @Override
+    public synchronized boolean containsVariable(String taskId, Variable.Type type) {
+      return container.containsVariable(taskId, type);
+    }
+
+    @Override
+    public synchronized Object readVariable(JsonPath jsonPath) {
+      return container.readVariable(jsonPath);
+    }
+  }
+
+  private static final class Pool {
+    private static final ForkJoinPool INSTANCE = new ForkJoinPool(PARALLELISM);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import groovy.lang.Script;
+
+/**
+ * Bounded LRU cache of compiled script classes, keyed by expression text.
+ *
+ * <p>Every entry records the owners, usually process snapshots, that compiled it. When an owner is
+ * released, entries no other owner uses are dropped, so their classes, each defined by its own
+ * class loader, can be unloaded once no compiled expression refers to them anymore. Entries
+ * compiled without an owner are only evicted by the size bound; a size of 0 disables caching.
+ */
+public final class ScriptClassCache {
+
+  private final int maxSize;
+  private final Function<String, Class<? extends Script>> compiler;
+  private final LinkedHashMap<String, Entry> entries;
+  private final Map<String, Set<String>> expressionsByOwner = new HashMap<>();
+
+  public ScriptClassCache(int maxSize, Function<String, Class<? extends Script>> compiler) {
+    this.maxSize = maxSize;
+    this.compiler = compiler;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Returns the cached class compiled from the expression, compiling it on a miss.
+   *
+   * @param expression expression text, the cache key
+   * @param ownerId owner using the class, may be null
+   * @return compiled script class
+   */
+  public Class<? extends Script> getOrCompile(String expression, String ownerId) {
+    synchronized (this) {
+      Entry entry = entries.get(expression);
+      if (entry != null) {
+        addOwner(expression, entry, ownerId);
+        return entry.scriptClass;
+      }
+    }
+    // compile outside the lock, a concurrent compilation of the same text keeps the first class
+    Class<? extends Script> scriptClass = compiler.apply(expression);
+    if (maxSize <= 0) {
+      return scriptClass;
+    }
+    synchronized (this) {
+      Entry entry = entries.computeIfAbsent(expression, _ -> new Entry(scriptClass));
+      addOwner(expression, entry, ownerId);
+      evictEldest();
+      return entry.scriptClass;
+    }
+  }
+
+  /**
+   * Releases all entries of an owner, dropping entries no other owner uses.
+   *
+   * @param ownerId owner to release
+   */
+  public synchronized void release(String ownerId) {
+    Set<String> expressions = expressionsByOwner.remove(ownerId);
+    if (expressions == null) {
+      return;
+    }
+    for (String expression : expressions) {
+      Entry entry = entries.get(expression);
+      if (entry != null && entry.owners.remove(ownerId) && entry.owners.isEmpty()) {
+        entries.remove(expression);
+      }
+    }
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private void addOwner(String expression, Entry entry, String ownerId) {
+    if (ownerId != null && entry.owners.add(ownerId)) {
+      expressionsByOwner.computeIfAbsent(ownerId, _ -> new HashSet<>()).add(expression);
+    }
+  }
+
+  private void evictEldest() {
+    while (entries.size() > maxSize) {
+      Map.Entry<String, Entry> eldest = entries.entrySet().iterator().next();
+      entries.remove(eldest.getKey());
+      for (String ownerId : eldest.getValue().owners) {
+        Set<String> expressions = expressionsByOwner.get(ownerId);
+        if (expressions != null && expressions.remove(eldest.getKey()) && expressions.isEmpty()) {
+          expressionsByOwner.remove(ownerId);
+        }
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final Class<? extends Script> scriptClass;
+    private final Set<String> owners = new HashSet<>();
+
+    private Entry(Class<? extends Script> scriptClass) {
+      this.scriptClass = scriptClass;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl.value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map produced by evaluating a map input against its {@link Shape}. The shape holds the keys in
+ * definition order and the static values, shared by every evaluation; the map itself only holds
+ * the resolved dynamic values, one slot each. A dynamic value that resolved to null leaves its key
+ * out, static keys are always present.
+ *
+ * <p>The map is read through the shape until it is mutated. The first mutation copies the entries
+ * into a {@link LinkedHashMap} that backs the map from then on, so consumers that modify their
+ * inputs see a regular map.
+ */
+final class ShapedMap extends AbstractMap<String, Object> {
+
+  private final Shape shape;
+  private final Object[] dynamicValues;
+  private final int size;
+  private Map<String, Object> materialized;
+
+  ShapedMap(Shape shape, Object[] dynamicValues) {
+    this.shape = shape;
+    this.dynamicValues = dynamicValues;
+    int present = shape.keys.length;
+    for (Object value : dynamicValues) {
+      if (value == null) {
+        present--;
+      }
+    }
+    this.size = present;
+  }
+
+  @Override
+  public int size() {
+    return materialized != null ? materialized.size() : size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (materialized != null) {
+      return materialized.containsKey(key);
+    }
+    int index = shape.indexOf(key);
+    return index >= 0 && (shape.slots[index] < 0 || dynamicValues[shape.slots[index]] != null);
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (materialized != null) {
+      return materialized.get(key);
+    }
+    int index = shape.indexOf(key);
+    return index >= 0 ? valueAt(index) : null;
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    return materialize().put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    return materialize().remove(key);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ?> map) {
+    materialize().putAll(map);
+  }
+
+  @Override
+  public void clear() {
+    materialize().clear();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return materialized != null ? materialized.entrySet().iterator() : new ShapeIterator();
+      }
+
+      @Override
+      public int size() {
+        return ShapedMap.this.size();
+      }
+    };
+  }
+
+  private Object valueAt(int index) {
+    int slot = shape.slots[index];
+    return slot < 0 ? shape.staticValues[index] : dynamicValues[slot];
+  }
+
+  private Map<String, Object> materialize() {
+    if (materialized == null) {
+      Map<String, Object> copy = new LinkedHashMap<>(shape.keys.length * 4 / 3 + 1);
+      for (int i = 0; i < shape.keys.length; i++) {
+        int slot = shape.slots[i];
+        if (slot < 0 || dynamicValues[slot] != null) {
+          copy.put(shape.keys[i], valueAt(i));
+        }
+      }
+      materialized = copy;
+    }
+    return materialized;
+  }
+
+  /** Iterates the entries present in the shape, writes go through the map. */
+  private final class ShapeIterator implements Iterator<Entry<String, Object>> {
+    private int next = advance(0);
+    private int last = -1;
+
+    @Override
+    public boolean hasNext() {
+      return next < shape.keys.length;
+    }
+
+    @Override
+    public Entry<String, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      next = advance(next + 1);
+      String key = shape.keys[last];
+      return new SimpleEntry<>(key, valueAt(last)) {
+        @Override
+        public Object setValue(Object value) {
+          super.setValue(value);
+          return put(key, value);
+        }
+      };
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      ShapedMap.this.remove(shape.keys[last]);
+      last = -1;
+    }
+
+    private int advance(int from) {
+      int index = from;
+      while (index < shape.keys.length
+          && shape.slots[index] >= 0
+          && dynamicValues[shape.slots[index]] == null) {
+        index++;
+      }
+      return index;
+    }
+  }
+
+  /**
+   * Compiled layout of a map input: keys in definition order, static values by key position and,
+   * for dynamic keys, the slot their resolved value is stored in.
+   */
+  static final class Shape {
+    private final String[] keys;
+    private final Object[] staticValues;
+    private final int[] slots;
+    private final Map<String, Integer> positions;
+    private final String[] dynamicKeys;
+
+    /**
+     * Creates the shape of a map whose keys are the keys of the static map in order, followed by
+     * dynamic keys missing from it. Dynamic keys take a slot instead of their static value.
+     *
+     * @param staticValues keys in order, with the values of the static ones
+     * @param dynamicKeys keys whose values are resolved on evaluation
+     */
+    Shape(Map<String, Object> staticValues, Set<String> dynamicKeys) {
+      Map<String, Integer> keyPositions = new LinkedHashMap<>();
+      staticValues.keySet().forEach(key -> keyPositions.put(key, keyPositions.size()));
+      dynamicKeys.forEach(key -> keyPositions.putIfAbsent(key, keyPositions.size()));
+      this.keys = keyPositions.keySet().toArray(new String[0]);
+      this.staticValues = new Object[keys.length];
+      this.slots = new int[keys.length];
+      this.positions = new HashMap<>(keyPositions);
+      this.dynamicKeys = new String[dynamicKeys.size()];
+      int slot = 0;
+      for (int i = 0; i < keys.length; i++) {
+        if (dynamicKeys.contains(keys[i])) {
+          this.dynamicKeys[slot] = keys[i];
+          slots[i] = slot++;
+        } else {
+          slots[i] = -1;
+          this.staticValues[i] = staticValues.get(keys[i]);
+        }
+      }
+    }
+
+    /** Returns the dynamic keys, indexed by slot */
+    String[] getDynamicKeys() {
+      return dynamicKeys.clone();
+    }
+
+    private int indexOf(Object key) {
+      Integer index = positions.get(key);
+      return index != null ? index : -1;
+    }
+  }
+}
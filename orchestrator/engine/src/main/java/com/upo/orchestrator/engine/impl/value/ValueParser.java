@@ -10,7 +10,6 @@ package com.upo.orchestrator.engine.impl.value;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.upo.orchestrator.engine.ResolvableValue;
@@ -20,13 +19,16 @@ import jakarta.inject.Singleton;
 /**
  * Parses input strings containing variable references and expressions into ResolvableValue
  * components. Handles: - Static text - Variable references: {{taskId.input/output.path}} - Groovy
- * expressions: [[expression]]
+ * expressions: [[expression]] - Escaped delimiters: \{{ and \[[ are kept as literal text
+ *
+ * <p>Input is scanned once, left to right. A reference or expression starting at a delimiter that
+ * isn't closed is kept as text, and positions already known to have no closing delimiter aren't
+ * scanned again, so parsing stays linear in the length of the input.
  */
 @Singleton
 public final class ValueParser {
 
   public static final Pattern VAR_PATTERN = Pattern.compile("\\{\\{([^}]+)}}");
-  private static final Pattern EXPR_PATTERN = Pattern.compile("\\[\\[(.+?)]]");
 
   /**
    * Parses an input string into a list of ResolvableValue components.
@@ -39,37 +41,100 @@ public final class ValueParser {
       return Collections.singletonList(new StaticResolvableValue(null));
     }
     List<ResolvableValue> parts = new ArrayList<>();
-    Matcher varMatcher = VAR_PATTERN.matcher(input);
-    Matcher exprMatcher = EXPR_PATTERN.matcher(input);
-    int currentPos = 0;
-    while (currentPos < input.length()) {
-      boolean foundVar = varMatcher.find(currentPos);
-      boolean foundExpr = exprMatcher.find(currentPos);
-      if (!foundVar && !foundExpr) {
-       // Add remaining text as static value
-        parts.add(new StaticResolvableValue(input.substring(currentPos)));
-        break;
+    StringBuilder text = new StringBuilder();
+    int length = input.length();
+   // positions before which no variable reference or expression can close, respectively
+    int varSearchLimit = 0;
+    int exprSearchLimit = 0;
+    int position = 0;
+    while (position < length) {
+      char ch = input.charAt(position);
+      if (ch == '\\'
+          && (isDelimiter(input, position + 1, '{') || isDelimiter(input, position + 1, '['))) {
+        text.append(input, position + 1, position + 3);
+        position += 3;
+        continue;
       }
-     // Determine which pattern comes first
-      int varStart = foundVar ? varMatcher.start() : input.length();
-      int exprStart = foundExpr ? exprMatcher.start() : input.length();
-
-      if (varStart < exprStart) {
-       // Handle variable reference
-        if (currentPos < varStart) {
-          parts.add(new StaticResolvableValue(input.substring(currentPos, varStart)));
+      if (ch == '{' && position >= varSearchLimit && isDelimiter(input, position, '{')) {
+        int end = findVariableEnd(input, position + 2);
+        if (end > 0) {
+          addText(parts, text);
+          parts.add(new VariableResolvableValue(input.substring(position + 2, end)));
+          position = end + 2;
+          continue;
         }
-        parts.add(new VariableResolvableValue(varMatcher.group(1)));
-        currentPos = varMatcher.end();
-      } else {
-       // Handle expression
-        if (currentPos < exprStart) {
-          parts.add(new StaticResolvableValue(input.substring(currentPos, exprStart)));
+        varSearchLimit = -end;
+      } else if (ch == '[' && position >= exprSearchLimit && isDelimiter(input, position, '[')) {
+        int end = findExpressionEnd(input, position + 2);
+        if (end > 0) {
+          addText(parts, text);
+          parts.add(new ExpressionResolvableValue(input.substring(position + 2, end)));
+          position = end + 2;
+          continue;
         }
-        parts.add(new ExpressionResolvableValue(exprMatcher.group(1)));
-        currentPos = exprMatcher.end();
+        exprSearchLimit = -end;
       }
+      text.append(ch);
+      position++;
+    }
+    if (!text.isEmpty() || parts.isEmpty()) {
+      parts.add(new StaticResolvableValue(text.toString()));
     }
     return parts;
   }
+
+  private static boolean isDelimiter(String input, int position, char ch) {
+    return position + 1 < input.length()
+        && input.charAt(position) == ch
+        && input.charAt(position + 1) == ch;
+  }
+
+  /**
+   * Finds the closing braces of a variable reference, which must follow the first closing brace
+   * after at least one other character.
+   *
+   * @return index of the closing braces, or if there are none, the negated position before which
+   *     no reference can close
+   */
+  private static int findVariableEnd(String input, int start) {
+    int end = input.indexOf('}', start);
+    if (end < 0) {
+      return -input.length();
+    }
+    if (end > start && end + 1 < input.length() && input.charAt(end + 1) == '}') {
+      return end;
+    }
+    return -(end + 1);
+  }
+
+  /**
+   * Finds the closing brackets of an expression, which are the first closing brackets after at
+   * least one character, within the same line.
+   *
+   * @return index of the closing brackets, or if there are none, the negated position before
+   *     which no expression can close
+   */
+  private static int findExpressionEnd(String input, int start) {
+    for (int position = start + 1; position < input.length(); position++) {
+      char ch = input.charAt(position - 1);
+      if (isLineTerminator(ch)) {
+        return -position;
+      }
+      if (isDelimiter(input, position, ']')) {
+        return position;
+      }
+    }
+    return -input.length();
+  }
+
+  private static boolean isLineTerminator(char ch) {
+    return ch == '\n' || ch == '\r' || ch == '\u0085' || ch == '\u2028' || ch == '\u2029';
+  }
+
+  private static void addText(List<ResolvableValue> parts, StringBuilder text) {
+    if (!text.isEmpty()) {
+      parts.add(new StaticResolvableValue(text.toString()));
+      text.setLength(0);
+    }
+  }
 }
@@ -7,19 +7,31 @@
 */
 package com.upo.orchestrator.engine.models;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import com.alibaba.fastjson2.annotation.JSONField;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
 import com.upo.orchestrator.engine.services.ProcessServices;
-import com.upo.utilities.json.Utils;
 
 /**
  * Represents the environment in which processes execute. Provides access to environment variables,
  * execution context, and process services needed for process execution. This environment is shared
  * across all process instances running in the same execution context.
+ *
+ * <p>An environment is created with its root instance and saved once to the {@link
+ * ProcessEnvStore}, under the id of that instance. Instances forked or started as sub-processes
+ * from it reference the same environment by id instead of carrying a copy. Saved environments are
+ * {@link #freeze() frozen} and shared by all the instances reading them, which never use them
+ * directly: every instance gets an environment of its own over the shared one, through {@link
+ * #ProcessEnv(ProcessEnv, ProcessServices)}, holding its services and a copy of the session.
  */
 public class ProcessEnv {
 
+  /** Identifier of the environment, the id of the root instance it was created for */
+  private String id;
+
   /**
    * Environment variables that are constant across process executions. These typically include: -
    * Configuration values - System properties - Deployment settings - Environment-specific constants
@@ -61,11 +73,69 @@ public class ProcessEnv {
   @JSONField(serialize = false, deserialize = false)
   private ProcessServices processServices;
 
+  /** Whether the environment is shared and can no longer be modified */
+  @JSONField(serialize = false, deserialize = false)
+  private boolean frozen;
+
+  public ProcessEnv() {}
+
+  /**
+   * Creates the environment of an instance over a shared environment. Environment variables and
+   * context are shared with it, while the session is copied, so that the instance changing it
+   * doesn't affect the other instances.
+   *
+   * @param processEnv environment to create the environment of the instance over
+   * @param processServices services of the instance
+   */
+  public ProcessEnv(ProcessEnv processEnv, ProcessServices processServices) {
+    this.id = processEnv.id;
+    this.env = processEnv.env;
+    this.context = processEnv.context;
+    this.session = processEnv.session != null ? new HashMap<>(processEnv.session) : null;
+    this.processServices = processServices;
+  }
+
+  /**
+   * Creates the environment of another instance over the same environment, with the same services.
+   *
+   * @param processEnv environment of the instance to create another one like
+   */
+  public ProcessEnv(ProcessEnv processEnv) {
+    this(processEnv, processEnv.processServices);
+  }
+
+  /**
+   * Makes the environment unmodifiable, before it is shared by several instances. Services aren't
+   * part of shared environments.
+   *
+   * @return this environment
+   */
+  public ProcessEnv freeze() {
+    if (!frozen) {
+      env = freeze(env);
+      context = freeze(context);
+      session = freeze(session);
+      processServices = null;
+      frozen = true;
+    }
+    return this;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    checkNotFrozen();
+    this.id = id;
+  }
+
   public Map<String, Object> getEnv() {
     return env;
   }
 
   public void setEnv(Map<String, Object> env) {
+    checkNotFrozen();
     this.env = env;
   }
 
@@ -74,6 +144,7 @@ public class ProcessEnv {
   }
 
   public void setContext(Map<String, Object> context) {
+    checkNotFrozen();
     this.context = context;
   }
 
@@ -82,6 +153,7 @@ public class ProcessEnv {
   }
 
   public void setSession(Map<String, Object> session) {
+    checkNotFrozen();
     this.session = session;
   }
 
@@ -90,19 +162,17 @@ public class ProcessEnv {
   }
 
   public void setProcessServices(ProcessServices processServices) {
+    checkNotFrozen();
     this.processServices = processServices;
   }
 
-  public ProcessEnv copy() {
-    ProcessEnv clone = new ProcessEnv();
-    clone.setEnv(copyMap(env));
-    clone.setContext(copyMap(context));
-    clone.setSession(copyMap(session));
-    clone.setProcessServices(processServices);
-    return clone;
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException("process env is shared and cannot be modified: " + id);
+    }
   }
 
-  private static Map<String, Object> copyMap(Map<String, Object> toCopy) {
-    return Utils.deepCopyViaJson(toCopy, Utils.GENERIC_JSON_MAP_TYPE);
+  private static Map<String, Object> freeze(Map<String, Object> map) {
+    return map != null ? Collections.unmodifiableMap(map) : null;
   }
 }
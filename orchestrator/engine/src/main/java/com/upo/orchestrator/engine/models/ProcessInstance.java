@@ -7,12 +7,17 @@
 */
 package com.upo.orchestrator.engine.models;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import com.alibaba.fastjson2.annotation.JSONField;
 import com.upo.orchestrator.engine.ProcessDetails;
 import com.upo.orchestrator.engine.ProcessFlowStatus;
 import com.upo.orchestrator.engine.ProcessOutcomeSink;
 import com.upo.orchestrator.engine.VariableContainer;
 import com.upo.orchestrator.engine.impl.VariableContainerImpl;
+import com.upo.orchestrator.engine.impl.VariableScope;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
 import com.upo.utilities.json.Utils;
 
 /**
@@ -22,6 +27,7 @@ import com.upo.utilities.json.Utils;
 public class ProcessInstance {
 
   public static final String STATUS = "status";
+  public static final String VERSION = "version";
 
   /** Unique identifier for this process instance. */
   private String id;
@@ -62,6 +68,9 @@ public class ProcessInstance {
   /** Status of current task */
   private ProcessFlowStatus status;
 
+  /** Number of times this instance was saved conditionally, compared instead of its status. */
+  private long version;
+
   /** ID of the currently executing task. */
   private String currTaskId;
 
@@ -87,13 +96,24 @@ public class ProcessInstance {
   /** ID of the previously executed task. */
   private String prevTaskId;
 
-  /** Environment containing execution context and services. */
+  /** ID of the environment, shared by the root instance and all its descendants. */
+  private String processEnvId;
+
+  /**
+   * Environment containing execution context and services, stored once in the {@link
+   * ProcessEnvStore} and restored by id when the instance is loaded.
+   */
+  @JSONField(serialize = false, deserialize = false)
   private ProcessEnv processEnv;
 
   /** Variables produced and consumed during process execution. */
   @JSONField(serialize = false, deserialize = false)
   private VariableContainer variableContainer;
 
+  /** Scope reused to overlay temporary variables on the container, see {@link VariableScope} */
+  @JSONField(serialize = false, deserialize = false)
+  private VariableScope variableScope;
+
   /** input passed for this instance */
   @JSONField(serialize = false, deserialize = false)
   private Object input;
@@ -102,6 +122,10 @@ public class ProcessInstance {
   @JSONField(serialize = false, deserialize = false)
   private ProcessOutcomeSink sink;
 
+  /** Serialized fields changed since the instance was last read or saved. */
+  @JSONField(serialize = false, deserialize = false)
+  private final Set<String> dirtyFields = new HashSet<>();
+
   public ProcessInstance() {}
 
   public ProcessInstance(ProcessInstance processInstance) {
@@ -117,6 +141,7 @@ public class ProcessInstance {
     this.startTime = processInstance.startTime;
     this.endTime = processInstance.endTime;
     this.status = processInstance.status;
+    this.version = processInstance.version;
     this.currTaskId = processInstance.currTaskId;
     this.taskCount = processInstance.taskCount;
     this.taskCountSinceLastFlush = 0L;
@@ -125,9 +150,12 @@ public class ProcessInstance {
     this.currentTaskEndTime = processInstance.currentTaskEndTime;
     this.currentTaskInvocationTime = processInstance.currentTaskInvocationTime;
     this.prevTaskId = processInstance.prevTaskId;
-    this.processEnv = processInstance.processEnv.copy();
+    this.processEnvId = processInstance.processEnvId;
     VariableContainerImpl container = new VariableContainerImpl();
-    container.addProcessEnvVariables(this.processEnv);
+    if (processInstance.processEnv != null) {
+      this.processEnv = new ProcessEnv(processInstance.processEnv);
+      container.addProcessEnvVariables(this.processEnv);
+    }
     this.variableContainer = container;
     this.input = processInstance.input;
     if (processInstance.sink != null) {
@@ -147,6 +175,7 @@ public class ProcessInstance {
 
   public void setId(String id) {
     this.id = id;
+    dirtyFields.add("id");
   }
 
   public String getRootId() {
@@ -155,6 +184,7 @@ public class ProcessInstance {
 
   public void setRootId(String rootId) {
     this.rootId = rootId;
+    dirtyFields.add("rootId");
   }
 
   public String getParentId() {
@@ -163,6 +193,7 @@ public class ProcessInstance {
 
   public void setParentId(String parentId) {
     this.parentId = parentId;
+    dirtyFields.add("parentId");
   }
 
   public String getProcessId() {
@@ -171,6 +202,7 @@ public class ProcessInstance {
 
   public void setProcessId(String processId) {
     this.processId = processId;
+    dirtyFields.add("processId");
   }
 
   public String getProcessSnapshotId() {
@@ -179,6 +211,7 @@ public class ProcessInstance {
 
   public void setProcessSnapshotId(String processRuntimeId) {
     this.processSnapshotId = processRuntimeId;
+    dirtyFields.add("processSnapshotId");
   }
 
   public String getProcessVersion() {
@@ -187,6 +220,7 @@ public class ProcessInstance {
 
   public void setProcessVersion(String processVersion) {
     this.processVersion = processVersion;
+    dirtyFields.add("processVersion");
   }
 
   public String getExecutionStrategy() {
@@ -195,6 +229,7 @@ public class ProcessInstance {
 
   public void setExecutionStrategy(String executionStrategy) {
     this.executionStrategy = executionStrategy;
+    dirtyFields.add("executionStrategy");
   }
 
   public boolean isConcurrent() {
@@ -203,6 +238,7 @@ public class ProcessInstance {
 
   public void setConcurrent(boolean concurrent) {
     this.concurrent = concurrent;
+    dirtyFields.add("concurrent");
   }
 
   public String getTerminateAtTaskId() {
@@ -211,6 +247,7 @@ public class ProcessInstance {
 
   public void setTerminateAtTaskId(String terminateAtTaskId) {
     this.terminateAtTaskId = terminateAtTaskId;
+    dirtyFields.add("terminateAtTaskId");
   }
 
   public Long getStartTime() {
@@ -219,6 +256,7 @@ public class ProcessInstance {
 
   public void setStartTime(Long startTime) {
     this.startTime = startTime;
+    dirtyFields.add("startTime");
   }
 
   public Long getEndTime() {
@@ -227,6 +265,7 @@ public class ProcessInstance {
 
   public void setEndTime(Long endTime) {
     this.endTime = endTime;
+    dirtyFields.add("endTime");
   }
 
   public ProcessFlowStatus getStatus() {
@@ -235,6 +274,16 @@ public class ProcessInstance {
 
   public void setStatus(ProcessFlowStatus status) {
     this.status = status;
+    dirtyFields.add("status");
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+    dirtyFields.add("version");
   }
 
   public String getCurrTaskId() {
@@ -243,6 +292,7 @@ public class ProcessInstance {
 
   public void setCurrTaskId(String currTaskId) {
     this.currTaskId = currTaskId;
+    dirtyFields.add("currTaskId");
   }
 
   public Long getCurrentTaskStartTime() {
@@ -251,6 +301,7 @@ public class ProcessInstance {
 
   public void setCurrentTaskStartTime(Long currentTaskStartTime) {
     this.currentTaskStartTime = currentTaskStartTime;
+    dirtyFields.add("currentTaskStartTime");
   }
 
   public Long getCurrentTaskSignalTime() {
@@ -259,6 +310,7 @@ public class ProcessInstance {
 
   public void setCurrentTaskSignalTime(Long currentTaskSignalTime) {
     this.currentTaskSignalTime = currentTaskSignalTime;
+    dirtyFields.add("currentTaskSignalTime");
   }
 
   public Long getCurrentTaskEndTime() {
@@ -267,6 +319,7 @@ public class ProcessInstance {
 
   public void setCurrentTaskEndTime(Long currentTaskEndTime) {
     this.currentTaskEndTime = currentTaskEndTime;
+    dirtyFields.add("currentTaskEndTime");
   }
 
   public Long getCurrentTaskInvocationTime() {
@@ -275,6 +328,7 @@ public class ProcessInstance {
 
   public void setCurrentTaskInvocationTime(Long currentTaskInvocationTime) {
     this.currentTaskInvocationTime = currentTaskInvocationTime;
+    dirtyFields.add("currentTaskInvocationTime");
   }
 
   public String getPrevTaskId() {
@@ -283,6 +337,16 @@ public class ProcessInstance {
 
   public void setPrevTaskId(String prevTaskId) {
     this.prevTaskId = prevTaskId;
+    dirtyFields.add("prevTaskId");
+  }
+
+  public String getProcessEnvId() {
+    return processEnvId;
+  }
+
+  public void setProcessEnvId(String processEnvId) {
+    this.processEnvId = processEnvId;
+    dirtyFields.add("processEnvId");
   }
 
   public ProcessEnv getProcessEnv() {
@@ -301,12 +365,21 @@ public class ProcessInstance {
     this.variableContainer = variableContainer;
   }
 
+  public VariableScope getVariableScope() {
+    return variableScope;
+  }
+
+  public void setVariableScope(VariableScope variableScope) {
+    this.variableScope = variableScope;
+  }
+
   public Long getTaskCount() {
     return taskCount;
   }
 
   public void setTaskCount(Long taskCount) {
     this.taskCount = taskCount;
+    dirtyFields.add("taskCount");
   }
 
   public Long getTaskCountSinceLastFlush() {
@@ -319,6 +392,7 @@ public class ProcessInstance {
 
   public long incrementTaskCount() {
     taskCount++;
+    dirtyFields.add("taskCount");
     return taskCountSinceLastFlush++;
   }
 
@@ -338,6 +412,18 @@ public class ProcessInstance {
     this.sink = sink;
   }
 
+  /**
+   * Returns the serialized fields set since the instance was last read or saved, allowing stores to
+   * write only those.
+   */
+  public Set<String> getDirtyFields() {
+    return dirtyFields;
+  }
+
+  public void clearDirtyFields() {
+    dirtyFields.clear();
+  }
+
   public ProcessDetails toProcessDetails() {
     return new ProcessDetails() {
       @Override
@@ -7,6 +7,8 @@
 */
 package com.upo.orchestrator.engine.services;
 
+import java.util.function.Supplier;
+
 import com.upo.orchestrator.engine.ProcessOutcome;
 import com.upo.orchestrator.engine.Signal;
 import com.upo.orchestrator.engine.models.ProcessInstance;
@@ -79,4 +81,16 @@ public interface ExecutionLifecycleManager {
    * @param outcome The final outcome of the process execution
    */
   void notifyCompletion(ProcessInstance processInstance, ProcessOutcome outcome);
+
+  /**
+   * Runs the given action, holding back lifecycle events it raises on the current thread and
+   * publishing them together once the action returns or fails. Implementations without a cheaper
+   * bulk publish may simply run the action, which is the default.
+   *
+   * @param action The action whose events should be published as one batch
+   * @return The result of the action
+   */
+  default <T> T publishBatched(Supplier<T> action) {
+    return action.get();
+  }
 }
@@ -0,0 +1,68 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.services;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import com.upo.orchestrator.engine.models.ProcessEnv;
+
+/**
+ * Store interface for the environments of process instances. An environment is saved once with its
+ * root instance and read by every instance descending from it, which only store its id.
+ * Environments are {@link ProcessEnv#freeze() frozen} once saved or read, so implementations may
+ * cache them freely; instances use environments of their own over them.
+ *
+ * <p>An environment is kept while any instance using it is alive, as descendants may outlive their
+ * root: the root holds it once saved, children are {@link #retain retained} before being saved and
+ * every instance {@link #release releases} it when cleaned up.
+ */
+public interface ProcessEnvStore {
+
+  /**
+   * Saves a process environment under its id, freezing it. The instance of the same id, for which
+   * the environment is saved, holds it until released.
+   *
+   * @param processEnv the process environment to save
+   * @return true if save was successful, false otherwise
+   */
+  boolean save(ProcessEnv processEnv);
+
+  /**
+   * Finds a process environment by its id.
+   *
+   * @param id unique identifier of the process environment
+   * @return the frozen process environment if found
+   */
+  Optional<ProcessEnv> findById(String id);
+
+  /**
+   * Registers instances as holding a process environment, keeping it until they release it.
+   *
+   * @param id unique identifier of the process environment
+   * @param instanceIds ids of the instances holding the environment
+   */
+  void retain(String id, Collection<String> instanceIds);
+
+  /**
+   * Releases a process environment held by an instance, deleting it once no instance holds it.
+   *
+   * @param id unique identifier of the process environment
+   * @param instanceId id of the instance releasing the environment
+   * @return true if the environment was deleted, false if other instances still hold it
+   */
+  boolean release(String id, String instanceId);
+
+  /**
+   * Deletes a process environment, regardless of the instances holding it.
+   *
+   * @param id unique identifier of the process environment
+   * @return true if the environment was deleted, false otherwise
+   */
+  boolean deleteById(String id);
+}
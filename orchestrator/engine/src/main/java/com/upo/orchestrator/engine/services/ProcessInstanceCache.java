@@ -0,0 +1,55 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.services;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import com.upo.orchestrator.engine.models.ProcessInstance;
+
+/**
+ * Worker-local cache of process instances waiting for a signal, together with their materialized
+ * variable containers. The {@link ProcessInstanceStore} remains the source of truth and is always
+ * written through; the cache only saves reading and rebuilding an instance this worker has just
+ * executed.
+ *
+ * <p>Entries are only valid while this worker exclusively executes the instance, so they must be
+ * invalidated whenever that ownership may have moved elsewhere.
+ */
+public interface ProcessInstanceCache {
+
+  /**
+   * Removes and returns the cached instance. An instance taken for execution is not visible to
+   * other callers until it is put back.
+   *
+   * @param processInstanceId unique identifier of the process instance
+   * @return the cached instance if present
+   */
+  Optional<ProcessInstance> take(String processInstanceId);
+
+  /**
+   * Caches an instance whose state has been saved to the store.
+   *
+   * @param processInstance the process instance to cache
+   */
+  void put(ProcessInstance processInstance);
+
+  /**
+   * Drops the cached instance if present.
+   *
+   * @param processInstanceId unique identifier of the process instance
+   */
+  void invalidate(String processInstanceId);
+
+  /**
+   * Drops all cached instances whose identifier matches the filter.
+   *
+   * @param processInstanceIdFilter filter on process instance identifiers
+   */
+  void invalidateIf(Predicate<String> processInstanceIdFilter);
+}
@@ -13,6 +13,7 @@ import java.util.Set;
 
 import com.upo.orchestrator.engine.ProcessFlowStatus;
 import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.models.ProcessVariable;
 
 /**
  * Store interface for persisting and retrieving process instances. Provides operations to manage
@@ -45,6 +46,31 @@ public interface ProcessInstanceStore {
    */
   boolean save(ProcessInstance processInstance, ProcessFlowStatus expectedStatus);
 
+  /**
+   * Saves or updates a process instance in the store if in expected status, together with its new
+   * variables. Stores sharing their backend with the variable store write both atomically; by
+   * default the variables are saved after the instance.
+   *
+   * @param processInstance the process instance to save
+   * @param expectedStatus expected status of the stored process instance
+   * @param newVariables new variables of the instance, with their ids initialized
+   * @param variableStore store the new variables are saved in
+   * @return true if save was successful, false otherwise
+   */
+  default boolean save(
+      ProcessInstance processInstance,
+      ProcessFlowStatus expectedStatus,
+      Collection<ProcessVariable> newVariables,
+      VariableStore variableStore) {
+    if (!save(processInstance, expectedStatus)) {
+      return false;
+    }
+    if (!newVariables.isEmpty()) {
+      variableStore.saveMany(newVariables);
+    }
+    return true;
+  }
+
   /**
    * Retrieves a process instance by its identifier.
    *
@@ -0,0 +1,31 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.services;
+
+import com.upo.orchestrator.api.domain.TaskDefinition;
+import com.upo.orchestrator.engine.ProcessRuntime;
+import com.upo.orchestrator.engine.TaskRuntime;
+
+/**
+ * Creates task runtimes for task definitions, based on the task's operator and configuration. The
+ * factory only applies operator specific configuration; inputs, skip condition and transitions are
+ * wired by the process runtime while compiling its execution plan.
+ */
+public interface TaskRuntimeFactory {
+
+  /**
+   * Creates the runtime of a task. Other task runtimes of the process must not be looked up here,
+   * as they may not exist yet; runtimes needing them should resolve them lazily through the parent.
+   *
+   * @param processRuntime The process runtime owning the task
+   * @param taskDefinition The definition of the task
+   * @return runtime of the task
+   * @throws IllegalArgumentException if the task definition is not supported or invalid
+   */
+  TaskRuntime create(ProcessRuntime processRuntime, TaskDefinition taskDefinition);
+}
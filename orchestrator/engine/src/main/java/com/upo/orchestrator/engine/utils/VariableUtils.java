@@ -13,6 +13,7 @@ import java.util.Set;
 
 import com.upo.orchestrator.engine.Variable;
 import com.upo.orchestrator.engine.VariableContainer;
+import com.upo.orchestrator.engine.models.ProcessEnv;
 import com.upo.orchestrator.engine.models.ProcessInstance;
 import com.upo.orchestrator.engine.models.ProcessVariable;
 import com.upo.orchestrator.engine.services.ProcessInstanceStore;
@@ -97,7 +98,7 @@ public class VariableUtils {
         .map(
             parentInstance -> {
               parentInstance.setVariableContainer(variableContainer);
-              parentInstance.getProcessEnv().setProcessServices(processServices);
+              parentInstance.setProcessEnv(new ProcessEnv(processInstance.getProcessEnv()));
               return parentInstance;
             })
         .orElse(null);
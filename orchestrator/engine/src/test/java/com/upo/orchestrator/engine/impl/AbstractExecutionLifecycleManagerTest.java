@@ -0,0 +1,158 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+
+public class AbstractExecutionLifecycleManagerTest {
+
+  private RecordingLifecycleManager lifecycleManager;
+
+  @BeforeEach
+  void setUp() {
+    lifecycleManager = new RecordingLifecycleManager();
+  }
+
+  @Test
+  @DisplayName("Should publish events right away outside of a batch")
+  void testPublishWithoutBatch() {
+    lifecycleManager.executeFromTask("instance-1", "task-1");
+
+    assertEquals(List.of("instance-1"), lifecycleManager.handled);
+    assertTrue(lifecycleManager.batches.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should hold back events until the batch returns and publish them in order")
+  void testPublishBatched() {
+    String result =
+        lifecycleManager.publishBatched(
+            () -> {
+              lifecycleManager.executeFromTask("instance-1", "task-1");
+              lifecycleManager.executeFromTask("instance-2", "task-1");
+              assertTrue(lifecycleManager.batches.isEmpty());
+              return "done";
+            });
+
+    assertEquals("done", result);
+    assertEquals(List.of(List.of("instance-1", "instance-2")), lifecycleManager.batches);
+  }
+
+  @Test
+  @DisplayName("Should publish events of nested batches with the outermost batch")
+  void testNestedBatches() {
+    lifecycleManager.publishBatched(
+        () -> {
+          lifecycleManager.executeFromTask("instance-1", "task-1");
+          lifecycleManager.publishBatched(
+              () -> {
+                lifecycleManager.executeFromTask("instance-2", "task-1");
+                return null;
+              });
+          assertTrue(lifecycleManager.batches.isEmpty());
+          return null;
+        });
+
+    assertEquals(List.of(List.of("instance-1", "instance-2")), lifecycleManager.batches);
+  }
+
+  @Test
+  @DisplayName("Should not publish anything for batches without events")
+  void testEmptyBatch() {
+    assertEquals("done", lifecycleManager.publishBatched(() -> "done"));
+    assertTrue(lifecycleManager.batches.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should publish events raised before the action failed and rethrow its failure")
+  void testFailedAction() {
+    IllegalStateException failure = new IllegalStateException("task failed");
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                lifecycleManager.publishBatched(
+                    () -> {
+                      lifecycleManager.executeFromTask("instance-1", "task-1");
+                      throw failure;
+                    }));
+
+    assertSame(failure, thrown);
+    assertEquals(0, thrown.getSuppressed().length);
+    assertEquals(List.of(List.of("instance-1")), lifecycleManager.batches);
+  }
+
+  @Test
+  @DisplayName("Should keep the failure of the action when publishing its events fails too")
+  void testFailedActionAndPublish() {
+    IllegalStateException failure = new IllegalStateException("task failed");
+    IllegalStateException publishFailure = new IllegalStateException("publish failed");
+    lifecycleManager.publishFailure = publishFailure;
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                lifecycleManager.publishBatched(
+                    () -> {
+                      lifecycleManager.executeFromTask("instance-1", "task-1");
+                      throw failure;
+                    }));
+
+    assertSame(failure, thrown);
+    assertArrayEquals(new Throwable[] {publishFailure}, thrown.getSuppressed());
+  }
+
+  @Test
+  @DisplayName("Should fail a successful action when publishing its events fails")
+  void testFailedPublish() {
+    IllegalStateException publishFailure = new IllegalStateException("publish failed");
+    lifecycleManager.publishFailure = publishFailure;
+
+    IllegalStateException thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                lifecycleManager.publishBatched(
+                    () -> {
+                      lifecycleManager.executeFromTask("instance-1", "task-1");
+                      return null;
+                    }));
+
+    assertSame(publishFailure, thrown);
+  }
+
+  private static class RecordingLifecycleManager extends AbstractExecutionLifecycleManager {
+    private final List<String> handled = new ArrayList<>();
+    private final List<List<String>> batches = new ArrayList<>();
+    private RuntimeException publishFailure;
+
+    @Override
+    protected void handleEvent(LifecycleEvent lifecycleEvent) {
+      handled.add(lifecycleEvent.getPartitionKey());
+    }
+
+    @Override
+    protected void handleEvents(List<LifecycleEvent> lifecycleEvents) {
+      if (publishFailure != null) {
+        throw publishFailure;
+      }
+      batches.add(lifecycleEvents.stream().map(LifecycleEvent::getPartitionKey).toList());
+    }
+  }
+}
@@ -12,6 +12,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -144,6 +145,33 @@ public class ArrayToMapTransformResolverTest {
     assertEquals("second", resultMap.get("user"));
   }
 
+  @Test
+  @DisplayName("Should build maps of large arrays in parallel keeping the entry order")
+  void testParallelTransform() {
+    List<Map<String, Object>> sourceData = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      sourceData.add(Map.of("key", "k" + (i % 3000), "value", i));
+    }
+    JsonPath sourcePath = JsonPath.create("task.input.records");
+    when(variableContainer.readVariable(sourcePath)).thenReturn(sourceData);
+
+    Map<String, Object> transformDef = new LinkedHashMap<>();
+    transformDef.put("__@type", "arrayToMapTransformer");
+    transformDef.put("source", "{{task.input.records}}");
+    transformDef.put("key", "{{item.key}}");
+    transformDef.put("value", "{{item.value}}");
+    transformDef.put("parallel", true);
+    transformDef.put("parallelThreshold", 1000);
+
+    Object result = resolver.resolve(transformDef).evaluate(processInstance);
+
+    Map<Object, Object> expected = new LinkedHashMap<>();
+    for (Map<String, Object> record : sourceData) {
+      expected.put(record.get("key"), record.get("value"));
+    }
+    assertEquals(List.copyOf(expected.entrySet()), List.copyOf(((Map<?, ?>) result).entrySet()));
+  }
+
   @Test
   @DisplayName("Should skip null keys")
   void testNullKeys() {
@@ -12,6 +12,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -140,6 +141,35 @@ public class ArrayTransformResolverTest {
     assertEquals(220.0f, secondItem.get("total"));
   }
 
+  @Test
+  @DisplayName("Should transform large arrays in parallel keeping the order")
+  void testParallelTransform() {
+    List<Map<String, Object>> sourceData = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      sourceData.add(Map.of("id", i));
+    }
+    JsonPath sourcePath = JsonPath.create("task.input.records");
+    when(variableContainer.readVariable(sourcePath)).thenReturn(sourceData);
+
+    Map<String, Object> transformDef = new LinkedHashMap<>();
+    transformDef.put("__@type", "arrayTransformer");
+    transformDef.put("source", "{{task.input.records}}");
+    transformDef.put("item", "[[{{item.id}} % 7 == 0 ? null : {{item.id}} * 2]]");
+    transformDef.put("parallel", true);
+    transformDef.put("parallelThreshold", 1000);
+
+    Object result = resolver.resolve(transformDef).evaluate(processInstance);
+
+    List<Object> expected = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      if (i % 7 != 0) {
+        expected.add(i * 2);
+      }
+    }
+    assertEquals(expected, result);
+    assertSame(variableContainer, processInstance.getVariableContainer());
+  }
+
   @Test
   @DisplayName("Should use default source with null when source not specified - Array Transform")
   void testDefaultSourceArrayTransform() {
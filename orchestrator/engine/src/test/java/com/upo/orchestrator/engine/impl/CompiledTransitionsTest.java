@@ -0,0 +1,175 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.api.domain.TransitionType;
+import com.upo.orchestrator.engine.TaskRuntime;
+import com.upo.orchestrator.engine.Transition;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.models.ProcessEnv;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.InputValueResolver;
+import com.upo.utilities.filter.api.EqualsFilter;
+import com.upo.utilities.filter.api.Filter;
+import com.upo.utilities.filter.api.InFilter;
+import com.upo.utilities.filter.api.RangeFilter;
+import com.upo.utilities.filter.impl.FilterEvaluator;
+
+public class CompiledTransitionsTest {
+
+  private static final String TYPE_FIELD = "{{start.output.type}}";
+  private static final String AMOUNT_FIELD = "{{start.output.amount}}";
+
+  private InputValueResolver inputValueResolver;
+  private List<com.upo.orchestrator.api.domain.Transition> definitions;
+  private List<Transition> transitions;
+
+  @BeforeEach
+  void setUp() {
+    inputValueResolver = new DefaultInputValueResolver();
+    definitions = new ArrayList<>();
+    transitions = new ArrayList<>();
+  }
+
+  @Test
+  @DisplayName("Should dispatch EQUALS and IN branches on one field through a table")
+  void testKeyTable() {
+    addConditional("a", new EqualsFilter(TYPE_FIELD, "A"));
+    addConditional("b", new InFilter(TYPE_FIELD, List.of("B", "C")));
+    addConditional("c", new EqualsFilter(TYPE_FIELD, "C"));
+    addConditional("one", new EqualsFilter(TYPE_FIELD, 1));
+    addDefault("fallback");
+    List<Transition> compiled = compile();
+
+    assertInstanceOf(CompiledTransitions.class, compiled);
+    assertEquals(transitions, compiled);
+    assertMatch(compiled, "a", "A");
+    assertMatch(compiled, "b", "C");
+    assertMatch(compiled, "one", 1L);
+    assertMatch(compiled, "b", List.of("D", "C"));
+    assertMatch(compiled, "a", List.of("C", "A"));
+    assertMatch(compiled, null, "D");
+  }
+
+  @Test
+  @DisplayName("Should keep definition order around non-tabled predicates")
+  void testFirstMatchOrder() {
+    addConditional("amount", new RangeFilter(AMOUNT_FIELD, 100, null, true, false));
+    addConditional("a", new EqualsFilter(TYPE_FIELD, "A"));
+    addConditional("b", new EqualsFilter(TYPE_FIELD, "B"));
+    addConditional("c", new EqualsFilter(TYPE_FIELD, "C"));
+    addConditional("unconditional", null);
+    List<Transition> compiled = compile();
+
+    assertEquals("amount", matchFor(compiled, Map.of("type", "A", "amount", 150)));
+    assertEquals("a", matchFor(compiled, Map.of("type", "A", "amount", 50)));
+    assertEquals("unconditional", matchFor(compiled, Map.of("type", "D", "amount", 50)));
+  }
+
+  @Test
+  @DisplayName("Should look up disjoint ranges honouring inclusive and exclusive bounds")
+  void testRangeTable() {
+    addConditional("low", new RangeFilter(AMOUNT_FIELD, null, 100, false, true));
+    addConditional("mid", new RangeFilter(AMOUNT_FIELD, 100, 1000, false, false));
+    addConditional("high", new RangeFilter(AMOUNT_FIELD, 1000, null, true, false));
+    List<Transition> compiled = compile();
+
+    assertInstanceOf(CompiledTransitions.class, compiled);
+    assertEquals("low", matchFor(compiled, Map.of("amount", 100)));
+    assertEquals("mid", matchFor(compiled, Map.of("amount", 100.5)));
+    assertEquals("high", matchFor(compiled, Map.of("amount", 1000L)));
+  }
+
+  @Test
+  @DisplayName("Should fall back to predicates for values the table can't compare")
+  void testFallback() {
+    addConditional("one", new EqualsFilter(TYPE_FIELD, 1));
+    addConditional("two", new EqualsFilter(TYPE_FIELD, 2));
+    addConditional("three", new EqualsFilter(TYPE_FIELD, 3));
+    List<Transition> compiled = compile();
+
+    assertMatch(compiled, "two", 2.0d);
+  }
+
+  @Test
+  @DisplayName("Should not build tables for few branches")
+  void testFewBranches() {
+    addConditional("a", new EqualsFilter(TYPE_FIELD, "A"));
+    addConditional("b", new EqualsFilter(TYPE_FIELD, "B"));
+    List<Transition> compiled = compile();
+
+    assertFalse(compiled instanceof CompiledTransitions);
+    assertMatch(compiled, "b", "B");
+  }
+
+  private void assertMatch(List<Transition> compiled, String expectedTaskId, Object type) {
+    assertEquals(expectedTaskId, matchFor(compiled, Map.of("type", type)));
+    assertEquals(expectedTaskId, matchFor(transitions, Map.of("type", type)));
+  }
+
+  private String matchFor(List<Transition> compiled, Map<String, Object> output) {
+    VariableContainerImpl variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable("start", Variable.Type.OUTPUT, output);
+    ProcessEnv processEnv = new ProcessEnv();
+    processEnv.setProcessServices(new ProcessServicesImpl());
+    ProcessInstance processInstance = new ProcessInstance();
+    processInstance.setProcessEnv(processEnv);
+    processInstance.setVariableContainer(variableContainer);
+    Transition match = CompiledTransitions.findFirstConditionalMatch(processInstance, compiled);
+    return match != null ? ((TestTransition) match).nextTaskId() : null;
+  }
+
+  private List<Transition> compile() {
+    return CompiledTransitions.compile(definitions, transitions, inputValueResolver);
+  }
+
+  private void addConditional(String nextTaskId, Filter filter) {
+    add(TransitionType.CONDITIONAL, nextTaskId, filter);
+  }
+
+  private void addDefault(String nextTaskId) {
+    add(TransitionType.DEFAULT, nextTaskId, null);
+  }
+
+  private void add(TransitionType type, String nextTaskId, Filter filter) {
+    definitions.add(new TestDefinition(type, nextTaskId, Optional.ofNullable(filter)));
+    transitions.add(
+        new TestTransition(
+            type,
+            nextTaskId,
+            Optional.ofNullable(filter)
+                .map(f -> ProcessFilterEvaluatorFactory.createEvaluator(f, inputValueResolver))));
+  }
+
+  private record TestDefinition(
+      TransitionType getType, String getNextTaskId, Optional<Filter> getPredicate)
+      implements com.upo.orchestrator.api.domain.Transition {}
+
+  private record TestTransition(
+      TransitionType getType,
+      String nextTaskId,
+      Optional<FilterEvaluator<ProcessInstance>> getPredicate)
+      implements Transition {
+
+    @Override
+    public TaskRuntime getNextTaskRuntime() {
+      return null;
+    }
+  }
+}
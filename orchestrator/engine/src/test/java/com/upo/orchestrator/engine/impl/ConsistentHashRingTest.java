@@ -0,0 +1,81 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.distributed.ConsistentHashRing;
+
+public class ConsistentHashRingTest {
+
+  private static final int PARTITIONS = 1024;
+  private static final int VIRTUAL_NODES = 64;
+
+  @Test
+  @DisplayName("Should return null owner for empty ring")
+  void testEmptyRing() {
+    assertNull(new ConsistentHashRing(List.of(), VIRTUAL_NODES).getOwner(0));
+  }
+
+  @Test
+  @DisplayName("Should assign every partition deterministically")
+  void testDeterministicAssignment() {
+    List<String> members = List.of("worker-a", "worker-b", "worker-c");
+    ConsistentHashRing first = new ConsistentHashRing(members, VIRTUAL_NODES);
+    ConsistentHashRing second =
+        new ConsistentHashRing(List.of("worker-c", "worker-a", "worker-b"), VIRTUAL_NODES);
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      assertEquals(first.getOwner(partition), second.getOwner(partition));
+      assertTrue(members.contains(first.getOwner(partition)));
+    }
+  }
+
+  @Test
+  @DisplayName("Should spread partitions across members")
+  void testBalancedAssignment() {
+    List<String> members = List.of("worker-a", "worker-b", "worker-c", "worker-d");
+    ConsistentHashRing ring = new ConsistentHashRing(members, VIRTUAL_NODES);
+    Map<String, Integer> counts = new HashMap<>();
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      counts.merge(ring.getOwner(partition), 1, Integer::sum);
+    }
+    int expected = PARTITIONS / members.size();
+    for (String member : members) {
+      int count = counts.getOrDefault(member, 0);
+      assertTrue(count > expected / 2 && count < expected * 2, member + " owns " + count);
+    }
+  }
+
+  @Test
+  @DisplayName("Should move only partitions of the joining member")
+  void testMinimalMovementOnJoin() {
+    ConsistentHashRing before =
+        new ConsistentHashRing(List.of("worker-a", "worker-b", "worker-c"), VIRTUAL_NODES);
+    ConsistentHashRing after =
+        new ConsistentHashRing(
+            List.of("worker-a", "worker-b", "worker-c", "worker-d"), VIRTUAL_NODES);
+    int moved = 0;
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      String previousOwner = before.getOwner(partition);
+      String newOwner = after.getOwner(partition);
+      if (!previousOwner.equals(newOwner)) {
+        assertEquals("worker-d", newOwner);
+        moved++;
+      }
+    }
+   // roughly 1/4 of the partitions should move to the new member
+    assertTrue(moved > PARTITIONS / 8 && moved < PARTITIONS / 2, "moved " + moved);
+  }
+}
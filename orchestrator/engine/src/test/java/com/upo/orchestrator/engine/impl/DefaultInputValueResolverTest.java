@@ -12,6 +12,7 @@ import static org.mockito.Mockito.*;
 
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -115,6 +116,40 @@ public class DefaultInputValueResolverTest {
     verify(variableContainer, times(2)).readVariable(amountPath);
   }
 
+  @Test
+  @DisplayName("Should copy evaluated maps only when they are mutated")
+  void testMapMutation() {
+    JsonPath namePath = JsonPath.create("task.input.name");
+    JsonPath agePath = JsonPath.create("task.input.age");
+    when(variableContainer.readVariable(namePath)).thenReturn("John");
+
+    Map<String, Object> input = new LinkedHashMap<>();
+    input.put("type", "customer");
+    input.put("name", "{{task.input.name}}");
+    input.put("age", "{{task.input.age}}");
+    input.put("active", true);
+    ResolvableValue result = resolver.resolve(input);
+
+    Map<String, Object> evaluated = result.evaluate(processInstance);
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("type", "customer");
+    expected.put("name", "John");
+    expected.put("active", true);
+    assertEquals(expected, evaluated);
+    assertEquals(List.copyOf(expected.keySet()), List.copyOf(evaluated.keySet()));
+    assertFalse(evaluated.containsKey("age"));
+
+    evaluated.put("age", 30);
+    evaluated.remove("type");
+    assertEquals(List.of("name", "active", "age"), List.copyOf(evaluated.keySet()));
+
+    when(variableContainer.readVariable(agePath)).thenReturn(31);
+    Map<String, Object> reevaluated = result.evaluate(processInstance);
+    assertEquals("customer", reevaluated.get("type"));
+    assertEquals(31, reevaluated.get("age"));
+    assertEquals(4, reevaluated.size());
+  }
+
   @Test
   @DisplayName("Should handle nested structures")
   void testNestedStructures() {
@@ -256,7 +291,7 @@ public class DefaultInputValueResolverTest {
     assertEquals(200, (int) result.evaluate(processInstance));
 
     verify(variableContainer).readVariable(conditionPath);
-    verify(variableContainer, times(2)).readVariable(valuePath);
+    verify(variableContainer).readVariable(valuePath);
   }
 
   @Test
@@ -310,6 +345,19 @@ public class DefaultInputValueResolverTest {
     assertEquals("[[abc", result2.evaluate(processInstance));
   }
 
+  @Test
+  @DisplayName("Should keep escaped delimiters as text")
+  void testEscapedDelimiters() {
+    ResolvableValue result = resolver.resolve("Price: \\{{task.input.price}} or \\[[1 + 1]]");
+    assertInstanceOf(StaticResolvableValue.class, result);
+    assertEquals("Price: {{task.input.price}} or [[1 + 1]]", result.evaluate(processInstance));
+
+    JsonPath namePath = JsonPath.create("task.input.name");
+    when(variableContainer.readVariable(namePath)).thenReturn("John");
+    ResolvableValue mixed = resolver.resolve("\\{{name}}: {{task.input.name}}");
+    assertEquals("{{name}}: John", mixed.evaluate(processInstance));
+  }
+
   @Test
   @DisplayName("Should handle variable resolution returning null")
   void testNullVariableResolution() {
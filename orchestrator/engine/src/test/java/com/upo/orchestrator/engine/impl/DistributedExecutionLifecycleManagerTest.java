@@ -0,0 +1,60 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.distributed.ExecutionLifecycleManagerImpl;
+import com.upo.orchestrator.engine.impl.distributed.LifecycleEventConsumer;
+import com.upo.orchestrator.engine.impl.distributed.StreamExecutionLifecycleManagerImpl;
+import com.upo.orchestrator.engine.impl.distributed.StreamLifecycleEventConsumer;
+import com.upo.resource.redis.RedisTemplateFactory;
+
+public class DistributedExecutionLifecycleManagerTest {
+
+  @Test
+  @DisplayName("Should start the list consumer with the manager and stop it on close")
+  void testListConsumerLifecycle() {
+    LifecycleEventConsumer consumer = mock(LifecycleEventConsumer.class);
+
+    ExecutionLifecycleManagerImpl manager =
+        new ExecutionLifecycleManagerImpl(mock(RedisTemplateFactory.class), consumer);
+    verify(consumer).start();
+    verify(consumer, never()).close();
+
+    manager.close();
+    verify(consumer).close();
+  }
+
+  @Test
+  @DisplayName("Should start the stream consumer with the manager and stop it on close")
+  void testStreamConsumerLifecycle() {
+    StreamLifecycleEventConsumer consumer = mock(StreamLifecycleEventConsumer.class);
+
+    StreamExecutionLifecycleManagerImpl manager =
+        new StreamExecutionLifecycleManagerImpl(mock(RedisTemplateFactory.class), consumer);
+    verify(consumer).start();
+    verify(consumer, never()).close();
+
+    manager.close();
+    verify(consumer).close();
+  }
+
+  @Test
+  @DisplayName("Should close producer only managers without a consumer")
+  void testProducerOnlyManager() {
+    RedisTemplateFactory redisTemplateFactory = mock(RedisTemplateFactory.class);
+
+    new ExecutionLifecycleManagerImpl(redisTemplateFactory).close();
+    new StreamExecutionLifecycleManagerImpl(redisTemplateFactory).close();
+    verifyNoInteractions(redisTemplateFactory);
+  }
+}
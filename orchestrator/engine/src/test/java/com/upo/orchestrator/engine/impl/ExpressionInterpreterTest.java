@@ -0,0 +1,132 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.impl.value.CompiledExpression;
+import com.upo.orchestrator.engine.impl.value.GroovyScriptCompiler;
+import com.upo.utilities.json.path.JsonPath;
+
+public class ExpressionInterpreterTest {
+
+  private VariableContainerImpl variableContainer;
+  private Map<String, JsonPath> variables;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, Object> input = new HashMap<>();
+    input.put("count", 7);
+    input.put("big", 10_000_000_000L);
+    input.put("rate", 2.5d);
+    input.put("price", new BigDecimal("1.25"));
+    input.put("name", "abc");
+    input.put("missing", null);
+    input.put("flag", true);
+    input.put("empty", "");
+    input.put("items", List.of(1, 2, 3));
+    input.put("nested", Map.of("x", 1, "inner", Map.of("z", "deep")));
+    variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable("task", Variable.Type.INPUT, input);
+    variables = new LinkedHashMap<>();
+    for (String key : input.keySet()) {
+      variables.put(key, JsonPath.create("task.input." + key));
+    }
+  }
+
+  @Test
+  @DisplayName("Should evaluate arithmetic with Groovy number semantics")
+  void testArithmetic() {
+    assertSameAsGroovy(
+        "count + 1",
+        "count / 2",
+        "-count % 3",
+        "count * rate",
+        "count + price",
+        "big + count",
+        "2147483647 + 1",
+        "-2147483648",
+        "count ** 2",
+        "2 ** -1",
+        "-2 ** 2",
+        "2 - 3 * 4 / 5",
+        "1.5 + 1e3",
+        "1.5d + 10L",
+        "name + count",
+        "name + missing",
+        "items + 4");
+  }
+
+  @Test
+  @DisplayName("Should evaluate comparisons and boolean logic with Groovy truth")
+  void testLogic() {
+    assertSameAsGroovy(
+        "count > 5 && flag",
+        "count > 5 || missing",
+        "!missing",
+        "!empty",
+        "!items",
+        "count == 7.0",
+        "count == 7L",
+        "name < 'abd'",
+        "missing < 1",
+        "name <=> 'abc'",
+        "missing ? 1 : 2",
+        "empty ?: 'fallback'",
+        "count > 3 ? 'big' : count > 1 ? 'mid' : 'small'");
+  }
+
+  @Test
+  @DisplayName("Should navigate properties, indexes and Math functions")
+  void testNavigation() {
+    assertSameAsGroovy(
+        "nested.x",
+        "nested.inner.z",
+        "nested['x']",
+        "nested?.inner?.z",
+        "missing?.x?.y",
+        "items[-1]",
+        "max(count, rate)",
+        "Math.min(count, big)",
+        "abs(-count)",
+        "round(rate)",
+        "PI * 2");
+  }
+
+  @Test
+  @DisplayName("Should fall back to Groovy for other constructs")
+  void testFallback() {
+    assertSameAsGroovy(
+        "name.size()", "count in items", "[1, 2]", "\"${name}!\"", "0x10", "x = 1; x + count");
+  }
+
+  private void assertSameAsGroovy(String... expressions) {
+    for (String expression : expressions) {
+      CompiledExpression compiled = GroovyScriptCompiler.compileExpression(expression, variables);
+      CompiledExpression script = GroovyScriptCompiler.compileScript(expression, variables);
+      Object expected = script.evaluate(variableContainer);
+      Object actual = compiled.evaluate(variableContainer);
+      assertEquals(String.valueOf(expected), String.valueOf(actual), expression);
+      assertEquals(
+          expected != null ? expected.getClass() : null,
+          actual != null ? actual.getClass() : null,
+          expression);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.api.domain.TaskDefinition;
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.impl.value.ExpressionResolvableValue;
+import com.upo.orchestrator.engine.impl.value.ExpressionTypeContext;
+import com.upo.orchestrator.engine.impl.value.GroovyScriptCompiler;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.utilities.json.path.JsonPath;
+
+public class ExpressionTypeContextTest {
+
+  private ExpressionTypeContext typeContext;
+  private ProcessInstance processInstance;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, Object> customer =
+        Map.of("type", "object", "properties", Map.of("city", Map.of("type", "string")));
+    Map<String, Object> properties =
+        Map.of(
+            "name", Map.of("type", "string"),
+            "amount", Map.of("type", "number"),
+            "items", Map.of("type", "array"),
+            "customer", customer);
+    TaskDefinition taskDefinition = mock(TaskDefinition.class);
+    when(taskDefinition.getOutputSchema())
+        .thenReturn(Map.of("type", "object", "properties", properties));
+    typeContext = new ExpressionTypeContext(Map.of("task", taskDefinition));
+    VariableContainerImpl variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable(
+        "task",
+        Variable.Type.OUTPUT,
+        Map.of("name", "bob", "amount", 12, "items", List.of(1), "customer", Map.of()));
+    processInstance = new ProcessInstance();
+    processInstance.setVariableContainer(variableContainer);
+  }
+
+  @Test
+  @DisplayName("Should derive variable types from task schemas")
+  void testTypes() {
+    assertEquals(String.class, typeOf("task.output.name"));
+    assertEquals(Number.class, typeOf("task.output.amount"));
+    assertEquals(Map.class, typeOf("task.output.customer"));
+    assertEquals(String.class, typeOf("task.output.customer.city"));
+    assertNull(typeOf("task.output.items"));
+    assertNull(typeOf("task.output.customer.zip"));
+    assertNull(typeOf("task.input.name"));
+    assertNull(typeOf("other.output.name"));
+  }
+
+  @Test
+  @DisplayName("Should compile typed scripts statically and report the others")
+  void testStaticCompilation() {
+    Object result =
+        GroovyScriptCompiler.compileFor(
+            "snapshot",
+            typeContext,
+            () -> {
+              assertEquals(3, evaluate("{{task.output.items}}.size() + 2"));
+              assertEquals(3, evaluate("{{task.output.name}}.reverse().size()"));
+              return evaluate("{{task.output.name}}.toUpperCase()");
+            });
+    GroovyScriptCompiler.release("snapshot");
+
+    assertEquals("BOB", result);
+    List<String> dynamicExpressions = typeContext.getDynamicExpressions();
+    assertEquals(1, dynamicExpressions.size());
+    assertTrue(dynamicExpressions.getFirst().contains("task.output.items"));
+  }
+
+  private Class<?> typeOf(String path) {
+    return typeContext.getType(JsonPath.create(path));
+  }
+
+  private Object evaluate(String expression) {
+    return new ExpressionResolvableValue(expression).evaluate(processInstance);
+  }
+}
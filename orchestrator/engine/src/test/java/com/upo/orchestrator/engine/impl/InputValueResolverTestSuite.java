@@ -22,6 +22,7 @@ import org.junit.platform.suite.api.SuiteDisplayName;
   DefaultInputValueResolverDependenciesTest.class,
   ArrayTransformResolverTest.class,
   ArrayToMapTransformResolverTest.class,
-  ProcessFilterEvaluationTest.class
+  ProcessFilterEvaluationTest.class,
+  ExpressionInterpreterTest.class
 })
 public class InputValueResolverTestSuite {}
@@ -0,0 +1,42 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.Signal;
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.resource.redis.impl.JsonbRedisCodec;
+
+public class JsonbRedisCodecTest {
+
+  @Test
+  @DisplayName("Should keep the subtypes of polymorphic events and signals")
+  void testPolymorphicRoundTrip() {
+    JsonbRedisCodec<LifecycleEvent, String> codec =
+        JsonbRedisCodec.forStringKey(LifecycleEvent.class, LifecycleEvent::getPartitionKey);
+    LifecycleEvent.SignalProcess event = new LifecycleEvent.SignalProcess();
+    event.setProcessInstanceId("instance-1");
+    event.setSignal(Signal.Resume.with(Map.of("approved", true)));
+
+    byte[] bytes = codec.toBytes(event);
+    LifecycleEvent decoded = codec.fromBytes(bytes);
+
+    LifecycleEvent.SignalProcess signalProcess =
+        assertInstanceOf(LifecycleEvent.SignalProcess.class, decoded);
+    assertEquals("instance-1", signalProcess.getProcessInstanceId());
+    Signal.Resume resume = assertInstanceOf(Signal.Resume.class, signalProcess.getSignal());
+    assertEquals(Map.of("approved", true), resume.getCallbackData());
+    assertTrue(bytes.length < codec.toString(event).length());
+  }
+}
@@ -0,0 +1,116 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.local.LocalEventScheduler;
+import com.upo.orchestrator.engine.impl.local.LocalEventScheduler.OverflowPolicy;
+
+public class LocalEventSchedulerTest {
+
+  @Test
+  @DisplayName("Should never run more events than the concurrency limit")
+  void testConcurrencyLimit() throws Exception {
+    int events = 200;
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(events);
+    try (LocalEventScheduler scheduler = createScheduler(4, 1024, 3, OverflowPolicy.BLOCK)) {
+      for (int i = 0; i < events; i++) {
+        scheduler.submit(
+            "key-" + i,
+            () -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              sleep(1);
+              running.decrementAndGet();
+              done.countDown();
+            });
+      }
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+      assertTrue(maxRunning.get() <= 3, "max running " + maxRunning.get());
+      assertEquals(0, scheduler.getQueueDepth());
+    }
+  }
+
+  @Test
+  @DisplayName("Should shed events when the partition queue is full")
+  void testShedWhenFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    try (LocalEventScheduler scheduler = createScheduler(1, 2, 1, OverflowPolicy.SHED)) {
+      scheduler.submit("key", () -> blockUntil(started, release));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+     // one event may sit with the dispatcher waiting for a permit, two more fill the queue
+      int accepted = 0;
+      try {
+        for (int i = 0; i < 10; i++) {
+          scheduler.submit("key", () -> {});
+          accepted++;
+        }
+        fail("expected the scheduler to shed events");
+      } catch (RejectedExecutionException expected) {
+        assertTrue(accepted >= 2 && accepted <= 3, "accepted " + accepted);
+      }
+      LocalEventScheduler.Stats stats = scheduler.getStats();
+      assertEquals(1, stats.rejectedEvents());
+      assertEquals(1, stats.runningEvents());
+      release.countDown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should run events on the caller when the partition queue is full")
+  void testCallerRunsWhenFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    try (LocalEventScheduler scheduler = createScheduler(1, 1, 1, OverflowPolicy.CALLER_RUNS)) {
+      scheduler.submit("key", () -> blockUntil(started, release));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      AtomicReference<Thread> ranOn = new AtomicReference<>();
+      for (int i = 0; i < 3; i++) {
+        scheduler.submit("key", () -> ranOn.set(Thread.currentThread()));
+      }
+      assertEquals(Thread.currentThread(), ranOn.get());
+      assertTrue(scheduler.getStats().callerRunEvents() >= 1);
+      release.countDown();
+    }
+  }
+
+  private static LocalEventScheduler createScheduler(
+      int partitions, int queueCapacity, int maxConcurrentEvents, OverflowPolicy policy) {
+    return new LocalEventScheduler(
+        partitions, queueCapacity, maxConcurrentEvents, policy, Thread.ofVirtual().factory());
+  }
+
+  private static void blockUntil(CountDownLatch started, CountDownLatch release) {
+    started.countDown();
+    try {
+      release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.impl.local.LocalEventScheduler;
+
+public class MailboxLifecycleEventHandlerTest {
+
+  @Test
+  @DisplayName("Should never run events of the same instance concurrently")
+  void testSerialPerInstance() throws Exception {
+    Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+    AtomicInteger overlaps = new AtomicInteger();
+    AtomicInteger handled = new AtomicInteger();
+    MailboxLifecycleEventHandler handler =
+        new MailboxLifecycleEventHandler(
+            event -> {
+              AtomicInteger counter =
+                  running.computeIfAbsent(event.getPartitionKey(), _ -> new AtomicInteger());
+              if (counter.incrementAndGet() > 1) {
+                overlaps.incrementAndGet();
+              }
+              Thread.yield();
+              counter.decrementAndGet();
+              handled.incrementAndGet();
+            });
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures = new CopyOnWriteArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        String instanceId = "instance-" + (i % 4);
+        futures.add(executor.submit(() -> handler.handle(signal(instanceId))));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    assertEquals(0, overlaps.get());
+    assertEquals(400, handled.get());
+    assertEquals(0, handler.getActiveMailboxes());
+  }
+
+  @Test
+  @DisplayName("Should rethrow failures to the caller that submitted the event")
+  void testFailurePropagation() {
+    MailboxLifecycleEventHandler handler =
+        new MailboxLifecycleEventHandler(
+            _ -> {
+              throw new IllegalStateException("boom");
+            });
+    assertThrows(IllegalStateException.class, () -> handler.handle(signal("instance")));
+    assertEquals(0, handler.getActiveMailboxes());
+  }
+
+  @Test
+  @DisplayName("Should queue events raised for the same instance while handling one")
+  void testReentrantEvent() {
+    List<String> order = new CopyOnWriteArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    MailboxLifecycleEventHandler[] handler = new MailboxLifecycleEventHandler[1];
+    handler[0] =
+        new MailboxLifecycleEventHandler(
+            event -> {
+              int call = calls.incrementAndGet();
+              order.add("start-" + call);
+              if (call == 1) {
+                handler[0].handle(signal(event.getPartitionKey()));
+              }
+              order.add("end-" + call);
+            });
+    handler[0].handle(signal("instance"));
+    assertEquals(List.of("start-1", "end-1", "start-2", "end-2"), order);
+  }
+
+  @Test
+  @DisplayName("Should not deadlock when two instances signal each other with full queues")
+  void testCrossSignalWithFullQueues() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch filled = new CountDownLatch(1);
+    CountDownLatch handled = new CountDownLatch(4);
+    Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    try (LocalEventScheduler scheduler =
+        new LocalEventScheduler(
+            1, 1, 2, LocalEventScheduler.OverflowPolicy.BLOCK, Thread.ofVirtual().factory())) {
+      MailboxLifecycleEventHandler[] handler = new MailboxLifecycleEventHandler[1];
+      handler[0] =
+          new MailboxLifecycleEventHandler(
+              event -> {
+                String key = event.getPartitionKey();
+                if (calls.computeIfAbsent(key, _ -> new AtomicInteger()).incrementAndGet() == 1) {
+                  started.countDown();
+                  await(filled);
+                 // the queue is full, so the scheduler runs the signal on this thread
+                  String other = key.equals("a") ? "b" : "a";
+                  scheduler.submit(other, () -> handler[0].handle(signal(other)));
+                }
+                handled.countDown();
+              });
+      scheduler.submit("a", () -> handler[0].handle(signal("a")));
+      scheduler.submit("b", () -> handler[0].handle(signal("b")));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+     // one filler waits with the dispatcher for a permit, the other fills the queue
+      scheduler.submit("c", () -> {});
+      scheduler.submit("c", () -> {});
+      filled.countDown();
+
+      assertTrue(handled.await(10, TimeUnit.SECONDS), "events left " + handled.getCount());
+      assertTrue(scheduler.getStats().callerRunEvents() >= 2);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static LifecycleEvent.SignalProcess signal(String instanceId) {
+    LifecycleEvent.SignalProcess signalProcess = new LifecycleEvent.SignalProcess();
+    signalProcess.setProcessInstanceId(instanceId);
+    return signalProcess;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+
+public class MailboxProcessInstanceCacheTest {
+
+  private final MailboxProcessInstanceCache cache = new MailboxProcessInstanceCache();
+
+  @Test
+  @DisplayName("Should hand an instance left by an event to the next event of the same drain")
+  void testConsecutiveEventsShareInstance() {
+    ProcessInstance processInstance = instance("instance-1");
+    List<Optional<ProcessInstance>> taken = new ArrayList<>();
+    AtomicInteger calls = new AtomicInteger();
+    MailboxLifecycleEventHandler[] handler = new MailboxLifecycleEventHandler[1];
+    handler[0] =
+        new MailboxLifecycleEventHandler(
+            event -> {
+              taken.add(cache.take(event.getPartitionKey()));
+              if (calls.incrementAndGet() == 1) {
+                cache.put(processInstance);
+               // queued behind the current event, drained by this thread
+                handler[0].handle(signal("instance-1"));
+              }
+            });
+
+    handler[0].handle(signal("instance-1"));
+
+    assertEquals(List.of(Optional.empty(), Optional.of(processInstance)), taken);
+  }
+
+  @Test
+  @DisplayName("Should drop the held instance once the mailbox runs empty")
+  void testInstanceDroppedAfterDrain() {
+    List<Optional<ProcessInstance>> taken = new ArrayList<>();
+    MailboxLifecycleEventHandler handler =
+        new MailboxLifecycleEventHandler(
+            event -> {
+              taken.add(cache.take(event.getPartitionKey()));
+              cache.put(instance(event.getPartitionKey()));
+            });
+
+    handler.handle(signal("instance-1"));
+    handler.handle(signal("instance-1"));
+
+    assertEquals(List.of(Optional.empty(), Optional.empty()), taken);
+  }
+
+  @Test
+  @DisplayName("Should only hold instances while draining their own mailbox")
+  void testForeignInstanceNotHeld() {
+    List<Optional<ProcessInstance>> taken = new ArrayList<>();
+    MailboxLifecycleEventHandler handler =
+        new MailboxLifecycleEventHandler(
+            _ -> {
+              cache.put(instance("instance-2"));
+              taken.add(cache.take("instance-2"));
+            });
+
+    handler.handle(signal("definition-1"));
+    cache.put(instance("instance-3"));
+
+    assertEquals(List.of(Optional.empty()), taken);
+    assertTrue(cache.take("instance-3").isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should drop the held instance when invalidated")
+  void testInvalidate() {
+    List<Optional<ProcessInstance>> taken = new ArrayList<>();
+    MailboxLifecycleEventHandler handler =
+        new MailboxLifecycleEventHandler(
+            event -> {
+              String instanceId = event.getPartitionKey();
+              cache.put(instance(instanceId));
+              cache.invalidate(instanceId);
+              taken.add(cache.take(instanceId));
+              cache.put(instance(instanceId));
+              cache.invalidateIf(instanceId::equals);
+              taken.add(cache.take(instanceId));
+            });
+
+    handler.handle(signal("instance-1"));
+
+    assertEquals(List.of(Optional.empty(), Optional.empty()), taken);
+  }
+
+  private static ProcessInstance instance(String instanceId) {
+    ProcessInstance processInstance = new ProcessInstance();
+    processInstance.setId(instanceId);
+    return processInstance;
+  }
+
+  private static LifecycleEvent.SignalProcess signal(String instanceId) {
+    LifecycleEvent.SignalProcess signalProcess = new LifecycleEvent.SignalProcess();
+    signalProcess.setProcessInstanceId(instanceId);
+    return signalProcess;
+  }
+}
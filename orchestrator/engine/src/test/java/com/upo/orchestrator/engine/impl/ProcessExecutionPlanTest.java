@@ -0,0 +1,118 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.api.domain.ProcessDefinition;
+import com.upo.orchestrator.api.domain.TaskDefinition;
+import com.upo.orchestrator.api.domain.Transition;
+import com.upo.orchestrator.api.domain.TransitionType;
+import com.upo.orchestrator.engine.ProcessDetails;
+import com.upo.orchestrator.engine.TaskRuntime;
+import com.upo.orchestrator.engine.impl.rt.ProcessStartTaskRuntime;
+import com.upo.orchestrator.engine.services.InputValueResolver;
+import com.upo.orchestrator.engine.services.ProcessServiceRegistry;
+import com.upo.orchestrator.engine.services.TaskRuntimeFactory;
+
+public class ProcessExecutionPlanTest {
+
+  private ProcessServiceRegistry processServiceRegistry;
+
+  @BeforeEach
+  void setUp() {
+    ProcessServicesImpl coreServices = new ProcessServicesImpl();
+    coreServices.registerService(InputValueResolver.class, new DefaultInputValueResolver());
+    coreServices.registerService(
+        TaskRuntimeFactory.class,
+        (processRuntime, taskDefinition) ->
+            new ProcessStartTaskRuntime(processRuntime, taskDefinition.getId()));
+    processServiceRegistry = mock(ProcessServiceRegistry.class);
+    when(processServiceRegistry.getCoreServices()).thenReturn(coreServices);
+  }
+
+  @Test
+  @DisplayName("Should build every task runtime when the runtime is created")
+  void testCompilesAllTasks() {
+    ProcessRuntimeImpl runtime =
+        createRuntime("a", task("a", "b"), task("b", "c"), task("c", null));
+    ProcessExecutionPlan plan = runtime.getExecutionPlan();
+
+    assertEquals(3, plan.size());
+    assertSame(plan.getStartTaskRuntime(), runtime.getOrCreateTaskRuntime("a"));
+    for (String taskId : List.of("a", "b", "c")) {
+      TaskRuntime taskRuntime = runtime.getOrCreateTaskRuntime(taskId);
+      assertEquals(taskId, taskRuntime.getTaskId());
+      assertSame(taskRuntime, plan.getTaskRuntime(plan.getTaskIndex(taskId)));
+    }
+  }
+
+  @Test
+  @DisplayName("Should fail deployment for transitions to unknown tasks")
+  void testUnknownTransitionTarget() {
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> createRuntime("a", task("a", "missing"), task("b", null)));
+    assertTrue(exception.getMessage().contains("failed to compile task: a"));
+  }
+
+  @Test
+  @DisplayName("Should fail deployment for an unknown start task")
+  void testUnknownStartTask() {
+    assertThrows(
+        IllegalArgumentException.class, () -> createRuntime("missing", task("a", null)));
+  }
+
+  @Test
+  @DisplayName("Should reject lookups of unknown tasks")
+  void testUnknownTaskLookup() {
+    ProcessRuntimeImpl runtime = createRuntime("a", task("a", null));
+    assertThrows(IllegalArgumentException.class, () -> runtime.getOrCreateTaskRuntime("missing"));
+  }
+
+  private ProcessRuntimeImpl createRuntime(String startTaskId, TaskDefinition... tasks) {
+    Map<String, TaskDefinition> taskDefinitions = new LinkedHashMap<>();
+    for (TaskDefinition task : tasks) {
+      taskDefinitions.put(task.getId(), task);
+    }
+    ProcessDefinition processDefinition = mock(ProcessDefinition.class);
+    when(processDefinition.getId()).thenReturn("process");
+    when(processDefinition.getStartTaskId()).thenReturn(startTaskId);
+    when(processDefinition.getTaskDefinitions()).thenReturn(taskDefinitions);
+    when(processDefinition.getPredicate()).thenReturn(Optional.empty());
+    return new ProcessRuntimeImpl(
+        mock(ProcessDetails.class), processDefinition, processServiceRegistry);
+  }
+
+  private static TaskDefinition task(String taskId, String nextTaskId) {
+    TaskDefinition taskDefinition = mock(TaskDefinition.class);
+    when(taskDefinition.getId()).thenReturn(taskId);
+    when(taskDefinition.getSkipPredicate()).thenReturn(Optional.empty());
+    if (nextTaskId == null) {
+      when(taskDefinition.getNextTransitions()).thenReturn(List.of());
+      return taskDefinition;
+    }
+    Transition transition = mock(Transition.class);
+    when(transition.getType()).thenReturn(TransitionType.DEFAULT);
+    when(transition.getNextTaskId()).thenReturn(nextTaskId);
+    when(transition.getPredicate()).thenReturn(Optional.empty());
+    when(taskDefinition.getNextTransitions()).thenReturn(List.of(transition));
+    return taskDefinition;
+  }
+}
@@ -0,0 +1,313 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.api.domain.ProcessDefinition;
+import com.upo.orchestrator.engine.*;
+import com.upo.orchestrator.engine.impl.events.LifecycleEvent;
+import com.upo.orchestrator.engine.impl.local.ProcessEnvStoreImpl;
+import com.upo.orchestrator.engine.impl.local.VariableStoreImpl;
+import com.upo.orchestrator.engine.models.ProcessEnv;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.orchestrator.engine.services.ProcessEnvStore;
+import com.upo.orchestrator.engine.services.ProcessInstanceCache;
+import com.upo.orchestrator.engine.services.ProcessInstanceStore;
+import com.upo.orchestrator.engine.services.ProcessServices;
+import com.upo.orchestrator.engine.services.VariableStore;
+import com.upo.utilities.filter.impl.FilterEvaluator;
+import com.upo.utilities.json.path.JsonPath;
+
+public class ProcessExecutorImplTest {
+
+  @Test
+  @DisplayName("Should share the environment of the root instance with its descendants")
+  void testChildInstancesShareEnv() {
+    ProcessEnv processEnv = new ProcessEnv();
+    processEnv.setId("root-1");
+    processEnv.setEnv(Map.of("region", "eu"));
+    ProcessInstance rootInstance = new ProcessInstance();
+    rootInstance.setId("root-1");
+    rootInstance.setProcessEnvId(processEnv.getId());
+    rootInstance.setProcessEnv(processEnv);
+
+    ProcessInstance child =
+        ProcessExecutorImpl.createChildInstance(rootInstance, rootInstance.toProcessDetails());
+    ProcessInstance grandChild =
+        ProcessExecutorImpl.createChildInstance(child, child.toProcessDetails());
+
+    assertEquals("root-1", grandChild.getRootId());
+    assertEquals("root-1", grandChild.getProcessEnvId());
+    assertNotSame(processEnv, grandChild.getProcessEnv());
+    assertSame(processEnv.getEnv(), grandChild.getProcessEnv().getEnv());
+    assertEquals(
+        "eu", grandChild.getVariableContainer().readVariable(JsonPath.create("env.region")));
+    assertTrue(grandChild.getDirtyFields().contains("processEnvId"));
+    assertFalse(grandChild.getDirtyFields().contains("processEnv"));
+  }
+
+  @Test
+  @DisplayName("Should give every instance its own environment over the frozen shared one")
+  void testInstanceEnvOverSharedEnv() {
+    ProcessEnv sharedEnv = new ProcessEnv();
+    sharedEnv.setId("root-1");
+    sharedEnv.setEnv(new HashMap<>(Map.of("region", "eu")));
+    sharedEnv.setSession(new HashMap<>(Map.of("step", 1)));
+    sharedEnv.freeze();
+    ProcessServices processServices = new ProcessServicesImpl();
+
+    ProcessEnv processEnv = new ProcessEnv(sharedEnv, processServices);
+    processEnv.getSession().put("step", 2);
+    ProcessInstance processInstance = new ProcessInstance();
+    processInstance.setProcessEnv(processEnv);
+    ProcessEnv copiedEnv = new ProcessInstance(processInstance).getProcessEnv();
+
+    assertSame(processServices, processEnv.getProcessServices());
+    assertNull(sharedEnv.getProcessServices());
+    assertEquals(Map.of("step", 1), sharedEnv.getSession());
+    assertNotSame(processEnv, copiedEnv);
+    assertSame(processServices, copiedEnv.getProcessServices());
+    assertEquals(Map.of("step", 2), copiedEnv.getSession());
+    assertThrows(
+        IllegalStateException.class, () -> sharedEnv.setProcessServices(processServices));
+    assertThrows(UnsupportedOperationException.class, () -> sharedEnv.getEnv().put("a", "b"));
+  }
+
+  @Test
+  @DisplayName("Should keep the environment of a failed root until its forked children release it")
+  void testFailedRootKeepsEnvForLiveChildren() {
+    ProcessServicesImpl processServices = new ProcessServicesImpl();
+    ProcessEnvStoreImpl processEnvStore = new ProcessEnvStoreImpl();
+    processServices.registerService(ProcessInstanceStore.class, new WaitingInstanceStore());
+    processServices.registerService(ProcessEnvStore.class, processEnvStore);
+    processServices.registerService(VariableStore.class, new VariableStoreImpl());
+    AbstractExecutionLifecycleManager lifecycleManager =
+        new AbstractExecutionLifecycleManager() {
+          @Override
+          protected void handleEvent(LifecycleEvent lifecycleEvent) {}
+        };
+    ProcessEnv sharedEnv = new ProcessEnv();
+    sharedEnv.setId("env-1");
+    processEnvStore.save(sharedEnv);
+    ProcessInstance rootInstance = new ProcessInstance();
+    rootInstance.setId("env-1");
+    rootInstance.setProcessEnvId(sharedEnv.getId());
+    rootInstance.setProcessEnv(new ProcessEnv(sharedEnv, processServices));
+    ProcessInstance child =
+        ProcessExecutorImpl.createChildInstance(rootInstance, rootInstance.toProcessDetails());
+    processEnvStore.retain(sharedEnv.getId(), List.of(child.getId()));
+
+   // the root fails while its forked child is still waiting
+    rootInstance.setStatus(ProcessFlowStatus.FAILED);
+    lifecycleManager.cleanupProcess(rootInstance);
+    assertTrue(processEnvStore.findById("env-1").isPresent());
+
+    ProcessExecutorImpl executor =
+        new ProcessExecutorImpl(processServices, new SignalRuntime(), ExecutionStrategy.LOCAL);
+    assertDoesNotThrow(() -> executor.signal(child.getId(), Signal.Resume.with(null)));
+    assertFalse(processEnvStore.release(sharedEnv.getId(), "unknown-1"));
+
+    lifecycleManager.cleanupProcess(child);
+    assertTrue(processEnvStore.findById("env-1").isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should resume waiting instances from the registered cache only in their mailbox")
+  void testSignalUsesRegisteredInstanceCache() {
+    ProcessInstanceCacheImpl instanceCache = new ProcessInstanceCacheImpl(10);
+    CoreRuntimeServicesImpl coreServices =
+        new CoreRuntimeServicesImpl(
+            new DefaultInputValueResolver(), new MailboxProcessInstanceCache(instanceCache));
+    ProcessServicesImpl processServices = new ProcessServicesImpl(coreServices);
+    WaitingInstanceStore instanceStore = new WaitingInstanceStore();
+    processServices.registerService(ProcessInstanceStore.class, instanceStore);
+    processServices.registerService(ProcessEnvStore.class, new SingleEnvStore());
+    ProcessExecutorImpl executor =
+        new ProcessExecutorImpl(processServices, new SignalRuntime(), ExecutionStrategy.LOCAL);
+    Signal signal = Signal.Resume.with(null);
+    MailboxLifecycleEventHandler handler =
+        new MailboxLifecycleEventHandler(_ -> executor.signal("instance-1", signal));
+
+   // loaded once, then resumed from the cache by the following signals of its mailbox
+    handler.handle(signal("instance-1"));
+    handler.handle(signal("instance-1"));
+    handler.handle(signal("instance-1"));
+    assertEquals(1, instanceStore.loads.get());
+    assertEquals(1, instanceCache.size());
+
+   // events routed by another key never see the cached instance, and drop it
+    new MailboxLifecycleEventHandler(_ -> executor.signal("instance-1", signal))
+        .handle(signal("definition-1"));
+    assertEquals(2, instanceStore.loads.get());
+    assertEquals(0, instanceCache.size());
+    handler.handle(signal("instance-1"));
+    executor.signal("instance-1", signal);
+    assertEquals(4, instanceStore.loads.get());
+    assertEquals(0, instanceCache.size());
+
+   // partitions moving away drop the instance
+    handler.handle(signal("instance-1"));
+    processServices.getService(ProcessInstanceCache.class).invalidateIf(_ -> true);
+    handler.handle(signal("instance-1"));
+    assertEquals(6, instanceStore.loads.get());
+  }
+
+  private static LifecycleEvent.SignalProcess signal(String instanceId) {
+    LifecycleEvent.SignalProcess signalProcess = new LifecycleEvent.SignalProcess();
+    signalProcess.setProcessInstanceId(instanceId);
+    return signalProcess;
+  }
+
+  /** Runtime whose single task leaves the instance waiting on every signal. */
+  private static class SignalRuntime implements ProcessRuntime {
+    private final TaskRuntime taskRuntime =
+        new TaskRuntime() {
+          @Override
+          public String getTaskId() {
+            return "wait";
+          }
+
+          @Override
+          public Next execute(ProcessInstance processInstance) {
+            return Next.EMPTY;
+          }
+
+          @Override
+          public Next handleSignal(ProcessInstance processInstance, Signal signal) {
+            processInstance.setStatus(ProcessFlowStatus.WAIT);
+            return Next.EMPTY;
+          }
+        };
+
+    @Override
+    public ProcessDetails getDetails() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProcessDefinition getDefinition() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<FilterEvaluator<Map<String, Object>>> getPredicate() {
+      return Optional.empty();
+    }
+
+    @Override
+    public TaskRuntime getOrCreateTaskRuntime(String taskId) {
+      return taskRuntime;
+    }
+
+    @Override
+    public ProcessExecutor createExecutor(ExecutionStrategy strategy) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProcessServices getCoreServices() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /** Store holding a single waiting instance, counting how often it is loaded. */
+  private static class WaitingInstanceStore implements ProcessInstanceStore {
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Override
+    public Optional<ProcessInstance> findById(String id, ProcessFlowStatus expectedStatus) {
+      loads.incrementAndGet();
+      ProcessInstance processInstance = new ProcessInstance();
+      processInstance.setId(id);
+      processInstance.setProcessEnvId("env-1");
+      processInstance.setCurrTaskId("wait");
+      processInstance.setStatus(ProcessFlowStatus.WAIT);
+      return Optional.of(processInstance);
+    }
+
+    @Override
+    public Optional<ProcessInstance> findById(String id) {
+      return findById(id, ProcessFlowStatus.WAIT);
+    }
+
+    @Override
+    public boolean save(ProcessInstance processInstance) {
+      return true;
+    }
+
+    @Override
+    public boolean saveMany(Collection<ProcessInstance> processInstances) {
+      return true;
+    }
+
+    @Override
+    public boolean save(ProcessInstance processInstance, ProcessFlowStatus expectedStatus) {
+      return true;
+    }
+
+    @Override
+    public boolean deleteById(String processInstanceId) {
+      return true;
+    }
+
+    @Override
+    public void addWaitingOnInstanceIds(
+        ProcessInstance parentInstance, Collection<String> waitOnInstanceIds) {}
+
+    @Override
+    public boolean removeCompletedInstanceId(
+        ProcessInstance parentInstance, String completedInstanceId) {
+      return true;
+    }
+
+    @Override
+    public Set<String> getRemainingChildren(ProcessInstance processInstance) {
+      return Set.of();
+    }
+  }
+
+  /** Store holding a single env, shared by every instance loaded. */
+  private static class SingleEnvStore implements ProcessEnvStore {
+    private final ProcessEnv processEnv = new ProcessEnv();
+
+    private SingleEnvStore() {
+      processEnv.setId("env-1");
+      processEnv.freeze();
+    }
+
+    @Override
+    public boolean save(ProcessEnv processEnv) {
+      return true;
+    }
+
+    @Override
+    public Optional<ProcessEnv> findById(String id) {
+      return Optional.of(processEnv);
+    }
+
+    @Override
+    public void retain(String id, Collection<String> instanceIds) {}
+
+    @Override
+    public boolean release(String id, String instanceId) {
+      return false;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.models.ProcessInstance;
+
+public class ProcessInstanceCacheImplTest {
+
+  @Test
+  @DisplayName("Should hand out a cached instance only once")
+  void testTakeRemovesInstance() {
+    ProcessInstanceCacheImpl cache = new ProcessInstanceCacheImpl(10);
+    ProcessInstance instance = instance("instance-1");
+    cache.put(instance);
+    assertSame(instance, cache.take("instance-1").orElseThrow());
+    assertTrue(cache.take("instance-1").isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should evict the least recently used instance")
+  void testLruEviction() {
+    ProcessInstanceCacheImpl cache = new ProcessInstanceCacheImpl(2);
+    cache.put(instance("instance-1"));
+    cache.put(instance("instance-2"));
+    cache.put(instance("instance-3"));
+    assertEquals(2, cache.size());
+    assertTrue(cache.take("instance-1").isEmpty());
+    assertTrue(cache.take("instance-3").isPresent());
+  }
+
+  @Test
+  @DisplayName("Should drop instances matching the filter")
+  void testInvalidateIf() {
+    ProcessInstanceCacheImpl cache = new ProcessInstanceCacheImpl(10);
+    cache.put(instance("a-1"));
+    cache.put(instance("a-2"));
+    cache.put(instance("b-1"));
+    cache.invalidateIf(id -> id.startsWith("a-"));
+    assertEquals(1, cache.size());
+    assertTrue(cache.take("b-1").isPresent());
+  }
+
+  @Test
+  @DisplayName("Should not cache anything when size is zero")
+  void testDisabled() {
+    ProcessInstanceCacheImpl cache = new ProcessInstanceCacheImpl(0);
+    cache.put(instance("instance-1"));
+    assertEquals(0, cache.size());
+  }
+
+  private static ProcessInstance instance(String id) {
+    ProcessInstance processInstance = new ProcessInstance();
+    processInstance.setId(id);
+    return processInstance;
+  }
+}
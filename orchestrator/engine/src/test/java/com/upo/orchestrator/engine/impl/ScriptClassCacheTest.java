@@ -0,0 +1,98 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.impl.value.ScriptClassCache;
+
+import groovy.lang.Script;
+
+public class ScriptClassCacheTest {
+
+  private List<String> compiled;
+
+  @BeforeEach
+  void setUp() {
+    compiled = new ArrayList<>();
+  }
+
+  @Test
+  @DisplayName("Should compile identical expressions once across owners")
+  void testReuse() {
+    ScriptClassCache cache = createCache(10);
+    Class<? extends Script> first = cache.getOrCompile("var1 + 1", "snapshot-1");
+    Class<? extends Script> second = cache.getOrCompile("var1 + 1", "snapshot-2");
+
+    assertSame(first, second);
+    assertEquals(List.of("var1 + 1"), compiled);
+  }
+
+  @Test
+  @DisplayName("Should evict least recently used expressions beyond the bound")
+  void testBound() {
+    ScriptClassCache cache = createCache(2);
+    cache.getOrCompile("a", null);
+    cache.getOrCompile("b", null);
+    cache.getOrCompile("a", null);
+    cache.getOrCompile("c", null);
+
+    assertEquals(2, cache.size());
+    cache.getOrCompile("a", null);
+    cache.getOrCompile("b", null);
+    assertEquals(List.of("a", "b", "c", "b"), compiled);
+  }
+
+  @Test
+  @DisplayName("Should drop expressions once every owner is released")
+  void testRelease() {
+    ScriptClassCache cache = createCache(10);
+    cache.getOrCompile("shared", "snapshot-1");
+    cache.getOrCompile("shared", "snapshot-2");
+    cache.getOrCompile("own", "snapshot-1");
+
+    cache.release("snapshot-1");
+    assertEquals(1, cache.size());
+    cache.release("snapshot-2");
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  @DisplayName("Should not cache with a size of 0")
+  void testDisabled() {
+    ScriptClassCache cache = createCache(0);
+    cache.getOrCompile("a", "snapshot-1");
+    cache.getOrCompile("a", "snapshot-1");
+
+    assertEquals(0, cache.size());
+    assertEquals(List.of("a", "a"), compiled);
+  }
+
+  private ScriptClassCache createCache(int maxSize) {
+    return new ScriptClassCache(
+        maxSize,
+        expression -> {
+          compiled.add(expression);
+          return new TestScript() {}.getClass();
+        });
+  }
+
+  private abstract static class TestScript extends Script {
+    @Override
+    public Object run() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.models.ProcessEnv;
+import com.upo.orchestrator.engine.models.ProcessVariable;
+import com.upo.utilities.ds.Pair;
+import com.upo.utilities.json.path.JsonPath;
+
+public class VariableContainerImplTest {
+
+  @Test
+  @DisplayName("Should report only new variables, in task order")
+  void testNewVariables() {
+    VariableContainerImpl container = new VariableContainerImpl(Map.of("start", 0, "charge", 1));
+    container.restoreVariable("start", Variable.Type.OUTPUT, Map.of("amount", 10));
+    container.addNewVariable("charge", Variable.Type.INPUT, Map.of("amount", 10));
+    container.addNewVariable("other", Variable.Type.OUTPUT, "done");
+    container.addNewVariable("charge", Variable.Type.TRANSIENT, "connection");
+
+    assertEquals(
+        List.of(
+            Pair.of("charge", Variable.Type.INPUT), Pair.of("other", Variable.Type.OUTPUT)),
+        container.getNewVariables().stream()
+            .map(variable -> Pair.of(variable.getTaskId(), variable.getType()))
+            .toList());
+    assertEquals("done", container.getVariable("other", Variable.Type.OUTPUT));
+
+    container.clearNewVariables();
+    assertTrue(container.getNewVariables().isEmpty());
+    assertTrue(container.containsVariable("charge", Variable.Type.INPUT));
+  }
+
+  @Test
+  @DisplayName("Should read task variables and environment components by path")
+  void testReadVariable() {
+    ProcessEnv processEnv = new ProcessEnv();
+    processEnv.setEnv(Map.of("region", "eu"));
+    VariableContainerImpl container = new VariableContainerImpl();
+    container.addProcessEnvVariables(processEnv);
+    for (int i = 0; i < 20; i++) {
+      container.restoreVariable("task" + i, Variable.Type.OUTPUT, Map.of("index", i));
+    }
+
+    assertEquals(17, container.readVariable(JsonPath.create("task17.output.index")));
+    assertEquals("eu", container.readVariable(JsonPath.create("env.region")));
+    assertNull(container.readVariable(JsonPath.create("task17.input.index")));
+    assertNull(container.readVariable(JsonPath.create("missing.output.index")));
+  }
+
+  @Test
+  @DisplayName("Should close and drop transient variables")
+  void testTransientVariables() {
+    AtomicBoolean closed = new AtomicBoolean();
+    VariableContainerImpl container = new VariableContainerImpl();
+    container.addNewVariable("task", Variable.Type.TRANSIENT, (Closeable) () -> closed.set(true));
+    container.addNewVariable("task", Variable.Type.OUTPUT, "result");
+
+    container.closeTransientVariables();
+    assertTrue(closed.get());
+    assertFalse(container.containsVariable("task", Variable.Type.TRANSIENT));
+    assertEquals("result", container.getVariable("task", Variable.Type.OUTPUT));
+  }
+
+  @Test
+  @DisplayName("Should resolve pending variables, moving them when the type changes")
+  void testPendingVariables() {
+    CompletableFuture<Object> output = new CompletableFuture<>();
+    CompletableFuture<Object> failed = new CompletableFuture<>();
+    VariableContainerImpl container = new VariableContainerImpl();
+    container.addNewVariable("call", Variable.Type.OUTPUT, output);
+    container.addNewVariable("other", Variable.Type.OUTPUT, failed);
+    output.complete(Map.of("status", 200));
+    failed.complete(Pair.of(Variable.Type.ERROR, "timeout"));
+
+    assertEquals(200, container.readVariable(JsonPath.create("call.output.status")));
+    List<ProcessVariable> newVariables = container.getNewVariables();
+    assertEquals(2, newVariables.size());
+    assertEquals(Variable.Type.ERROR, newVariables.get(1).getType());
+    assertEquals("timeout", newVariables.get(1).getPayload());
+    assertFalse(container.containsVariable("other", Variable.Type.OUTPUT));
+  }
+}
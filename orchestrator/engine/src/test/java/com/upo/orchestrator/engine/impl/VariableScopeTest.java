@@ -0,0 +1,135 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.orchestrator.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.upo.orchestrator.engine.Variable;
+import com.upo.orchestrator.engine.VariableContainer;
+import com.upo.orchestrator.engine.models.ProcessInstance;
+import com.upo.utilities.json.path.JsonPath;
+
+public class VariableScopeTest {
+
+  private ProcessInstance processInstance;
+  private VariableContainer variableContainer;
+
+  @BeforeEach
+  void setUp() {
+    variableContainer = new VariableContainerImpl();
+    variableContainer.restoreVariable("task", Variable.Type.INPUT, Map.of("name", "input"));
+    variableContainer.restoreVariable("task", Variable.Type.OUTPUT, Map.of("name", "output"));
+    processInstance = new ProcessInstance();
+    processInstance.setVariableContainer(variableContainer);
+  }
+
+  @Test
+  @DisplayName("Should shadow variables while bound and fall back to the container")
+  void testOverlay() {
+    VariableScope scope = VariableScope.enter(processInstance);
+    int mark = scope.mark();
+    scope.push("task", Variable.Type.OUTPUT, Map.of("name", "bound"));
+
+    VariableContainer container = processInstance.getVariableContainer();
+    assertSame(scope, container);
+    assertEquals("bound", container.readVariable(JsonPath.create("task.output.name")));
+    assertEquals("input", container.readVariable(JsonPath.create("task.input.name")));
+    assertEquals(Map.of("name", "bound"), container.getVariable("task", Variable.Type.OUTPUT));
+
+    scope.exit(processInstance, mark);
+    assertSame(variableContainer, processInstance.getVariableContainer());
+    assertEquals("output", variableContainer.readVariable(JsonPath.create("task.output.name")));
+  }
+
+  @Test
+  @DisplayName("Should reuse the scope of the instance across nested overlays")
+  void testNestedOverlays() {
+    VariableScope outer = VariableScope.enter(processInstance);
+    int outerMark = outer.mark();
+    outer.push("item", null, Map.of("id", 1));
+
+    VariableScope inner = VariableScope.enter(processInstance);
+    int innerMark = inner.mark();
+    inner.push("item", null, Map.of("id", 2));
+    assertSame(outer, inner);
+    JsonPath itemId = JsonPath.create("item.id");
+    assertEquals(2, processInstance.getVariableContainer().readVariable(itemId));
+
+    inner.exit(processInstance, innerMark);
+    assertEquals(1, processInstance.getVariableContainer().readVariable(itemId));
+    outer.exit(processInstance, outerMark);
+    assertSame(variableContainer, processInstance.getVariableContainer());
+    assertSame(outer, VariableScope.enter(processInstance));
+  }
+
+  @Test
+  @DisplayName("Should bind every item of an array transform on the instance scope")
+  void testArrayTransform() {
+    variableContainer.restoreVariable(
+        "task", Variable.Type.INPUT, Map.of("ids", List.of(1, 2, 3), "prefix", "id-"));
+    Map<String, Object> transform = new LinkedHashMap<>();
+    transform.put("__@type", "arrayTransformer");
+    transform.put("source", "{{task.input.ids}}");
+    transform.put("item", "{{task.input.prefix}}{{item}}");
+
+    Object result = new DefaultInputValueResolver().resolve(transform).evaluate(processInstance);
+    assertEquals(List.of("id-1", "id-2", "id-3"), result);
+    assertSame(variableContainer, processInstance.getVariableContainer());
+  }
+
+  @Test
+  @DisplayName("Should evaluate nested parallel transforms within the scope of the instance")
+  void testNestedParallelTransform() {
+    List<Map<String, Object>> groups = new ArrayList<>();
+    List<List<Object>> expected = new ArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      List<Integer> values = new ArrayList<>();
+      List<Object> products = new ArrayList<>();
+      for (int j = 0; j < 600; j++) {
+        values.add(i + j);
+        products.add((i + j) * 3 + 1);
+      }
+      groups.add(Map.of("values", values));
+      expected.add(products);
+    }
+    variableContainer.restoreVariable(
+        "task", Variable.Type.INPUT, Map.of("groups", groups, "offset", 1));
+    Map<String, Object> inner = new LinkedHashMap<>();
+    inner.put("__@type", "arrayTransformer");
+    inner.put("source", "{{item.values}}");
+    inner.put("item", "[[{{item}} * {{outer.factor}} + {{task.input.offset}}]]");
+    inner.put("parallel", true);
+    inner.put("parallelThreshold", 2);
+    Map<String, Object> transform = new LinkedHashMap<>();
+    transform.put("__@type", "arrayTransformer");
+    transform.put("source", "{{task.input.groups}}");
+    transform.put("item", inner);
+    transform.put("parallel", true);
+    transform.put("parallelThreshold", 2);
+
+    VariableScope scope = VariableScope.enter(processInstance);
+    int mark = scope.mark();
+    scope.push("outer", null, Map.of("factor", 3));
+    Object result = new DefaultInputValueResolver().resolve(transform).evaluate(processInstance);
+
+    assertEquals(expected, result);
+    assertSame(scope, processInstance.getVariableContainer());
+    assertEquals(3, scope.readVariable(JsonPath.create("outer.factor")));
+    scope.exit(processInstance, mark);
+    assertSame(variableContainer, processInstance.getVariableContainer());
+  }
+}
@@ -0,0 +1,20 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis;
+
+/**
+ * Codec storing values as bytes rather than text, used by repositories reading and writing values
+ * through a {@link BinaryRedisTemplate}. The string conversions of {@link RedisCodec} remain
+ * available for ids and for operations only supporting text values.
+ */
+public interface BinaryRedisCodec<T, ID> extends RedisCodec<T, ID> {
+
+  byte[] toBytes(T obj);
+
+  T fromBytes(byte[] value);
+}
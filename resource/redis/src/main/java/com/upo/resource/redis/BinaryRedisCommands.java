@@ -0,0 +1,45 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis;
+
+import java.io.Closeable;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
+
+/**
+ * Redis commands over a connection encoding keys as UTF-8 text and values as raw bytes, the binary
+ * counterpart of {@link RedisCommands}.
+ *
+ * @see BinaryRedisTemplate
+ */
+public interface BinaryRedisCommands extends RedisClusterCommands<String, byte[]>, Closeable {
+
+  /** Returns the connection back to the pool */
+  @Override
+  void close();
+
+  /**
+   * Creates a dynamically proxied instance of BinaryRedisCommands from a given connection.
+   *
+   * @param <T> The type of connection
+   * @param connection The connection to be managed
+   * @param function Function to retrieve Redis cluster commands from the connection
+   * @return A dynamically proxied BinaryRedisCommands instance
+   */
+  static <T extends StatefulConnection<String, byte[]>> BinaryRedisCommands from(
+      T connection, Function<T, RedisClusterCommands<String, byte[]>> function) {
+    return (BinaryRedisCommands)
+        Proxy.newProxyInstance(
+            RedisClient.class.getClassLoader(),
+            new Class[] {BinaryRedisCommands.class},
+            new RedisCommands.CommandsInvocationHandler<>(connection, function, null));
+  }
+}
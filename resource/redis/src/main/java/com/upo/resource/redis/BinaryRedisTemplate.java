@@ -0,0 +1,90 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Variant of {@link RedisTemplate} for keys holding binary values, read and written over
+ * connections encoding values as raw bytes. Keys are namespaced like the template it is obtained
+ * from, so the key-only operations of that template (deletes, expiry, existence) apply to them as
+ * well.
+ */
+public interface BinaryRedisTemplate {
+
+  /**
+   * Inserts a value if the key doesn't exist (atomic operation).
+   *
+   * @param id The key identifier
+   * @param value The value to insert
+   * @return true if inserted, false if key already exists
+   */
+  boolean insert(String id, byte[] value);
+
+  /**
+   * Atomically inserts multiple key-value pairs if none of the keys exist. Either all insertions
+   * succeed, or none do (transaction).
+   *
+   * @param entries Map of key-value pairs to insert
+   * @return true if all entries were inserted, false if any key existed
+   */
+  boolean insertMany(Map<String, byte[]> entries);
+
+  /**
+   * Saves a value, overwriting if the key exists.
+   *
+   * @param id The key identifier
+   * @param value The value to save
+   * @return true if saved successfully
+   */
+  boolean save(String id, byte[] value);
+
+  /**
+   * Saves a value with expiry, overwriting if the key exists.
+   *
+   * @param id The key identifier
+   * @param value The value to save
+   * @param expirySeconds Time in seconds after which the key will expire
+   * @return true if saved successfully
+   */
+  boolean saveWithExpiry(String id, byte[] value, long expirySeconds);
+
+  /**
+   * Saves multiple key-value pairs atomically.
+   *
+   * @param entries Map of key-value pairs to save
+   * @return true if all entries were saved successfully
+   */
+  boolean saveMany(Map<String, byte[]> entries);
+
+  /**
+   * Retrieves a value by key.
+   *
+   * @param id The key identifier
+   * @return Optional containing the value if found
+   */
+  Optional<byte[]> get(String id);
+
+  /**
+   * Retrieves multiple values by their keys.
+   *
+   * @param ids Collection of key identifiers
+   * @return Map of found key-value pairs, keyed by the ids given
+   */
+  Map<String, byte[]> getMany(Collection<String> ids);
+
+  /**
+   * Gets and deletes a value atomically.
+   *
+   * @param id The key identifier
+   * @return Optional containing the value if it existed
+   */
+  Optional<byte[]> getDel(String id);
+}
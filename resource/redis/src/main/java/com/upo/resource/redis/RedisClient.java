@@ -23,6 +23,7 @@ import io.lettuce.core.ReadFrom;
 import io.lettuce.core.RedisURI;
 import io.lettuce.core.cluster.RedisClusterClient;
 import io.lettuce.core.cluster.api.StatefulRedisClusterConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
 import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.masterreplica.MasterReplica;
 import io.lettuce.core.masterreplica.StatefulRedisMasterReplicaConnection;
@@ -72,6 +73,15 @@ public interface RedisClient extends Closeable {
    */
   RedisCommands getRedisCommands();
 
+  /**
+   * Retrieves a set of Redis commands over a connection encoding values as raw bytes, borrowed
+   * from a pool of its own like {@link #getRedisCommands()}.
+   *
+   * @return A set of executable Redis commands for binary values
+   * @throws RuntimeException if connection cannot be borrowed
+   */
+  BinaryRedisCommands getBinaryRedisCommands();
+
   /**
    * Registers a Lua script with Redis and returns its digest. If the script was previously
    * registered, returns the existing digest. The scriptId serves as a logical identifier for the
@@ -168,13 +178,28 @@ public interface RedisClient extends Closeable {
       RedisClusterClient client, ReadFrom readFrom, GenericObjectPoolConfig<?> poolConfig) {
     return new AbstractRedisClient() {
       private final GenericObjectPool<StatefulRedisClusterConnection<String, String>>
-          connectionPool = createConnectionPool(client, readFrom, poolConfig);
+          connectionPool = createConnectionPool(client, StringCodec.UTF8, readFrom, poolConfig);
+      private final GenericObjectPool<StatefulRedisClusterConnection<String, byte[]>>
+          binaryConnectionPool = createConnectionPool(client, binaryCodec(), readFrom, poolConfig);
 
       @Override
       public RedisCommands getRedisCommands() {
         try {
           var connection = connectionPool.borrowObject();
-          return RedisCommands.from(connection, StatefulRedisClusterConnection::sync);
+          return RedisCommands.from(
+              connection,
+              StatefulRedisClusterConnection::sync,
+              StatefulRedisClusterConnection::async);
+        } catch (Exception e) {
+          throw new RuntimeException("failed to borrow connection from connection pool", e);
+        }
+      }
+
+      @Override
+      public BinaryRedisCommands getBinaryRedisCommands() {
+        try {
+          var connection = binaryConnectionPool.borrowObject();
+          return BinaryRedisCommands.from(connection, StatefulRedisClusterConnection::sync);
         } catch (Exception e) {
           throw new RuntimeException("failed to borrow connection from connection pool", e);
         }
@@ -182,22 +207,25 @@ public interface RedisClient extends Closeable {
 
       @Override
       public void close() {
-        IOUtils.closeQuietly(connectionPool, client, client::shutdown);
+        IOUtils.closeQuietly(connectionPool, binaryConnectionPool, client, client::shutdown);
       }
 
-      private static GenericObjectPool<StatefulRedisClusterConnection<String, String>>
+      private static <V> GenericObjectPool<StatefulRedisClusterConnection<String, V>>
           createConnectionPool(
-              RedisClusterClient client, ReadFrom readFrom, GenericObjectPoolConfig<?> poolConfig) {
+              RedisClusterClient client,
+              io.lettuce.core.codec.RedisCodec<String, V> codec,
+              ReadFrom readFrom,
+              GenericObjectPoolConfig<?> poolConfig) {
        //noinspection unchecked
         return ConnectionPoolSupport.createGenericObjectPool(
             () -> {
-              var connection = client.connect();
+              var connection = client.connect(codec);
               if (readFrom != null) {
                 connection.setReadFrom(readFrom);
               }
               return connection;
             },
-            (GenericObjectPoolConfig<StatefulRedisClusterConnection<String, String>>) poolConfig);
+            (GenericObjectPoolConfig<StatefulRedisClusterConnection<String, V>>) poolConfig);
       }
     };
   }
@@ -234,13 +262,30 @@ public interface RedisClient extends Closeable {
     return new AbstractRedisClient() {
 
       private final GenericObjectPool<StatefulRedisMasterReplicaConnection<String, String>>
-          connectionPool = createConnectionPool(client, redisURI, readFrom, poolConfig);
+          connectionPool =
+              createConnectionPool(client, StringCodec.UTF8, redisURI, readFrom, poolConfig);
+      private final GenericObjectPool<StatefulRedisMasterReplicaConnection<String, byte[]>>
+          binaryConnectionPool =
+              createConnectionPool(client, binaryCodec(), redisURI, readFrom, poolConfig);
 
       @Override
       public RedisCommands getRedisCommands() {
         try {
           var connection = connectionPool.borrowObject();
-          return RedisCommands.from(connection, StatefulRedisMasterReplicaConnection::sync);
+          return RedisCommands.from(
+              connection,
+              StatefulRedisMasterReplicaConnection::sync,
+              StatefulRedisMasterReplicaConnection::async);
+        } catch (Exception e) {
+          throw new RuntimeException("failed to borrow connection from pool", e);
+        }
+      }
+
+      @Override
+      public BinaryRedisCommands getBinaryRedisCommands() {
+        try {
+          var connection = binaryConnectionPool.borrowObject();
+          return BinaryRedisCommands.from(connection, StatefulRedisMasterReplicaConnection::sync);
         } catch (Exception e) {
           throw new RuntimeException("failed to borrow connection from pool", e);
         }
@@ -248,27 +293,32 @@ public interface RedisClient extends Closeable {
 
       @Override
       public void close() {
-        IOUtils.closeQuietly(connectionPool, client, client::shutdown);
+        IOUtils.closeQuietly(connectionPool, binaryConnectionPool, client, client::shutdown);
       }
 
-      private static GenericObjectPool<StatefulRedisMasterReplicaConnection<String, String>>
+      private static <V> GenericObjectPool<StatefulRedisMasterReplicaConnection<String, V>>
           createConnectionPool(
               io.lettuce.core.RedisClient client,
+              io.lettuce.core.codec.RedisCodec<String, V> codec,
               RedisURI redisURI,
               ReadFrom readFrom,
               GenericObjectPoolConfig<?> poolConfig) {
        //noinspection unchecked
         return ConnectionPoolSupport.createGenericObjectPool(
             () -> {
-              var connection = MasterReplica.connect(client, StringCodec.UTF8, redisURI);
+              var connection = MasterReplica.connect(client, codec, redisURI);
               if (readFrom != null) {
                 connection.setReadFrom(readFrom);
               }
               return connection;
             },
-            (GenericObjectPoolConfig<StatefulRedisMasterReplicaConnection<String, String>>)
-                poolConfig);
+            (GenericObjectPoolConfig<StatefulRedisMasterReplicaConnection<String, V>>) poolConfig);
       }
     };
   }
+
+  /** Codec of binary connections, encoding keys as UTF-8 text and values as raw bytes */
+  private static io.lettuce.core.codec.RedisCodec<String, byte[]> binaryCodec() {
+    return io.lettuce.core.codec.RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+  }
 }
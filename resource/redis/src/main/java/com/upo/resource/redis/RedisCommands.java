@@ -12,8 +12,14 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import io.lettuce.core.cluster.api.sync.RedisClusterCommands;
 
 /**
@@ -51,34 +57,53 @@ public interface RedisCommands extends RedisClusterCommands<String, String>, Clo
   @Override
   void close();
 
+  /**
+   * Issues the commands of the given function as a single pipeline on the borrowed connection.
+   * Commands are buffered until the function returns, written to the server with one flush and
+   * then awaited together, so a batch costs a single round trip instead of one per command.
+   *
+   * @param commands function issuing asynchronous commands and returning their futures
+   * @throws RedisCommandTimeoutException if the commands don't complete within the connection
+   *     timeout
+   */
+  void pipeline(
+      Function<RedisClusterAsyncCommands<String, String>, List<? extends Future<?>>> commands);
+
   /**
    * Creates a dynamically proxied instance of RedisCommands from a given connection.
    *
    * @param <T> The type of AutoCloseable connection
    * @param connection The connection to be managed
    * @param function Function to retrieve Redis cluster commands from the connection
+   * @param asyncFunction Function to retrieve asynchronous Redis cluster commands from the
+   *     connection, used for pipelining
    * @return A dynamically proxied RedisCommands instance
    * @see Proxy#newProxyInstance(ClassLoader, Class[], InvocationHandler)
    * @see CommandsInvocationHandler
    */
-  static <T extends AutoCloseable> RedisCommands from(
-      T connection, Function<T, RedisClusterCommands<String, String>> function) {
+  static <T extends StatefulConnection<String, String>> RedisCommands from(
+      T connection,
+      Function<T, RedisClusterCommands<String, String>> function,
+      Function<T, RedisClusterAsyncCommands<String, String>> asyncFunction) {
     return (RedisCommands)
         Proxy.newProxyInstance(
             RedisClient.class.getClassLoader(),
             new Class[] {RedisCommands.class},
-            new CommandsInvocationHandler<>(connection, function));
+            new CommandsInvocationHandler<>(connection, function, asyncFunction));
   }
 
   /**
    * Dynamic invocation handler for Redis commands with advanced connection management.
    *
+   * @param <V> The type of values of the connection
    * @param <Connection> The type of connection being managed
    */
-  class CommandsInvocationHandler<Connection extends AutoCloseable> implements InvocationHandler {
+  class CommandsInvocationHandler<V, Connection extends StatefulConnection<String, V>>
+      implements InvocationHandler {
 
     /**
-     * The underlying connection to be managed. Supports any {@link AutoCloseable} connection type.
+     * The underlying connection to be managed. Supports any {@link StatefulConnection} connection
+     * type.
      */
     private final Connection connection;
 
@@ -86,26 +111,67 @@ public interface RedisCommands extends RedisClusterCommands<String, String>, Clo
      * Function to retrieve Redis cluster commands from the connection. Provides flexible command
      * retrieval strategy.
      */
-    private final Function<Connection, RedisClusterCommands<String, String>> commandsFunction;
+    private final Function<Connection, RedisClusterCommands<String, V>> commandsFunction;
+
+    /**
+     * Function to retrieve asynchronous Redis cluster commands used for pipelining, null if the
+     * commands don't support pipelining.
+     */
+    private final Function<Connection, RedisClusterAsyncCommands<String, V>> asyncCommandsFunction;
 
     public CommandsInvocationHandler(
         Connection connection,
-        Function<Connection, RedisClusterCommands<String, String>> commandsFunction) {
+        Function<Connection, RedisClusterCommands<String, V>> commandsFunction,
+        Function<Connection, RedisClusterAsyncCommands<String, V>> asyncCommandsFunction) {
       this.connection = connection;
       this.commandsFunction = commandsFunction;
+      this.asyncCommandsFunction = asyncCommandsFunction;
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-      if (method.getDeclaringClass().equals(RedisCommands.class)) {
-        if (args.length == 0 && "close".equals(method.getName())) {
+      Class<?> declaringClass = method.getDeclaringClass();
+      if (declaringClass.equals(RedisCommands.class)
+          || declaringClass.equals(BinaryRedisCommands.class)) {
+        if ((args == null || args.length == 0) && "close".equals(method.getName())) {
           connection.close();
           return null;
         }
+        if ("pipeline".equals(method.getName())) {
+         //noinspection unchecked
+          pipeline(
+              (Function<RedisClusterAsyncCommands<String, V>, List<? extends Future<?>>>) args[0]);
+          return null;
+        }
       }
       return invoke(method, args);
     }
 
+    /**
+     * Disables auto flushing while the commands are issued, so they are written together on
+     * {@link StatefulConnection#flushCommands()}. Auto flushing is restored before the connection
+     * is returned to the pool.
+     */
+    private void pipeline(
+        Function<RedisClusterAsyncCommands<String, V>, List<? extends Future<?>>> commands) {
+      List<? extends Future<?>> futures;
+      connection.setAutoFlushCommands(false);
+      try {
+        futures = commands.apply(asyncCommandsFunction.apply(connection));
+        connection.flushCommands();
+      } finally {
+        connection.setAutoFlushCommands(true);
+      }
+      if (futures == null || futures.isEmpty()) {
+        return;
+      }
+      boolean completed =
+          LettuceFutures.awaitAll(connection.getTimeout(), futures.toArray(new Future<?>[0]));
+      if (!completed) {
+        throw new RedisCommandTimeoutException("pipelined commands timed out");
+      }
+    }
+
     /**
      * Internal method to invoke commands on the underlying Redis connection.
      *
@@ -9,6 +9,8 @@ package com.upo.resource.redis;
 
 import java.util.*;
 
+import com.upo.resource.redis.models.StreamEntry;
+
 /**
  * Template interface for Redis operations providing type-safe access to Redis commands. Supports
  * key-value operations, collections, expiry management, and pattern-based operations.
@@ -164,6 +166,13 @@ public interface RedisTemplate {
    */
   long addAllToList(String id, List<String> values);
 
+  /**
+   * Adds values to the end of several lists, issuing one RPUSH per list in a single pipeline.
+   *
+   * @param valuesById Values to add keyed by list identifier
+   */
+  void addAllToLists(Map<String, List<String>> valuesById);
+
   /**
    * Retrieves and removes the first element of a list.
    *
@@ -188,6 +197,129 @@ public interface RedisTemplate {
    */
   List<String> getList(String id);
 
+  /**
+   * Gets the number of elements in a list.
+   *
+   * @param id The list identifier
+   * @return Length of the list, 0 if key doesn't exist
+   */
+  long getListLength(String id);
+
+  /**
+   * Removes the first occurrence of a value from a list.
+   *
+   * @param id The list identifier
+   * @param value The value to remove
+   * @return Number of elements removed
+   */
+  long removeFromList(String id, String value);
+
+  /**
+   * Atomically moves the first element of the source list to the end of the destination list,
+   * blocking until an element is available or the timeout expires (BLMOVE). In cluster mode both
+   * keys must hash to the same slot.
+   *
+   * @param sourceId The list to take the element from
+   * @param destinationId The list to append the element to
+   * @param timeoutSeconds Maximum time to block, 0 blocks indefinitely
+   * @return Optional containing the moved value, empty if the timeout expired
+   */
+  Optional<String> moveFromList(String sourceId, String destinationId, long timeoutSeconds);
+
+  /**
+   * Atomically moves the last element of the source list to the head of the destination list
+   * (LMOVE). Repeated calls return every element of the source to the destination in its original
+   * order.
+   *
+   * @param sourceId The list to take the element from
+   * @param destinationId The list to prepend the element to
+   * @return Optional containing the moved value, empty if source list is empty
+   */
+  Optional<String> moveToListHead(String sourceId, String destinationId);
+
+  /**
+   * Appends an entry to a stream (XADD), approximately trimming the stream to the given length.
+   *
+   * @param id The stream identifier
+   * @param fields Field-value pairs of the entry
+   * @param maxLength Approximate maximum number of entries to retain, 0 disables trimming
+   * @return The id assigned to the entry
+   */
+  String addToStream(String id, Map<String, String> fields, long maxLength);
+
+  /**
+   * Appends entries to several streams, issuing one XADD per entry in a single pipeline.
+   *
+   * @param entriesById Field-value pairs of the entries keyed by stream identifier
+   * @param maxLength Approximate maximum number of entries to retain, 0 disables trimming
+   */
+  void addAllToStreams(Map<String, List<Map<String, String>>> entriesById, long maxLength);
+
+  /**
+   * Creates a consumer group reading the stream from its beginning, creating the stream if it
+   * doesn't exist (XGROUP CREATE ... MKSTREAM).
+   *
+   * @param id The stream identifier
+   * @param group The consumer group name
+   * @return true if created, false if the group already exists
+   */
+  boolean createStreamGroup(String id, String group);
+
+  /**
+   * Reads entries never delivered to the consumer group (XREADGROUP ... &gt;). Entries remain
+   * pending for the consumer until acknowledged.
+   *
+   * @param id The stream identifier
+   * @param group The consumer group name
+   * @param consumer The consumer name within the group
+   * @param count Maximum number of entries to read
+   * @param blockMillis Maximum time to block when no entries are available, 0 doesn't block
+   * @return Entries read, empty list if none were available
+   */
+  List<StreamEntry> readFromStreamGroup(
+      String id, String group, String consumer, int count, long blockMillis);
+
+  /**
+   * Transfers ownership of entries pending for longer than the idle time to the given consumer
+   * (XAUTOCLAIM), typically to recover entries of crashed consumers.
+   *
+   * @param id The stream identifier
+   * @param group The consumer group name
+   * @param consumer The consumer to claim entries for
+   * @param minIdleMillis Minimum time entries must have been pending
+   * @param count Maximum number of entries to claim
+   * @return Entries claimed
+   */
+  List<StreamEntry> claimFromStreamGroup(
+      String id, String group, String consumer, long minIdleMillis, int count);
+
+  /**
+   * Acknowledges entries, removing them from the group's pending entries list (XACK).
+   *
+   * @param id The stream identifier
+   * @param group The consumer group name
+   * @param entryIds Ids of entries to acknowledge
+   * @return Number of entries acknowledged
+   */
+  long acknowledgeStreamEntries(String id, String group, String... entryIds);
+
+  /**
+   * Gets all fields of a hash.
+   *
+   * @param id The hash identifier
+   * @return Fields of the hash by name, empty if the hash doesn't exist
+   */
+  Map<String, String> getHash(String id);
+
+  /**
+   * Gets all fields of several hashes, issuing one HGETALL per hash in a single pipeline.
+   *
+   * @param ids The hash identifiers
+   * @return Fields of the hashes by name, keyed by hash identifier, excluding hashes that don't
+   *     exist
+   */
+  Map<String, Map<String, String>> getHashes(Collection<String> ids);
+
   /**
    * Adds one or more values to a set.
    *
@@ -294,6 +426,14 @@ public interface RedisTemplate {
    */
   String getKeyNamespace();
 
+  /**
+   * Returns the template reading and writing binary values under the same key namespace as this
+   * template, for values encoded by a {@link BinaryRedisCodec}.
+   *
+   * @return The binary variant of this template
+   */
+  BinaryRedisTemplate getBinaryTemplate();
+
   /**
    * Loads a predefined script into Redis and returns its digest. If the script is already loaded,
    * returns the existing digest. The script is identified by a scriptId which maps to standard
@@ -307,4 +447,16 @@ public interface RedisTemplate {
    * @return The digest of the loaded script, used for execution
    */
   String loadStandardScript(String scriptId, boolean force);
+
+  /**
+   * Executes a standard script, loading it first if needed. Keys are namespaced the same way as for
+   * every other operation of this template. If the server lost its script cache the script is
+   * reloaded and executed again.
+   *
+   * @param scriptId The identifier for the standard script to execute
+   * @param keys Keys passed to the script as KEYS
+   * @param args Arguments passed to the script as ARGV
+   * @return The table returned by the script
+   */
+  List<Object> executeStandardScript(String scriptId, List<String> keys, List<String> args);
 }
@@ -11,6 +11,14 @@ import java.util.Map;
 
 public final class StandardScripts {
   public static final String UPDATE_IF = "update-if";
+  public static final String UPDATE_IF_VERSION = "update-if-version";
+  public static final String REPLACE_HASH = "replace-hash";
+  public static final String INSERT_HASHES = "insert-hashes";
+  public static final String GET_AND_DELETE_HASH = "get-and-delete-hash";
+  public static final String UPDATE_HASH_IF_VERSION = "update-hash-if-version";
+  public static final String ACQUIRE_LEASE = "acquire-lease";
+  public static final String RENEW_LEASE = "renew-lease";
+  public static final String RELEASE_LEASE = "release-lease";
 
   private static final Map<String, String> SCRIPT =
       Map.of(
@@ -80,6 +88,240 @@ public final class StandardScripts {
               -- Return based on flag
               local returnOld = ARGV[4] == "true"
               return {returnOld and currentValue or ARGV[1], 1}
+              """,
+          UPDATE_IF_VERSION,
+          """
+              --[[
+                  Script updates a key if its version key holds the expected version, saving
+                  entries along with it and adding their ids to a set, so that either all or none
+                  are written. Only the version is compared, the stored value isn't decoded.
+                  KEYS[1] = key to update
+                  KEYS[2] = version key, a missing one holds version 0
+                  KEYS[3] = set the ids of the entries are added to, if any entries
+                  KEYS[4..n] = keys of the entries to save
+                  ARGV[1] = new value (JSON string)
+                  ARGV[2] = expected version
+                  ARGV[3] = new version
+                  ARGV[2i-4], ARGV[2i-3] = id and value of the entry at KEYS[i], for i >= 4
+
+                  Returns:
+                  {1} - if update successful
+                  {0} - if version doesn't match or key doesn't exist
+              --]]
+
+              local version = redis.call('GET', KEYS[2]) or '0'
+              if version ~= ARGV[2] or redis.call('EXISTS', KEYS[1]) == 0 then
+                  return {0}
+              end
+
+              redis.call('SET', KEYS[1], ARGV[1])
+              redis.call('SET', KEYS[2], ARGV[3])
+              for i = 4, #KEYS do
+                  redis.call('SET', KEYS[i], ARGV[2 * i - 3])
+                  redis.call('SADD', KEYS[3], ARGV[2 * i - 4])
+              end
+              return {1}
+              """,
+          REPLACE_HASH,
+          """
+              --[[
+                  Script replaces all fields of hashes, writing all of them in one step
+                  KEYS[1..n] = hash keys
+                  ARGV[1] = expiry in seconds, 0 if the hashes don't expire
+                  ARGV[2..] = for every KEYS[i], the number m of fields followed by m field, value
+                  pairs
+
+                  Returns:
+                  {1}
+              --]]
+
+              local offset = 2
+              for i = 1, #KEYS do
+                  redis.call('DEL', KEYS[i])
+                  local fields = 2 * tonumber(ARGV[offset])
+                  if fields > 0 then
+                      redis.call('HSET', KEYS[i], unpack(ARGV, offset + 1, offset + fields))
+                      if tonumber(ARGV[1]) > 0 then
+                          redis.call('EXPIRE', KEYS[i], ARGV[1])
+                      end
+                  end
+                  offset = offset + fields + 1
+              end
+              return {1}
+              """,
+          INSERT_HASHES,
+          """
+              --[[
+                  Script writes hashes only if none of them exists, so that either all or none are
+                  written
+                  KEYS[1..n] = hash keys
+                  ARGV = for every KEYS[i], the number m of fields followed by m field, value pairs
+
+                  Returns:
+                  {1} - if all hashes were written
+                  {0} - if any of the hashes exists
+              --]]
+
+              for i = 1, #KEYS do
+                  if redis.call('EXISTS', KEYS[i]) == 1 then
+                      return {0}
+                  end
+              end
+              local offset = 1
+              for i = 1, #KEYS do
+                  local fields = 2 * tonumber(ARGV[offset])
+                  if fields > 0 then
+                      redis.call('HSET', KEYS[i], unpack(ARGV, offset + 1, offset + fields))
+                  end
+                  offset = offset + fields + 1
+              end
+              return {1}
+              """,
+          GET_AND_DELETE_HASH,
+          """
+              --[[
+                  Script reads all fields of a hash and deletes it
+                  KEYS[1] = hash key
+
+                  Returns:
+                  field, value pairs of the hash, empty if it doesn't exist
+              --]]
+
+              local fields = redis.call('HGETALL', KEYS[1])
+              if #fields > 0 then
+                  redis.call('DEL', KEYS[1])
+              end
+              return fields
+              """,
+          UPDATE_HASH_IF_VERSION,
+          """
+              --[[
+                  Script updates fields of a hash if its version field holds the expected version
+                  and the expected fields hold their expected values, saving entries along with it
+                  and adding their ids to a set, so that either all or none are written. Only the
+                  version, fencing token and expected fields are read.
+                  KEYS[1] = hash key
+                  KEYS[2] = set the ids of the entries are added to, if any entries
+                  KEYS[3..n] = keys of the entries to save
+                  ARGV[1] = version field, a missing one holds version 0
+                  ARGV[2] = expected version
+                  ARGV[3] = new version
+                  ARGV[4] = fencing token field, empty if the write is not fenced
+                  ARGV[5] = fencing token of the writer, stored in the fencing token field
+                  ARGV[6] = number k of expected fields
+                  ARGV[7..6+2k] = field, expected value pairs, a missing field holds 'null'
+                  ARGV[7+2k] = number m of fields to update
+                  ARGV[8+2k..7+2k+2m] = field, value pairs to update
+                  then for every KEYS[i], i >= 3, the id and the value of the entry
+
+                  Returns:
+                  {1} - if update successful
+                  {0} - if version or expected fields don't match or key doesn't exist
+                  {0, 1} - if a write with a higher fencing token was made
+              --]]
+
+              if redis.call('EXISTS', KEYS[1]) == 0 then
+                  return {0}
+              end
+              local version = redis.call('HGET', KEYS[1], ARGV[1]) or '0'
+              if version ~= ARGV[2] then
+                  return {0}
+              end
+              local fenced = ARGV[4] ~= ''
+              if fenced then
+                  local token = redis.call('HGET', KEYS[1], ARGV[4])
+                  if token and tonumber(token) > tonumber(ARGV[5]) then
+                      return {0, 1}
+                  end
+              end
+
+              local expected = 6 + 2 * tonumber(ARGV[6])
+              for j = 7, expected, 2 do
+                  if (redis.call('HGET', KEYS[1], ARGV[j]) or 'null') ~= ARGV[j + 1] then
+                      return {0}
+                  end
+              end
+
+              local entries = expected + 1 + 2 * tonumber(ARGV[expected + 1])
+              for j = expected + 2, entries, 2 do
+                  redis.call('HSET', KEYS[1], ARGV[j], ARGV[j + 1])
+              end
+              redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+              if fenced then
+                  redis.call('HSET', KEYS[1], ARGV[4], ARGV[5])
+              end
+              for i = 3, #KEYS do
+                  local entry = entries + 2 * (i - 3)
+                  redis.call('SET', KEYS[i], ARGV[entry + 2])
+                  redis.call('SADD', KEYS[2], ARGV[entry + 1])
+              end
+              return {1}
+              """,
+          ACQUIRE_LEASE,
+          """
+              --[[
+                  Script acquires a lease if it is free or already held by the same owner
+                  KEYS[1] = lease key, holds "<fencing token>:<owner>"
+                  KEYS[2] = fencing token counter
+                  ARGV[1] = owner
+                  ARGV[2] = lease timeout in milliseconds
+
+                  Returns:
+                  {token, 1} - if lease is held by owner, token is the fencing token
+                  {current, 0} - if lease is held by someone else
+              --]]
+
+              local current = redis.call('GET', KEYS[1])
+              if current then
+                  local separator = string.find(current, ':', 1, true)
+                  if string.sub(current, separator + 1) == ARGV[1] then
+                      redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                      return {string.sub(current, 1, separator - 1), 1}
+                  end
+                  return {current, 0}
+              end
+
+              -- Fencing token increases with every new holder of the lease
+              local token = redis.call('INCR', KEYS[2])
+              redis.call('SET', KEYS[1], token .. ':' .. ARGV[1], 'PX', ARGV[2])
+              return {tostring(token), 1}
+              """,
+          RENEW_LEASE,
+          """
+              --[[
+                  Script extends a lease only if it is still held with the same fencing token
+                  KEYS[1] = lease key
+                  ARGV[1] = expected lease value "<fencing token>:<owner>"
+                  ARGV[2] = lease timeout in milliseconds
+
+                  Returns:
+                  {1} - if lease was extended
+                  {0} - if lease expired or is held by someone else
+              --]]
+
+              if redis.call('GET', KEYS[1]) == ARGV[1] then
+                  redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                  return {1}
+              end
+              return {0}
+              """,
+          RELEASE_LEASE,
+          """
+              --[[
+                  Script releases a lease only if it is still held with the same fencing token
+                  KEYS[1] = lease key
+                  ARGV[1] = expected lease value "<fencing token>:<owner>"
+
+                  Returns:
+                  {1} - if lease was released
+                  {0} - if lease expired or is held by someone else
+              --]]
+
+              if redis.call('GET', KEYS[1]) == ARGV[1] then
+                  redis.call('DEL', KEYS[1])
+                  return {1}
+              end
+              return {0}
               """);
 
   public static String getScript(String scriptId) {
@@ -0,0 +1,111 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis.impl;
+
+import java.util.*;
+
+import com.upo.resource.redis.BinaryRedisCommands;
+import com.upo.resource.redis.BinaryRedisTemplate;
+import com.upo.resource.redis.RedisClient;
+
+import io.lettuce.core.KeyValue;
+
+public class BinaryRedisTemplateImpl implements BinaryRedisTemplate {
+
+  private final RedisClient redisClient;
+  private final String prefix;
+
+  public BinaryRedisTemplateImpl(RedisClient redisClient, String prefix) {
+    this.redisClient = redisClient;
+    this.prefix = prefix.endsWith("/") ? prefix : prefix + "/";
+  }
+
+  @Override
+  public boolean insert(String id, byte[] value) {
+    try (var commands = getCommands()) {
+      return Boolean.TRUE.equals(commands.setnx(createId(id), value));
+    }
+  }
+
+  @Override
+  public boolean insertMany(Map<String, byte[]> entries) {
+    try (var commands = getCommands()) {
+      return Boolean.TRUE.equals(commands.msetnx(toPrefixedEntries(entries)));
+    }
+  }
+
+  @Override
+  public boolean save(String id, byte[] value) {
+    try (var commands = getCommands()) {
+      return "OK".equals(commands.set(createId(id), value));
+    }
+  }
+
+  @Override
+  public boolean saveWithExpiry(String id, byte[] value, long expirySeconds) {
+    try (var commands = getCommands()) {
+      return "OK".equals(commands.setex(createId(id), expirySeconds, value));
+    }
+  }
+
+  @Override
+  public boolean saveMany(Map<String, byte[]> entries) {
+    try (var commands = getCommands()) {
+      return "OK".equals(commands.mset(toPrefixedEntries(entries)));
+    }
+  }
+
+  @Override
+  public Optional<byte[]> get(String id) {
+    try (var commands = getCommands()) {
+      return Optional.ofNullable(commands.get(createId(id)));
+    }
+  }
+
+  @Override
+  public Map<String, byte[]> getMany(Collection<String> ids) {
+    try (var commands = getCommands()) {
+      String[] prefixedKeys = ids.stream().map(this::createId).toArray(String[]::new);
+      List<KeyValue<String, byte[]>> keyValues = commands.mget(prefixedKeys);
+      Map<String, byte[]> result = new HashMap<>();
+      for (KeyValue<String, byte[]> keyValue : keyValues) {
+        if (keyValue.hasValue() && keyValue.getValue() != null) {
+          result.put(removePrefix(keyValue.getKey()), keyValue.getValue());
+        }
+      }
+      return result;
+    }
+  }
+
+  @Override
+  public Optional<byte[]> getDel(String id) {
+    try (var commands = getCommands()) {
+      return Optional.ofNullable(commands.getdel(createId(id)));
+    }
+  }
+
+  private Map<String, byte[]> toPrefixedEntries(Map<String, byte[]> entries) {
+    Map<String, byte[]> map = new LinkedHashMap<>();
+    for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+      map.put(createId(entry.getKey()), entry.getValue());
+    }
+    return map;
+  }
+
+  private BinaryRedisCommands getCommands() {
+    return redisClient.getBinaryRedisCommands();
+  }
+
+  private String createId(String id) {
+    return prefix + id;
+  }
+
+  private String removePrefix(String key) {
+    return key.substring(prefix.length());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis.impl;
+
+import java.util.*;
+
+import com.upo.resource.client.base.models.ResourceType;
+import com.upo.resource.redis.BinaryRedisCodec;
+import com.upo.resource.redis.BinaryRedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.utilities.ds.CollectionUtils;
+
+/**
+ * Repository storing entities as binary values encoded by a {@link BinaryRedisCodec}, such as
+ * {@link JsonbRedisCodec}. Values are read and written through the {@link BinaryRedisTemplate} of
+ * the repository's template; operations on keys only are inherited unchanged.
+ */
+public class BinaryRepositoryServiceImpl<T, ID> extends RepositoryServiceImpl<T, ID> {
+
+  private final BinaryRedisCodec<T, ID> codec;
+
+  public BinaryRepositoryServiceImpl(
+      RedisTemplateFactory redisTemplateFactory,
+      ResourceType resourceType,
+      Class<T> clz,
+      BinaryRedisCodec<T, ID> codec) {
+    super(redisTemplateFactory, resourceType, clz, codec);
+    this.codec = codec;
+  }
+
+  @Override
+  public boolean insert(T obj) {
+    return getBinaryTemplate().insert(createKey(obj), codec.toBytes(obj));
+  }
+
+  @Override
+  public boolean insertMany(Collection<T> objects) {
+    if (CollectionUtils.isEmpty(objects)) {
+      return true;
+    }
+    return getBinaryTemplate().insertMany(toEntries(objects));
+  }
+
+  @Override
+  public boolean save(T obj) {
+    return getBinaryTemplate().save(createKey(obj), codec.toBytes(obj));
+  }
+
+  @Override
+  public boolean saveMany(Collection<T> objects) {
+    if (CollectionUtils.isEmpty(objects)) {
+      return true;
+    }
+    return getBinaryTemplate().saveMany(toEntries(objects));
+  }
+
+  @Override
+  public Optional<T> findById(ID id) {
+    return getBinaryTemplate().get(toKey(id)).map(codec::fromBytes);
+  }
+
+  @Override
+  public Map<ID, T> findByIds(Collection<ID> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return Collections.emptyMap();
+    }
+    Map<String, byte[]> out =
+        getBinaryTemplate().getMany(CollectionUtils.transformToList(ids, this::toKey));
+    return CollectionUtils.transformMap(out, this::fromKey, codec::fromBytes);
+  }
+
+  @Override
+  public Optional<T> getAndDelete(ID id) {
+    return getBinaryTemplate().getDel(toKey(id)).map(codec::fromBytes);
+  }
+
+  @Override
+  public boolean saveWithExpiry(T obj, long expirySeconds) {
+    return getBinaryTemplate().saveWithExpiry(createKey(obj), codec.toBytes(obj), expirySeconds);
+  }
+
+  @Override
+  public List<T> findByPattern(String pattern) {
+    List<String> keys = getRedisTemplate().findKeysByPattern(createKey(pattern));
+    if (keys.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Map<String, byte[]> values = getBinaryTemplate().getMany(keys);
+    return CollectionUtils.transformToList(values.values(), codec::fromBytes);
+  }
+
+  private Map<String, byte[]> toEntries(Collection<T> objects) {
+    return CollectionUtils.transformToMap(objects, this::createKey, codec::toBytes);
+  }
+
+  private BinaryRedisTemplate getBinaryTemplate() {
+    return getRedisTemplate().getBinaryTemplate();
+  }
+}
@@ -0,0 +1,280 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis.impl;
+
+import java.util.*;
+
+import com.upo.resource.client.base.models.ResourceType;
+import com.upo.resource.redis.RedisTemplate;
+import com.upo.resource.redis.RedisTemplateFactory;
+import com.upo.resource.redis.StandardScripts;
+import com.upo.utilities.ds.CollectionUtils;
+
+/**
+ * Repository storing entities as hashes through a {@link JsonHashRedisCodec}, so that updates can
+ * write only the fields that changed. Entities are replaced as a whole by {@link #save}, and
+ * updated field by field by {@link #updateIfVersion}, which compares a version field, and the
+ * fields it is told to expect, instead of the stored entity.
+ *
+ * <p>Saves, inserts and {@link #getAndDelete} run as scripts, as hashes have no commands of their
+ * own for them. Entities saved or inserted together are written by a single script, so either all
+ * of them are written or none; their keys must map to the same slot on clusters, as for the
+ * multi-key commands of {@link RepositoryServiceImpl}. {@link #findByIds} reads the hashes in a
+ * single pipeline.
+ */
+public class HashRepositoryServiceImpl<T, ID> extends RepositoryServiceImpl<T, ID> {
+
+  private final JsonHashRedisCodec<T, ID> codec;
+
+  public HashRepositoryServiceImpl(
+      RedisTemplateFactory redisTemplateFactory,
+      ResourceType resourceType,
+      Class<T> clz,
+      JsonHashRedisCodec<T, ID> codec) {
+    super(redisTemplateFactory, resourceType, clz, codec);
+    this.codec = codec;
+  }
+
+  @Override
+  public boolean save(T obj) {
+    return replace(Collections.singletonList(obj), 0);
+  }
+
+  @Override
+  public boolean saveWithExpiry(T obj, long expirySeconds) {
+    return replace(Collections.singletonList(obj), expirySeconds);
+  }
+
+  @Override
+  public boolean saveMany(Collection<T> objects) {
+    if (CollectionUtils.isEmpty(objects)) {
+      return true;
+    }
+    return replace(objects, 0);
+  }
+
+  @Override
+  public Optional<T> findById(ID id) {
+    return Optional.ofNullable(codec.fromFields(getRedisTemplate().getHash(toKey(id))));
+  }
+
+  @Override
+  public Map<ID, T> findByIds(Collection<ID> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return Collections.emptyMap();
+    }
+    Map<String, ID> idsByKey = new LinkedHashMap<>();
+    for (ID id : ids) {
+      idsByKey.put(toKey(id), id);
+    }
+    Map<ID, T> result = new HashMap<>();
+    for (Map.Entry<String, Map<String, String>> hash :
+        getRedisTemplate().getHashes(idsByKey.keySet()).entrySet()) {
+      T obj = codec.fromFields(hash.getValue());
+      if (obj != null) {
+        result.put(idsByKey.get(hash.getKey()), obj);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<T> findByPattern(String pattern) {
+    RedisTemplate redisTemplate = getRedisTemplate();
+    List<T> result = new ArrayList<>();
+    for (String key : redisTemplate.findKeysByPattern(createKey(pattern))) {
+      T obj = codec.fromFields(redisTemplate.getHash(key));
+      if (obj != null) {
+        result.add(obj);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean insert(T obj) {
+    return insertMany(Collections.singletonList(obj));
+  }
+
+  @Override
+  public boolean insertMany(Collection<T> objects) {
+    if (CollectionUtils.isEmpty(objects)) {
+      return true;
+    }
+    List<String> keys = new ArrayList<>(objects.size());
+    List<String> args = new ArrayList<>();
+    for (T obj : objects) {
+      Map<String, String> fields = codec.toFields(obj);
+      keys.add(createKey(obj));
+      args.add(String.valueOf(fields.size()));
+      addFields(args, fields);
+    }
+    List<Object> result =
+        getRedisTemplate().executeStandardScript(StandardScripts.INSERT_HASHES, keys, args);
+    return isSuccess(result);
+  }
+
+  @Override
+  public Optional<T> getAndDelete(ID id) {
+    List<Object> result =
+        getRedisTemplate()
+            .executeStandardScript(
+                StandardScripts.GET_AND_DELETE_HASH,
+                Collections.singletonList(toKey(id)),
+                Collections.emptyList());
+    if (CollectionUtils.isEmpty(result)) {
+      return Optional.empty();
+    }
+    Map<String, String> fields = new LinkedHashMap<>();
+    for (int i = 0; i + 1 < result.size(); i += 2) {
+      fields.put((String) result.get(i), (String) result.get(i + 1));
+    }
+    return Optional.ofNullable(codec.fromFields(fields));
+  }
+
+  /**
+   * Writes the given fields of an entity if its version field holds the expected version, moving
+   * it to the next one. Only the version field is read, so the stored entity isn't decoded.
+   *
+   * @param obj Entity to update
+   * @param versionField Field holding the version, a missing one holds version 0
+   * @param expectedVersion Expected version of the entity
+   * @param changedFields Fields of the entity to write
+   * @return true if the entity was updated
+   */
+  public boolean updateIfVersion(
+      T obj, String versionField, long expectedVersion, Collection<String> changedFields) {
+    return updateIfVersion(
+        obj, versionField, expectedVersion, Collections.emptyMap(), changedFields, null, 0);
+  }
+
+  /**
+   * Writes the given fields of an entity like {@link #updateIfVersion(Object, String, long,
+   * Collection)}, if the expected fields also hold their expected values, fenced by a fencing
+   * token. The write is rejected if the entity was written with a higher token, otherwise the token
+   * is stored in the fencing token field.
+   *
+   * @param obj Entity to update
+   * @param versionField Field holding the version, a missing one holds version 0
+   * @param expectedVersion Expected version of the entity
+   * @param expectedFields Expected values of stored fields by name, a missing field holds null
+   * @param changedFields Fields of the entity to write
+   * @param fencingTokenField Field holding the highest fencing token written with, null if the
+   *     write is not fenced
+   * @param fencingToken Fencing token of the writer
+   * @return true if the entity was updated
+   */
+  public boolean updateIfVersion(
+      T obj,
+      String versionField,
+      long expectedVersion,
+      Map<String, ?> expectedFields,
+      Collection<String> changedFields,
+      String fencingTokenField,
+      long fencingToken) {
+    return updateIfVersionAndSave(
+        obj,
+        versionField,
+        expectedVersion,
+        expectedFields,
+        changedFields,
+        fencingTokenField,
+        fencingToken,
+        null,
+        Collections.emptyList(),
+        null);
+  }
+
+  /**
+   * Writes the given fields of an entity like {@link #updateIfVersion(Object, String, long, Map,
+   * Collection, String, long)}, saving entities of another repository and adding their ids to a
+   * set in the same script. Either all of them are written or none, in a single round trip. The
+   * keys of the entities and the set must map to the slot of the entity on clusters, through a
+   * common hash tag.
+   *
+   * @param obj Entity to update
+   * @param versionField Field holding the version, a missing one holds version 0
+   * @param expectedVersion Expected version of the entity
+   * @param expectedFields Expected values of stored fields by name, a missing field holds null
+   * @param changedFields Fields of the entity to write
+   * @param fencingTokenField Field holding the highest fencing token written with, null if the
+   *     write is not fenced
+   * @param fencingToken Fencing token of the writer
+   * @param repository Repository the entities are saved in
+   * @param entities Entities to save along with the update
+   * @param setKey Key of the set the ids of the entities are added to
+   * @return true if the entity was updated and the entities saved
+   */
+  public <E, EID> boolean updateIfVersionAndSave(
+      T obj,
+      String versionField,
+      long expectedVersion,
+      Map<String, ?> expectedFields,
+      Collection<String> changedFields,
+      String fencingTokenField,
+      long fencingToken,
+      RepositoryServiceImpl<E, EID> repository,
+      Collection<E> entities,
+      String setKey) {
+    Map<String, String> fields = codec.toFields(obj, changedFields);
+    List<String> keys = new ArrayList<>(entities.size() + 2);
+    List<String> args =
+        new ArrayList<>(expectedFields.size() * 2 + fields.size() * 2 + entities.size() * 2 + 7);
+    keys.add(createKey(obj));
+    args.add(versionField);
+    args.add(String.valueOf(expectedVersion));
+    args.add(String.valueOf(expectedVersion + 1));
+    args.add(fencingTokenField != null ? fencingTokenField : "");
+    args.add(String.valueOf(fencingToken));
+    args.add(String.valueOf(expectedFields.size()));
+    for (Map.Entry<String, ?> expectedField : expectedFields.entrySet()) {
+      args.add(expectedField.getKey());
+      args.add(codec.toField(expectedField.getValue()));
+    }
+    args.add(String.valueOf(fields.size()));
+    addFields(args, fields);
+    if (!entities.isEmpty()) {
+      keys.add(setKey);
+      for (E entity : entities) {
+        keys.add(repository.createKey(entity));
+        args.add(repository.getId(entity));
+        args.add(repository.toString(entity));
+      }
+    }
+    List<Object> result =
+        getRedisTemplate()
+            .executeStandardScript(StandardScripts.UPDATE_HASH_IF_VERSION, keys, args);
+    return isSuccess(result);
+  }
+
+  private boolean replace(Collection<T> objects, long expirySeconds) {
+    List<String> keys = new ArrayList<>(objects.size());
+    List<String> args = new ArrayList<>();
+    args.add(String.valueOf(expirySeconds));
+    for (T obj : objects) {
+      Map<String, String> fields = codec.toFields(obj);
+      keys.add(createKey(obj));
+      args.add(String.valueOf(fields.size()));
+      addFields(args, fields);
+    }
+    List<Object> result =
+        getRedisTemplate().executeStandardScript(StandardScripts.REPLACE_HASH, keys, args);
+    return isSuccess(result);
+  }
+
+  private static void addFields(List<String> args, Map<String, String> fields) {
+    for (Map.Entry<String, String> field : fields.entrySet()) {
+      args.add(field.getKey());
+      args.add(field.getValue());
+    }
+  }
+
+  private static boolean isSuccess(List<Object> result) {
+    return result != null && !result.isEmpty() && Long.valueOf(1L).equals(result.get(0));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.upo.utilities.json.Utils;
+
+/**
+ * Codec storing an object as a hash, with one field per top level JSON property holding the JSON
+ * of its value. Fields can then be written one at a time, so saving a change to a few properties
+ * doesn't rewrite the others.
+ */
+public abstract class JsonHashRedisCodec<T, ID> extends JsonRedisCodec<T, ID> {
+
+  private static final String NULL = "null";
+
+  public JsonHashRedisCodec(Class<T> clz, Function<T, ID> idProvider) {
+    super(clz, idProvider);
+  }
+
+  /**
+   * Encodes all properties of an object, leaving out properties holding null.
+   *
+   * @param obj object to encode
+   * @return JSON of every property by name
+   */
+  public Map<String, String> toFields(T obj) {
+    Map<String, Object> properties = toProperties(obj);
+    Map<String, String> fields = new LinkedHashMap<>();
+    for (Map.Entry<String, Object> property : properties.entrySet()) {
+      if (property.getValue() != null) {
+        fields.put(property.getKey(), Utils.toJson(property.getValue()));
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Encodes the given properties of an object, reading only those properties. Properties holding
+   * null are encoded as JSON null, so that they overwrite a stored value.
+   *
+   * @param obj object to encode
+   * @param names names of the properties to encode
+   * @return JSON of the given properties by name
+   */
+  public Map<String, String> toFields(T obj, Collection<String> names) {
+    Map<String, String> fields = new LinkedHashMap<>();
+    for (String name : names) {
+      fields.put(name, toField(Utils.getProperty(obj, name)));
+    }
+    return fields;
+  }
+
+  /**
+   * Encodes a property value the way it is stored in its field, to compare stored fields with.
+   *
+   * @param value value of the property
+   * @return JSON of the value, JSON null for null
+   */
+  public String toField(Object value) {
+    return value != null ? Utils.toJson(value) : NULL;
+  }
+
+  /**
+   * Decodes an object from the fields of its hash.
+   *
+   * @param fields JSON of the properties by name
+   * @return decoded object, null if there are no fields
+   */
+  public T fromFields(Map<String, String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return null;
+    }
+    StringBuilder json = new StringBuilder("{");
+    for (Map.Entry<String, String> field : fields.entrySet()) {
+      if (json.length() > 1) {
+        json.append(',');
+      }
+      json.append(Utils.toJson(field.getKey())).append(':').append(field.getValue());
+    }
+    return fromString(json.append('}').toString());
+  }
+
+  private Map<String, Object> toProperties(T obj) {
+    if (!(Utils.toJsonObject(obj) instanceof Map<?, ?> properties)) {
+      throw new IllegalArgumentException("cannot store as hash: " + obj.getClass());
+    }
+   //noinspection unchecked
+    return (Map<String, Object>) properties;
+  }
+
+  public static <T> JsonHashRedisCodec<T, String> forStringKey(
+      Class<T> clz, Function<T, String> idExtractor) {
+    return new JsonHashRedisCodec<>(clz, idExtractor) {
+      @Override
+      public String serializeId(String id) {
+        return id;
+      }
+
+      @Override
+      public String deserializeId(String id) {
+        return id;
+      }
+    };
+  }
+}
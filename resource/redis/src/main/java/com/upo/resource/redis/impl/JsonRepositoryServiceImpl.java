@@ -7,17 +7,15 @@
 */
 package com.upo.resource.redis.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import com.upo.resource.client.base.models.ResourceType;
 import com.upo.resource.redis.*;
-import com.upo.utilities.ds.CollectionUtils;
-
-import io.lettuce.core.RedisNoScriptException;
-import io.lettuce.core.ScriptOutputType;
 
 /**
  * JSON-specific implementation of RepositoryService that supports conditional updates based on JSON
@@ -47,6 +45,77 @@ public class JsonRepositoryServiceImpl<T, ID> extends RepositoryServiceImpl<T, I
     return processUpdateResult(result);
   }
 
+  /**
+   * Updates an entity if its version key holds the expected version, moving it to the next one.
+   * Unlike {@link #updateIf}, only the version is compared, so the stored entity isn't decoded and
+   * an entity changed and changed back in between isn't mistaken for an unchanged one. Entities
+   * never updated this way are at version 0; the caller keeps the version within the entity if it
+   * needs to read it back.
+   *
+   * @param obj Entity to update
+   * @param expectedVersion Expected version of the entity
+   * @return true if the entity was updated
+   */
+  public boolean updateIfVersion(T obj, long expectedVersion) {
+    return updateIfVersionAndSave(obj, expectedVersion, null, Collections.emptyList(), null);
+  }
+
+  /**
+   * Updates an entity if its version key holds the expected version, like {@link
+   * #updateIfVersion}, saving entities of another repository and adding their ids to a set in the
+   * same script. Either all of them are written or none, in a single round trip. The keys of the
+   * entities and the set must map to the slot of the entity on clusters, through a common hash tag.
+   *
+   * @param obj Entity to update
+   * @param expectedVersion Expected version of the entity
+   * @param repository Repository the entities are saved in
+   * @param entities Entities to save along with the update
+   * @param setKey Key of the set the ids of the entities are added to
+   * @return true if the entity was updated and the entities saved
+   */
+  public <E, EID> boolean updateIfVersionAndSave(
+      T obj,
+      long expectedVersion,
+      RepositoryServiceImpl<E, EID> repository,
+      Collection<E> entities,
+      String setKey) {
+    String key = createKey(obj);
+    List<String> keys = new ArrayList<>(entities.size() + 3);
+    List<String> args = new ArrayList<>(entities.size() * 2 + 3);
+    keys.add(key);
+    keys.add(toVersionKey(key));
+    args.add(toString(obj));
+    args.add(String.valueOf(expectedVersion));
+    args.add(String.valueOf(expectedVersion + 1));
+    if (!entities.isEmpty()) {
+      keys.add(setKey);
+      for (E entity : entities) {
+        keys.add(repository.createKey(entity));
+        args.add(repository.getId(entity));
+        args.add(repository.toString(entity));
+      }
+    }
+    List<Object> result = executeScript(StandardScripts.UPDATE_IF_VERSION, keys, args);
+    return result != null && !result.isEmpty() && Long.valueOf(1L).equals(result.get(0));
+  }
+
+  /** Returns the key holding the version of the entity with the given id */
+  protected String getVersionKey(ID id) {
+    return toVersionKey(toKey(id));
+  }
+
+  /**
+   * Version keys keep the hash tag of the key, or take the whole key as hash tag, so that both map
+   * to the same slot on clusters.
+   */
+  private static String toVersionKey(String key) {
+    int start = key.indexOf('{');
+    if (start >= 0 && key.indexOf('}', start) > start + 1) {
+      return "version/" + key;
+    }
+    return "version/{" + key + "}";
+  }
+
   private Optional<T> processUpdateResult(List<Object> result) {
     if (result != null && result.size() > 1) {
       String value = (String) result.get(0);
@@ -61,30 +130,7 @@ public class JsonRepositoryServiceImpl<T, ID> extends RepositoryServiceImpl<T, I
   }
 
   private List<Object> executeScript(String scriptId, List<String> keys, List<String> args) {
-    RedisTemplate redisTemplate = getRedisTemplate();
-    try (RedisCommands commands = getRedisCommands(redisTemplate)) {
-      String keyNamespace = redisTemplate.getKeyNamespace();
-      String[] keysWithNamespace =
-          CollectionUtils.transformToArray(keys, String[]::new, key -> keyNamespace + key);
-      try {
-        String digest = ensureScriptRegistered(scriptId, redisTemplate, false);
-        return _executeScript(digest, args, commands, keysWithNamespace);
-      } catch (RedisNoScriptException eX) {
-        String digest = ensureScriptRegistered(scriptId, redisTemplate, true);
-        return _executeScript(digest, args, commands, keysWithNamespace);
-      }
-    }
-  }
-
-  private List<Object> _executeScript(
-      String sha, List<String> args, RedisCommands commands, String[] keysWithNamespace) {
-    return commands.evalsha(
-        sha, ScriptOutputType.MULTI, keysWithNamespace, args.toArray(new String[0]));
-  }
-
-  private String ensureScriptRegistered(
-      String scriptId, RedisTemplate redisTemplate, boolean force) {
-    return redisTemplate.loadStandardScript(scriptId, force);
+    return getRedisTemplate().executeStandardScript(scriptId, keys, args);
   }
 
   public RedisCommands getRedisCommands(RedisTemplate redisTemplate) {
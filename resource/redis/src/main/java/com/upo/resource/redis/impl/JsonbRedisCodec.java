@@ -0,0 +1,69 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis.impl;
+
+import java.util.function.Function;
+
+import com.upo.resource.redis.BinaryRedisCodec;
+import com.upo.utilities.json.Utils;
+
+/**
+ * Codec encoding values with fastjson2's binary JSONB format, which is smaller than JSON text and
+ * faster to encode and decode. The same annotations drive both formats, so {@code @JSONType}
+ * polymorphism and {@code @JSONField} settings apply unchanged. Text conversions still use JSON.
+ */
+public abstract class JsonbRedisCodec<T, ID> extends JsonRedisCodec<T, ID>
+    implements BinaryRedisCodec<T, ID> {
+
+  private final Class<T> clz;
+
+  public JsonbRedisCodec(Class<T> clz, Function<T, ID> idProvider) {
+    super(clz, idProvider);
+    this.clz = clz;
+  }
+
+  @Override
+  public byte[] toBytes(T obj) {
+    return Utils.toJsonb(obj);
+  }
+
+  @Override
+  public T fromBytes(byte[] value) {
+    return Utils.fromJsonb(value, this.clz);
+  }
+
+  public static <T> JsonbRedisCodec<T, String> forStringKey(
+      Class<T> clz, Function<T, String> idExtractor) {
+    return new JsonbRedisCodec<>(clz, idExtractor) {
+      @Override
+      public String serializeId(String id) {
+        return id;
+      }
+
+      @Override
+      public String deserializeId(String id) {
+        return id;
+      }
+    };
+  }
+
+  public static <T> JsonbRedisCodec<T, Long> forLongKey(
+      Class<T> clz, Function<T, Long> idExtractor) {
+    return new JsonbRedisCodec<>(clz, idExtractor) {
+      @Override
+      public String serializeId(Long id) {
+        return Long.toString(id);
+      }
+
+      @Override
+      public Long deserializeId(String id) {
+        return Long.parseLong(id);
+      }
+    };
+  }
+}
@@ -7,24 +7,41 @@
 */
 package com.upo.resource.redis.impl;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import com.upo.resource.redis.*;
+import com.upo.resource.redis.models.StreamEntry;
 import com.upo.utilities.ds.CollectionUtils;
 
+import io.lettuce.core.ClaimedMessages;
+import io.lettuce.core.Consumer;
 import io.lettuce.core.GetExArgs;
 import io.lettuce.core.KeyValue;
+import io.lettuce.core.LMoveArgs;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
 import io.lettuce.core.SetArgs;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XAutoClaimArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
 
 public class RedisTemplateImpl implements RedisTemplate, WithRedisCommands {
 
   private final RedisClient redisClient;
   private final String prefix;
+  private final BinaryRedisTemplate binaryTemplate;
 
   public RedisTemplateImpl(RedisClient redisClient, String prefix) {
     this.redisClient = redisClient;
     this.prefix = prefix.endsWith("/") ? prefix : prefix + "/";
+    this.binaryTemplate = new BinaryRedisTemplateImpl(redisClient, this.prefix);
   }
 
   @Override
@@ -147,6 +164,27 @@ public class RedisTemplateImpl implements RedisTemplate, WithRedisCommands {
     }
   }
 
+  @Override
+  public void addAllToLists(Map<String, List<String>> valuesById) {
+    if (CollectionUtils.isEmpty(valuesById)) {
+      return;
+    }
+    try (var commands = getCommands()) {
+      commands.pipeline(
+          async -> {
+            List<Future<?>> futures = new ArrayList<>(valuesById.size());
+            for (Map.Entry<String, List<String>> entry : valuesById.entrySet()) {
+              if (CollectionUtils.isEmpty(entry.getValue())) {
+                continue;
+              }
+              String[] values = entry.getValue().toArray(new String[0]);
+              futures.add(async.rpush(createId(entry.getKey()), values));
+            }
+            return futures;
+          });
+    }
+  }
+
   @Override
   public Optional<String> popFromList(String id) {
     try (var commands = getCommands()) {
@@ -171,6 +209,166 @@ public class RedisTemplateImpl implements RedisTemplate, WithRedisCommands {
     }
   }
 
+  @Override
+  public long getListLength(String id) {
+    try (var commands = getCommands()) {
+      Long length = commands.llen(createId(id));
+      return length != null ? length : 0;
+    }
+  }
+
+  @Override
+  public long removeFromList(String id, String value) {
+    try (var commands = getCommands()) {
+      return commands.lrem(createId(id), 1, value);
+    }
+  }
+
+  @Override
+  public Optional<String> moveFromList(String sourceId, String destinationId, long timeoutSeconds) {
+    try (var commands = getCommands()) {
+      String value =
+          commands.blmove(
+              createId(sourceId),
+              createId(destinationId),
+              LMoveArgs.Builder.leftRight(),
+              timeoutSeconds);
+      return Optional.ofNullable(value);
+    }
+  }
+
+  @Override
+  public Optional<String> moveToListHead(String sourceId, String destinationId) {
+    try (var commands = getCommands()) {
+      String value =
+          commands.lmove(
+              createId(sourceId), createId(destinationId), LMoveArgs.Builder.rightLeft());
+      return Optional.ofNullable(value);
+    }
+  }
+
+  @Override
+  public String addToStream(String id, Map<String, String> fields, long maxLength) {
+    try (var commands = getCommands()) {
+      XAddArgs args = new XAddArgs();
+      if (maxLength > 0) {
+        args = args.maxlen(maxLength).approximateTrimming();
+      }
+      return commands.xadd(createId(id), args, fields);
+    }
+  }
+
+  @Override
+  public void addAllToStreams(Map<String, List<Map<String, String>>> entriesById, long maxLength) {
+    if (CollectionUtils.isEmpty(entriesById)) {
+      return;
+    }
+    XAddArgs args = new XAddArgs();
+    if (maxLength > 0) {
+      args = args.maxlen(maxLength).approximateTrimming();
+    }
+    XAddArgs xAddArgs = args;
+    try (var commands = getCommands()) {
+      commands.pipeline(
+          async -> {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<String, List<Map<String, String>>> entry : entriesById.entrySet()) {
+              String streamId = createId(entry.getKey());
+              for (Map<String, String> fields : entry.getValue()) {
+                futures.add(async.xadd(streamId, xAddArgs, fields));
+              }
+            }
+            return futures;
+          });
+    }
+  }
+
+  @Override
+  public boolean createStreamGroup(String id, String group) {
+    try (var commands = getCommands()) {
+      XReadArgs.StreamOffset<String> offset = XReadArgs.StreamOffset.from(createId(id), "0");
+      commands.xgroupCreate(offset, group, XGroupCreateArgs.Builder.mkstream());
+      return true;
+    } catch (RedisCommandExecutionException eX) {
+      if (eX.getMessage() != null && eX.getMessage().startsWith("BUSYGROUP")) {
+        return false;
+      }
+      throw eX;
+    }
+  }
+
+  @Override
+  public List<StreamEntry> readFromStreamGroup(
+      String id, String group, String consumer, int count, long blockMillis) {
+    try (var commands = getCommands()) {
+      XReadArgs args = XReadArgs.Builder.count(count);
+      if (blockMillis > 0) {
+        args = args.block(blockMillis);
+      }
+      List<StreamMessage<String, String>> messages =
+          commands.xreadgroup(
+              Consumer.from(group, consumer),
+              args,
+              XReadArgs.StreamOffset.lastConsumed(createId(id)));
+      return toStreamEntries(messages);
+    }
+  }
+
+  @Override
+  public List<StreamEntry> claimFromStreamGroup(
+      String id, String group, String consumer, long minIdleMillis, int count) {
+    try (var commands = getCommands()) {
+      XAutoClaimArgs<String> args =
+          XAutoClaimArgs.Builder.xautoclaim(
+                  Consumer.from(group, consumer), Duration.ofMillis(minIdleMillis), "0-0")
+              .count(count);
+      ClaimedMessages<String, String> claimed = commands.xautoclaim(createId(id), args);
+      return claimed != null ? toStreamEntries(claimed.getMessages()) : Collections.emptyList();
+    }
+  }
+
+  @Override
+  public long acknowledgeStreamEntries(String id, String group, String... entryIds) {
+    try (var commands = getCommands()) {
+      Long acknowledged = commands.xack(createId(id), group, entryIds);
+      return acknowledged != null ? acknowledged : 0;
+    }
+  }
+
+  @Override
+  public Map<String, String> getHash(String id) {
+    try (var commands = getCommands()) {
+      Map<String, String> fields = commands.hgetall(createId(id));
+      return fields != null ? fields : Collections.emptyMap();
+    }
+  }
+
+  @Override
+  public Map<String, Map<String, String>> getHashes(Collection<String> ids) {
+    if (CollectionUtils.isEmpty(ids)) {
+      return Collections.emptyMap();
+    }
+    Map<String, RedisFuture<Map<String, String>>> futures = new LinkedHashMap<>();
+    try (var commands = getCommands()) {
+      commands.pipeline(
+          async -> {
+            for (String id : ids) {
+              futures.put(id, async.hgetall(createId(id)));
+            }
+            return new ArrayList<>(futures.values());
+          });
+    }
+   // Futures are completed once the pipeline returns
+    Map<String, Map<String, String>> result = new HashMap<>();
+    for (Map.Entry<String, RedisFuture<Map<String, String>>> entry : futures.entrySet()) {
+      Map<String, String> fields = entry.getValue().toCompletableFuture().join();
+      if (fields != null && !fields.isEmpty()) {
+        result.put(entry.getKey(), fields);
+      }
+    }
+    return result;
+  }
+
   @Override
   public long addToSet(String id, String... values) {
     try (var commands = getCommands()) {
@@ -284,11 +482,32 @@ public class RedisTemplateImpl implements RedisTemplate, WithRedisCommands {
     }
   }
 
+  @Override
+  public List<Object> executeStandardScript(String scriptId, List<String> keys, List<String> args) {
+    try (var commands = getCommands()) {
+      String[] keysWithNamespace =
+          CollectionUtils.transformToArray(keys, String[]::new, this::createId);
+      String[] values = args.toArray(new String[0]);
+      try {
+        String digest = loadStandardScript(scriptId, false);
+        return commands.evalsha(digest, ScriptOutputType.MULTI, keysWithNamespace, values);
+      } catch (RedisNoScriptException eX) {
+        String digest = loadStandardScript(scriptId, true);
+        return commands.evalsha(digest, ScriptOutputType.MULTI, keysWithNamespace, values);
+      }
+    }
+  }
+
   @Override
   public String getKeyNamespace() {
     return prefix;
   }
 
+  @Override
+  public BinaryRedisTemplate getBinaryTemplate() {
+    return binaryTemplate;
+  }
+
   @Override
   public RedisCommands getRedisCommands() {
     return getCommands();
@@ -298,6 +517,17 @@ public class RedisTemplateImpl implements RedisTemplate, WithRedisCommands {
     return redisClient.getRedisCommands();
   }
 
+  private static List<StreamEntry> toStreamEntries(List<StreamMessage<String, String>> messages) {
+    if (messages == null || messages.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<StreamEntry> entries = new ArrayList<>(messages.size());
+    for (StreamMessage<String, String> message : messages) {
+      entries.add(new StreamEntry(message.getId(), message.getBody()));
+    }
+    return entries;
+  }
+
   private String createId(String id) {
     return getKeyNamespace() + id;
   }
@@ -134,7 +134,11 @@ public class RepositoryServiceImpl<T, ID> implements RepositoryService<T, ID>, R
     return createKey(codec.getId(obj));
   }
 
-  private String createKey(String id) {
+  protected String getId(T obj) {
+    return codec.getId(obj);
+  }
+
+  protected String createKey(String id) {
     return prefix + id;
   }
 
@@ -142,7 +146,7 @@ public class RepositoryServiceImpl<T, ID> implements RepositoryService<T, ID>, R
     return createKey(codec.serializeId(id));
   }
 
-  private ID fromKey(String key) {
+  protected ID fromKey(String key) {
     return codec.deserializeId(key.substring(prefix.length()));
   }
 
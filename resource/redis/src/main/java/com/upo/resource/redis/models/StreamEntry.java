@@ -0,0 +1,18 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis.models;
+
+import java.util.Map;
+
+/**
+ * Entry read from a Redis stream.
+ *
+ * @param id Stream assigned id of the entry (e.g. "1700000000000-0")
+ * @param fields Field-value pairs of the entry
+ */
+public record StreamEntry(String id, Map<String, String> fields) {}
@@ -0,0 +1,139 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.upo.resource.client.base.TestResourceConfigProvider;
+import com.upo.resource.redis.impl.BinaryRepositoryServiceImpl;
+import com.upo.resource.redis.impl.JsonbRedisCodec;
+import com.upo.resource.redis.impl.RedisTemplateFactoryImpl;
+import com.upo.utilities.context.RequestContextExtension;
+import com.upo.utilities.context.WithRequestContext;
+
+@Testcontainers
+@ExtendWith(RequestContextExtension.class)
+@WithRequestContext
+class BinaryRepositoryServiceTest {
+
+  @SuppressWarnings("resource")
+  @Container
+  private static final GenericContainer<?> redis =
+      new GenericContainer<>("redis/redis-stack-server:latest").withExposedPorts(6379);
+
+  private RedisTemplateFactoryImpl redisTemplateFactory;
+  private BinaryRepositoryServiceImpl<TestEntity, String> repositoryService;
+
+  @BeforeEach
+  void setUp() {
+    String host = redis.getHost();
+    Integer port = redis.getFirstMappedPort();
+
+    TestResourceConfigProvider testResourceConfigProvider = new TestResourceConfigProvider();
+    TestUtils.registerRedisServerConfig(host, port, testResourceConfigProvider);
+    TestUtils.registerRedisTemplateResourceConfig("TEST_ENTITY", "1", testResourceConfigProvider);
+    redisTemplateFactory = new RedisTemplateFactoryImpl(testResourceConfigProvider);
+    repositoryService =
+        new BinaryRepositoryServiceImpl<>(
+            redisTemplateFactory,
+            () -> "TEST_ENTITY",
+            TestEntity.class,
+            JsonbRedisCodec.forStringKey(TestEntity.class, TestEntity::getId));
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    repositoryService = null;
+    redisTemplateFactory.close();
+    redisTemplateFactory = null;
+  }
+
+  @Test
+  void save_ShouldBeReadBack() {
+   // Given
+    TestEntity entity = new TestEntity("1", "test", 1L, "WAIT");
+
+   // When
+    boolean saved = repositoryService.save(entity);
+
+   // Then
+    assertTrue(saved);
+    assertEquals(Optional.of(entity), repositoryService.findById("1"));
+    assertTrue(repositoryService.exists("1"));
+  }
+
+  @Test
+  void saveMany_ShouldBeReadBackByIds() {
+   // Given
+    TestEntity first = new TestEntity("2", "first");
+    TestEntity second = new TestEntity("3", "second");
+
+   // When
+    boolean saved = repositoryService.saveMany(List.of(first, second));
+
+   // Then
+    assertTrue(saved);
+    assertEquals(
+        Map.of("2", first, "3", second), repositoryService.findByIds(List.of("2", "3", "4")));
+  }
+
+  @Test
+  void insert_WhenEntityExists_ShouldNotOverwrite() {
+   // Given
+    repositoryService.insert(new TestEntity("5", "test"));
+
+   // When
+    boolean inserted = repositoryService.insert(new TestEntity("5", "updated"));
+
+   // Then
+    assertFalse(inserted);
+    assertEquals(Optional.of(new TestEntity("5", "test")), repositoryService.findById("5"));
+  }
+
+  @Test
+  void getAndDelete_ShouldReturnAndRemoveEntity() {
+   // Given
+    TestEntity entity = new TestEntity("6", "test");
+    repositoryService.save(entity);
+
+   // When
+    Optional<TestEntity> removed = repositoryService.getAndDelete("6");
+
+   // Then
+    assertEquals(Optional.of(entity), removed);
+    assertFalse(repositoryService.exists("6"));
+  }
+
+  @Test
+  void saveWithExpiry_ShouldSetTimeToLive() {
+   // Given
+    TestEntity entity = new TestEntity("7", "test");
+
+   // When
+    repositoryService.saveWithExpiry(entity, 60);
+
+   // Then
+    assertEquals(Optional.of(entity), repositoryService.findById("7"));
+    assertTrue(repositoryService.getTimeToLive("7").orElseThrow() > 0);
+  }
+}
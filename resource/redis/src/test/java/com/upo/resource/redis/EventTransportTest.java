@@ -0,0 +1,136 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.upo.resource.client.base.TestResourceConfigProvider;
+import com.upo.resource.redis.impl.RedisTemplateFactoryImpl;
+import com.upo.resource.redis.models.StreamEntry;
+
+/**
+ * Drives the same workload through the list transport (RPUSH, BLMOVE, LREM) and the stream
+ * transport (XADD, XREADGROUP, XACK) used for lifecycle events, verifying both deliver every event
+ * exactly once. Throughput of the transports is compared by EventTransportBenchmark of the engine
+ * module.
+ */
+@Testcontainers
+public class EventTransportTest {
+
+  private static final int EVENTS = 2_000;
+  private static final int BATCH_SIZE = 32;
+  private static final String GROUP = "workers";
+  private static final String CONSUMER = "worker-1";
+
+  @SuppressWarnings("resource")
+  @Container
+  private static final GenericContainer<?> redis =
+      new GenericContainer<>("redis:latest").withExposedPorts(6379);
+
+  private RedisTemplateFactoryImpl redisTemplateFactory;
+  private RedisTemplate redisTemplate;
+
+  @BeforeEach
+  void setUp() {
+    String host = redis.getHost();
+    Integer port = redis.getFirstMappedPort();
+    TestResourceConfigProvider testResourceConfigProvider = new TestResourceConfigProvider();
+    TestUtils.registerRedisServerConfig(host, port, testResourceConfigProvider);
+    String testId = UUID.randomUUID().toString();
+    TestUtils.registerRedisTemplateResourceConfig(
+        "TEST_ENTITY_" + testId, "1", testResourceConfigProvider);
+    redisTemplateFactory = new RedisTemplateFactoryImpl(testResourceConfigProvider);
+    redisTemplate = redisTemplateFactory.getRedisTemplate(() -> "TEST_ENTITY_" + testId, "1");
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    redisTemplate = null;
+    redisTemplateFactory.close();
+    redisTemplateFactory = null;
+  }
+
+  @Test
+  void listTransport_ShouldDeliverAllEvents() {
+    String queue = "events/{0}";
+    String processing = queue + "/processing/" + CONSUMER;
+
+    for (int i = 0; i < EVENTS; i++) {
+      redisTemplate.addToList(queue, event(i));
+    }
+    Set<String> received = new HashSet<>();
+    Optional<String> value;
+    while ((value = redisTemplate.moveFromList(queue, processing, 1)).isPresent()) {
+      assertTrue(received.add(value.get()), "event delivered twice: " + value.get());
+      redisTemplate.removeFromList(processing, value.get());
+    }
+
+    assertEquals(EVENTS, received.size());
+    assertEquals(0, redisTemplate.getListLength(processing));
+  }
+
+  @Test
+  void streamTransport_ShouldDeliverAllEvents() {
+    String stream = "stream/{0}";
+    redisTemplate.createStreamGroup(stream, GROUP);
+    assertFalse(redisTemplate.createStreamGroup(stream, GROUP));
+
+    for (int i = 0; i < EVENTS; i++) {
+      redisTemplate.addToStream(stream, Map.of("event", event(i)), EVENTS * 2);
+    }
+    Set<String> received = new HashSet<>();
+    while (true) {
+      List<StreamEntry> entries =
+          redisTemplate.readFromStreamGroup(stream, GROUP, CONSUMER, BATCH_SIZE, 100);
+      if (entries.isEmpty()) {
+        break;
+      }
+      String[] ids = new String[entries.size()];
+      for (int i = 0; i < entries.size(); i++) {
+        String event = entries.get(i).fields().get("event");
+        assertTrue(received.add(event), "event delivered twice: " + event);
+        ids[i] = entries.get(i).id();
+      }
+      assertEquals(ids.length, redisTemplate.acknowledgeStreamEntries(stream, GROUP, ids));
+    }
+
+    assertEquals(EVENTS, received.size());
+    assertTrue(redisTemplate.claimFromStreamGroup(stream, GROUP, "worker-2", 0, EVENTS).isEmpty());
+  }
+
+  @Test
+  void streamTransport_ShouldClaimUnacknowledgedEvents() {
+    String stream = "stream/{1}";
+    redisTemplate.createStreamGroup(stream, GROUP);
+    redisTemplate.addToStream(stream, Map.of("event", event(1)), 0);
+
+    List<StreamEntry> delivered =
+        redisTemplate.readFromStreamGroup(stream, GROUP, CONSUMER, BATCH_SIZE, 0);
+    assertEquals(1, delivered.size());
+
+    List<StreamEntry> claimed =
+        redisTemplate.claimFromStreamGroup(stream, GROUP, "worker-2", 0, 10);
+    assertEquals(1, claimed.size());
+    assertEquals(delivered.getFirst().id(), claimed.getFirst().id());
+    assertEquals(event(1), claimed.getFirst().fields().get("event"));
+  }
+
+  private static String event(int i) {
+    return "{\"type\":\"execute_from_task\",\"processInstanceId\":\"instance-" + i + "\"}";
+  }
+}
@@ -0,0 +1,299 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.resource.redis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.upo.resource.client.base.TestResourceConfigProvider;
+import com.upo.resource.redis.impl.HashRepositoryServiceImpl;
+import com.upo.resource.redis.impl.JsonHashRedisCodec;
+import com.upo.resource.redis.impl.JsonRedisCodec;
+import com.upo.resource.redis.impl.JsonRepositoryServiceImpl;
+import com.upo.resource.redis.impl.RedisTemplateFactoryImpl;
+import com.upo.utilities.context.RequestContextExtension;
+import com.upo.utilities.context.WithRequestContext;
+
+@Testcontainers
+@ExtendWith(RequestContextExtension.class)
+@WithRequestContext
+class HashRepositoryServiceTest {
+
+  @SuppressWarnings("resource")
+  @Container
+  private static final GenericContainer<?> redis =
+      new GenericContainer<>("redis/redis-stack-server:latest").withExposedPorts(6379);
+
+  private RedisTemplateFactoryImpl redisTemplateFactory;
+  private HashRepositoryServiceImpl<TestEntity, String> repositoryService;
+
+  @BeforeEach
+  void setUp() {
+    String host = redis.getHost();
+    Integer port = redis.getFirstMappedPort();
+
+    TestResourceConfigProvider testResourceConfigProvider = new TestResourceConfigProvider();
+    TestUtils.registerRedisServerConfig(host, port, testResourceConfigProvider);
+    TestUtils.registerRedisTemplateResourceConfig("TEST_ENTITY", "1", testResourceConfigProvider);
+    redisTemplateFactory = new RedisTemplateFactoryImpl(testResourceConfigProvider);
+    repositoryService =
+        new HashRepositoryServiceImpl<>(
+            redisTemplateFactory,
+            () -> "TEST_ENTITY",
+            TestEntity.class,
+            JsonHashRedisCodec.forStringKey(TestEntity.class, TestEntity::getId));
+  }
+
+  @AfterEach
+  public void cleanup() throws IOException {
+    repositoryService = null;
+    redisTemplateFactory.close();
+    redisTemplateFactory = null;
+  }
+
+  @Test
+  void save_ShouldReplaceAllFields() {
+   // Given
+    repositoryService.save(new TestEntity("1", "test", 0L, "WAIT"));
+
+   // When
+    TestEntity entity = new TestEntity("1", "replaced");
+    assertTrue(repositoryService.save(entity));
+
+   // Then
+    assertEquals(Optional.of(entity), repositoryService.findById("1"));
+  }
+
+  @Test
+  void updateIfVersion_WhenVersionMatches_ShouldWriteChangedFieldsOnly() {
+   // Given
+    repositoryService.save(new TestEntity("2", "test", 0L, "WAIT"));
+    TestEntity updatedEntity = new TestEntity("2", "updated", 1L, "CONTINUE");
+
+   // When
+    boolean updated =
+        repositoryService.updateIfVersion(updatedEntity, "version", 0L, List.of("name"));
+
+   // Then
+    assertTrue(updated);
+    assertEquals(
+        Optional.of(new TestEntity("2", "updated", 1L, "WAIT")), repositoryService.findById("2"));
+    assertFalse(repositoryService.updateIfVersion(updatedEntity, "version", 0L, List.of("name")));
+  }
+
+  @Test
+  void updateIfVersion_WhenFieldIsCleared_ShouldStoreNull() {
+   // Given
+    repositoryService.save(new TestEntity("3", "test", 0L, "WAIT"));
+
+   // When
+    boolean updated =
+        repositoryService.updateIfVersion(
+            new TestEntity("3", null, 1L, "WAIT"), "version", 0L, List.of("name"));
+
+   // Then
+    assertTrue(updated);
+    assertEquals(
+        Optional.of(new TestEntity("3", null, 1L, "WAIT")), repositoryService.findById("3"));
+  }
+
+  @Test
+  void updateIfVersionAndSave_WhenVersionMatches_ShouldSaveEntitiesAndIndex() {
+   // Given
+    repositoryService.save(new TestEntity("4", "test", 0L, "WAIT"));
+    JsonRepositoryServiceImpl<TestEntity, String> entityRepository =
+        new JsonRepositoryServiceImpl<>(
+            redisTemplateFactory,
+            () -> "TEST_ENTITY",
+            TestEntity.class,
+            JsonRedisCodec.forStringKey(TestEntity.class, TestEntity::getId));
+    List<TestEntity> entities = List.of(new TestEntity("5", "a"), new TestEntity("6", "b"));
+
+   // When
+    boolean updated =
+        repositoryService.updateIfVersionAndSave(
+            new TestEntity("4", "test", 1L, "CONTINUE"),
+            "version",
+            0L,
+            Map.of("status", "WAIT"),
+            List.of("status"),
+            null,
+            0L,
+            entityRepository,
+            entities,
+            "index/4");
+
+   // Then
+    assertTrue(updated);
+    assertEquals(
+        Optional.of(new TestEntity("4", "test", 1L, "CONTINUE")), repositoryService.findById("4"));
+    assertEquals(Optional.of(entities.get(0)), entityRepository.findById("5"));
+    assertEquals(Set.of("5", "6"), repositoryService.getRawTemplate().getSetMembers("index/4"));
+  }
+
+  @Test
+  void updateIfVersion_WhenEntityDoesNotExist_ShouldNotUpdate() {
+    assertFalse(
+        repositoryService.updateIfVersion(
+            new TestEntity("7", "test"), "version", 0L, List.of("name")));
+    assertFalse(repositoryService.exists("7"));
+  }
+
+  @Test
+  void updateIfVersion_WhenWrittenWithHigherFencingToken_ShouldNotUpdate() {
+   // Given
+    repositoryService.save(new TestEntity("8", "test", 0L, "WAIT"));
+    assertTrue(
+        repositoryService.updateIfVersion(
+            new TestEntity("8", "owner", 1L, "WAIT"),
+            "version",
+            0L,
+            Map.of(),
+            List.of("name"),
+            "fence",
+            5L));
+
+   // When
+    boolean staleUpdated =
+        repositoryService.updateIfVersion(
+            new TestEntity("8", "stale", 2L, "WAIT"),
+            "version",
+            1L,
+            Map.of(),
+            List.of("name"),
+            "fence",
+            4L);
+    boolean updated =
+        repositoryService.updateIfVersion(
+            new TestEntity("8", "next", 2L, "WAIT"),
+            "version",
+            1L,
+            Map.of(),
+            List.of("name"),
+            "fence",
+            6L);
+
+   // Then
+    assertFalse(staleUpdated);
+    assertTrue(updated);
+    assertEquals(
+        Optional.of(new TestEntity("8", "next", 2L, "WAIT")), repositoryService.findById("8"));
+    assertEquals("6", repositoryService.getRawTemplate().getHash("TestEntity/8").get("fence"));
+  }
+
+  @Test
+  void updateIfVersion_WhenFieldDoesNotHoldExpectedValue_ShouldNotUpdate() {
+   // Given
+    repositoryService.save(new TestEntity("9", "test", 0L, "WAIT"));
+
+   // When
+    boolean updated =
+        repositoryService.updateIfVersion(
+            new TestEntity("9", "updated", 1L, "WAIT"),
+            "version",
+            0L,
+            Map.of("status", "CONTINUE"),
+            List.of("name"),
+            null,
+            0L);
+
+   // Then
+    assertFalse(updated);
+    assertEquals(
+        Optional.of(new TestEntity("9", "test", 0L, "WAIT")), repositoryService.findById("9"));
+  }
+
+  @Test
+  void insert_WhenEntityExists_ShouldNotOverwrite() {
+   // Given
+    repositoryService.insert(new TestEntity("10", "test", 0L, "WAIT"));
+
+   // When
+    boolean inserted = repositoryService.insert(new TestEntity("10", "updated"));
+
+   // Then
+    assertFalse(inserted);
+    assertEquals(
+        Optional.of(new TestEntity("10", "test", 0L, "WAIT")), repositoryService.findById("10"));
+  }
+
+  @Test
+  void insertMany_WhenAnyEntityExists_ShouldInsertNone() {
+   // Given
+    repositoryService.save(new TestEntity("11", "test"));
+    List<TestEntity> entities = List.of(new TestEntity("12", "a"), new TestEntity("11", "b"));
+
+   // When
+    boolean inserted = repositoryService.insertMany(entities);
+
+   // Then
+    assertFalse(inserted);
+    assertFalse(repositoryService.exists("12"));
+    assertTrue(repositoryService.insertMany(List.of(new TestEntity("12", "a"))));
+    assertEquals(Optional.of(new TestEntity("12", "a")), repositoryService.findById("12"));
+  }
+
+  @Test
+  void getAndDelete_ShouldReturnAndRemoveEntity() {
+   // Given
+    TestEntity entity = new TestEntity("13", "test", 1L, "WAIT");
+    repositoryService.save(entity);
+
+   // When
+    Optional<TestEntity> removed = repositoryService.getAndDelete("13");
+
+   // Then
+    assertEquals(Optional.of(entity), removed);
+    assertFalse(repositoryService.exists("13"));
+    assertEquals(Optional.empty(), repositoryService.getAndDelete("13"));
+  }
+
+  @Test
+  void saveWithExpiry_ShouldReplaceFieldsAndSetTimeToLive() {
+   // Given
+    repositoryService.save(new TestEntity("14", "test", 0L, "WAIT"));
+    TestEntity entity = new TestEntity("14", "replaced");
+
+   // When
+    assertTrue(repositoryService.saveWithExpiry(entity, 60));
+
+   // Then
+    assertEquals(Optional.of(entity), repositoryService.findById("14"));
+    assertTrue(repositoryService.getTimeToLive("14").orElseThrow() > 0);
+  }
+
+  @Test
+  void saveMany_ShouldReplaceAllEntitiesAndFindThemByIds() {
+   // Given
+    repositoryService.save(new TestEntity("15", "test", 0L, "WAIT"));
+    List<TestEntity> entities = List.of(new TestEntity("15", "a"), new TestEntity("16", "b"));
+
+   // When
+    boolean saved = repositoryService.saveMany(entities);
+
+   // Then
+    assertTrue(saved);
+    Map<String, TestEntity> found = repositoryService.findByIds(List.of("15", "16", "17"));
+    assertEquals(Map.of("15", entities.get(0), "16", entities.get(1)), found);
+  }
+}
@@ -8,10 +8,13 @@
 package com.upo.resource.redis;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,7 +42,7 @@ class JsonRepositoryServiceTest {
       new GenericContainer<>("redis/redis-stack-server:latest").withExposedPorts(6379);
 
   private RedisTemplateFactoryImpl redisTemplateFactory;
-  private JsonRepositoryService<TestEntity, String> repositoryService;
+  private JsonRepositoryServiceImpl<TestEntity, String> repositoryService;
 
   @BeforeEach
   void setUp() {
@@ -80,4 +83,53 @@ class JsonRepositoryServiceTest {
     assertTrue(result.isPresent());
     assertEquals(entity, result.get());// Should return old value
   }
+
+  @Test
+  void updateIfVersionAndSave_WhenVersionMatches_ShouldSaveEntitiesAndIndex() {
+   // Given
+    repositoryService.save(new TestEntity("1", "test"));
+    TestEntity updatedEntity = new TestEntity("1", "updated");
+    List<TestEntity> entities = List.of(new TestEntity("2", "a"), new TestEntity("3", "b"));
+
+   // When
+    boolean updated =
+        repositoryService.updateIfVersionAndSave(
+            updatedEntity, 0L, repositoryService, entities, "index/1");
+
+   // Then
+    assertTrue(updated);
+    assertEquals(Optional.of(updatedEntity), repositoryService.findById("1"));
+    assertEquals(Optional.of(entities.get(1)), repositoryService.findById("3"));
+    assertEquals(Set.of("2", "3"), repositoryService.getRawTemplate().getSetMembers("index/1"));
+  }
+
+  @Test
+  void updateIfVersion_WhenVersionDoesNotMatch_ShouldWriteNothing() {
+   // Given
+    TestEntity entity = new TestEntity("5", "test");
+    repositoryService.save(entity);
+    assertTrue(repositoryService.updateIfVersion(entity, 0L));
+
+   // When
+    boolean updated =
+        repositoryService.updateIfVersionAndSave(
+            new TestEntity("5", "updated"),
+            0L,
+            repositoryService,
+            List.of(new TestEntity("6", "a")),
+            "index/5");
+
+   // Then
+    assertFalse(updated);
+    assertEquals(Optional.of(entity), repositoryService.findById("5"));
+    assertFalse(repositoryService.exists("6"));
+    assertTrue(repositoryService.getRawTemplate().getSetMembers("index/5").isEmpty());
+    assertTrue(repositoryService.updateIfVersion(new TestEntity("5", "updated"), 1L));
+  }
+
+  @Test
+  void updateIfVersion_WhenEntityDoesNotExist_ShouldNotUpdate() {
+    assertFalse(repositoryService.updateIfVersion(new TestEntity("7", "test"), 0L));
+    assertFalse(repositoryService.exists("7"));
+  }
 }
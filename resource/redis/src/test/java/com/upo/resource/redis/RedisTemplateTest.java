@@ -317,6 +317,52 @@ public class RedisTemplateTest {
     assertEquals("middle", remaining.get(0));
   }
 
+  @Test
+  void moveOperations_ShouldTransferBetweenLists() {
+   // Given
+    String source = "source-list";
+    String processing = "processing-list";
+    redisTemplate.addAllToList(source, Arrays.asList("first", "second", "third"));
+
+   // When
+    Optional<String> moved = redisTemplate.moveFromList(source, processing, 1);
+    redisTemplate.moveFromList(source, processing, 1);
+
+   // Then
+    assertEquals(Optional.of("first"), moved);
+    assertEquals(Arrays.asList("first", "second"), redisTemplate.getList(processing));
+    assertEquals(1, redisTemplate.getListLength(source));
+
+    assertEquals(1, redisTemplate.removeFromList(processing, "second"));
+    assertEquals(List.of("first"), redisTemplate.getList(processing));
+
+    redisTemplate.addToList(processing, "third-copy");
+    while (redisTemplate.moveToListHead(processing, source).isPresent()) {}
+    assertEquals(Arrays.asList("first", "third-copy", "third"), redisTemplate.getList(source));
+    assertEquals(0, redisTemplate.getListLength(processing));
+  }
+
+  @Test
+  void addAllToLists_ShouldAppendToEveryList() {
+   // Given
+    redisTemplate.addToList("pipelined-a", "existing");
+    Map<String, List<String>> valuesById = new LinkedHashMap<>();
+    valuesById.put("pipelined-a", Arrays.asList("a1", "a2"));
+    valuesById.put("pipelined-b", List.of("b1"));
+
+   // When
+    redisTemplate.addAllToLists(valuesById);
+
+   // Then
+    assertEquals(Arrays.asList("existing", "a1", "a2"), redisTemplate.getList("pipelined-a"));
+    assertEquals(List.of("b1"), redisTemplate.getList("pipelined-b"));
+  }
+
+  @Test
+  void moveFromList_WhenSourceEmpty_ShouldTimeout() {
+    assertTrue(redisTemplate.moveFromList("empty-list", "processing-list", 1).isEmpty());
+  }
+
   @Test
   void setOperations_ShouldWorkAsExpected() {
    // Given
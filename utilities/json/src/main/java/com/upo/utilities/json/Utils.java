@@ -11,7 +11,11 @@ import java.lang.reflect.Type;
 import java.util.Map;
 
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONB;
+import com.alibaba.fastjson2.JSONFactory;
 import com.alibaba.fastjson2.TypeReference;
+import com.alibaba.fastjson2.writer.FieldWriter;
+import com.alibaba.fastjson2.writer.ObjectWriter;
 
 public class Utils {
 
@@ -33,6 +37,19 @@ public class Utils {
     return JSON.toJSON(object);
   }
 
+  /**
+   * Reads a property of an object as it is serialized, without serializing the other properties.
+   *
+   * @return value of the property, null if the object doesn't serialize such a property
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public static Object getProperty(Object object, String name) {
+    ObjectWriter objectWriter =
+        JSONFactory.getDefaultObjectWriterProvider().getObjectWriter(object.getClass());
+    FieldWriter fieldWriter = objectWriter.getFieldWriter(name);
+    return fieldWriter != null ? fieldWriter.getFieldValue(object) : null;
+  }
+
   public static String toJson(Object object) {
     if (object == null) {
       return null;
@@ -53,4 +70,19 @@ public class Utils {
     }
     return JSON.parseObject(json, clz);
   }
+
+  /** Serializes an object to fastjson2's binary JSONB format. */
+  public static byte[] toJsonb(Object object) {
+    if (object == null) {
+      return null;
+    }
+    return JSONB.toBytes(object);
+  }
+
+  public static <T> T fromJsonb(byte[] jsonb, Class<T> clz) {
+    if (jsonb == null) {
+      return null;
+    }
+    return JSONB.parseObject(jsonb, clz);
+  }
 }
@@ -8,13 +8,19 @@
 package com.upo.utilities.json.path;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * JsonPath compiled into an array of steps, each reading either a key or an array index. Paths made
+ * of exactly three keys, like the {@code task.type.field} paths of variables, are read without the
+ * step loop. Instances are immutable and can be shared across threads; {@link JsonPath#create}
+ * interns them by expression.
+ */
 public class DotNotationJsonPath implements JsonPath {
 
   private static final Pattern TOKEN_PATTERN =
@@ -23,23 +29,40 @@ public class DotNotationJsonPath implements JsonPath {
               + "([^.\\[\\]\"]+)(?:\\[([0-9]+)])?"// Unquoted key with optional array index
           );
 
-  private final List<Function<Object, Object>> extractors;
-  private final List<String> tokens;
+  // step i reads keys[i], or indexes[i] when keys[i] is null
+  private final String[] keys;
+  private final int[] indexes;
+  private final String[] tokens;
+  private final boolean threeKeys;
 
   public DotNotationJsonPath(String path) {
     if (Objects.requireNonNull(path, "path cannot be null").isEmpty()) {
       throw new IllegalArgumentException("path cannot be blank");
     }
-    this.extractors = new ArrayList<>();
-    this.tokens = new ArrayList<>();
-    init(path, extractors, tokens);
+    List<String> stepKeys = new ArrayList<>();
+    List<Integer> stepIndexes = new ArrayList<>();
+    List<String> pathTokens = new ArrayList<>();
+    init(path, stepKeys, stepIndexes, pathTokens);
+    this.keys = stepKeys.toArray(new String[0]);
+    this.indexes = stepIndexes.stream().mapToInt(Integer::intValue).toArray();
+    this.tokens = pathTokens.toArray(new String[0]);
+    this.threeKeys = keys.length == 3 && tokens.length == 3;
   }
 
   @Override
   public Object read(Object object) {
+    if (threeKeys) {
+      Object parent = readKey(keys[0], object);
+      if (parent == null) {
+        return null;
+      }
+      Object value = readKey(keys[1], parent);
+      return value != null ? readKey(keys[2], value) : null;
+    }
     Object current = object;
-    for (var extractor : extractors) {
-      current = extractor.apply(current);
+    for (int i = 0; i < keys.length; i++) {
+      String key = keys[i];
+      current = key != null ? readKey(key, current) : readIndex(indexes[i], current);
       if (current == null) {
         return null;
       }
@@ -49,26 +72,26 @@ public class DotNotationJsonPath implements JsonPath {
 
   @Override
   public String getToken(int index) {
-    if (index < 0 || index >= tokens.size()) {
+    if (index < 0 || index >= tokens.length) {
       return null;
     }
-    return tokens.get(index);
+    return tokens[index];
   }
 
   @Override
   public boolean equals(Object object) {
     if (object == null || getClass() != object.getClass()) return false;
     DotNotationJsonPath that = (DotNotationJsonPath) object;
-    return Objects.equals(tokens, that.tokens);
+    return Arrays.equals(tokens, that.tokens);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(tokens);
+    return Arrays.hashCode(tokens);
   }
 
   private static void init(
-      String path, List<Function<Object, Object>> extractors, List<String> tokens) {
+      String path, List<String> stepKeys, List<Integer> stepIndexes, List<String> tokens) {
     Matcher matcher = TOKEN_PATTERN.matcher(path);
     int lastEnd = 0;
 
@@ -80,22 +103,17 @@ public class DotNotationJsonPath implements JsonPath {
       lastEnd = matcher.end();
 
       String quotedKey = matcher.group(1);
-      String quotedArrayIndex = matcher.group(2);
-      String unquotedKey = matcher.group(3);
-      String unquotedArrayIndex = matcher.group(4);
-
-      if (quotedKey != null) {
-        extractors.add(createMapExtractor(quotedKey));
-        tokens.add(quotedKey);
-        if (quotedArrayIndex != null) {
-          extractors.add(createArrayExtractor(Integer.parseInt(quotedArrayIndex)));
-        }
-      } else if (unquotedKey != null) {
-        extractors.add(createMapExtractor(unquotedKey));
-        tokens.add(unquotedKey);
-        if (unquotedArrayIndex != null) {
-          extractors.add(createArrayExtractor(Integer.parseInt(unquotedArrayIndex)));
-        }
+      String key = quotedKey != null ? quotedKey : matcher.group(3);
+      String arrayIndex = quotedKey != null ? matcher.group(2) : matcher.group(4);
+      if (key == null) {
+        continue;
+      }
+      stepKeys.add(key);
+      stepIndexes.add(-1);
+      tokens.add(key);
+      if (arrayIndex != null) {
+        stepKeys.add(null);
+        stepIndexes.add(Integer.parseInt(arrayIndex));
       }
     }
 
@@ -104,50 +122,44 @@ public class DotNotationJsonPath implements JsonPath {
     }
   }
 
-  private static Function<Object, Object> createArrayExtractor(int index) {
-    return obj -> {
-      if (obj instanceof List<?> list) {
-        return index < list.size() ? list.get(index) : null;
-      }
-      if (obj instanceof Object[] array) {
-        return index < array.length ? array[index] : null;
-      }
-      throw new IllegalArgumentException("Cannot apply array index to: " + obj.getClass());
-    };
-  }
-
-  private static Function<Object, Object> createMapExtractor(String key) {
-    return obj -> readValueForKey(key, obj);
+  private static Object readIndex(int index, Object obj) {
+    if (obj instanceof List<?> list) {
+      return index < list.size() ? list.get(index) : null;
+    }
+    if (obj instanceof Object[] array) {
+      return index < array.length ? array[index] : null;
+    }
+    throw new IllegalArgumentException("Cannot apply array index to: " + obj.getClass());
   }
 
-  private static Object readValueForKey(String key, Object obj) {
-    if (obj instanceof Map) {
-      return ((Map<?, ?>) obj).get(key);
+  private static Object readKey(String key, Object obj) {
+    if (obj instanceof Map<?, ?> map) {
+      return map.get(key);
     } else if (obj instanceof List<?> list) {
-      List<Object> result = new ArrayList<>();
+      List<Object> result = null;
       for (Object item : list) {
-        Object o = readValueForKey(key, item);
-        if (o != null) {
-          result.add(o);
-        }
-      }
-      if (result.isEmpty()) {
-        return null;
+        result = collect(result, readKey(key, item), list.size());
       }
       return result;
     } else if (obj instanceof Object[] array) {
-      List<Object> result = new ArrayList<>();
+      List<Object> result = null;
       for (Object item : array) {
-        Object o = readValueForKey(key, item);
-        if (o != null) {
-          result.add(o);
-        }
-      }
-      if (result.isEmpty()) {
-        return null;
+        result = collect(result, readKey(key, item), array.length);
       }
       return result;
     }
     throw new IllegalArgumentException("Cannot apply key to: " + obj.getClass());
   }
+
+  /** Adds a non-null value to the fanned out values, creating their list on the first one */
+  private static List<Object> collect(List<Object> result, Object value, int capacity) {
+    if (value == null) {
+      return result;
+    }
+    if (result == null) {
+      result = new ArrayList<>(capacity);
+    }
+    result.add(value);
+    return result;
+  }
 }
@@ -34,13 +34,14 @@ public interface JsonPath {
   String getToken(int index);
 
   /**
-   * Creates a new JsonPath instance for the given path expression.
+   * Returns the JsonPath for the given path expression. Paths are compiled once and interned, so
+   * creating the same expression again returns the same instance.
    *
    * @param path The path expression (e.g. "customer.addresses[1].city")
-   * @return A new JsonPath instance
+   * @return The compiled JsonPath instance
    * @throws IllegalArgumentException if path syntax is invalid
    */
   static JsonPath create(String path) {
-    return new DotNotationJsonPath(path);
+    return JsonPathCache.get(path);
   }
 }
@@ -0,0 +1,43 @@
+/*
+* Copyright (c) 2025 Rahul Anishetty
+*
+* This program is dual-licensed under either AGPL-3.0 or a commercial license.
+* For commercial licensing options, please contact the author.
+* For AGPL-3.0 licensing details, see the LICENSE file in the repository root.
+*/
+package com.upo.utilities.json.path;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global cache of compiled paths by expression. Once the cache is full, paths not cached yet are
+ * compiled on every call rather than evicting others.
+ */
+final class JsonPathCache {
+
+  private static final int MAX_SIZE =
+      Optional.ofNullable(System.getenv("JSON_PATH_CACHE_SIZE"))
+          .filter(s -> !s.isEmpty())
+          .map(Integer::parseInt)
+          .orElse(10_000);
+
+  private static final Map<String, JsonPath> PATHS = new ConcurrentHashMap<>();
+
+  private JsonPathCache() {}
+
+  static JsonPath get(String path) {
+    JsonPath jsonPath = PATHS.get(Objects.requireNonNull(path, "path cannot be null"));
+    if (jsonPath != null) {
+      return jsonPath;
+    }
+    jsonPath = new DotNotationJsonPath(path);
+    if (PATHS.size() >= MAX_SIZE) {
+      return jsonPath;
+    }
+    JsonPath existing = PATHS.putIfAbsent(path, jsonPath);
+    return existing != null ? existing : jsonPath;
+  }
+}
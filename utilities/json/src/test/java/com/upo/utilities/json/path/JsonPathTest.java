@@ -103,4 +103,26 @@ public class JsonPathTest {
     JsonPath dotPath = JsonPath.create("customer.addresses.city");
     assertEquals(List.of("New York", "Boston"), dotPath.read(testData));
   }
+
+  @Test
+  void testEmptyArraySelection() {
+    JsonPath dotPath = JsonPath.create("customer.addresses.zip");
+    assertNull(dotPath.read(testData));
+  }
+
+  @Test
+  void testThreeKeyPath() {
+    Map<String, Object> data = Map.of("task", Map.of("output", Map.of("name", "value")));
+    assertEquals("value", JsonPath.create("task.output.name").read(data));
+    assertNull(JsonPath.create("task.input.name").read(data));
+    assertNull(JsonPath.create("task.output.missing").read(data));
+  }
+
+  @Test
+  void testInterning() {
+    JsonPath path = JsonPath.create("customer.addresses[0].city");
+    assertSame(path, JsonPath.create("customer.addresses[0].city"));
+    assertEquals(path, new DotNotationJsonPath("customer.addresses[0].city"));
+    assertEquals(path.hashCode(), new DotNotationJsonPath("customer.addresses[0].city").hashCode());
+  }
 }